@@ -0,0 +1,91 @@
+package com.unifiederp.benchmarks;
+
+import com.unifiederp.employee.dto.EmployeeDTO;
+import com.unifiederp.employee.model.Department;
+import com.unifiederp.employee.model.Employee;
+import com.unifiederp.employee.model.EmployeeStatus;
+import com.unifiederp.employee.repository.DepartmentRepository;
+import com.unifiederp.employee.repository.EmployeeRepository;
+import com.unifiederp.employee.service.EmployeeMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EmployeeMapper} conversions. Repository lookups (manager name, department) are answered
+ * from memory, so the numbers show the mapping cost alone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeMapperBenchmark {
+
+    private EmployeeMapper mapper;
+    private Employee employee;
+    private Employee employeeWithManager;
+    private EmployeeDTO dto;
+
+    @Setup
+    public void setUp() {
+        Department department = new Department("Engineering", "Builds things");
+        department.setId(3L);
+
+        Employee manager = employee(7L, "MGR007", department);
+        employee = employee(42L, "EMP042", department);
+        employeeWithManager = employee(43L, "EMP043", department);
+        employeeWithManager.setManagerId(manager.getId());
+
+        mapper = new EmployeeMapper();
+        ReflectionTestUtils.setField(mapper, "employeeRepository",
+                Repositories.findByIdFrom(EmployeeRepository.class, Map.of(manager.getId(), manager)));
+        ReflectionTestUtils.setField(mapper, "departmentRepository",
+                Repositories.findByIdFrom(DepartmentRepository.class, Map.of(department.getId(), department)));
+
+        dto = mapper.toDTO(employeeWithManager);
+    }
+
+    @Benchmark
+    public EmployeeDTO toDTO() {
+        return mapper.toDTO(employee);
+    }
+
+    @Benchmark
+    public EmployeeDTO toDTOWithManager() {
+        return mapper.toDTO(employeeWithManager);
+    }
+
+    @Benchmark
+    public Employee toEntity() {
+        return mapper.toEntity(dto);
+    }
+
+    static Employee employee(Long id, String employeeId, Department department) {
+        Employee employee = new Employee(employeeId, "Ada", "Lovelace", employeeId.toLowerCase() + "@company.com",
+                department, "Engineer", LocalDate.of(2023, 1, 9));
+        employee.setId(id);
+        employee.setPhone("+15550100" + id);
+        employee.setAddress("12 Analytical Engine Way");
+        employee.setSalary(85000.0);
+        employee.setStatus(EmployeeStatus.ACTIVE);
+        employee.setCreatedAt(LocalDateTime.of(2023, 1, 9, 9, 0));
+        employee.setUpdatedAt(LocalDateTime.of(2024, 3, 1, 17, 30));
+        employee.setVersion(4L);
+        return employee;
+    }
+}
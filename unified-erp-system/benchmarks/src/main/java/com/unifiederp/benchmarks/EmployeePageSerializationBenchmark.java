@@ -0,0 +1,73 @@
+package com.unifiederp.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.unifiederp.employee.dto.EmployeeDTO;
+import com.unifiederp.employee.model.EmployeeStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a {@code Page<EmployeeDTO>} as returned by {@code /api/employees/paginated},
+ * with an object mapper configured like the services' (Java time types as ISO strings, nulls omitted).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeePageSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<EmployeeDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+
+        List<EmployeeDTO> employees = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            long id = i + 1;
+            employees.add(new EmployeeDTO(id, String.format("EMP%05d", id), "First" + i, "Last" + i,
+                    "employee" + id + "@company.com", "+1555010" + String.format("%04d", i), i + " Market Street",
+                    (long) (i % 20 + 1), "Department " + (i % 20 + 1), "Engineer", LocalDate.of(2022, 1, 1).plusDays(i),
+                    null, EmployeeStatus.ACTIVE, 60000.0 + i * 10, (long) (i % 10 + 1), "Manager " + (i % 10 + 1),
+                    LocalDateTime.of(2022, 1, 1, 9, 0).plusHours(i), LocalDateTime.of(2024, 3, 1, 9, 0).plusMinutes(i),
+                    (long) (i % 5)));
+        }
+        page = new PageImpl<>(employees, PageRequest.of(0, pageSize, Sort.by("lastName")), 25_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,110 @@
+package com.unifiederp.benchmarks;
+
+import com.unifiederp.gateway.filter.ClientIdResolver;
+import com.unifiederp.gateway.security.PermissionHeaderSigner;
+import com.unifiederp.gateway.security.RolePermissionCache;
+import com.unifiederp.gateway.security.SupabaseJwtAuthenticationFilter;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request work in the gateway's global filters: JWT validation and identity header signing in
+ * {@link SupabaseJwtAuthenticationFilter}, and client id extraction used by rate limiting and logging.
+ * The filter chain ends in an empty {@link Mono}, so no routing or I/O is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GatewayFilterBenchmark {
+
+    private static final String SECRET = "benchmark-jwt-secret-benchmark-jwt-secret-0123456789";
+    private static final GatewayFilterChain COMPLETE = exchange -> Mono.empty();
+
+    private SupabaseJwtAuthenticationFilter jwtFilter;
+    private MockServerHttpRequest authenticatedRequest;
+    private MockServerHttpRequest invalidTokenRequest;
+    private MockServerHttpRequest forwardedRequest;
+    private MockServerHttpRequest directRequest;
+
+    @Setup
+    public void setUp() {
+        jwtFilter = new SupabaseJwtAuthenticationFilter();
+        ReflectionTestUtils.setField(jwtFilter, "jwtSecret", SECRET);
+        // Never loaded, so every role resolves to no permissions; signing cost is the same
+        ReflectionTestUtils.setField(jwtFilter, "rolePermissionCache", new RolePermissionCache());
+        PermissionHeaderSigner signer = new PermissionHeaderSigner("benchmark-permission-secret");
+        ReflectionTestUtils.setField(signer, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(jwtFilter, "permissionHeaderSigner", signer);
+
+        String token = Jwts.builder()
+                .setSubject("7d0c6b2e-5f1a-4e8b-9b1f-2f0c1a9e4d21")
+                .claim("email", "ada.lovelace@company.com")
+                .claim("role", "manager")
+                .setExpiration(Date.from(Instant.now().plusSeconds(86400)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        authenticatedRequest = MockServerHttpRequest.get("/api/employees")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .build();
+        invalidTokenRequest = MockServerHttpRequest.get("/api/employees")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token.substring(0, token.length() - 4) + "AAAA")
+                .build();
+        forwardedRequest = MockServerHttpRequest.get("/api/employees")
+                .header("X-Forwarded-For", "203.0.113.195, 70.41.3.18, 150.172.238.178")
+                .build();
+        directRequest = MockServerHttpRequest.get("/api/employees")
+                .remoteAddress(new InetSocketAddress("198.51.100.23", 52114))
+                .build();
+    }
+
+    @Benchmark
+    public ServerWebExchange jwtFilterValidToken() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(authenticatedRequest);
+        jwtFilter.filter(exchange, COMPLETE).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public ServerWebExchange jwtFilterInvalidToken() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(invalidTokenRequest);
+        jwtFilter.filter(exchange, COMPLETE).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public String clientIdFromForwardedFor() {
+        return ClientIdResolver.resolve(forwardedRequest);
+    }
+
+    @Benchmark
+    public String clientIdFromRemoteAddress() {
+        return ClientIdResolver.resolve(directRequest);
+    }
+}
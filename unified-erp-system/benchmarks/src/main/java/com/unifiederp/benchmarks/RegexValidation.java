@@ -0,0 +1,50 @@
+package com.unifiederp.benchmarks;
+
+import java.util.regex.Pattern;
+
+/**
+ * The regular-expression {@code ValidationUtils} implementations that the hand-written
+ * validators replaced, kept as the baseline for {@link ValidationUtilsBenchmark}.
+ */
+final class RegexValidation {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^[+]?[1-9]?[0-9]{7,15}$");
+
+    private static final Pattern EMPLOYEE_ID_PATTERN = Pattern.compile("^[A-Za-z0-9]{3,20}$");
+
+    private RegexValidation() {
+    }
+
+    static boolean isValidEmail(String email) {
+        return email != null && EMAIL_PATTERN.matcher(email).matches();
+    }
+
+    static boolean isValidPhoneNumber(String phone) {
+        return phone != null && PHONE_PATTERN.matcher(phone.replaceAll("[\\s()-]", "")).matches();
+    }
+
+    static boolean isValidEmployeeId(String employeeId) {
+        return employeeId != null && EMPLOYEE_ID_PATTERN.matcher(employeeId).matches();
+    }
+
+    static boolean isStrongPassword(String password) {
+        if (password == null || password.length() < 8) {
+            return false;
+        }
+        boolean hasUpper = password.chars().anyMatch(Character::isUpperCase);
+        boolean hasLower = password.chars().anyMatch(Character::isLowerCase);
+        boolean hasDigit = password.chars().anyMatch(Character::isDigit);
+        boolean hasSpecial = password.chars().anyMatch(ch -> "!@#$%^&*()_+-=[]{}|;:,.<>?".indexOf(ch) >= 0);
+        return hasUpper && hasLower && hasDigit && hasSpecial;
+    }
+
+    static String sanitizeInput(String input) {
+        if (input == null) {
+            return null;
+        }
+        return input.replaceAll("(?i)<script[^>]*>.*?</script>", "").replaceAll("<[^>]*>", "");
+    }
+}
@@ -0,0 +1,26 @@
+package com.unifiederp.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory stand-ins for Spring Data repositories: {@code findById} answers from a map, anything
+ * else fails. Keeps database and mocking overhead out of mapper benchmarks.
+ */
+final class Repositories {
+
+    private Repositories() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T findByIdFrom(Class<T> repositoryType, Map<Long, ?> rows) {
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findById")) {
+                        return Optional.ofNullable(rows.get((Long) args[0]));
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,124 @@
+package com.unifiederp.benchmarks;
+
+import com.unifiederp.shared.util.ValidationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ValidationUtils} validators and sanitizer, each on a valid and an invalid input
+ * since both are common on request validation paths, next to the regular-expression versions
+ * they replaced ({@code *Regex}). The {@code batch*} pair validates an import column of emails.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationUtilsBenchmark {
+
+    @Param({"valid", "invalid"})
+    public String input;
+
+    private String email;
+    private String phone;
+    private String employeeId;
+    private String password;
+    private String text;
+    private String[] emails;
+
+    @Setup
+    public void setUp() {
+        boolean valid = input.equals("valid");
+        email = valid ? "ada.lovelace+erp@company.example.com" : "ada.lovelace@@company";
+        phone = valid ? "+1 (555) 010-4242" : "555-CALL-NOW";
+        employeeId = valid ? "EMP000042" : "EMP-000-042";
+        password = valid ? "Corr3ct-Horse!" : "correcthorse";
+        // Sanitizer input: plain text, or text carrying markup to strip
+        text = valid
+                ? "Quarterly review notes for the platform team, no follow-up needed."
+                : "Quarterly <b>review</b> notes<script type=\"text/javascript\">alert('x')</script> for <i>the team</i>";
+        // One in a hundred rows of the invalid column is malformed
+        emails = new String[1000];
+        for (int i = 0; i < emails.length; i++) {
+            emails[i] = !valid && i % 100 == 0 ? "employee" + i + "@@company" : "employee" + i + "@company.example.com";
+        }
+    }
+
+    @Benchmark
+    public boolean isValidEmail() {
+        return ValidationUtils.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean isValidPhoneNumber() {
+        return ValidationUtils.isValidPhoneNumber(phone);
+    }
+
+    @Benchmark
+    public boolean isValidEmployeeId() {
+        return ValidationUtils.isValidEmployeeId(employeeId);
+    }
+
+    @Benchmark
+    public boolean isStrongPassword() {
+        return ValidationUtils.isStrongPassword(password);
+    }
+
+    @Benchmark
+    public String sanitizeInput() {
+        return ValidationUtils.sanitizeInput(text);
+    }
+
+    @Benchmark
+    public boolean isValidEmailRegex() {
+        return RegexValidation.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean isValidPhoneNumberRegex() {
+        return RegexValidation.isValidPhoneNumber(phone);
+    }
+
+    @Benchmark
+    public boolean isValidEmployeeIdRegex() {
+        return RegexValidation.isValidEmployeeId(employeeId);
+    }
+
+    @Benchmark
+    public boolean isStrongPasswordRegex() {
+        return RegexValidation.isStrongPassword(password);
+    }
+
+    @Benchmark
+    public String sanitizeInputRegex() {
+        return RegexValidation.sanitizeInput(text);
+    }
+
+    @Benchmark
+    public int[] batchInvalidEmails() {
+        return ValidationUtils.invalidIndices(emails, ValidationUtils::isValidEmail);
+    }
+
+    @Benchmark
+    public int batchInvalidEmailsRegex() {
+        int invalid = 0;
+        for (String value : emails) {
+            if (!RegexValidation.isValidEmail(value)) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+}
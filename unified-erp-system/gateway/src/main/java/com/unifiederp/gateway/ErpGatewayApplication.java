@@ -1,40 +1,65 @@
 package com.unifiederp.gateway;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ErpGatewayApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(ErpGatewayApplication.class, args);
     }
 
+    @Value("${services.employee.url:http://localhost:8081}")
+    private String employeeServiceUrl;
+
+    @Value("${services.invoice.url:http://localhost:8082}")
+    private String invoiceServiceUrl;
+
+    @Value("${services.quiz.url:http://localhost:8083}")
+    private String quizServiceUrl;
+
+    @Value("${services.job.url:http://localhost:8084}")
+    private String jobServiceUrl;
+
+    @Value("${services.crud.url:http://localhost:8085}")
+    private String crudServiceUrl;
+
     @Bean
     public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
         return builder.routes()
+                // Employee change stream: open for as long as the client listens, never buffered on the way
+                .route("employee-changes", r -> r.path("/api/employees/changes")
+                        .filters(f -> f.setResponseHeader("X-Accel-Buffering", "no"))
+                        .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, -1)
+                        .uri(employeeServiceUrl))
+
                 // Employee Service Routes
                 .route("employee-service", r -> r.path("/api/employees/**")
-                        .uri("http://localhost:8081"))
+                        .uri(employeeServiceUrl))
                 
                 // Invoice Service Routes
                 .route("invoice-service", r -> r.path("/api/invoices/**")
-                        .uri("http://localhost:8082"))
+                        .uri(invoiceServiceUrl))
                 
                 // Quiz Service Routes
                 .route("quiz-service", r -> r.path("/api/quizzes/**")
-                        .uri("http://localhost:8083"))
+                        .uri(quizServiceUrl))
                 
                 // Job Service Routes
                 .route("job-service", r -> r.path("/api/jobs/**")
-                        .uri("http://localhost:8084"))
+                        .uri(jobServiceUrl))
                 
                 // CRUD Service Routes
                 .route("crud-service", r -> r.path("/api/crud/**")
-                        .uri("http://localhost:8085"))
+                        .uri(crudServiceUrl))
                 
                 // Health check routes
                 .route("health-check", r -> r.path("/health/**")
@@ -0,0 +1,29 @@
+package com.unifiederp.gateway.filter;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * Identifies the calling client by IP address, preferring the first {@code X-Forwarded-For} hop and
+ * then {@code X-Real-IP} set by a proxy. Shared by the rate limiter and the request log.
+ */
+public final class ClientIdResolver {
+
+    private ClientIdResolver() {
+    }
+
+    public static String resolve(ServerHttpRequest request) {
+        String xForwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+
+        String xRealIp = request.getHeaders().getFirst("X-Real-IP");
+        if (xRealIp != null && !xRealIp.isEmpty()) {
+            return xRealIp;
+        }
+
+        return request.getRemoteAddress() != null
+                ? request.getRemoteAddress().getAddress().getHostAddress()
+                : "unknown";
+    }
+}
@@ -1,6 +1,8 @@
 package com.unifiederp.gateway.filter;
 
+import com.unifiederp.gateway.security.SupabaseJwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
@@ -14,66 +16,72 @@ import reactor.core.publisher.Mono;
 import java.time.Duration;
 import java.time.Instant;
 
+/**
+ * Fixed-window request limits in Redis: {@code requests-per-minute} per client within a tenant, and
+ * {@code tenant-requests-per-minute} across all of a tenant's clients so that one subsidiary cannot
+ * starve the others. Runs after authentication, which sets the tenant header.
+ */
 @Component
 public class RateLimitingFilter implements GlobalFilter, Ordered {
 
     @Autowired
     private ReactiveRedisTemplate<String, String> redisTemplate;
 
-    private static final int REQUESTS_PER_MINUTE = 100;
-    private static final Duration WINDOW_DURATION = Duration.ofMinutes(1);
+    @Value("${rate-limit.requests-per-minute:100}")
+    private int requestsPerWindow;
+
+    @Value("${rate-limit.tenant-requests-per-minute:5000}")
+    private int tenantRequestsPerWindow;
+
+    @Value("${rate-limit.window-duration:60}")
+    private long windowSeconds;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        String clientId = getClientId(exchange);
-        String key = "rate_limit:" + clientId;
-        
+        String tenantId = exchange.getRequest().getHeaders().getFirst(SupabaseJwtAuthenticationFilter.TENANT_HEADER);
+        if (tenantId == null) {
+            tenantId = SupabaseJwtAuthenticationFilter.DEFAULT_TENANT;
+        }
+        String clientId = ClientIdResolver.resolve(exchange.getRequest());
+        String clientKey = "rate_limit:" + tenantId + ":" + clientId;
+        String tenantKey = "rate_limit:tenant:" + tenantId;
+
+        return acquire(clientKey, requestsPerWindow)
+                .flatMap(allowed -> allowed ? acquire(tenantKey, tenantRequestsPerWindow) : Mono.just(false))
+                .onErrorResume(error -> {
+                    // If Redis is unavailable, allow the request to proceed
+                    return Mono.just(true);
+                })
+                .flatMap(allowed -> allowed ? chain.filter(exchange) : handleRateLimitExceeded(exchange));
+    }
+
+    /** Counts a request against {@code key}, unless its window already holds {@code limit}. */
+    private Mono<Boolean> acquire(String key, int limit) {
         return redisTemplate.opsForValue()
                 .get(key)
                 .cast(String.class)
                 .defaultIfEmpty("0")
                 .flatMap(currentCount -> {
                     int count = Integer.parseInt(currentCount);
-                    
-                    if (count >= REQUESTS_PER_MINUTE) {
-                        return handleRateLimitExceeded(exchange);
+
+                    if (count >= limit) {
+                        return Mono.just(false);
                     }
-                    
+
                     // Increment counter
                     return redisTemplate.opsForValue()
                             .increment(key)
                             .flatMap(newCount -> {
                                 if (newCount == 1) {
                                     // Set expiration for new key
-                                    return redisTemplate.expire(key, WINDOW_DURATION)
-                                            .then(chain.filter(exchange));
+                                    return redisTemplate.expire(key, Duration.ofSeconds(windowSeconds))
+                                            .thenReturn(true);
                                 }
-                                return chain.filter(exchange);
+                                return Mono.just(true);
                             });
-                })
-                .onErrorResume(error -> {
-                    // If Redis is unavailable, allow the request to proceed
-                    return chain.filter(exchange);
                 });
     }
 
-    private String getClientId(ServerWebExchange exchange) {
-        // Use IP address as client identifier
-        String xForwardedFor = exchange.getRequest().getHeaders().getFirst("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        
-        String xRealIp = exchange.getRequest().getHeaders().getFirst("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-        
-        return exchange.getRequest().getRemoteAddress() != null 
-                ? exchange.getRequest().getRemoteAddress().getAddress().getHostAddress()
-                : "unknown";
-    }
-
     private Mono<Void> handleRateLimitExceeded(ServerWebExchange exchange) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
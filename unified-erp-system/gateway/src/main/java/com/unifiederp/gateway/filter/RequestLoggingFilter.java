@@ -23,7 +23,7 @@ public class RequestLoggingFilter implements GlobalFilter, Ordered {
         ServerHttpRequest request = exchange.getRequest();
         long startTime = Instant.now().toEpochMilli();
         
-        String clientId = getClientId(request);
+        String clientId = ClientIdResolver.resolve(request);
         String userId = request.getHeaders().getFirst("X-User-Id");
         
         logger.info("Incoming request: {} {} from client: {} user: {}", 
@@ -45,22 +45,6 @@ public class RequestLoggingFilter implements GlobalFilter, Ordered {
                 });
     }
 
-    private String getClientId(ServerHttpRequest request) {
-        String xForwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        
-        String xRealIp = request.getHeaders().getFirst("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-        
-        return request.getRemoteAddress() != null 
-                ? request.getRemoteAddress().getAddress().getHostAddress()
-                : "unknown";
-    }
-
     @Override
     public int getOrder() {
         return 1; // Execute after rate limiting
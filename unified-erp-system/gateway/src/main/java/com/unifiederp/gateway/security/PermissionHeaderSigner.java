@@ -0,0 +1,32 @@
+package com.unifiederp.gateway.security;
+
+import com.unifiederp.shared.security.PermissionHeaderCodec;
+import com.unifiederp.shared.security.PermissionSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Writes the signed {@value #HEADER} header, with the same {@link PermissionHeaderCodec} the
+ * services read it with, valid for {@code security.permissions.header-ttl-seconds}.
+ */
+@Component
+public class PermissionHeaderSigner {
+
+    public static final String HEADER = PermissionHeaderCodec.HEADER;
+
+    private final PermissionHeaderCodec codec;
+
+    @Value("${security.permissions.header-ttl-seconds:60}")
+    private long ttlSeconds;
+
+    public PermissionHeaderSigner(@Value("${security.permissions.header-secret}") String secret) {
+        this.codec = new PermissionHeaderCodec(secret);
+    }
+
+    public String sign(String userId, String role, String tenantId, int fingerprint, PermissionSet permissions) {
+        long expiresAt = Instant.now().getEpochSecond() + ttlSeconds;
+        return codec.encode(userId, role, tenantId, fingerprint, permissions, expiresAt);
+    }
+}
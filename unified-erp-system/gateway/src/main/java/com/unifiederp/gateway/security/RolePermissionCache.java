@@ -0,0 +1,116 @@
+package com.unifiederp.gateway.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.unifiederp.shared.security.PermissionSet;
+import com.unifiederp.shared.security.PermissionTable;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cached role → effective permission table, loaded from the Supabase REST API and refreshed
+ * periodically so the gateway never queries per request.
+ *
+ * <p>Builds the same {@link PermissionTable} as {@code PermissionResolver} in the services, so ids,
+ * inheritance and fingerprint cannot drift apart. Services drop permission headers whose
+ * fingerprint does not match their own table, which includes headers signed from a role mapping
+ * older or newer than theirs.</p>
+ */
+@Component
+public class RolePermissionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RolePermissionCache.class);
+
+    private static final Duration LOAD_TIMEOUT = Duration.ofSeconds(10);
+
+    @Value("${supabase.url}")
+    private String supabaseUrl;
+
+    @Value("${supabase.service-role-key:${supabase.anon-key}}")
+    private String apiKey;
+
+    private WebClient webClient;
+
+    private volatile PermissionTable table = PermissionTable.EMPTY;
+
+    @PostConstruct
+    public void init() {
+        webClient = WebClient.builder()
+                .baseUrl(supabaseUrl + "/rest/v1")
+                .defaultHeader("apikey", apiKey)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${security.rbac.refresh-interval-ms:300000}",
+               initialDelayString = "${security.rbac.refresh-interval-ms:300000}")
+    public void refresh() {
+        Mono.zip(fetch("/permissions?select=module,action&is_active=eq.true"),
+                 fetch("/roles?select=name,hierarchy_level,permissions(module,action,is_active)&is_active=eq.true"))
+                .timeout(LOAD_TIMEOUT)
+                .map(rows -> build(rows.getT1(), rows.getT2()))
+                .subscribe(
+                        loaded -> {
+                            table = loaded;
+                            logger.info("Loaded role table: {} permissions, {} roles",
+                                    loaded.permissionCount(), loaded.roleCount());
+                        },
+                        error -> logger.error("Failed to load role table, keeping the previous one: {}",
+                                error.getMessage()));
+    }
+
+    public int getFingerprint() {
+        return table.getFingerprint();
+    }
+
+    /**
+     * Effective permissions of a role; empty for unknown roles or before the first load
+     */
+    public PermissionSet getPermissions(String role) {
+        return table.permissionsOf(role);
+    }
+
+    private Mono<JsonNode> fetch(String uri) {
+        return webClient.get().uri(uri).retrieve().bodyToMono(JsonNode.class);
+    }
+
+    private static PermissionTable build(JsonNode permissionRows, JsonNode roleRows) {
+        List<String> permissions = new ArrayList<>();
+        for (JsonNode permission : permissionRows) {
+            permissions.add(name(permission));
+        }
+        List<PermissionTable.RoleGrants> roles = new ArrayList<>();
+        for (JsonNode role : roleRows) {
+            List<String> granted = new ArrayList<>();
+            for (JsonNode permission : role.path("permissions")) {
+                if (permission.path("is_active").asBoolean(true)) {
+                    granted.add(name(permission));
+                }
+            }
+            roles.add(new PermissionTable.RoleGrants(role.path("name").asText(),
+                    role.path("hierarchy_level").asInt(0), granted));
+        }
+        return PermissionTable.build(permissions, roles);
+    }
+
+    private static String name(JsonNode permission) {
+        return permission.path("module").asText() + ":" + permission.path("action").asText();
+    }
+}
@@ -3,10 +3,12 @@ package com.unifiederp.gateway.security;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
@@ -17,6 +19,8 @@ import reactor.core.publisher.Mono;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 @Component
 public class SupabaseJwtAuthenticationFilter implements GlobalFilter, Ordered {
@@ -24,6 +28,28 @@ public class SupabaseJwtAuthenticationFilter implements GlobalFilter, Ordered {
     @Value("${supabase.jwt.secret}")
     private String jwtSecret;
 
+    @Autowired
+    private RolePermissionCache rolePermissionCache;
+
+    @Autowired
+    private PermissionHeaderSigner permissionHeaderSigner;
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+    /** Tokens without a tenant claim belong to the tenant that predates partitioning. */
+    public static final String DEFAULT_TENANT = "default";
+    // Supabase puts custom claims in app_metadata; a top-level claim comes from a custom token hook
+    private static final String TENANT_CLAIM = "tenant_id";
+    private static final Pattern TENANT_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    // Identity headers are only ever set here; anything a client sends is dropped
+    private static final List<String> IDENTITY_HEADERS = List.of(
+            "X-User-Id",
+            "X-User-Email",
+            "X-User-Role",
+            TENANT_HEADER,
+            PermissionHeaderSigner.HEADER
+    );
+
     private static final List<String> EXCLUDED_PATHS = List.of(
             "/health",
             "/actuator",
@@ -36,6 +62,11 @@ public class SupabaseJwtAuthenticationFilter implements GlobalFilter, Ordered {
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getURI().getPath();
 
+        if (IDENTITY_HEADERS.stream().anyMatch(request.getHeaders()::containsKey)) {
+            request = request.mutate().headers(headers -> IDENTITY_HEADERS.forEach(headers::remove)).build();
+            exchange = exchange.mutate().request(request).build();
+        }
+
         // Skip authentication for excluded paths
         if (EXCLUDED_PATHS.stream().anyMatch(path::startsWith)) {
             return chain.filter(exchange);
@@ -51,12 +82,23 @@ public class SupabaseJwtAuthenticationFilter implements GlobalFilter, Ordered {
         
         try {
             Claims claims = validateToken(token);
-            
+            String userId = claims.getSubject();
+            String role = claims.get("role", String.class);
+            String tenantId = resolveTenant(claims);
+
+            // Resolve permissions once here so services can authorize without a database lookup
+            String permissions = permissionHeaderSigner.sign(userId, role, tenantId,
+                    rolePermissionCache.getFingerprint(), rolePermissionCache.getPermissions(role));
+
             // Add user information to request headers for downstream services
             ServerHttpRequest modifiedRequest = request.mutate()
-                    .header("X-User-Id", claims.getSubject())
-                    .header("X-User-Email", claims.get("email", String.class))
-                    .header("X-User-Role", claims.get("role", String.class))
+                    .headers(headers -> {
+                        setHeader(headers, "X-User-Id", userId);
+                        setHeader(headers, "X-User-Email", claims.get("email", String.class));
+                        setHeader(headers, "X-User-Role", role);
+                        headers.set(TENANT_HEADER, tenantId);
+                        headers.set(PermissionHeaderSigner.HEADER, permissions);
+                    })
                     .build();
 
             return chain.filter(exchange.mutate().request(modifiedRequest).build());
@@ -76,6 +118,26 @@ public class SupabaseJwtAuthenticationFilter implements GlobalFilter, Ordered {
                 .getBody();
     }
 
+    private String resolveTenant(Claims claims) {
+        Object tenant = claims.get(TENANT_CLAIM);
+        if (tenant == null && claims.get("app_metadata") instanceof Map<?, ?> appMetadata) {
+            tenant = appMetadata.get(TENANT_CLAIM);
+        }
+        if (tenant == null) {
+            return DEFAULT_TENANT;
+        }
+        if (!TENANT_PATTERN.matcher(tenant.toString()).matches()) {
+            throw new IllegalArgumentException("Invalid tenant claim");
+        }
+        return tenant.toString();
+    }
+
+    private void setHeader(HttpHeaders headers, String name, String value) {
+        if (value != null) {
+            headers.set(name, value);
+        }
+    }
+
     private Mono<Void> handleUnauthorized(ServerWebExchange exchange) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(HttpStatus.UNAUTHORIZED);
@@ -0,0 +1,127 @@
+package com.unifiederp.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes departments, employees and audit rows straight through JDBC in batches, then moves the
+ * id sequences past them so rows created under load do not collide. Values are derived from the
+ * row number, so two runs with the same volumes see the same data.
+ */
+public class DataSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSeeder.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] FIRST_NAMES = {"Ana", "Ben", "Chen", "Dara", "Eli", "Fatima", "Goran", "Hana",
+            "Ivan", "Jun", "Kofi", "Lena", "Mateo", "Nia", "Omar", "Priya"};
+    private static final String[] LAST_NAMES = {"Alvarez", "Brown", "Costa", "Dubois", "Eriksen", "Fischer",
+            "Garcia", "Haddad", "Ito", "Jensen", "Kowalski", "Lopez", "Moreau", "Nakamura", "Okafor", "Petrov"};
+    private static final String[] POSITIONS = {"Engineer", "Analyst", "Accountant", "Designer", "Recruiter",
+            "Support Specialist", "Team Lead"};
+    // Mostly active, as in production
+    private static final String[] STATUSES = {"ACTIVE", "ACTIVE", "ACTIVE", "ACTIVE", "ACTIVE", "ACTIVE",
+            "ACTIVE", "ON_LEAVE", "INACTIVE", "TERMINATED"};
+    private static final String[] AUDIT_ACTIONS = {"CREATE", "READ", "UPDATE", "DELETE"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DataSeeder(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public static String lastName(long id) {
+        return LAST_NAMES[(int) (id % LAST_NAMES.length)];
+    }
+
+    public static String firstName(long id) {
+        return FIRST_NAMES[(int) (id / LAST_NAMES.length % FIRST_NAMES.length)];
+    }
+
+    public static String[] searchTerms() {
+        return LAST_NAMES.clone();
+    }
+
+    public void seed(int departments, int employees, int auditRows) {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= departments; id++) {
+            rows.add(new Object[]{id, "Department " + id, "Load test department " + id, id,
+                    1_000_000.0 + id * 1000, Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO departments (id, name, description, manager_id, budget, created_at, "
+                + "updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)", withUpdatedAt(rows));
+
+        rows.clear();
+        for (long id = 1; id <= employees; id++) {
+            long department = (id - 1) % departments + 1;
+            // Employee n works in and manages department n, and is the manager of everyone else there
+            Long manager = id <= departments ? null : department;
+            rows.add(new Object[]{id, String.format("EMP%07d", id), firstName(id), lastName(id),
+                    "employee" + id + "@loadtest.local", String.format("+1-555-%07d", id), id + " Load Street",
+                    department, manager, POSITIONS[(int) (id % POSITIONS.length)],
+                    Date.valueOf(LocalDate.of(2015, 1, 1).plusDays(id % 3000)), STATUSES[(int) (id % STATUSES.length)],
+                    40_000.0 + (id % 100) * 1000, Timestamp.valueOf(now)});
+            if (rows.size() == BATCH_SIZE) {
+                insertEmployees(rows);
+            }
+        }
+        insertEmployees(rows);
+
+        for (long id = 1; id <= auditRows; id++) {
+            rows.add(new Object[]{id, "user-" + id % 50, AUDIT_ACTIONS[(int) (id % AUDIT_ACTIONS.length)], "HRMS",
+                    "Employee", Long.toString(id % employees + 1), Timestamp.valueOf(now.minusMinutes(auditRows - id))});
+            if (rows.size() == BATCH_SIZE) {
+                insertAuditRows(rows);
+            }
+        }
+        insertAuditRows(rows);
+
+        // Pooled sequences hand out the block below the value they return, so leave a block of headroom
+        restartSequence("department_seq", departments);
+        restartSequence("employee_seq", employees);
+        restartSequence("audit_log_seq", auditRows);
+        logger.info("Seeded {} departments, {} employees and {} audit rows in {} ms", departments, employees,
+                auditRows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void insertEmployees(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO employees (id, employee_id, first_name, last_name, email, phone, "
+                + "address, department_id, manager_id, position, start_date, status, salary, created_at, updated_at, "
+                + "version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", withUpdatedAt(rows));
+        rows.clear();
+    }
+
+    private void insertAuditRows(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO audit_logs (id, user_id, action, module, resource_type, resource_id, "
+                + "timestamp) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    private void restartSequence(String sequence, long highestId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (highestId + 100));
+    }
+
+    // created_at is the last column of each row; updated_at starts out equal to it
+    private static List<Object[]> withUpdatedAt(List<Object[]> rows) {
+        List<Object[]> extended = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Object[] copy = new Object[row.length + 1];
+            System.arraycopy(row, 0, copy, 0, row.length);
+            copy[row.length] = row[row.length - 1];
+            extended.add(copy);
+        }
+        return extended;
+    }
+}
@@ -0,0 +1,46 @@
+package com.unifiederp.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Employee service endpoints the harness drives. The label travels in {@value #HEADER} so the
+ * employee service can attribute its SQL statements to the endpoint that caused them.
+ */
+public enum Endpoint {
+
+    PAGINATED("paginated", "GET /api/employees/paginated"),
+    SEARCH("search", "GET /api/employees/search"),
+    GET("get", "GET /api/employees/{id}"),
+    CREATE("create", "POST /api/employees"),
+    UPDATE("update", "PUT /api/employees/{id}"),
+    STATUS("status", "PATCH /api/employees/{id}/status"),
+    DELETE("delete", "DELETE /api/employees/{id}");
+
+    public static final String HEADER = "X-Load-Endpoint";
+
+    private final String label;
+    private final String route;
+
+    Endpoint(String label, String route) {
+        this.label = label;
+        this.route = route;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public static Endpoint fromName(String name) {
+        String wanted = name.trim().toLowerCase(Locale.ROOT);
+        for (Endpoint endpoint : values()) {
+            if (endpoint.label.equals(wanted)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint " + name);
+    }
+}
@@ -0,0 +1,291 @@
+package com.unifiederp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+/**
+ * Closed-loop load: each simulated user sends one request at a time, picking the endpoint by weight
+ * from the mix. Reads and updates go to seeded employees; deletes only remove employees the harness
+ * created itself, so the seeded data set stays the same size.
+ */
+public class LoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] STATUSES = {"ACTIVE", "ON_LEAVE", "INACTIVE"};
+    private static final String[] SEARCH_TERMS = DataSeeder.searchTerms();
+    private static final String[] SORT_FIELDS = {"lastName", "firstName", "startDate", "id"};
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentLinkedQueue<Long> createdIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong createSequence = new AtomicLong();
+    private final Set<Endpoint> loggedFailures = ConcurrentHashMap.newKeySet();
+
+    private final String baseUrl;
+    private final Function<Integer, String> tokens;
+    private final LoadTestOptions options;
+    private final Endpoint[] weighted;
+
+    /**
+     * @param tokens bearer token for a user number, or {@code null} when calling the service directly
+     */
+    public LoadGenerator(String baseUrl, Function<Integer, String> tokens, LoadTestOptions options) {
+        this.baseUrl = baseUrl;
+        this.tokens = tokens;
+        this.options = options;
+        List<Endpoint> slots = new ArrayList<>();
+        options.getMix().forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(endpoint);
+            }
+        });
+        this.weighted = slots.toArray(new Endpoint[0]);
+    }
+
+    /**
+     * Runs every user for the given time and returns the merged samples per endpoint
+     */
+    public Map<Endpoint, Samples> run(Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(options.getUsers());
+        try {
+            List<Future<Map<Endpoint, Samples>>> users = new ArrayList<>();
+            for (int user = 0; user < options.getUsers(); user++) {
+                int userNumber = user;
+                users.add(executor.submit(() -> simulateUser(userNumber, deadline)));
+            }
+            Map<Endpoint, Samples> merged = new EnumMap<>(Endpoint.class);
+            for (Future<Map<Endpoint, Samples>> user : users) {
+                user.get().forEach((endpoint, samples) ->
+                        merged.computeIfAbsent(endpoint, e -> new Samples()).addAll(samples));
+            }
+            return merged;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<Endpoint, Samples> simulateUser(int userNumber, long deadline) {
+        String authorization = tokens != null ? "Bearer " + tokens.apply(userNumber) : null;
+        Map<Endpoint, Samples> samples = new EnumMap<>(Endpoint.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Endpoint endpoint = weighted[random.nextInt(weighted.length)];
+            if (endpoint == Endpoint.DELETE && createdIds.isEmpty()) {
+                endpoint = Endpoint.CREATE;
+            }
+            HttpRequest request = buildRequest(endpoint, authorization, random);
+            if (request == null) {
+                continue;
+            }
+            long sent = System.nanoTime();
+            int status;
+            String body = null;
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                status = response.statusCode();
+                body = response.body();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            samples.computeIfAbsent(endpoint, e -> new Samples()).add(System.nanoTime() - sent, status);
+            if ((status < 200 || status >= 300) && loggedFailures.add(endpoint)) {
+                logger.warn("First failure on {}: {} {}", endpoint.getLabel(), status, body);
+            }
+            if (endpoint == Endpoint.CREATE && status == 201) {
+                rememberCreated(body);
+            }
+        }
+        return samples;
+    }
+
+    private HttpRequest buildRequest(Endpoint endpoint, String authorization, ThreadLocalRandom random) {
+        HttpRequest.Builder builder;
+        switch (endpoint) {
+            case PAGINATED -> builder = get("/api/employees/paginated?page=" + random.nextInt(Math.max(1, options.getEmployees() / 20))
+                    + "&size=20&sortBy=" + SORT_FIELDS[random.nextInt(SORT_FIELDS.length)]
+                    + "&sortDir=" + (random.nextBoolean() ? "asc" : "desc"));
+            case SEARCH -> {
+                // A prefix of a seeded last name, as typed into a search box
+                String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+                builder = get("/api/employees/search?searchTerm=" + term.substring(0, Math.min(4, term.length()))
+                        + "&page=" + random.nextInt(5) + "&size=20");
+            }
+            case GET -> builder = get("/api/employees/" + seededEmployee(random));
+            case CREATE -> builder = HttpRequest.newBuilder(uri("/api/employees"))
+                    .header("Content-Type", "application/json")
+                    .POST(json(newEmployee(createSequence.incrementAndGet(), random)));
+            case UPDATE -> {
+                long id = seededEmployee(random);
+                builder = HttpRequest.newBuilder(uri("/api/employees/" + id))
+                        .header("Content-Type", "application/json")
+                        .PUT(json(seededEmployee(id, random)));
+            }
+            case STATUS -> builder = HttpRequest.newBuilder(uri("/api/employees/" + seededEmployee(random)
+                    + "/status?status=" + STATUSES[random.nextInt(STATUSES.length)]))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody());
+            case DELETE -> {
+                Long id = createdIds.poll();
+                if (id == null) {
+                    return null;
+                }
+                builder = HttpRequest.newBuilder(uri("/api/employees/" + id)).DELETE();
+            }
+            default -> throw new IllegalStateException("Unhandled endpoint " + endpoint);
+        }
+        builder.timeout(REQUEST_TIMEOUT).header(Endpoint.HEADER, endpoint.getLabel());
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        return builder.build();
+    }
+
+    // Employees above the department count report to a department head; those are left unchanged
+    private long seededEmployee(ThreadLocalRandom random) {
+        return random.nextLong(options.getDepartments() + 1L, options.getEmployees() + 1L);
+    }
+
+    private ObjectNode seededEmployee(long id, ThreadLocalRandom random) {
+        ObjectNode employee = objectMapper.createObjectNode();
+        employee.put("employeeId", String.format("EMP%07d", id));
+        employee.put("firstName", DataSeeder.firstName(id));
+        employee.put("lastName", DataSeeder.lastName(id));
+        employee.put("email", "employee" + id + "@loadtest.local");
+        employee.put("phone", String.format("+1-555-%07d", id));
+        employee.put("address", id + " Load Street");
+        employee.put("departmentId", (id - 1) % options.getDepartments() + 1);
+        employee.put("managerId", (id - 1) % options.getDepartments() + 1);
+        employee.put("position", "Engineer");
+        employee.put("startDate", LocalDate.of(2015, 1, 1).plusDays(id % 3000).toString());
+        // A PUT replaces every field, status included
+        employee.put("status", STATUSES[random.nextInt(STATUSES.length)]);
+        employee.put("salary", 40_000 + random.nextInt(100) * 1000);
+        return employee;
+    }
+
+    private ObjectNode newEmployee(long sequence, ThreadLocalRandom random) {
+        ObjectNode employee = objectMapper.createObjectNode();
+        String suffix = sequence + "-" + Long.toHexString(System.nanoTime());
+        employee.put("employeeId", "LT-" + suffix);
+        employee.put("firstName", "Load");
+        employee.put("lastName", "Created " + sequence);
+        employee.put("email", "created-" + suffix + "@loadtest.local");
+        employee.put("departmentId", random.nextLong(1, options.getDepartments() + 1L));
+        employee.put("position", "Contractor");
+        employee.put("startDate", LocalDate.now().toString());
+        employee.put("status", "ACTIVE");
+        return employee;
+    }
+
+    private void rememberCreated(String body) {
+        try {
+            JsonNode created = objectMapper.readTree(body);
+            if (created.hasNonNull("id")) {
+                createdIds.add(created.get("id").asLong());
+            }
+        } catch (IOException e) {
+            // Counted as a success already; the employee just will not be deleted
+        }
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private HttpRequest.BodyPublisher json(ObjectNode body) {
+        return HttpRequest.BodyPublishers.ofString(body.toString());
+    }
+
+    /**
+     * Latencies in nanoseconds with the HTTP status of each request; {@code -1} for transport failures
+     */
+    public static class Samples {
+
+        private long[] latencies = new long[1024];
+        private int[] statuses = new int[1024];
+        private int size;
+
+        void add(long latencyNanos, int status) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+                statuses = Arrays.copyOf(statuses, size * 2);
+            }
+            latencies[size] = latencyNanos;
+            statuses[size] = status;
+            size++;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i], other.statuses[i]);
+            }
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        public Map<Integer, Long> statusCounts() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            for (int i = 0; i < size; i++) {
+                counts.merge(statuses[i], 1L, Long::sum);
+            }
+            return counts;
+        }
+
+        public long count(IntPredicate statusMatches) {
+            long count = 0;
+            for (int i = 0; i < size; i++) {
+                if (statusMatches.test(statuses[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
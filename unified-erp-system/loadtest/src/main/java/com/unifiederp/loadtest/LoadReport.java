@@ -0,0 +1,90 @@
+package com.unifiederp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput, latency percentiles and SQL statements per request for each endpoint, printed as a
+ * table and written as JSON for comparing runs.
+ */
+public class LoadReport {
+
+    private final Map<String, Object> settings;
+    private final List<Row> rows = new ArrayList<>();
+    private final Map<String, Long> backgroundStatements = new LinkedHashMap<>();
+
+    public LoadReport(LoadTestOptions options, Map<Endpoint, LoadGenerator.Samples> samples,
+                      Map<String, Long> statements, Map<String, Long> serviceRequests) {
+        this.settings = options.describe();
+        double seconds = options.getDuration().toNanos() / 1e9;
+        long totalRequests = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            LoadGenerator.Samples endpointSamples = samples.get(endpoint);
+            if (endpointSamples == null || endpointSamples.size() == 0) {
+                continue;
+            }
+            long[] sorted = endpointSamples.sortedLatencies();
+            long served = serviceRequests.getOrDefault(endpoint.getLabel(), 0L);
+            long endpointStatements = statements.getOrDefault(endpoint.getLabel(), 0L);
+            rows.add(new Row(endpoint.getLabel(), endpoint.getRoute(), sorted.length,
+                    endpointSamples.count(status -> status == 409 || status == 412),
+                    endpointSamples.count(status -> status < 200 || status >= 300 && status != 409 && status != 412),
+                    sorted.length / seconds,
+                    millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99), millis(sorted, 1.0),
+                    served > 0 ? (double) endpointStatements / served : 0, endpointSamples.statusCounts()));
+            totalRequests += sorted.length;
+        }
+        rows.add(new Row("total", "", totalRequests,
+                rows.stream().mapToLong(Row::conflicts).sum(), rows.stream().mapToLong(Row::errors).sum(),
+                totalRequests / seconds, 0, 0, 0, 0, 0, Map.of()));
+        backgroundStatements.put(QueryCounter.BACKGROUND, statements.getOrDefault(QueryCounter.BACKGROUND, 0L));
+    }
+
+    public String toTable() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-10s %-34s %9s %7s %7s %9s %9s %9s %9s %9s %8s%n", "endpoint", "route",
+                "requests", "409/412", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "sql/req"));
+        for (Row row : rows) {
+            if (row.endpoint.equals("total")) {
+                table.append(String.format("%-10s %-34s %9d %7d %7d %9.1f%n", row.endpoint, row.route,
+                        row.requests, row.conflicts, row.errors, row.requestsPerSecond));
+            } else {
+                table.append(String.format("%-10s %-34s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %8.2f%n",
+                        row.endpoint, row.route, row.requests, row.conflicts, row.errors, row.requestsPerSecond,
+                        row.p50Ms, row.p90Ms, row.p99Ms, row.maxMs, row.statementsPerRequest));
+            }
+        }
+        table.append(String.format("SQL statements outside requests (audit writer, schedulers): %d%n",
+                backgroundStatements.get(QueryCounter.BACKGROUND)));
+        return table.toString();
+    }
+
+    public void write(Path path, ObjectMapper objectMapper) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("settings", settings);
+        json.put("endpoints", rows);
+        json.put("backgroundStatements", backgroundStatements.get(QueryCounter.BACKGROUND));
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), json);
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    /**
+     * One endpoint; conflicts are optimistic-locking rejections, which concurrent edits of the same
+     * employee legitimately produce, and are not counted as errors. Status -1 is a transport failure.
+     */
+    public record Row(String endpoint, String route, long requests, long conflicts, long errors,
+                      double requestsPerSecond, double p50Ms, double p90Ms, double p99Ms, double maxMs,
+                      double statementsPerRequest, Map<Integer, Long> statusCodes) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.unifiederp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unifiederp.employee.EmployeeServiceApplication;
+import com.unifiederp.gateway.ErpGatewayApplication;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.crypto.SecretKey;
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Boots the employee service on an in-memory H2 database in PostgreSQL mode and, unless
+ * {@code --target=employee}, the gateway in front of it with a local Redis stand-in and a stubbed
+ * Supabase REST API. It then seeds data, drives the endpoint mix for a warm-up and a measured
+ * period, and reports per endpoint. Nothing leaves the loopback interface.
+ *
+ * <pre>java -jar loadtest/target/erp-loadtest-1.0.0.jar --employees=50000 --users=100 --duration-seconds=120</pre>
+ */
+public class LoadTestHarness {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestHarness.class);
+
+    private static final String JWT_SECRET = "load-test-jwt-secret-not-for-production-use";
+    private static final String[] ROLES = {"EMPLOYEE", "MANAGER", "ADMIN"};
+
+    // The gateway jar brings security, Redis and Spring Cloud Gateway onto the employee service's classpath
+    private static final String EMPLOYEE_EXCLUDES = String.join(",",
+            "org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration",
+            "org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration",
+            "org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration",
+            "org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration");
+
+    // ...and JPA, Flyway and H2 onto the gateway's
+    private static final String GATEWAY_EXCLUDES = String.join(",",
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration",
+            "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+            "org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration");
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        QueryCounter queryCounter = new QueryCounter();
+
+        try (RedisStandIn redis = new RedisStandIn();
+             SupabaseStub supabase = new SupabaseStub();
+             ConfigurableApplicationContext employeeService = startEmployeeService(queryCounter)) {
+
+            new DataSeeder(employeeService.getBean(DataSource.class))
+                    .seed(options.getDepartments(), options.getEmployees(), options.getAuditRows());
+            String employeeUrl = "http://localhost:" + port(employeeService);
+
+            ConfigurableApplicationContext gateway = options.isThroughGateway()
+                    ? startGateway(employeeUrl, redis, supabase) : null;
+            try {
+                LoadGenerator generator = gateway != null
+                        ? new LoadGenerator("http://localhost:" + port(gateway), LoadTestHarness::token, options)
+                        : new LoadGenerator(employeeUrl, null, options);
+
+                logger.info("Warming up for {} s with {} users", options.getWarmup().toSeconds(), options.getUsers());
+                generator.run(options.getWarmup());
+                queryCounter.reset();
+
+                logger.info("Measuring for {} s", options.getDuration().toSeconds());
+                Map<Endpoint, LoadGenerator.Samples> samples = generator.run(options.getDuration());
+                LoadReport report = new LoadReport(options, samples, queryCounter.statements(),
+                        queryCounter.requests());
+
+                System.out.println();
+                System.out.print(report.toTable());
+                Path reportPath = options.getReport().toAbsolutePath();
+                report.write(reportPath, new ObjectMapper());
+                logger.info("Report written to {}", reportPath);
+            } finally {
+                if (gateway != null) {
+                    gateway.close();
+                }
+            }
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startEmployeeService(QueryCounter queryCounter) throws Exception {
+        Path spool = Files.createTempFile("loadtest-audit", ".spool");
+        Files.delete(spool);
+        return new SpringApplicationBuilder(EmployeeServiceApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .initializers(context -> {
+                    context.getBeanFactory().addBeanPostProcessor(queryCounter);
+                    context.getBeanFactory().registerSingleton("loadTestEndpointFilter", queryCounter.endpointFilter());
+                })
+                .run("--spring.config.location=classpath:/application.properties",
+                        "--spring.main.banner-mode=off",
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.cloud.gateway.enabled=false",
+                        "--spring.autoconfigure.exclude=" + EMPLOYEE_EXCLUDES,
+                        "--audit.spool.path=" + spool,
+                        "--logging.level.root=WARN",
+                        // Tomcat blames the reactor threads the gateway shares with it on shutdown
+                        "--logging.level.org.apache.catalina.loader=ERROR",
+                        "--logging.level.com.unifiederp.loadtest=INFO");
+    }
+
+    private static ConfigurableApplicationContext startGateway(String employeeUrl, RedisStandIn redis,
+                                                               SupabaseStub supabase) {
+        return new SpringApplicationBuilder(ErpGatewayApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .run("--spring.config.location=classpath:/application.yml",
+                        "--spring.main.banner-mode=off",
+                        "--server.port=0",
+                        "--spring.profiles.active=loadtest",
+                        "--spring.autoconfigure.exclude=" + GATEWAY_EXCLUDES,
+                        "--spring.redis.host=localhost",
+                        "--spring.redis.port=" + redis.getPort(),
+                        "--supabase.url=" + supabase.getUrl(),
+                        "--supabase.anon-key=load-test-anon-key",
+                        "--supabase.service-role-key=load-test-service-role-key",
+                        "--supabase.jwt.secret=" + JWT_SECRET,
+                        "--security.permissions.header-secret=load-test-permission-secret",
+                        "--services.employee.url=" + employeeUrl,
+                        // Every simulated user shares one client address and the default tenant; the limiter
+                        // still does its Redis round trips
+                        "--rate-limit.requests-per-minute=" + Integer.MAX_VALUE,
+                        "--rate-limit.tenant-requests-per-minute=" + Integer.MAX_VALUE,
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.unifiederp.gateway=WARN",
+                        "--logging.level.org.springframework.cloud.gateway=WARN",
+                        "--logging.level.reactor.netty.http.client=WARN",
+                        "--logging.level.com.unifiederp.loadtest=INFO");
+    }
+
+    private static String token(int user) {
+        SecretKey key = Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.builder()
+                .setSubject("load-user-" + user)
+                .claim("email", "load-user-" + user + "@loadtest.local")
+                .claim("role", ROLES[user % ROLES.length])
+                .setExpiration(new Date(System.currentTimeMillis() + Duration.ofHours(12).toMillis()))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static String port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getProperty("local.server.port");
+    }
+}
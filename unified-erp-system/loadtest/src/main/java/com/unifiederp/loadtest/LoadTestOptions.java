@@ -0,0 +1,111 @@
+package com.unifiederp.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Harness settings, given as {@code --name=value} arguments. Anything not recognised here is an error,
+ * so a typo does not silently run the defaults.
+ */
+public class LoadTestOptions {
+
+    static final String DEFAULT_MIX = "paginated:30,search:15,get:25,create:8,update:10,status:10,delete:2";
+
+    private int departments = 20;
+    private int employees = 10_000;
+    private int auditRows = 50_000;
+    private int users = 50;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private boolean throughGateway = true;
+    private Map<Endpoint, Integer> mix = parseMix(DEFAULT_MIX);
+    private Path report = Path.of("loadtest-report.json");
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "departments" -> options.departments = Integer.parseInt(value);
+                case "employees" -> options.employees = Integer.parseInt(value);
+                case "audit-rows" -> options.auditRows = Integer.parseInt(value);
+                case "users" -> options.users = Integer.parseInt(value);
+                case "warmup-seconds" -> options.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "duration-seconds" -> options.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "target" -> options.throughGateway = switch (value) {
+                    case "gateway" -> true;
+                    case "employee" -> false;
+                    default -> throw new IllegalArgumentException("--target must be gateway or employee");
+                };
+                case "mix" -> options.mix = parseMix(value);
+                case "report" -> options.report = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (options.departments < 1 || options.employees < options.departments) {
+            throw new IllegalArgumentException("Need at least one department and one employee per department");
+        }
+        return options;
+    }
+
+    /**
+     * {@code endpoint:weight} pairs, e.g. {@value #DEFAULT_MIX}. Endpoints left out are not called.
+     */
+    static Map<Endpoint, Integer> parseMix(String spec) {
+        Map<Endpoint, Integer> mix = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries are endpoint:weight, got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) {
+                mix.put(Endpoint.fromName(parts[0]), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no endpoint with a positive weight");
+        }
+        return mix;
+    }
+
+    public int getDepartments() { return departments; }
+
+    public int getEmployees() { return employees; }
+
+    public int getAuditRows() { return auditRows; }
+
+    public int getUsers() { return users; }
+
+    public Duration getWarmup() { return warmup; }
+
+    public Duration getDuration() { return duration; }
+
+    public boolean isThroughGateway() { return throughGateway; }
+
+    public Map<Endpoint, Integer> getMix() { return mix; }
+
+    public Path getReport() { return report; }
+
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("departments", departments);
+        description.put("employees", employees);
+        description.put("auditRows", auditRows);
+        description.put("users", users);
+        description.put("warmupSeconds", warmup.toSeconds());
+        description.put("durationSeconds", duration.toSeconds());
+        description.put("target", throughGateway ? "gateway" : "employee");
+        Map<String, Integer> weights = new HashMap<>();
+        mix.forEach((endpoint, weight) -> weights.put(endpoint.getLabel(), weight));
+        description.put("mix", weights);
+        return description;
+    }
+}
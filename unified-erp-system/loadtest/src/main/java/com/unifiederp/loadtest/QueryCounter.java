@@ -0,0 +1,116 @@
+package com.unifiederp.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the SQL statements the employee service prepares, per endpoint. A servlet filter takes the
+ * endpoint from the {@value Endpoint#HEADER} request header; statements on other threads, such as
+ * the asynchronous audit writer, are counted under {@value #BACKGROUND}.
+ */
+public class QueryCounter implements BeanPostProcessor {
+
+    public static final String BACKGROUND = "(background)";
+
+    private static final ThreadLocal<String> currentEndpoint = new ThreadLocal<>();
+
+    private final Map<String, LongAdder> statements = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || !beanName.equals("dataSource")) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return counting(super.getConnection());
+            }
+        };
+    }
+
+    public FilterRegistrationBean<OncePerRequestFilter> endpointFilter() {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                String endpoint = request.getHeader(Endpoint.HEADER);
+                if (endpoint == null) {
+                    chain.doFilter(request, response);
+                    return;
+                }
+                requests.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+                currentEndpoint.set(endpoint);
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    currentEndpoint.remove();
+                }
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Statements per endpoint label since the last reset
+     */
+    public Map<String, Long> statements() {
+        return snapshot(statements);
+    }
+
+    /**
+     * Requests that reached the employee service per endpoint label since the last reset
+     */
+    public Map<String, Long> requests() {
+        return snapshot(requests);
+    }
+
+    public void reset() {
+        statements.clear();
+        requests.clear();
+    }
+
+    private Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("prepare") || name.equals("createStatement")) {
+                        String endpoint = currentEndpoint.get();
+                        statements.computeIfAbsent(endpoint != null ? endpoint : BACKGROUND, e -> new LongAdder())
+                                .increment();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((endpoint, counter) -> snapshot.put(endpoint, counter.sum()));
+        return snapshot;
+    }
+}
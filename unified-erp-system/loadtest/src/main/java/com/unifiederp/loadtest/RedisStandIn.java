@@ -0,0 +1,196 @@
+package com.unifiederp.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal RESP2 server on the loopback interface, enough for the gateway's rate limiter:
+ * {@code GET}, {@code SET}, {@code INCR}, {@code EXPIRE}/{@code PEXPIRE}, {@code DEL} and {@code PING}.
+ * {@code HELLO} is refused, so Lettuce falls back to RESP2. Keys expire lazily on read.
+ */
+public class RedisStandIn implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisStandIn.class);
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "redis-stand-in");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ConcurrentHashMap<String, Entry> store = new ConcurrentHashMap<>();
+
+    public RedisStandIn() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        connections.execute(this::accept);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    logger.warn("Redis stand-in stopped accepting connections: {}", e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             InputStream in = new BufferedInputStream(socket.getInputStream());
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            while (true) {
+                List<String> command = readCommand(in);
+                out.write(execute(command).getBytes(StandardCharsets.UTF_8));
+                // Lettuce pipelines; only flush once the client has nothing more queued
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (EOFException e) {
+            // Client closed the connection
+        } catch (IOException e) {
+            if (!serverSocket.isClosed()) {
+                logger.debug("Redis stand-in connection failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    String execute(List<String> command) {
+        if (command.isEmpty()) {
+            return error("empty command");
+        }
+        String name = command.get(0).toUpperCase(Locale.ROOT);
+        switch (name) {
+            case "PING":
+                return command.size() > 1 ? bulk(command.get(1)) : "+PONG\r\n";
+            case "SELECT":
+            case "CLIENT":
+                return "+OK\r\n";
+            case "GET": {
+                Entry entry = live(command.get(1));
+                return bulk(entry != null ? entry.value : null);
+            }
+            case "SET":
+                store.put(command.get(1), new Entry(command.get(2), 0));
+                return "+OK\r\n";
+            case "INCR": {
+                Entry updated = store.compute(command.get(1), (key, entry) -> {
+                    boolean present = entry != null && !entry.isExpired();
+                    long value = present ? Long.parseLong(entry.value) + 1 : 1;
+                    return new Entry(Long.toString(value), present ? entry.expiresAt : 0);
+                });
+                return ":" + updated.value + "\r\n";
+            }
+            case "EXPIRE":
+            case "PEXPIRE": {
+                long millis = Long.parseLong(command.get(2)) * (name.equals("EXPIRE") ? 1000 : 1);
+                Entry updated = store.computeIfPresent(command.get(1), (key, entry) -> entry.isExpired()
+                        ? null : new Entry(entry.value, System.currentTimeMillis() + millis));
+                return updated != null ? ":1\r\n" : ":0\r\n";
+            }
+            case "DEL": {
+                int removed = 0;
+                for (String key : command.subList(1, command.size())) {
+                    removed += store.remove(key) != null ? 1 : 0;
+                }
+                return ":" + removed + "\r\n";
+            }
+            default:
+                return error("unknown command '" + command.get(0) + "'");
+        }
+    }
+
+    private Entry live(String key) {
+        Entry entry = store.get(key);
+        if (entry != null && entry.isExpired()) {
+            store.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private static List<String> readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (!header.startsWith("*")) {
+            // Inline command, as sent by redis-cli or telnet
+            return List.of(header.trim().split("\\s+"));
+        }
+        int count = Integer.parseInt(header.substring(1));
+        List<String> arguments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = Integer.parseInt(readLine(in).substring(1));
+            byte[] bytes = in.readNBytes(length);
+            if (bytes.length < length) {
+                throw new EOFException();
+            }
+            readLine(in);
+            arguments.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return arguments;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\n') {
+            if (c == -1) {
+                throw new EOFException();
+            }
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    private static String bulk(String value) {
+        if (value == null) {
+            return "$-1\r\n";
+        }
+        return "$" + value.getBytes(StandardCharsets.UTF_8).length + "\r\n" + value + "\r\n";
+    }
+
+    private static String error(String message) {
+        return "-ERR " + message + "\r\n";
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    private record Entry(String value, long expiresAt) {
+
+        boolean isExpired() {
+            return expiresAt > 0 && System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.unifiederp.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Answers the two Supabase REST queries the gateway's role cache makes at startup, with a fixed
+ * role table: EMPLOYEE &lt; MANAGER &lt; ADMIN, each level granting HRMS permissions on top of the last.
+ */
+public class SupabaseStub implements AutoCloseable {
+
+    static final String PERMISSIONS = """
+            [{"module":"HRMS","action":"READ"},{"module":"HRMS","action":"CREATE"},
+             {"module":"HRMS","action":"UPDATE"},{"module":"HRMS","action":"DELETE"}]""";
+
+    static final String ROLES = """
+            [{"name":"EMPLOYEE","hierarchy_level":1,
+              "permissions":[{"module":"HRMS","action":"READ","is_active":true}]},
+             {"name":"MANAGER","hierarchy_level":2,
+              "permissions":[{"module":"HRMS","action":"CREATE","is_active":true},
+                             {"module":"HRMS","action":"UPDATE","is_active":true}]},
+             {"name":"ADMIN","hierarchy_level":3,
+              "permissions":[{"module":"HRMS","action":"DELETE","is_active":true}]}]""";
+
+    private final HttpServer server;
+
+    public SupabaseStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/rest/v1/permissions", exchange -> respond(exchange, PERMISSIONS));
+        server.createContext("/rest/v1/roles", exchange -> respond(exchange, ROLES));
+        server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "supabase-stub");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
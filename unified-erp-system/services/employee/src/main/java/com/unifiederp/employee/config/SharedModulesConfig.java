@@ -0,0 +1,84 @@
+package com.unifiederp.employee.config;
+
+import com.unifiederp.employee.model.Employee;
+import com.unifiederp.employee.repository.DepartmentRepository;
+import com.unifiederp.employee.repository.EmployeeRepository;
+import com.unifiederp.shared.audit.AuditLogWriter;
+import com.unifiederp.shared.audit.EntityChangeCollector;
+import com.unifiederp.shared.audit.EntityChangeListener;
+import com.unifiederp.shared.config.AsyncConfig;
+import com.unifiederp.shared.config.AuditConfig;
+import com.unifiederp.shared.config.EventBusConfig;
+import com.unifiederp.shared.config.ReplicaRoutingConfig;
+import com.unifiederp.shared.config.SqlStatisticsConfig;
+import com.unifiederp.shared.config.TaskContextConfig;
+import com.unifiederp.shared.config.VirtualThreadConfig;
+import com.unifiederp.shared.datasource.ConnectionPoolWarmup;
+import com.unifiederp.shared.entity.AuditLog;
+import com.unifiederp.shared.entity.OutboxEvent;
+import com.unifiederp.shared.entity.ProcessedEvent;
+import com.unifiederp.shared.exception.ErrorCounters;
+import com.unifiederp.shared.fetch.FetchPlanGuard;
+import com.unifiederp.shared.filter.AuditContextFilter;
+import com.unifiederp.shared.filter.TenantFilter;
+import com.unifiederp.shared.repository.AuditLogRepository;
+import com.unifiederp.shared.repository.OutboxEventRepository;
+import com.unifiederp.shared.repository.ProcessedEventRepository;
+import com.unifiederp.shared.tenant.TenantLoadGuard;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypesScanner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pulls in the parts of backend-utils this service uses. The shared entity package also maps
+ * the {@code employees} and {@code departments} tables, so it is not scanned wholesale; only
+ * {@link AuditLog} and the event outbox entities are added to this service's persistence unit,
+ * and only their repositories are enabled.
+ */
+@Configuration
+@Import({
+        AsyncConfig.class,
+        AuditConfig.class,
+        EventBusConfig.class,
+        ReplicaRoutingConfig.class,
+        SqlStatisticsConfig.class,
+        TaskContextConfig.class,
+        VirtualThreadConfig.class,
+        AuditContextFilter.class,
+        TenantFilter.class,
+        ConnectionPoolWarmup.class,
+        ErrorCounters.class,
+        FetchPlanGuard.class,
+        TenantLoadGuard.class,
+        AuditLogWriter.class,
+        EntityChangeCollector.class,
+        EntityChangeListener.class
+})
+@EnableJpaRepositories(
+        basePackageClasses = {EmployeeRepository.class, AuditLogRepository.class},
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                classes = {EmployeeRepository.class, DepartmentRepository.class, AuditLogRepository.class,
+                        OutboxEventRepository.class, ProcessedEventRepository.class}))
+public class SharedModulesConfig {
+
+    @Bean
+    public PersistenceManagedTypes persistenceManagedTypes(ResourceLoader resourceLoader) {
+        PersistenceManagedTypes scanned = new PersistenceManagedTypesScanner(resourceLoader)
+                .scan(Employee.class.getPackageName());
+
+        List<String> managedClassNames = new ArrayList<>(scanned.getManagedClassNames());
+        managedClassNames.add(AuditLog.class.getName());
+        managedClassNames.add(OutboxEvent.class.getName());
+        managedClassNames.add(ProcessedEvent.class.getName());
+        return PersistenceManagedTypes.of(managedClassNames, scanned.getManagedPackages());
+    }
+}
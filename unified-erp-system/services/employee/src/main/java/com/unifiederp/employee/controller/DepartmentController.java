@@ -1,6 +1,7 @@
 package com.unifiederp.employee.controller;
 
 import com.unifiederp.employee.dto.DepartmentDTO;
+import com.unifiederp.employee.dto.DepartmentMergeResult;
 import com.unifiederp.employee.service.DepartmentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -67,6 +68,13 @@ public class DepartmentController {
         return ResponseEntity.ok(departments);
     }
 
+    /** Moves all employees of department {@code id} into {@code targetId} and deletes {@code id}. */
+    @PostMapping("/{id}/merge-into/{targetId}")
+    public ResponseEntity<DepartmentMergeResult> mergeDepartment(@PathVariable Long id, @PathVariable Long targetId) {
+        DepartmentMergeResult result = departmentService.mergeDepartment(id, targetId);
+        return ResponseEntity.ok(result);
+    }
+
     @PatchMapping("/{id}/manager")
     public ResponseEntity<DepartmentDTO> updateDepartmentManager(@PathVariable Long id, 
                                                                 @RequestParam(required = false) Long managerId) {
@@ -1,7 +1,12 @@
 package com.unifiederp.employee.controller;
 
+import com.unifiederp.employee.dto.BulkStatusJob;
+import com.unifiederp.employee.dto.BulkStatusRequest;
 import com.unifiederp.employee.dto.EmployeeDTO;
+import com.unifiederp.employee.event.EmployeeChangeFeed;
+import com.unifiederp.employee.exception.StaleVersionException;
 import com.unifiederp.employee.model.EmployeeStatus;
+import com.unifiederp.employee.service.EmployeeBulkStatusService;
 import com.unifiederp.employee.service.EmployeeService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,10 +14,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -23,10 +34,24 @@ public class EmployeeController {
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmployeeBulkStatusService bulkStatusService;
+
+    @Autowired
+    private EmployeeChangeFeed changeFeed;
+
+    /**
+     * List endpoints answer {@code If-None-Match} with 304 when the ETag, computed by an aggregate query
+     * over the listed rows, is unchanged; the list itself is then neither loaded nor serialized.
+     */
     @GetMapping
-    public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
+    public ResponseEntity<List<EmployeeDTO>> getAllEmployees(WebRequest request) {
+        String eTag = employeeService.getEmployeesVersion().toETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         List<EmployeeDTO> employees = employeeService.getAllEmployees();
-        return ResponseEntity.ok(employees);
+        return withETag(eTag, employees);
     }
 
     @GetMapping("/paginated")
@@ -34,21 +59,49 @@ public class EmployeeController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "lastName") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            WebRequest request) {
         
+        // Any change to the table changes every page, so the whole-table version tags each page
+        String eTag = employeeService.getEmployeesVersion().toETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                    Sort.by(sortBy).descending() : 
                    Sort.by(sortBy).ascending();
         
         Pageable pageable = PageRequest.of(page, size, sort);
         Page<EmployeeDTO> employees = employeeService.getEmployeesWithPagination(pageable);
-        return ResponseEntity.ok(employees);
+        return withETag(eTag, employees);
+    }
+
+    /**
+     * Server-sent events for every employee and department change, named by event type, so lists can
+     * be updated instead of polled. Reconnecting with {@code Last-Event-ID} replays what was missed;
+     * a {@code reset} event means it can't be, and the list must be reloaded. 503 when the stream
+     * limit is reached.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = changeFeed.subscribe(lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                // Tells nginx-style proxies in front of the service not to buffer the stream
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id) {
         EmployeeDTO employee = employeeService.getEmployeeById(id);
-        return ResponseEntity.ok(employee);
+        return withETag(employee);
     }
 
     @GetMapping("/employee-id/{employeeId}")
@@ -63,11 +116,19 @@ public class EmployeeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdEmployee);
     }
 
+    /**
+     * Conditional when the client sends {@code If-Match} with the ETag from a previous read;
+     * a stale ETag gets 412 instead of overwriting someone else's edit.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<EmployeeDTO> updateEmployee(@PathVariable Long id, 
-                                                     @Valid @RequestBody EmployeeDTO employeeDTO) {
+                                                     @Valid @RequestBody EmployeeDTO employeeDTO,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            employeeDTO.setVersion(parseETag(ifMatch));
+        }
         EmployeeDTO updatedEmployee = employeeService.updateEmployee(id, employeeDTO);
-        return ResponseEntity.ok(updatedEmployee);
+        return withETag(updatedEmployee);
     }
 
     @DeleteMapping("/{id}")
@@ -77,21 +138,33 @@ public class EmployeeController {
     }
 
     @GetMapping("/department/{departmentId}")
-    public ResponseEntity<List<EmployeeDTO>> getEmployeesByDepartment(@PathVariable Long departmentId) {
+    public ResponseEntity<List<EmployeeDTO>> getEmployeesByDepartment(@PathVariable Long departmentId, WebRequest request) {
+        String eTag = employeeService.getEmployeesByDepartmentVersion(departmentId).toETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         List<EmployeeDTO> employees = employeeService.getEmployeesByDepartment(departmentId);
-        return ResponseEntity.ok(employees);
+        return withETag(eTag, employees);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<EmployeeDTO>> getEmployeesByStatus(@PathVariable EmployeeStatus status) {
+    public ResponseEntity<List<EmployeeDTO>> getEmployeesByStatus(@PathVariable EmployeeStatus status, WebRequest request) {
+        String eTag = employeeService.getEmployeesByStatusVersion(status).toETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         List<EmployeeDTO> employees = employeeService.getEmployeesByStatus(status);
-        return ResponseEntity.ok(employees);
+        return withETag(eTag, employees);
     }
 
     @GetMapping("/manager/{managerId}")
-    public ResponseEntity<List<EmployeeDTO>> getEmployeesByManager(@PathVariable Long managerId) {
+    public ResponseEntity<List<EmployeeDTO>> getEmployeesByManager(@PathVariable Long managerId, WebRequest request) {
+        String eTag = employeeService.getEmployeesByManagerVersion(managerId).toETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         List<EmployeeDTO> employees = employeeService.getEmployeesByManager(managerId);
-        return ResponseEntity.ok(employees);
+        return withETag(eTag, employees);
     }
 
     @GetMapping("/search")
@@ -111,11 +184,34 @@ public class EmployeeController {
         return ResponseEntity.ok(employees);
     }
 
+    /** Conditional on {@code If-Match} like the PUT; a stale ETag gets 412. */
     @PatchMapping("/{id}/status")
     public ResponseEntity<EmployeeDTO> updateEmployeeStatus(@PathVariable Long id, 
-                                                           @RequestParam EmployeeStatus status) {
-        EmployeeDTO updatedEmployee = employeeService.updateEmployeeStatus(id, status);
-        return ResponseEntity.ok(updatedEmployee);
+                                                           @RequestParam EmployeeStatus status,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long version = ifMatch != null && !ifMatch.trim().equals("*") ? parseETag(ifMatch) : null;
+        EmployeeDTO updatedEmployee = employeeService.updateEmployeeStatus(id, status, version);
+        return withETag(updatedEmployee);
+    }
+
+    /**
+     * Moves many employees to one status. Small sets are changed before responding (200); larger
+     * ones run in the background (202) and are polled at the returned {@code Location}.
+     */
+    @PostMapping("/bulk-status")
+    public ResponseEntity<BulkStatusJob> bulkUpdateStatus(@Valid @RequestBody BulkStatusRequest request) {
+        BulkStatusJob job = bulkStatusService.submit(request);
+        if (job.isBackground()) {
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/employees/bulk-status/" + job.getJobId()))
+                    .body(job);
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    @GetMapping("/bulk-status/{jobId}")
+    public ResponseEntity<BulkStatusJob> getBulkStatusJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(bulkStatusService.getJob(jobId));
     }
 
     @GetMapping("/department/{departmentId}/count")
@@ -123,4 +219,32 @@ public class EmployeeController {
         Long count = employeeService.getActiveEmployeeCountByDepartment(departmentId);
         return ResponseEntity.ok(count);
     }
+
+    // The ETag of an employee is its version
+    private static ResponseEntity<EmployeeDTO> withETag(EmployeeDTO employee) {
+        if (employee == null || employee.getVersion() == null) {
+            return ResponseEntity.ok(employee);
+        }
+        return ResponseEntity.ok().eTag(employee.getVersion().toString()).body(employee);
+    }
+
+    // Revalidate on every use; an unchanged list then costs one aggregate query and a 304
+    private static <T> ResponseEntity<T> withETag(String eTag, T body) {
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(body);
+    }
+
+    private static Long parseETag(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new StaleVersionException("If-Match does not match any version of this employee: " + ifMatch);
+        }
+    }
 }
\ No newline at end of file
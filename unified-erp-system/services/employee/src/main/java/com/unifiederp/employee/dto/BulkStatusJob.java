@@ -0,0 +1,61 @@
+package com.unifiederp.employee.dto;
+
+import com.unifiederp.employee.model.EmployeeStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a bulk status change. {@code matched} employees were not yet in the target status
+ * when the job started; {@code updated} is how many of them it changed, which is lower if some
+ * were changed concurrently.
+ */
+public class BulkStatusJob {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private final String jobId = UUID.randomUUID().toString();
+    private final EmployeeStatus status;
+    private final long matched;
+    private final boolean background;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private volatile State state = State.RUNNING;
+    private volatile String error;
+    private volatile LocalDateTime completedAt;
+
+    public BulkStatusJob(EmployeeStatus status, long matched, boolean background) {
+        this.status = status;
+        this.matched = matched;
+        this.background = background;
+    }
+
+    public void chunkApplied(int chunkSize, int chunkUpdated) {
+        processed.addAndGet(chunkSize);
+        updated.addAndGet(chunkUpdated);
+    }
+
+    public void complete() {
+        completedAt = LocalDateTime.now();
+        state = State.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        completedAt = LocalDateTime.now();
+        state = State.FAILED;
+    }
+
+    public String getJobId() { return jobId; }
+    public EmployeeStatus getStatus() { return status; }
+    public long getMatched() { return matched; }
+    public boolean isBackground() { return background; }
+    public long getProcessed() { return processed.get(); }
+    public long getUpdated() { return updated.get(); }
+    public State getState() { return state; }
+    public String getError() { return error; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+}
@@ -0,0 +1,34 @@
+package com.unifiederp.employee.dto;
+
+import com.unifiederp.employee.model.EmployeeStatus;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Moves a set of employees to {@link #status}. The set is given by exactly one of
+ * {@link #ids}, {@link #departmentId} or {@link #managerId}.
+ */
+public class BulkStatusRequest {
+
+    private List<Long> ids;
+    private Long departmentId;
+    private Long managerId;
+
+    @NotNull(message = "Target status is required")
+    private EmployeeStatus status;
+
+    public BulkStatusRequest() {}
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public Long getDepartmentId() { return departmentId; }
+    public void setDepartmentId(Long departmentId) { this.departmentId = departmentId; }
+
+    public Long getManagerId() { return managerId; }
+    public void setManagerId(Long managerId) { this.managerId = managerId; }
+
+    public EmployeeStatus getStatus() { return status; }
+    public void setStatus(EmployeeStatus status) { this.status = status; }
+}
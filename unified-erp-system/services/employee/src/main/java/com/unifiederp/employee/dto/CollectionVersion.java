@@ -0,0 +1,45 @@
+package com.unifiederp.employee.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Stream;
+
+/**
+ * Row counts and latest {@code updatedAt} over the rows an employee list is built from: the employees,
+ * their departments and their managers. Any insert, update or delete of those rows changes it, so it
+ * identifies the list's content without loading or serializing the list.
+ */
+public class CollectionVersion {
+
+    private final long employees;
+    private final long managers;
+    private final LocalDateTime lastModified;
+
+    public CollectionVersion(Long employees, Long managers, LocalDateTime employeesUpdatedAt,
+                             LocalDateTime departmentsUpdatedAt, LocalDateTime managersUpdatedAt) {
+        this.employees = employees == null ? 0 : employees;
+        this.managers = managers == null ? 0 : managers;
+        this.lastModified = Stream.of(employeesUpdatedAt, departmentsUpdatedAt, managersUpdatedAt)
+                .filter(t -> t != null)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+
+    public long getEmployees() { return employees; }
+
+    public long getManagers() { return managers; }
+
+    public LocalDateTime getLastModified() { return lastModified; }
+
+    /**
+     * Weak because Tomcat does not compress responses carrying a strong ETag; the gzip and identity
+     * encodings of the list are then both matched by the same tag.
+     */
+    public String toETag() {
+        long micros = lastModified == null ? 0
+                : ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), lastModified);
+        return "W/\"" + Long.toHexString(employees) + "-" + Long.toHexString(managers) + "-"
+                + Long.toHexString(micros) + "\"";
+    }
+}
@@ -0,0 +1,29 @@
+package com.unifiederp.employee.dto;
+
+/**
+ * Outcome of merging one department into another: how many employees moved, and the
+ * surviving department as it is after the merge.
+ */
+public class DepartmentMergeResult {
+
+    private Long mergedDepartmentId;
+    private int employeesMoved;
+    private DepartmentDTO department;
+
+    public DepartmentMergeResult() {}
+
+    public DepartmentMergeResult(Long mergedDepartmentId, int employeesMoved, DepartmentDTO department) {
+        this.mergedDepartmentId = mergedDepartmentId;
+        this.employeesMoved = employeesMoved;
+        this.department = department;
+    }
+
+    public Long getMergedDepartmentId() { return mergedDepartmentId; }
+    public void setMergedDepartmentId(Long mergedDepartmentId) { this.mergedDepartmentId = mergedDepartmentId; }
+
+    public int getEmployeesMoved() { return employeesMoved; }
+    public void setEmployeesMoved(int employeesMoved) { this.employeesMoved = employeesMoved; }
+
+    public DepartmentDTO getDepartment() { return department; }
+    public void setDepartment(DepartmentDTO department) { this.department = department; }
+}
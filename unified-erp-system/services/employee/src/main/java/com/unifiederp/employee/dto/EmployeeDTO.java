@@ -44,6 +44,7 @@ public class EmployeeDTO {
     private String managerName;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     // Constructors
     public EmployeeDTO() {}
@@ -60,6 +61,33 @@ public class EmployeeDTO {
         this.status = EmployeeStatus.ACTIVE;
     }
 
+    /** Used by the constructor-expression queries in {@code EmployeeRepository}. */
+    public EmployeeDTO(Long id, String employeeId, String firstName, String lastName, String email,
+                       String phone, String address, Long departmentId, String departmentName,
+                       String position, LocalDate startDate, LocalDate endDate, EmployeeStatus status,
+                       Double salary, Long managerId, String managerName,
+                       LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this.id = id;
+        this.employeeId = employeeId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.address = address;
+        this.departmentId = departmentId;
+        this.departmentName = departmentName;
+        this.position = position;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = status;
+        this.salary = salary;
+        this.managerId = managerId;
+        this.managerName = managerName;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -115,6 +143,9 @@ public class EmployeeDTO {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     // Helper methods
     public String getFullName() {
         return firstName + " " + lastName;
@@ -0,0 +1,12 @@
+package com.unifiederp.employee.event;
+
+import com.unifiederp.employee.model.EmployeeStatus;
+
+import java.util.List;
+
+/**
+ * Payload of {@link EmployeeEvents#BULK_STATUS_CHANGED}: one chunk of a bulk status job, the ids of
+ * the employees it moved and the status they now have.
+ */
+public record BulkStatusChange(String jobId, List<Long> ids, EmployeeStatus status) {
+}
@@ -0,0 +1,22 @@
+package com.unifiederp.employee.event;
+
+import com.unifiederp.employee.dto.DepartmentDTO;
+
+/**
+ * Payload of the {@link DepartmentEvents}: the department's state after the change. Deletions only
+ * carry the id; merges also the target department and the number of employees moved to it.
+ */
+public record DepartmentChange(Long id, String name, Long managerId, Long mergedInto, Integer employeesMoved) {
+
+    public static DepartmentChange of(DepartmentDTO department) {
+        return new DepartmentChange(department.getId(), department.getName(), department.getManagerId(), null, null);
+    }
+
+    public static DepartmentChange deleted(Long id) {
+        return new DepartmentChange(id, null, null, null, null);
+    }
+
+    public static DepartmentChange merged(Long id, Long targetId, int employeesMoved) {
+        return new DepartmentChange(id, null, null, targetId, employeesMoved);
+    }
+}
@@ -0,0 +1,18 @@
+package com.unifiederp.employee.event;
+
+/**
+ * Domain events this service publishes about departments. Each carries a {@link DepartmentChange}
+ * and the department's database id as aggregate id.
+ */
+public final class DepartmentEvents {
+
+    public static final String AGGREGATE_TYPE = "Department";
+
+    public static final String CREATED = "department.created";
+    public static final String UPDATED = "department.updated";
+    public static final String DELETED = "department.deleted";
+    /** The source department was deleted after its employees moved to {@code mergedInto}. */
+    public static final String MERGED = "department.merged";
+
+    private DepartmentEvents() {}
+}
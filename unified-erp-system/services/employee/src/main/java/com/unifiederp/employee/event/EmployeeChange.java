@@ -0,0 +1,27 @@
+package com.unifiederp.employee.event;
+
+import com.unifiederp.employee.dto.EmployeeDTO;
+import com.unifiederp.employee.model.Employee;
+import com.unifiederp.employee.model.EmployeeStatus;
+
+/**
+ * Payload of the {@link EmployeeEvents}: the employee's state after the change, as far as the
+ * publisher knows it. Deletions only carry the id.
+ */
+public record EmployeeChange(Long id, String employeeId, Long departmentId, Long managerId,
+                             EmployeeStatus status, Long version) {
+
+    public static EmployeeChange of(Employee employee) {
+        return new EmployeeChange(employee.getId(), employee.getEmployeeId(), employee.getDepartment().getId(),
+                employee.getManagerId(), employee.getStatus(), employee.getVersion());
+    }
+
+    public static EmployeeChange of(EmployeeDTO employee) {
+        return new EmployeeChange(employee.getId(), employee.getEmployeeId(), employee.getDepartmentId(),
+                employee.getManagerId(), employee.getStatus(), employee.getVersion());
+    }
+
+    public static EmployeeChange deleted(Long id) {
+        return new EmployeeChange(id, null, null, null, null, null);
+    }
+}
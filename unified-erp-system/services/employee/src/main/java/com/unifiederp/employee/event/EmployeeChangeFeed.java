@@ -0,0 +1,414 @@
+package com.unifiederp.employee.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unifiederp.shared.events.EventBroker;
+import com.unifiederp.shared.events.EventEnvelope;
+import com.unifiederp.shared.events.InMemoryEventBroker;
+import com.unifiederp.shared.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans the relayed employee and department events out to server-sent event subscribers. The last
+ * {@code employee.changes.buffer-size} events are kept, serialized once, in a ring buffer; each
+ * subscriber is a cursor into it, drained by a small dispatch pool, so the relay never waits for a
+ * client. A client resumes from the event id it last saw; when that event has left the buffer, or
+ * the client falls a whole buffer behind, it gets a {@value #RESET} event, should reload the list
+ * it shows, and is disconnected. Each tenant has its own buffer and subscriber limit; a stream
+ * carries only the events of the tenant it was opened in.
+ *
+ * <p>A client that stops reading holds its dispatch thread in a blocked write until the container's
+ * write timeout ({@code server.tomcat.connection-timeout}) fails it; interrupting the thread does
+ * not end a servlet write, and the emitter cannot be completed while the write holds it. So once a
+ * write has run longer than {@code employee.changes.send-timeout-ms} the client is disconnected and
+ * the dispatch pool gets a thread in place of the blocked one until that write returns.</p>
+ *
+ * <p>The feed only sees the events delivered by this instance's {@link EventBroker}. The default
+ * in-process broker delivers just the events this instance relays, so it serves a single instance;
+ * several need a broker bean that delivers every event to every instance. A client resuming on an
+ * instance that does not know its last event id gets a {@value #RESET} and reloads, rather than a gap.</p>
+ */
+@Component
+public class EmployeeChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+
+    /** Sent instead of the missed events; its id is the newest event, to resume from after reloading. */
+    public static final String RESET = "reset";
+
+    private static final Set<String> AGGREGATE_TYPES = Set.of(EmployeeEvents.AGGREGATE_TYPE, DepartmentEvents.AGGREGATE_TYPE);
+    private static final int DRAIN_BATCH = 64;
+
+    private final EventBroker eventBroker;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Ring> rings = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+    private final long retryMs;
+    private final long sendTimeoutNanos;
+    private final int dispatchThreads;
+    private final ThreadPoolExecutor dispatcher;
+    private int stalledSends;
+    private AutoCloseable subscription;
+
+    public EmployeeChangeFeed(EventBroker eventBroker, ObjectMapper objectMapper,
+                              @Value("${employee.changes.buffer-size:1024}") int bufferSize,
+                              @Value("${employee.changes.max-subscribers:1000}") int maxSubscribers,
+                              @Value("${employee.changes.dispatch-threads:4}") int dispatchThreads,
+                              @Value("${employee.changes.timeout-ms:1800000}") long timeoutMs,
+                              @Value("${employee.changes.retry-ms:3000}") long retryMs,
+                              @Value("${employee.changes.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.eventBroker = eventBroker;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+        this.retryMs = retryMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.dispatchThreads = dispatchThreads;
+        AtomicInteger threads = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "change-feed-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PostConstruct
+    public void start() {
+        if (eventBroker instanceof InMemoryEventBroker) {
+            logger.info("Change stream is fed by the in-process event broker and carries only this instance's events");
+        }
+        subscription = eventBroker.subscribe(this::append);
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        subscription.close();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Open a stream of the current tenant's events after {@code lastEventId}, or of its new events
+     * only when it is null.
+     *
+     * @return the emitter, or null when {@code employee.changes.max-subscribers} of the tenant's
+     *         streams are open
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        Ring ring = ring(TenantContext.getTenantId());
+        if (ring.subscriberCount.incrementAndGet() > maxSubscribers) {
+            ring.subscriberCount.decrementAndGet();
+            return null;
+        }
+        subscriberCount.incrementAndGet();
+        Subscriber subscriber = new Subscriber(ring, newEmitter(timeoutMs));
+        synchronized (this) {
+            Long position = lastEventId == null ? null : ring.positions.get(lastEventId);
+            if (position != null) {
+                subscriber.cursor = position + 1;
+            } else {
+                subscriber.cursor = ring.next;
+                // The client missed events we no longer have, e.g. across a restart, or never had on this instance
+                subscriber.resetPending = lastEventId != null;
+            }
+        }
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /** Keeps idle streams from being closed by proxies, and finds clients that went away. */
+    @Scheduled(fixedDelayString = "${employee.changes.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatPending = true;
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Disconnects subscribers whose current write has run past the send timeout, and stands in for
+     * the dispatch thread that write is blocking. The writing thread completes the emitter once its
+     * write gives up.
+     */
+    @Scheduled(fixedDelayString = "${employee.changes.send-check-ms:1000}")
+    public void expireStalledSends() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            synchronized (subscriber) {
+                if (!subscriber.sending || subscriber.expired || now - subscriber.sendingSince <= sendTimeoutNanos) {
+                    continue;
+                }
+                logger.debug("Change stream subscriber stalled on a write, disconnecting");
+                subscriber.expired = true;
+                resizeDispatcher(1);
+            }
+            remove(subscriber);
+        }
+    }
+
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    void append(EventEnvelope event) {
+        if (!AGGREGATE_TYPES.contains(event.aggregateType())) {
+            return;
+        }
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(body(event));
+        } catch (JsonProcessingException e) {
+            // Never fail the relay for a stream that clients can recover with a reset
+            logger.warn("Skipping change event {}: {}", event.eventId(), e.getMessage());
+            return;
+        }
+        Ring ring = ring(event.tenantId());
+        synchronized (this) {
+            if (ring.positions.containsKey(event.eventId())) {
+                return;
+            }
+            int slot = (int) (ring.next % ring.buffer.length);
+            Entry evicted = ring.buffer[slot];
+            if (evicted != null) {
+                ring.positions.remove(evicted.eventId);
+            }
+            ring.buffer[slot] = new Entry(event.eventId(), event.eventType(), data);
+            ring.positions.put(event.eventId(), ring.next);
+            ring.next++;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.ring == ring) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    /** Events recorded before tenants were, and requests without one, belong to the default tenant. */
+    private Ring ring(String tenantId) {
+        return rings.computeIfAbsent(tenantId == null ? TenantContext.DEFAULT_TENANT : tenantId,
+                tenant -> new Ring(bufferSize));
+    }
+
+    private Map<String, Object> body(EventEnvelope event) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("type", event.eventType());
+        body.put("aggregateType", event.aggregateType());
+        body.put("aggregateId", event.aggregateId());
+        body.put("occurredAt", event.occurredAt());
+        body.put("data", event.payload());
+        return body;
+    }
+
+    /**
+     * Entries from {@code position} on, at most {@value #DRAIN_BATCH}; null when {@code position}
+     * has already been overwritten.
+     */
+    private synchronized List<Entry> read(Ring ring, long position) {
+        if (position < ring.next - ring.buffer.length) {
+            return null;
+        }
+        List<Entry> entries = new ArrayList<>((int) Math.min(DRAIN_BATCH, ring.next - position));
+        for (long p = position; p < ring.next && entries.size() < DRAIN_BATCH; p++) {
+            entries.add(ring.buffer[(int) (p % ring.buffer.length)]);
+        }
+        return entries;
+    }
+
+    private synchronized String newestEventId(Ring ring) {
+        return ring.next == 0 ? null : ring.buffer[(int) ((ring.next - 1) % ring.buffer.length)].eventId;
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    /** Runs on one dispatch thread at a time per subscriber. */
+    private void drain(Subscriber subscriber) {
+        try {
+            if (!subscriber.greeted) {
+                send(subscriber, SseEmitter.event().reconnectTime(retryMs).comment("subscribed"));
+                subscriber.greeted = true;
+            }
+            if (subscriber.resetPending) {
+                reset(subscriber);
+                return;
+            }
+            List<Entry> entries;
+            while ((entries = read(subscriber.ring, subscriber.cursor)) != null && !entries.isEmpty()) {
+                for (Entry entry : entries) {
+                    send(subscriber, SseEmitter.event().id(entry.eventId).name(entry.eventType).data(entry.data));
+                    subscriber.cursor++;
+                }
+                subscriber.heartbeatPending = false;
+            }
+            if (entries == null) {
+                // The cursor was overwritten: the client fell a whole buffer behind
+                logger.debug("Change stream subscriber lagged more than {} events, resetting", bufferSize);
+                reset(subscriber);
+                return;
+            }
+            if (subscriber.heartbeatPending) {
+                subscriber.heartbeatPending = false;
+                send(subscriber, SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away, or the emitter already completed
+            subscriber.emitter.completeWithError(e);
+            remove(subscriber);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        synchronized (this) {
+            if (subscriber.cursor >= subscriber.ring.next) {
+                return;
+            }
+        }
+        if (subscribers.contains(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+
+    private void reset(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder reset = SseEmitter.event().name(RESET).data("");
+            String newest = newestEventId(subscriber.ring);
+            if (newest != null) {
+                reset.id(newest);
+            }
+            send(subscriber, reset);
+            subscriber.emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            subscriber.emitter.completeWithError(e);
+        }
+        remove(subscriber);
+    }
+
+    /** Sends on the calling dispatch thread; {@link #expireStalledSends} watches how long that takes. */
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        synchronized (subscriber) {
+            if (subscriber.expired) {
+                throw new IOException("Change stream write timed out");
+            }
+            subscriber.sending = true;
+            subscriber.sendingSince = System.nanoTime();
+        }
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            synchronized (subscriber) {
+                subscriber.sending = false;
+                if (subscriber.expired) {
+                    // This thread is back, so the one standing in for it can go
+                    resizeDispatcher(-1);
+                }
+            }
+        }
+        if (subscriber.expired) {
+            throw new IOException("Change stream write timed out");
+        }
+    }
+
+    private void resizeDispatcher(int delta) {
+        synchronized (dispatcher) {
+            stalledSends += delta;
+            int size = dispatchThreads + stalledSends;
+            // The core size may never exceed the maximum, so grow the maximum first and shrink it last
+            if (delta > 0) {
+                dispatcher.setMaximumPoolSize(size);
+                dispatcher.setCorePoolSize(size);
+            } else {
+                dispatcher.setCorePoolSize(size);
+                dispatcher.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    int getDispatchThreads() {
+        return dispatcher.getCorePoolSize();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.ring.subscriberCount.decrementAndGet();
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private record Entry(String eventId, String eventType, String data) {}
+
+    /** One tenant's events; guarded by the feed's lock. */
+    private static class Ring {
+        final Entry[] buffer;
+        /** Buffer position of each buffered event id, to resume from and to drop redeliveries. */
+        final Map<String, Long> positions = new HashMap<>();
+        final AtomicInteger subscriberCount = new AtomicInteger();
+        /** Position the next event is written to; the buffer holds positions {@code [next - capacity, next)}. */
+        long next;
+
+        Ring(int capacity) {
+            this.buffer = new Entry[capacity];
+        }
+    }
+
+    private static class Subscriber {
+        final Ring ring;
+        final SseEmitter emitter;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        /** Next buffer position to send; only the draining thread moves it after subscribe. */
+        volatile long cursor;
+        volatile boolean resetPending;
+        volatile boolean heartbeatPending;
+        boolean greeted;
+        /** Whether a write to the emitter is in progress, and since when; guarded by the subscriber. */
+        boolean sending;
+        long sendingSince;
+        volatile boolean expired;
+
+        Subscriber(Ring ring, SseEmitter emitter) {
+            this.ring = ring;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.unifiederp.employee.event;
+
+/**
+ * Domain events this service publishes about employees. Each carries an {@link EmployeeChange}
+ * and the employee's database id as aggregate id, except {@link #BULK_STATUS_CHANGED}.
+ */
+public final class EmployeeEvents {
+
+    public static final String AGGREGATE_TYPE = "Employee";
+
+    public static final String CREATED = "employee.created";
+    public static final String UPDATED = "employee.updated";
+    public static final String STATUS_CHANGED = "employee.status-changed";
+    public static final String DELETED = "employee.deleted";
+    /** One per chunk of a bulk status job: a {@link BulkStatusChange}, with the job id as aggregate id. */
+    public static final String BULK_STATUS_CHANGED = "employee.bulk-status-changed";
+
+    private EmployeeEvents() {}
+}
@@ -1,7 +1,11 @@
 package com.unifiederp.employee.exception;
 
+/**
+ * An employee ID, email or department name is already taken. Answered with a 409, so no
+ * stack trace is captured.
+ */
 public class DuplicateResourceException extends RuntimeException {
     public DuplicateResourceException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
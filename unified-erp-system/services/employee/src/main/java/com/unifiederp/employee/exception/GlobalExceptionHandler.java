@@ -1,7 +1,12 @@
 package com.unifiederp.employee.exception;
 
+import com.unifiederp.shared.exception.ErrorBodyTemplate;
+import com.unifiederp.shared.exception.ErrorCounters;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -11,37 +16,56 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Renders errors as {@link ErrorResponse} JSON. Bodies without field errors are written from
+ * {@link ErrorBodyTemplate}s prepared per error code instead of going through Jackson, and every
+ * error is counted in {@code erp.errors}.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final ErrorCode RESOURCE_NOT_FOUND = new ErrorCode("RESOURCE_NOT_FOUND", HttpStatus.NOT_FOUND);
+    private static final ErrorCode DUPLICATE_RESOURCE = new ErrorCode("DUPLICATE_RESOURCE", HttpStatus.CONFLICT);
+    private static final ErrorCode STALE_VERSION = new ErrorCode("STALE_VERSION", HttpStatus.PRECONDITION_FAILED);
+    private static final ErrorCode CONCURRENT_MODIFICATION = new ErrorCode("CONCURRENT_MODIFICATION", HttpStatus.CONFLICT,
+            "The resource was modified concurrently, reload it and retry");
+    private static final ErrorCode INVALID_REQUEST = new ErrorCode("INVALID_REQUEST", HttpStatus.BAD_REQUEST);
+    private static final ErrorCode ILLEGAL_STATE = new ErrorCode("ILLEGAL_STATE", HttpStatus.BAD_REQUEST);
+    private static final ErrorCode INTERNAL_SERVER_ERROR = new ErrorCode("INTERNAL_SERVER_ERROR",
+            HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+    private static final String VALIDATION_ERROR = "VALIDATION_ERROR";
+
+    @Autowired
+    private ErrorCounters errorCounters;
+
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex) {
-        ErrorResponse error = new ErrorResponse(
-                "RESOURCE_NOT_FOUND",
-                ex.getMessage(),
-                LocalDateTime.now()
-        );
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    public ResponseEntity<byte[]> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        return respond(RESOURCE_NOT_FOUND, ex.getMessage());
     }
 
     @ExceptionHandler(DuplicateResourceException.class)
-    public ResponseEntity<ErrorResponse> handleDuplicateResourceException(DuplicateResourceException ex) {
-        ErrorResponse error = new ErrorResponse(
-                "DUPLICATE_RESOURCE",
-                ex.getMessage(),
-                LocalDateTime.now()
-        );
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    public ResponseEntity<byte[]> handleDuplicateResourceException(DuplicateResourceException ex) {
+        return respond(DUPLICATE_RESOURCE, ex.getMessage());
+    }
+
+    @ExceptionHandler(StaleVersionException.class)
+    public ResponseEntity<byte[]> handleStaleVersionException(StaleVersionException ex) {
+        return respond(STALE_VERSION, ex.getMessage());
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<byte[]> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex) {
+        return respond(CONCURRENT_MODIFICATION);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<byte[]> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return respond(INVALID_REQUEST, ex.getMessage());
     }
 
     @ExceptionHandler(IllegalStateException.class)
-    public ResponseEntity<ErrorResponse> handleIllegalStateException(IllegalStateException ex) {
-        ErrorResponse error = new ErrorResponse(
-                "ILLEGAL_STATE",
-                ex.getMessage(),
-                LocalDateTime.now()
-        );
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    public ResponseEntity<byte[]> handleIllegalStateException(IllegalStateException ex) {
+        return respond(ILLEGAL_STATE, ex.getMessage());
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -53,8 +77,9 @@ public class GlobalExceptionHandler {
             errors.put(fieldName, errorMessage);
         });
 
+        errorCounters.increment(VALIDATION_ERROR, HttpStatus.BAD_REQUEST.value());
         ValidationErrorResponse errorResponse = new ValidationErrorResponse(
-                "VALIDATION_ERROR",
+                VALIDATION_ERROR,
                 "Validation failed",
                 errors,
                 LocalDateTime.now()
@@ -63,13 +88,41 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
-        ErrorResponse error = new ErrorResponse(
-                "INTERNAL_SERVER_ERROR",
-                "An unexpected error occurred",
-                LocalDateTime.now()
-        );
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+    public ResponseEntity<byte[]> handleGenericException(Exception ex) {
+        return respond(INTERNAL_SERVER_ERROR);
+    }
+
+    private ResponseEntity<byte[]> respond(ErrorCode error) {
+        return respond(error, error.template.render(ErrorBodyTemplate.timestamp()));
+    }
+
+    private ResponseEntity<byte[]> respond(ErrorCode error, String message) {
+        return respond(error, error.template.render(message, ErrorBodyTemplate.timestamp()));
+    }
+
+    private ResponseEntity<byte[]> respond(ErrorCode error, byte[] body) {
+        errorCounters.increment(error.code, error.status.value());
+        return ResponseEntity.status(error.status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /** An error code, its status and the template of its {@link ErrorResponse} body */
+    private static final class ErrorCode {
+        private final String code;
+        private final HttpStatus status;
+        private final ErrorBodyTemplate template;
+
+        ErrorCode(String code, HttpStatus status) {
+            this.code = code;
+            this.status = status;
+            this.template = ErrorBodyTemplate.builder().constant("code", code).slot("message").slot("timestamp").build();
+        }
+
+        ErrorCode(String code, HttpStatus status, String message) {
+            this.code = code;
+            this.status = status;
+            this.template = ErrorBodyTemplate.builder().constant("code", code).constant("message", message)
+                    .slot("timestamp").build();
+        }
     }
 
     public static class ErrorResponse {
@@ -1,7 +1,11 @@
 package com.unifiederp.employee.exception;
 
+/**
+ * The requested employee, department or job does not exist. Answered with a 404, so no
+ * stack trace is captured.
+ */
 public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package com.unifiederp.employee.exception;
+
+/**
+ * The client edited a version of a resource that has since changed (its {@code If-Match}
+ * or {@code version} no longer matches). Answered with a 412 and created without a stack trace.
+ */
+public class StaleVersionException extends RuntimeException {
+    public StaleVersionException(String message) {
+        super(message, null, false, false);
+    }
+}
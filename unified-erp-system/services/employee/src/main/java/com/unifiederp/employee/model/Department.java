@@ -1,19 +1,33 @@
 package com.unifiederp.employee.model;
 
+import com.unifiederp.shared.audit.AuditedEntity;
+import com.unifiederp.shared.service.AuditLogService;
+import com.unifiederp.shared.tenant.TenantOwned;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.TenantId;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "departments")
-public class Department {
+@AuditedEntity(module = AuditLogService.Modules.HRMS)
+@Table(name = "departments", uniqueConstraints =
+        @UniqueConstraint(name = "uk_departments_tenant_name", columnNames = {"tenant_id", "name"}))
+public class Department implements TenantOwned {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "department_seq")
+    @SequenceGenerator(name = "department_seq", sequenceName = "department_seq", allocationSize = 50)
     private Long id;
 
+    // Set from the session's tenant on insert; every query is restricted to it
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false)
+    private String tenantId;
+
     @NotBlank(message = "Department name is required")
-    @Column(name = "name", unique = true, nullable = false)
+    @Column(name = "name", nullable = false)
     private String name;
 
     @Column(name = "description")
@@ -31,7 +45,13 @@ public class Department {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @OneToMany(mappedBy = "department", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Not cascaded: removing a department must not load, and delete, its employees
+    @OneToMany(mappedBy = "department", fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private List<Employee> employees;
 
     // Constructors
@@ -57,6 +77,8 @@ public class Department {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public String getTenantId() { return tenantId; }
+
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
@@ -75,11 +97,14 @@ public class Department {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public List<Employee> getEmployees() { return employees; }
     public void setEmployees(List<Employee> employees) { this.employees = employees; }
 
     // Helper methods
     public int getEmployeeCount() {
-        return employees != null ? employees.size() : 0;
+        return employees != null ? Hibernate.size(employees) : 0;
     }
 }
\ No newline at end of file
@@ -1,21 +1,35 @@
 package com.unifiederp.employee.model;
 
+import com.unifiederp.shared.audit.AuditedEntity;
+import com.unifiederp.shared.service.AuditLogService;
+import com.unifiederp.shared.tenant.TenantOwned;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.TenantId;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "employees")
-public class Employee {
+@AuditedEntity(module = AuditLogService.Modules.HRMS)
+@Table(name = "employees", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_employees_tenant_employee_id", columnNames = {"tenant_id", "employee_id"}),
+        @UniqueConstraint(name = "uk_employees_tenant_email", columnNames = {"tenant_id", "email"})
+})
+public class Employee implements TenantOwned {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     private Long id;
 
+    // Set from the session's tenant on insert; every query is restricted to it
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false)
+    private String tenantId;
+
     @NotBlank(message = "Employee ID is required")
-    @Column(name = "employee_id", unique = true, nullable = false)
+    @Column(name = "employee_id", nullable = false)
     private String employeeId;
 
     @NotBlank(message = "First name is required")
@@ -28,7 +42,7 @@ public class Employee {
 
     @Email(message = "Email should be valid")
     @NotBlank(message = "Email is required")
-    @Column(name = "email", unique = true, nullable = false)
+    @Column(name = "email", nullable = false)
     private String email;
 
     @Column(name = "phone")
@@ -69,6 +83,10 @@ public class Employee {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Constructors
     public Employee() {}
 
@@ -99,6 +117,8 @@ public class Employee {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public String getTenantId() { return tenantId; }
+
     public String getEmployeeId() { return employeeId; }
     public void setEmployeeId(String employeeId) { this.employeeId = employeeId; }
 
@@ -144,6 +164,9 @@ public class Employee {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     // Helper methods
     public String getFullName() {
         return firstName + " " + lastName;
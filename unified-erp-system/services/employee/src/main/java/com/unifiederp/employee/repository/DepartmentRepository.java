@@ -1,11 +1,15 @@
 package com.unifiederp.employee.repository;
 
 import com.unifiederp.employee.model.Department;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +17,11 @@ import java.util.Optional;
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
     
     Optional<Department> findByName(String name);
+
+    /** Row-locks the department, which also blocks concurrent inserts of employees referencing it. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Department d WHERE d.id = :id")
+    Optional<Department> findByIdForUpdate(@Param("id") Long id);
     
     List<Department> findByManagerId(Long managerId);
     
@@ -21,5 +30,17 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
            "LOWER(d.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<Department> findBySearchTerm(@Param("searchTerm") String searchTerm);
     
+    /**
+     * Changes the manager in one statement if the row is still at {@code version} and the manager
+     * exists, and bumps the version so that edits based on the previous one fail. Returns 0 when
+     * either condition does not hold.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Department d SET d.managerId = :managerId, d.updatedAt = :updatedAt, d.version = d.version + 1 " +
+           "WHERE d.id = :id AND d.version = :version " +
+           "AND (:managerId IS NULL OR EXISTS (SELECT 1 FROM Employee e WHERE e.id = :managerId))")
+    int updateManager(@Param("id") Long id, @Param("version") Long version, @Param("managerId") Long managerId,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+    
     boolean existsByName(String name);
 }
\ No newline at end of file
@@ -1,19 +1,44 @@
 package com.unifiederp.employee.repository;
 
+import com.unifiederp.employee.dto.CollectionVersion;
+import com.unifiederp.employee.dto.EmployeeDTO;
+import com.unifiederp.employee.model.Department;
 import com.unifiederp.employee.model.Employee;
 import com.unifiederp.employee.model.EmployeeStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+
+    /**
+     * Selects the {@link EmployeeDTO} columns straight into unmanaged DTOs, with the department
+     * name from a join and the manager name from a self-join, so list endpoints neither hydrate
+     * entities nor look up each manager separately.
+     */
+    String DTO_SELECT = "SELECT new com.unifiederp.employee.dto.EmployeeDTO(" +
+           "e.id, e.employeeId, e.firstName, e.lastName, e.email, e.phone, e.address, d.id, d.name, " +
+           "e.position, e.startDate, e.endDate, e.status, e.salary, e.managerId, " +
+           "CONCAT(m.firstName, ' ', m.lastName), e.createdAt, e.updatedAt, e.version) " +
+           "FROM Employee e JOIN e.department d LEFT JOIN Employee m ON m.id = e.managerId ";
+
+    /**
+     * Aggregates the same joins as {@link #DTO_SELECT} into a {@link CollectionVersion},
+     * used as the ETag of the matching list without fetching it.
+     */
+    String VERSION_SELECT = "SELECT new com.unifiederp.employee.dto.CollectionVersion(" +
+           "COUNT(e), COUNT(m), MAX(e.updatedAt), MAX(d.updatedAt), MAX(m.updatedAt)) " +
+           "FROM Employee e JOIN e.department d LEFT JOIN Employee m ON m.id = e.managerId ";
     
     Optional<Employee> findByEmployeeId(String employeeId);
     
@@ -36,9 +61,75 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     List<Employee> findByDepartmentIdAndStatus(@Param("departmentId") Long departmentId, 
                                               @Param("status") EmployeeStatus status);
     
+    /** {@code [departmentId, count]} rows for the given departments; those without employees have none. */
+    @Query("SELECT e.department.id, COUNT(e) FROM Employee e WHERE e.department.id IN :departmentIds " +
+           "GROUP BY e.department.id")
+    List<Object[]> countByDepartmentIds(@Param("departmentIds") Collection<Long> departmentIds);
+
     @Query("SELECT COUNT(e) FROM Employee e WHERE e.department.id = :departmentId AND e.status = 'ACTIVE'")
     Long countActiveEmployeesByDepartment(@Param("departmentId") Long departmentId);
     
+    @Query(DTO_SELECT + "WHERE e.id = :id")
+    Optional<EmployeeDTO> findDTOById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "WHERE d.id = :departmentId")
+    List<EmployeeDTO> findDTOsByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Query(DTO_SELECT + "WHERE e.status = :status")
+    List<EmployeeDTO> findDTOsByStatus(@Param("status") EmployeeStatus status);
+
+    @Query(DTO_SELECT + "WHERE e.managerId = :managerId")
+    List<EmployeeDTO> findDTOsByManagerId(@Param("managerId") Long managerId);
+
+    @Query(VERSION_SELECT)
+    CollectionVersion findCollectionVersion();
+
+    @Query(VERSION_SELECT + "WHERE d.id = :departmentId")
+    CollectionVersion findCollectionVersionByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Query(VERSION_SELECT + "WHERE e.status = :status")
+    CollectionVersion findCollectionVersionByStatus(@Param("status") EmployeeStatus status);
+
+    @Query(VERSION_SELECT + "WHERE e.managerId = :managerId")
+    CollectionVersion findCollectionVersionByManagerId(@Param("managerId") Long managerId);
+    
+    /**
+     * Changes the status in one statement if the row is still at {@code version}, and bumps the
+     * version so that edits based on the previous one fail. Returns 0 when the row was not at it.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.status = :status, e.updatedAt = :updatedAt, e.version = e.version + 1 " +
+           "WHERE e.id = :id AND e.version = :version")
+    int updateStatus(@Param("id") Long id, @Param("version") Long version, @Param("status") EmployeeStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Query("SELECT e.id FROM Employee e WHERE e.id IN :ids AND e.status <> :status ORDER BY e.id")
+    List<Long> findIdsByIdInAndStatusNot(@Param("ids") Collection<Long> ids, @Param("status") EmployeeStatus status);
+
+    @Query("SELECT e.id FROM Employee e WHERE e.department.id = :departmentId AND e.status <> :status ORDER BY e.id")
+    List<Long> findIdsByDepartmentIdAndStatusNot(@Param("departmentId") Long departmentId,
+                                                 @Param("status") EmployeeStatus status);
+
+    @Query("SELECT e.id FROM Employee e WHERE e.managerId = :managerId AND e.status <> :status ORDER BY e.id")
+    List<Long> findIdsByManagerIdAndStatusNot(@Param("managerId") Long managerId,
+                                              @Param("status") EmployeeStatus status);
+
+    /** Set-based form of {@link #updateStatus}; rows already in {@code status} are left alone. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.status = :status, e.updatedAt = :updatedAt, e.version = e.version + 1 " +
+           "WHERE e.id IN :ids AND e.status <> :status")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") EmployeeStatus status,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+    
+    long countByDepartmentId(Long departmentId);
+
+    /** Moves every employee of one department to another in a single statement. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.department = :target, e.updatedAt = :updatedAt, e.version = e.version + 1 " +
+           "WHERE e.department.id = :sourceId")
+    int reassignDepartment(@Param("sourceId") Long sourceId, @Param("target") Department target,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+    
     boolean existsByEmployeeId(String employeeId);
     
     boolean existsByEmail(String email);
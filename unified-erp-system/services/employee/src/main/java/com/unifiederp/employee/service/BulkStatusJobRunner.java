@@ -0,0 +1,75 @@
+package com.unifiederp.employee.service;
+
+import com.unifiederp.employee.dto.BulkStatusJob;
+import com.unifiederp.employee.event.BulkStatusChange;
+import com.unifiederp.employee.event.EmployeeEvents;
+import com.unifiederp.employee.model.Employee;
+import com.unifiederp.employee.repository.EmployeeRepository;
+import com.unifiederp.shared.audit.EntityChangeListener;
+import com.unifiederp.shared.events.DomainEventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Applies a bulk status change chunk by chunk. Each chunk is one UPDATE statement, one audit log
+ * and one event listing the chunk's employees, in its own transaction, so a large job commits
+ * progressively and its progress is visible.
+ */
+@Component
+public class BulkStatusJobRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkStatusJobRunner.class);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityChangeListener entityChangeListener;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    public void run(BulkStatusJob job, List<Long> ids, int chunkSize) {
+        try {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                Integer updated = transactionTemplate.execute(status -> {
+                    int rows = employeeRepository.updateStatusByIdIn(chunk, job.getStatus(), LocalDateTime.now());
+                    entityChangeListener.collectBulkUpdate(Employee.class, chunk, "status", job.getStatus());
+                    domainEventPublisher.publish(EmployeeEvents.AGGREGATE_TYPE, job.getJobId(),
+                            EmployeeEvents.BULK_STATUS_CHANGED,
+                            new BulkStatusChange(job.getJobId(), List.copyOf(chunk), job.getStatus()));
+                    return rows;
+                });
+                job.chunkApplied(chunk.size(), updated != null ? updated : 0);
+            }
+            job.complete();
+            logger.info("Bulk status job {} moved {} of {} employees to {}",
+                    job.getJobId(), job.getUpdated(), job.getMatched(), job.getStatus());
+        } catch (RuntimeException e) {
+            logger.error("Bulk status job {} failed after {} of {} employees", job.getJobId(),
+                    job.getProcessed(), job.getMatched(), e);
+            job.fail(e.getMessage());
+            throw e;
+        }
+    }
+
+    @Async
+    public void runInBackground(BulkStatusJob job, List<Long> ids, int chunkSize) {
+        try {
+            run(job, ids, chunkSize);
+        } catch (RuntimeException e) {
+            // Already logged and recorded on the job for polling
+        }
+    }
+}
@@ -2,10 +2,17 @@ package com.unifiederp.employee.service;
 
 import com.unifiederp.employee.dto.DepartmentDTO;
 import com.unifiederp.employee.model.Department;
+import com.unifiederp.employee.model.Employee;
 import com.unifiederp.employee.repository.EmployeeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 @Component
 public class DepartmentMapper {
 
@@ -17,17 +24,11 @@ public class DepartmentMapper {
             return null;
         }
 
-        DepartmentDTO dto = new DepartmentDTO();
-        dto.setId(department.getId());
-        dto.setName(department.getName());
-        dto.setDescription(department.getDescription());
-        dto.setManagerId(department.getManagerId());
-        dto.setBudget(department.getBudget());
-        dto.setCreatedAt(department.getCreatedAt());
-        dto.setUpdatedAt(department.getUpdatedAt());
+        DepartmentDTO dto = copy(department);
 
-        // Set employee count
-        dto.setEmployeeCount(department.getEmployeeCount());
+        // Set employee count, counted in the database rather than by loading the collection
+        dto.setEmployeeCount(department.getId() != null
+                ? (int) employeeRepository.countByDepartmentId(department.getId()) : 0);
 
         // Set manager name if manager exists
         if (department.getManagerId() != null) {
@@ -38,6 +39,35 @@ public class DepartmentMapper {
         return dto;
     }
 
+    /**
+     * Maps a list with one grouped count and one manager lookup, rather than two queries per
+     * department as {@link #toDTO} would.
+     */
+    public List<DepartmentDTO> toDTOs(List<Department> departments) {
+        if (departments.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Long> employeeCounts = new HashMap<>();
+        List<Long> ids = departments.stream().map(Department::getId).collect(Collectors.toList());
+        for (Object[] row : employeeRepository.countByDepartmentIds(ids)) {
+            employeeCounts.put((Long) row[0], (Long) row[1]);
+        }
+
+        List<Long> managerIds = departments.stream().map(Department::getManagerId)
+                .filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        Map<Long, String> managerNames = managerIds.isEmpty() ? Map.of()
+                : employeeRepository.findAllById(managerIds).stream()
+                        .collect(Collectors.toMap(Employee::getId, Employee::getFullName));
+
+        return departments.stream().map(department -> {
+            DepartmentDTO dto = copy(department);
+            dto.setEmployeeCount(employeeCounts.getOrDefault(department.getId(), 0L).intValue());
+            dto.setManagerName(managerNames.get(department.getManagerId()));
+            return dto;
+        }).collect(Collectors.toList());
+    }
+
     public Department toEntity(DepartmentDTO dto) {
         if (dto == null) {
             return null;
@@ -63,4 +93,16 @@ public class DepartmentMapper {
         department.setManagerId(dto.getManagerId());
         department.setBudget(dto.getBudget());
     }
+
+    private DepartmentDTO copy(Department department) {
+        DepartmentDTO dto = new DepartmentDTO();
+        dto.setId(department.getId());
+        dto.setName(department.getName());
+        dto.setDescription(department.getDescription());
+        dto.setManagerId(department.getManagerId());
+        dto.setBudget(department.getBudget());
+        dto.setCreatedAt(department.getCreatedAt());
+        dto.setUpdatedAt(department.getUpdatedAt());
+        return dto;
+    }
 }
\ No newline at end of file
@@ -1,17 +1,25 @@
 package com.unifiederp.employee.service;
 
 import com.unifiederp.employee.dto.DepartmentDTO;
+import com.unifiederp.employee.dto.DepartmentMergeResult;
+import com.unifiederp.employee.event.DepartmentChange;
+import com.unifiederp.employee.event.DepartmentEvents;
 import com.unifiederp.employee.model.Department;
+import com.unifiederp.employee.model.Employee;
 import com.unifiederp.employee.repository.DepartmentRepository;
 import com.unifiederp.employee.repository.EmployeeRepository;
 import com.unifiederp.employee.exception.ResourceNotFoundException;
 import com.unifiederp.employee.exception.DuplicateResourceException;
+import com.unifiederp.shared.audit.EntityChangeListener;
+import com.unifiederp.shared.events.DomainEventPublisher;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -26,18 +34,25 @@ public class DepartmentService {
     @Autowired
     private DepartmentMapper departmentMapper;
 
+    @Autowired
+    private EntityChangeListener entityChangeListener;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Transactional(readOnly = true)
     public List<DepartmentDTO> getAllDepartments() {
-        return departmentRepository.findAll().stream()
-                .map(departmentMapper::toDTO)
-                .collect(Collectors.toList());
+        return departmentMapper.toDTOs(departmentRepository.findAll());
     }
 
+    @Transactional(readOnly = true)
     public DepartmentDTO getDepartmentById(Long id) {
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
         return departmentMapper.toDTO(department);
     }
 
+    @Transactional(readOnly = true)
     public DepartmentDTO getDepartmentByName(String name) {
         Department department = departmentRepository.findByName(name)
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found with name: " + name));
@@ -52,7 +67,9 @@ public class DepartmentService {
 
         Department department = departmentMapper.toEntity(departmentDTO);
         Department savedDepartment = departmentRepository.save(department);
-        return departmentMapper.toDTO(savedDepartment);
+        DepartmentDTO created = departmentMapper.toDTO(savedDepartment);
+        publish(DepartmentEvents.CREATED, DepartmentChange.of(created));
+        return created;
     }
 
     public DepartmentDTO updateDepartment(Long id, DepartmentDTO departmentDTO) {
@@ -67,7 +84,9 @@ public class DepartmentService {
 
         departmentMapper.updateEntityFromDTO(departmentDTO, existingDepartment);
         Department updatedDepartment = departmentRepository.save(existingDepartment);
-        return departmentMapper.toDTO(updatedDepartment);
+        DepartmentDTO updated = departmentMapper.toDTO(updatedDepartment);
+        publish(DepartmentEvents.UPDATED, DepartmentChange.of(updated));
+        return updated;
     }
 
     public void deleteDepartment(Long id) {
@@ -77,35 +96,84 @@ public class DepartmentService {
         // Check if department has employees
         Long employeeCount = employeeRepository.countActiveEmployeesByDepartment(id);
         if (employeeCount > 0) {
-            throw new IllegalStateException("Cannot delete department with active employees. Please reassign employees first.");
+            throw new IllegalStateException("Cannot delete department with active employees. Please reassign employees first or merge the department into another.");
+        }
+        // Former employees keep their department; their records are never deleted with it
+        if (employeeRepository.countByDepartmentId(id) > 0) {
+            throw new IllegalStateException("Cannot delete department with former employees. Please merge the department into another.");
         }
 
         departmentRepository.deleteById(id);
+        publish(DepartmentEvents.DELETED, DepartmentChange.deleted(id));
     }
 
-    public List<DepartmentDTO> getDepartmentsByManager(Long managerId) {
-        return departmentRepository.findByManagerId(managerId).stream()
+    /**
+     * Moves every employee of {@code sourceId} to {@code targetId} with one UPDATE and deletes the
+     * source, in one transaction. Employees are never loaded, so the cost does not grow with the
+     * department beyond the UPDATE itself. The source row stays locked until commit, so nobody
+     * can add an employee to it in between.
+     */
+    public DepartmentMergeResult mergeDepartment(Long sourceId, Long targetId) {
+        if (sourceId.equals(targetId)) {
+            throw new IllegalArgumentException("Cannot merge a department into itself");
+        }
+        Department source = departmentRepository.findByIdForUpdate(sourceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + sourceId));
+        Department target = departmentRepository.findById(targetId)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + targetId));
+
+        int moved = employeeRepository.reassignDepartment(sourceId, target, LocalDateTime.now());
+        entityChangeListener.collectBulkUpdate(Employee.class, Map.of("departmentId", sourceId), moved,
+                "department", sourceId, targetId);
+
+        // The UPDATE cleared the persistence context, so this removes a fresh copy with no employees
+        departmentRepository.deleteById(source.getId());
+
+        DepartmentDTO merged = departmentRepository.findById(targetId)
                 .map(departmentMapper::toDTO)
-                .collect(Collectors.toList());
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + targetId));
+        publish(DepartmentEvents.MERGED, DepartmentChange.merged(sourceId, targetId, moved));
+        return new DepartmentMergeResult(sourceId, moved, merged);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DepartmentDTO> getDepartmentsByManager(Long managerId) {
+        return departmentMapper.toDTOs(departmentRepository.findByManagerId(managerId));
     }
 
+    @Transactional(readOnly = true)
     public List<DepartmentDTO> searchDepartments(String searchTerm) {
-        return departmentRepository.findBySearchTerm(searchTerm).stream()
-                .map(departmentMapper::toDTO)
-                .collect(Collectors.toList());
+        return departmentMapper.toDTOs(departmentRepository.findBySearchTerm(searchTerm));
     }
 
+    /**
+     * Writes only the manager, conditional on the version read and on the manager existing, instead
+     * of the whole row. The manager is looked up separately only to explain a failed update.
+     */
     public DepartmentDTO updateDepartmentManager(Long id, Long managerId) {
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
 
-        // Verify manager exists if managerId is provided
-        if (managerId != null && !employeeRepository.existsById(managerId)) {
-            throw new ResourceNotFoundException("Manager not found with id: " + managerId);
+        Long previousManagerId = department.getManagerId();
+        LocalDateTime now = LocalDateTime.now();
+        if (departmentRepository.updateManager(id, department.getVersion(), managerId, now) == 0) {
+            if (managerId != null && !employeeRepository.existsById(managerId)) {
+                throw new ResourceNotFoundException("Manager not found with id: " + managerId);
+            }
+            throw new ObjectOptimisticLockingFailureException(Department.class, id);
         }
+        entityChangeListener.collectUpdate(Department.class, id, "managerId", previousManagerId, managerId);
 
+        // Detached by the update, so these changes only shape the response
         department.setManagerId(managerId);
-        Department updatedDepartment = departmentRepository.save(department);
-        return departmentMapper.toDTO(updatedDepartment);
+        department.setUpdatedAt(now);
+        department.setVersion(department.getVersion() + 1);
+        DepartmentDTO updated = departmentMapper.toDTO(department);
+        publish(DepartmentEvents.UPDATED, DepartmentChange.of(updated));
+        return updated;
+    }
+
+    private void publish(String eventType, DepartmentChange change) {
+        domainEventPublisher.publish(DepartmentEvents.AGGREGATE_TYPE, change.id(), eventType, change);
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.unifiederp.employee.service;
+
+import com.unifiederp.employee.dto.BulkStatusJob;
+import com.unifiederp.employee.dto.BulkStatusRequest;
+import com.unifiederp.employee.exception.ResourceNotFoundException;
+import com.unifiederp.employee.repository.EmployeeRepository;
+import com.unifiederp.shared.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Bulk status transitions (offboarding batches, department-wide leave). The affected ids are
+ * resolved up front with an id-only query; sets above {@code async-threshold} run in the
+ * background and are polled by job id. Jobs are kept in memory on the node that runs them, and
+ * only the tenant that submitted a job can poll it.
+ */
+@Service
+public class EmployeeBulkStatusService {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private BulkStatusJobRunner jobRunner;
+
+    @Value("${employee.bulk-status.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${employee.bulk-status.async-threshold:2000}")
+    private int asyncThreshold;
+
+    @Value("${employee.bulk-status.job-retention-ms:3600000}")
+    private long jobRetentionMs;
+
+    private final Map<String, BulkStatusJob> jobs = new ConcurrentHashMap<>();
+
+    public BulkStatusJob submit(BulkStatusRequest request) {
+        List<Long> ids = resolveIds(request);
+        boolean background = ids.size() > asyncThreshold;
+        BulkStatusJob job = new BulkStatusJob(request.getStatus(), ids.size(), background);
+        jobs.put(key(job.getJobId()), job);
+
+        if (background) {
+            jobRunner.runInBackground(job, ids, chunkSize);
+        } else {
+            jobRunner.run(job, ids, chunkSize);
+        }
+        return job;
+    }
+
+    public BulkStatusJob getJob(String jobId) {
+        BulkStatusJob job = jobs.get(key(jobId));
+        if (job == null) {
+            throw new ResourceNotFoundException("Bulk status job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.bulk-status.job-retention-ms:3600000}")
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(jobRetentionMs));
+        jobs.values().removeIf(job -> job.getCompletedAt() != null && job.getCompletedAt().isBefore(cutoff));
+    }
+
+    private static String key(String jobId) {
+        return TenantContext.getTenantId() + ":" + jobId;
+    }
+
+    private List<Long> resolveIds(BulkStatusRequest request) {
+        long filters = Stream.of(request.getIds(), request.getDepartmentId(), request.getManagerId())
+                .filter(filter -> filter != null)
+                .count();
+        if (filters != 1) {
+            throw new IllegalArgumentException("Exactly one of ids, departmentId or managerId is required");
+        }
+
+        if (request.getDepartmentId() != null) {
+            return employeeRepository.findIdsByDepartmentIdAndStatusNot(request.getDepartmentId(), request.getStatus());
+        }
+        if (request.getManagerId() != null) {
+            return employeeRepository.findIdsByManagerIdAndStatusNot(request.getManagerId(), request.getStatus());
+        }
+
+        // Keep IN lists bounded, as the updates do
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+        List<Long> ids = new ArrayList<>();
+        for (int from = 0; from < requested.size(); from += chunkSize) {
+            List<Long> chunk = requested.subList(from, Math.min(from + chunkSize, requested.size()));
+            ids.addAll(employeeRepository.findIdsByIdInAndStatusNot(chunk, request.getStatus()));
+        }
+        return ids;
+    }
+}
@@ -38,6 +38,7 @@ public class EmployeeMapper {
         dto.setManagerId(employee.getManagerId());
         dto.setCreatedAt(employee.getCreatedAt());
         dto.setUpdatedAt(employee.getUpdatedAt());
+        dto.setVersion(employee.getVersion());
 
         // Set department information
         if (employee.getDepartment() != null) {
@@ -1,18 +1,26 @@
 package com.unifiederp.employee.service;
 
+import com.unifiederp.employee.dto.CollectionVersion;
 import com.unifiederp.employee.dto.EmployeeDTO;
+import com.unifiederp.employee.event.EmployeeChange;
+import com.unifiederp.employee.event.EmployeeEvents;
 import com.unifiederp.employee.model.Employee;
 import com.unifiederp.employee.model.EmployeeStatus;
 import com.unifiederp.employee.repository.EmployeeRepository;
 import com.unifiederp.employee.repository.DepartmentRepository;
 import com.unifiederp.employee.exception.ResourceNotFoundException;
 import com.unifiederp.employee.exception.DuplicateResourceException;
+import com.unifiederp.employee.exception.StaleVersionException;
+import com.unifiederp.shared.audit.EntityChangeListener;
+import com.unifiederp.shared.events.DomainEventPublisher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,23 +37,33 @@ public class EmployeeService {
     @Autowired
     private EmployeeMapper employeeMapper;
 
+    @Autowired
+    private EntityChangeListener entityChangeListener;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getAllEmployees() {
         return employeeRepository.findAll().stream()
                 .map(employeeMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public Page<EmployeeDTO> getEmployeesWithPagination(Pageable pageable) {
         return employeeRepository.findAll(pageable)
                 .map(employeeMapper::toDTO);
     }
 
+    @Transactional(readOnly = true)
     public EmployeeDTO getEmployeeById(Long id) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
         return employeeMapper.toDTO(employee);
     }
 
+    @Transactional(readOnly = true)
     public EmployeeDTO getEmployeeByEmployeeId(String employeeId) {
         Employee employee = employeeRepository.findByEmployeeId(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with employee ID: " + employeeId));
@@ -70,13 +88,23 @@ public class EmployeeService {
 
         Employee employee = employeeMapper.toEntity(employeeDTO);
         Employee savedEmployee = employeeRepository.save(employee);
+        publish(EmployeeEvents.CREATED, EmployeeChange.of(savedEmployee));
         return employeeMapper.toDTO(savedEmployee);
     }
 
+    /**
+     * Full update. When the DTO carries a version (from the body or the {@code If-Match} header)
+     * it must be the current one; the version column then rejects any edit that commits in between.
+     */
     public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO) {
         Employee existingEmployee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
 
+        if (employeeDTO.getVersion() != null && !employeeDTO.getVersion().equals(existingEmployee.getVersion())) {
+            throw new StaleVersionException("Employee " + id + " is at version " + existingEmployee.getVersion()
+                    + ", not " + employeeDTO.getVersion());
+        }
+
         // Check for duplicate employee ID (excluding current employee)
         if (!existingEmployee.getEmployeeId().equals(employeeDTO.getEmployeeId()) &&
             employeeRepository.existsByEmployeeId(employeeDTO.getEmployeeId())) {
@@ -95,7 +123,9 @@ public class EmployeeService {
         }
 
         employeeMapper.updateEntityFromDTO(employeeDTO, existingEmployee);
-        Employee updatedEmployee = employeeRepository.save(existingEmployee);
+        // Flush now so the response carries the new version and conflicts surface here
+        Employee updatedEmployee = employeeRepository.saveAndFlush(existingEmployee);
+        publish(EmployeeEvents.UPDATED, EmployeeChange.of(updatedEmployee));
         return employeeMapper.toDTO(updatedEmployee);
     }
 
@@ -104,41 +134,104 @@ public class EmployeeService {
             throw new ResourceNotFoundException("Employee not found with id: " + id);
         }
         employeeRepository.deleteById(id);
+        publish(EmployeeEvents.DELETED, EmployeeChange.deleted(id));
     }
 
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getEmployeesByDepartment(Long departmentId) {
-        return employeeRepository.findByDepartmentId(departmentId).stream()
-                .map(employeeMapper::toDTO)
-                .collect(Collectors.toList());
+        return employeeRepository.findDTOsByDepartmentId(departmentId);
     }
 
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getEmployeesByStatus(EmployeeStatus status) {
-        return employeeRepository.findByStatus(status).stream()
-                .map(employeeMapper::toDTO)
-                .collect(Collectors.toList());
+        return employeeRepository.findDTOsByStatus(status);
     }
 
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getEmployeesByManager(Long managerId) {
-        return employeeRepository.findByManagerId(managerId).stream()
-                .map(employeeMapper::toDTO)
-                .collect(Collectors.toList());
+        return employeeRepository.findDTOsByManagerId(managerId);
+    }
+
+    @Transactional(readOnly = true)
+    public CollectionVersion getEmployeesVersion() {
+        return employeeRepository.findCollectionVersion();
+    }
+
+    @Transactional(readOnly = true)
+    public CollectionVersion getEmployeesByDepartmentVersion(Long departmentId) {
+        return employeeRepository.findCollectionVersionByDepartmentId(departmentId);
+    }
+
+    @Transactional(readOnly = true)
+    public CollectionVersion getEmployeesByStatusVersion(EmployeeStatus status) {
+        return employeeRepository.findCollectionVersionByStatus(status);
     }
 
+    @Transactional(readOnly = true)
+    public CollectionVersion getEmployeesByManagerVersion(Long managerId) {
+        return employeeRepository.findCollectionVersionByManagerId(managerId);
+    }
+
+    @Transactional(readOnly = true)
     public Page<EmployeeDTO> searchEmployees(String searchTerm, Pageable pageable) {
         return employeeRepository.findBySearchTerm(searchTerm, pageable)
                 .map(employeeMapper::toDTO);
     }
 
+    /**
+     * Reads the employee as a DTO and writes only the status, conditional on the version read,
+     * instead of loading the entity and writing the whole row back.
+     */
     public EmployeeDTO updateEmployeeStatus(Long id, EmployeeStatus status) {
-        Employee employee = employeeRepository.findById(id)
+        return updateEmployeeStatus(id, status, null);
+    }
+
+    /**
+     * With the client's {@code version} the update goes first and is conditional on it, so there is
+     * no read before the write; the previous status is then not known to the audit trail.
+     */
+    public EmployeeDTO updateEmployeeStatus(Long id, EmployeeStatus status, Long version) {
+        if (version != null) {
+            return updateEmployeeStatusAtVersion(id, status, version);
+        }
+        EmployeeDTO employee = employeeRepository.findDTOById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
-        
+
+        LocalDateTime now = LocalDateTime.now();
+        if (employeeRepository.updateStatus(id, employee.getVersion(), status, now) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+        }
+        entityChangeListener.collectUpdate(Employee.class, id, "status", employee.getStatus(), status);
+
         employee.setStatus(status);
-        Employee updatedEmployee = employeeRepository.save(employee);
-        return employeeMapper.toDTO(updatedEmployee);
+        employee.setUpdatedAt(now);
+        employee.setVersion(employee.getVersion() + 1);
+        publish(EmployeeEvents.STATUS_CHANGED, EmployeeChange.of(employee));
+        return employee;
+    }
+
+    private EmployeeDTO updateEmployeeStatusAtVersion(Long id, EmployeeStatus status, Long version) {
+        if (employeeRepository.updateStatus(id, version, status, LocalDateTime.now()) == 0) {
+            if (!employeeRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Employee not found with id: " + id);
+            }
+            throw new StaleVersionException("Employee " + id + " is not at version " + version);
+        }
+        entityChangeListener.collectUpdate(Employee.class, id, "status", null, status);
+
+        // The update cleared the persistence context; read the new state for the response
+        EmployeeDTO employee = employeeRepository.findDTOById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+        publish(EmployeeEvents.STATUS_CHANGED, EmployeeChange.of(employee));
+        return employee;
     }
 
+    @Transactional(readOnly = true)
     public Long getActiveEmployeeCountByDepartment(Long departmentId) {
         return employeeRepository.countActiveEmployeesByDepartment(departmentId);
     }
-}
\ No newline at end of file
+
+    private void publish(String eventType, EmployeeChange change) {
+        domainEventPublisher.publish(EmployeeEvents.AGGREGATE_TYPE, change.id(), eventType, change);
+    }
+}
@@ -0,0 +1,29 @@
+package com.unifiederp.employee.audit;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Audit logs are written on the async executor after commit. Tests that count them, or clear them
+ * after seeding, wait here until every task handed to the executor so far has run.
+ */
+public final class AuditWrites {
+
+    private AuditWrites() {
+    }
+
+    public static void await(ThreadPoolTaskExecutor executor) throws InterruptedException {
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        long deadline = System.currentTimeMillis() + 5000;
+        // Twice in a row: a task on a freshly started worker is counted only once that worker picks it up
+        int idleChecks = 0;
+        while (idleChecks < 2) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for async audit writes");
+            idleChecks = pool.getTaskCount() == pool.getCompletedTaskCount() ? idleChecks + 1 : 0;
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.unifiederp.employee.audit;
+
+import com.unifiederp.employee.dto.EmployeeDTO;
+import com.unifiederp.employee.model.Department;
+import com.unifiederp.employee.model.EmployeeStatus;
+import com.unifiederp.employee.repository.DepartmentRepository;
+import com.unifiederp.employee.repository.EmployeeRepository;
+import com.unifiederp.employee.service.EmployeeService;
+import com.unifiederp.shared.entity.AuditLog;
+import com.unifiederp.shared.repository.AuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EntityChangeCaptureTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        department = departmentRepository.save(new Department("IT", "Information Technology"));
+        AuditWrites.await(applicationTaskExecutor);
+        auditLogRepository.deleteAll();
+    }
+
+    @Test
+    void testStatusChangeIsCapturedAsDiffAfterCommit() throws InterruptedException {
+        EmployeeDTO created = employeeService.createEmployee(newEmployee("EMP001", "john.doe@company.com"));
+        employeeService.updateEmployeeStatus(created.getId(), EmployeeStatus.ON_LEAVE);
+        AuditWrites.await(applicationTaskExecutor);
+
+        List<AuditLog> updates = auditLogRepository.findAll().stream()
+                .filter(log -> "UPDATE".equals(log.getAction()))
+                .toList();
+
+        assertEquals(1, updates.size());
+        AuditLog update = updates.get(0);
+        assertEquals("HRMS", update.getModule());
+        assertEquals("Employee", update.getResourceType());
+        assertEquals(created.getId().toString(), update.getResourceId());
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> changes = (Map<String, Object>) update.getDetails().get("changes");
+        assertEquals(Map.of("old", "ACTIVE", "new", "ON_LEAVE"), changes.get("status"));
+        assertEquals(1, changes.size());
+    }
+
+    @Test
+    void testChangesInOneTransactionAreWrittenTogether() throws InterruptedException {
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeService.createEmployee(newEmployee("EMP002", "jane.smith@company.com"));
+            employeeService.createEmployee(newEmployee("EMP003", "max.muster@company.com"));
+            assertEquals(0, auditLogRepository.count());
+        });
+        AuditWrites.await(applicationTaskExecutor);
+
+        assertEquals(2, auditLogRepository.findAll().stream()
+                .filter(log -> "CREATE".equals(log.getAction()))
+                .count());
+    }
+
+    @Test
+    void testRolledBackChangesAreNotAudited() throws InterruptedException {
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            employeeService.createEmployee(newEmployee("EMP004", "rolled.back@company.com"));
+            employeeRepository.flush();
+            throw new IllegalStateException("rollback");
+        }));
+        AuditWrites.await(applicationTaskExecutor);
+
+        assertEquals(0, auditLogRepository.count());
+    }
+
+    private EmployeeDTO newEmployee(String employeeId, String email) {
+        return new EmployeeDTO(employeeId, "Test", "Employee", email,
+                department.getId(), "Engineer", LocalDate.now());
+    }
+}
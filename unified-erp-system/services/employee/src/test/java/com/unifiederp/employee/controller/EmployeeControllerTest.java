@@ -1,27 +1,38 @@
 package com.unifiederp.employee.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unifiederp.employee.dto.CollectionVersion;
 import com.unifiederp.employee.dto.EmployeeDTO;
+import com.unifiederp.employee.event.EmployeeChangeFeed;
+import com.unifiederp.employee.exception.ResourceNotFoundException;
+import com.unifiederp.employee.exception.StaleVersionException;
 import com.unifiederp.employee.model.EmployeeStatus;
+import com.unifiederp.employee.service.EmployeeBulkStatusService;
 import com.unifiederp.employee.service.EmployeeService;
+import com.unifiederp.shared.exception.ErrorCounters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EmployeeController.class)
+@Import({ErrorCounters.class, SimpleMeterRegistry.class})
 class EmployeeControllerTest {
 
     @Autowired
@@ -30,11 +41,23 @@ class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeBulkStatusService bulkStatusService;
+
+    @MockBean
+    private EmployeeChangeFeed changeFeed;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ErrorCounters errorCounters;
+
     private EmployeeDTO testEmployeeDTO;
 
+    private final CollectionVersion listVersion = new CollectionVersion(1L, 0L,
+            LocalDateTime.of(2024, 1, 1, 12, 0), LocalDateTime.of(2024, 1, 1, 9, 0), null);
+
     @BeforeEach
     void setUp() {
         testEmployeeDTO = new EmployeeDTO("EMP001", "John", "Doe", "john.doe@company.com",
@@ -47,6 +70,7 @@ class EmployeeControllerTest {
     void getAllEmployees_ShouldReturnEmployeeList() throws Exception {
         // Given
         List<EmployeeDTO> employees = Arrays.asList(testEmployeeDTO);
+        when(employeeService.getEmployeesVersion()).thenReturn(listVersion);
         when(employeeService.getAllEmployees()).thenReturn(employees);
 
         // When & Then
@@ -56,11 +80,26 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].employeeId").value("EMP001"))
                 .andExpect(jsonPath("$[0].firstName").value("John"))
-                .andExpect(jsonPath("$[0].lastName").value("Doe"));
+                .andExpect(jsonPath("$[0].lastName").value("Doe"))
+                .andExpect(header().string("ETag", listVersion.toETag()));
 
         verify(employeeService).getAllEmployees();
     }
 
+    @Test
+    void getAllEmployees_WhenETagMatches_ShouldReturnNotModifiedWithoutLoadingList() throws Exception {
+        // Given
+        when(employeeService.getEmployeesVersion()).thenReturn(listVersion);
+
+        // When & Then
+        mockMvc.perform(get("/api/employees").header("If-None-Match", listVersion.toETag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", listVersion.toETag()))
+                .andExpect(content().string(""));
+
+        verify(employeeService, never()).getAllEmployees();
+    }
+
     @Test
     void getEmployeeById_WhenEmployeeExists_ShouldReturnEmployee() throws Exception {
         // Given
@@ -126,6 +165,60 @@ class EmployeeControllerTest {
         verify(employeeService).updateEmployee(eq(1L), any(EmployeeDTO.class));
     }
 
+    @Test
+    void updateEmployee_WithIfMatch_ShouldPassVersionAndReturnNewETag() throws Exception {
+        // Given
+        EmployeeDTO updatedEmployee = new EmployeeDTO("EMP001", "John", "Doe", "john.doe@company.com",
+                1L, "Software Developer", LocalDate.now());
+        updatedEmployee.setId(1L);
+        updatedEmployee.setVersion(5L);
+
+        when(employeeService.updateEmployee(eq(1L), argThat(dto -> Long.valueOf(4L).equals(dto.getVersion()))))
+                .thenReturn(updatedEmployee);
+
+        // When & Then
+        mockMvc.perform(put("/api/employees/1")
+                        .header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testEmployeeDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(jsonPath("$.version").value(5));
+    }
+
+    @Test
+    void getEmployeeById_WhenEmployeeDoesNotExist_ShouldReturnNotFound() throws Exception {
+        // Given
+        when(employeeService.getEmployeeById(99L))
+                .thenThrow(new ResourceNotFoundException("Employee not found with id: 99"));
+        double before = errorCounters.count("RESOURCE_NOT_FOUND", 404);
+
+        // When & Then
+        mockMvc.perform(get("/api/employees/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.code").value("RESOURCE_NOT_FOUND"))
+                .andExpect(jsonPath("$.message").value("Employee not found with id: 99"))
+                .andExpect(jsonPath("$.timestamp").isString());
+
+        assertEquals(before + 1, errorCounters.count("RESOURCE_NOT_FOUND", 404));
+    }
+
+    @Test
+    void updateEmployee_WhenIfMatchIsStale_ShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        when(employeeService.updateEmployee(eq(1L), any(EmployeeDTO.class)))
+                .thenThrow(new StaleVersionException("Employee 1 is at version 5, not 4"));
+
+        // When & Then
+        mockMvc.perform(put("/api/employees/1")
+                        .header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testEmployeeDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("STALE_VERSION"));
+    }
+
     @Test
     void deleteEmployee_WhenEmployeeExists_ShouldDeleteEmployee() throws Exception {
         // Given
@@ -146,7 +239,7 @@ class EmployeeControllerTest {
         updatedEmployee.setId(1L);
         updatedEmployee.setStatus(EmployeeStatus.INACTIVE);
 
-        when(employeeService.updateEmployeeStatus(1L, EmployeeStatus.INACTIVE)).thenReturn(updatedEmployee);
+        when(employeeService.updateEmployeeStatus(1L, EmployeeStatus.INACTIVE, null)).thenReturn(updatedEmployee);
 
         // When & Then
         mockMvc.perform(patch("/api/employees/1/status")
@@ -155,6 +248,40 @@ class EmployeeControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status").value("INACTIVE"));
 
-        verify(employeeService).updateEmployeeStatus(1L, EmployeeStatus.INACTIVE);
+        verify(employeeService).updateEmployeeStatus(1L, EmployeeStatus.INACTIVE, null);
+    }
+
+    @Test
+    void updateEmployeeStatus_WhenIfMatchIsSent_ShouldPassVersion() throws Exception {
+        // Given
+        EmployeeDTO updatedEmployee = new EmployeeDTO("EMP001", "John", "Doe", "john.doe@company.com",
+                1L, "Software Developer", LocalDate.now());
+        updatedEmployee.setId(1L);
+        updatedEmployee.setStatus(EmployeeStatus.INACTIVE);
+        updatedEmployee.setVersion(5L);
+
+        when(employeeService.updateEmployeeStatus(1L, EmployeeStatus.INACTIVE, 4L)).thenReturn(updatedEmployee);
+
+        // When & Then
+        mockMvc.perform(patch("/api/employees/1/status")
+                        .header("If-Match", "\"4\"")
+                        .param("status", "INACTIVE"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(jsonPath("$.status").value("INACTIVE"));
+    }
+
+    @Test
+    void updateEmployeeStatus_WhenIfMatchIsStale_ShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        when(employeeService.updateEmployeeStatus(1L, EmployeeStatus.INACTIVE, 4L))
+                .thenThrow(new StaleVersionException("Employee 1 is not at version 4"));
+
+        // When & Then
+        mockMvc.perform(patch("/api/employees/1/status")
+                        .header("If-Match", "\"4\"")
+                        .param("status", "INACTIVE"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("STALE_VERSION"));
     }
 }
\ No newline at end of file
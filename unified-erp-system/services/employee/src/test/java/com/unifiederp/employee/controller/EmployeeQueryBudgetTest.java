@@ -0,0 +1,109 @@
+package com.unifiederp.employee.controller;
+
+import com.unifiederp.employee.model.Department;
+import com.unifiederp.employee.model.Employee;
+import com.unifiederp.employee.repository.DepartmentRepository;
+import com.unifiederp.employee.repository.EmployeeRepository;
+import com.unifiederp.shared.datasource.SqlStatistics;
+import com.unifiederp.shared.filter.SqlStatisticsFilter;
+import com.unifiederp.shared.repository.AuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * SQL statement budgets per endpoint. A failure lists the statements issued, so a new N+1 shows up
+ * here rather than in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    private final List<Employee> employees = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        auditLogRepository.deleteAll();
+        employees.clear();
+
+        Department engineering = departmentRepository.save(new Department("Engineering", "Builds things"));
+        for (int i = 0; i < 10; i++) {
+            employees.add(employeeRepository.save(new Employee("BUD00" + i, "Budget", "Employee" + i,
+                    "budget" + i + "@company.com", engineering, "Engineer", LocalDate.of(2023, 1, 1))));
+        }
+    }
+
+    @Test
+    void testGetEmployeeLoadsEmployeeAndDepartment() throws Exception {
+        SqlStatistics.assertAtMost(2, () -> mockMvc.perform(get("/api/employees/" + employees.get(0).getId()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void testProjectedListsAreTwoQueriesWhateverTheirSize() throws Exception {
+        // The version aggregate for the ETag, then the projected rows
+        SqlStatistics.assertAtMost(2, () -> mockMvc.perform(get("/api/employees/status/ACTIVE"))
+                .andExpect(status().isOk()));
+        SqlStatistics.assertAtMost(2, () -> mockMvc.perform(
+                        get("/api/employees/department/" + employees.get(0).getDepartment().getId()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void testDepartmentListIsThreeQueriesWhateverItsSize() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Department department = new Department("Team " + i, "Budget team");
+            department.setManagerId(employees.get(i).getId());
+            departmentRepository.save(department);
+        }
+
+        // The departments, their employee counts and their managers
+        SqlStatistics.assertAtMost(3, () -> mockMvc.perform(get("/api/departments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'Engineering')].employeeCount").value(10))
+                .andExpect(jsonPath("$[?(@.name == 'Team 0')].managerName").value("Budget Employee0")));
+    }
+
+    @Test
+    void testStatusChangeIsLookupUpdateAndEvent() throws Exception {
+        // Plus, once every 50 events, the next block of outbox ids; the audit row is written off the request thread
+        SqlStatistics.assertAtMost(4, () -> mockMvc.perform(
+                        patch("/api/employees/" + employees.get(0).getId() + "/status").param("status", "ON_LEAVE"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void testTotalsAreSentAsResponseHeaders() throws Exception {
+        mockMvc.perform(get("/api/employees/" + employees.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "2"))
+                .andExpect(header().string(SqlStatisticsFilter.ROWS_HEADER, "2"))
+                .andExpect(header().exists(SqlStatisticsFilter.TIME_HEADER));
+    }
+}
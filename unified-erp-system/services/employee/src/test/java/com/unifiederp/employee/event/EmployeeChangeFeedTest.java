@@ -0,0 +1,291 @@
+package com.unifiederp.employee.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unifiederp.employee.dto.DepartmentDTO;
+import com.unifiederp.employee.repository.DepartmentRepository;
+import com.unifiederp.employee.repository.EmployeeRepository;
+import com.unifiederp.employee.service.DepartmentService;
+import com.unifiederp.shared.events.EventBroker;
+import com.unifiederp.shared.events.EventEnvelope;
+import com.unifiederp.shared.events.OutboxRelay;
+import com.unifiederp.shared.security.PermissionHeaderCodec;
+import com.unifiederp.shared.security.PermissionSet;
+import com.unifiederp.shared.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "employee.changes.buffer-size=4",
+        "employee.changes.max-subscribers=8",
+        "employee.changes.heartbeat-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeChangeFeedTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeChangeFeed changeFeed;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private EventBroker eventBroker;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<MvcResult> streams = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        outboxRelay.relay();
+    }
+
+    /** Closes the streams as a disconnecting client would, freeing their subscriber slots. */
+    @AfterEach
+    void tearDown() {
+        for (MvcResult stream : streams) {
+            if (stream.getRequest().isAsyncStarted()) {
+                stream.getRequest().getAsyncContext().complete();
+            }
+        }
+    }
+
+    @Test
+    void testCommittedChangesAreStreamed() throws Exception {
+        MockHttpServletResponse stream = open(null);
+
+        DepartmentDTO created = departmentService.createDepartment(new DepartmentDTO("Research", "Finds things"));
+        outboxRelay.relay();
+
+        String events = await(stream, "event:" + DepartmentEvents.CREATED);
+        assertTrue(events.startsWith("retry:3000"));
+        assertTrue(events.contains("\"aggregateId\":\"" + created.getId() + "\""));
+        assertTrue(events.contains("\"name\":\"Research\""));
+    }
+
+    @Test
+    void testResumeReplaysOnlyTheEventsAfterLastEventId() throws Exception {
+        String first = append(EmployeeEvents.CREATED);
+        String second = append(EmployeeEvents.UPDATED);
+        // A redelivery of an event already buffered is not streamed twice
+        changeFeed.append(envelope(second, EmployeeEvents.UPDATED));
+
+        String events = await(open(first), "id:" + second);
+
+        assertFalse(events.contains("id:" + first));
+        assertEquals(1, occurrences(events, "id:" + second));
+    }
+
+    @Test
+    void testUnknownLastEventIdGetsResetToTheNewestEvent() throws Exception {
+        String newest = append(EmployeeEvents.DELETED);
+
+        String events = await(open(UUID.randomUUID().toString()), "event:" + EmployeeChangeFeed.RESET);
+
+        assertTrue(events.contains("id:" + newest));
+        assertFalse(events.contains("event:" + EmployeeEvents.DELETED));
+    }
+
+    @Test
+    void testSubscriberMoreThanABufferBehindIsResetAndDisconnected() throws Exception {
+        MockHttpServletResponse stream = open(null);
+        int subscribers = changeFeed.getSubscriberCount();
+        String newest;
+        // Holding the feed's lock keeps the dispatcher from draining while the buffer wraps
+        synchronized (changeFeed) {
+            for (int i = 0; i < 5; i++) {
+                append(EmployeeEvents.UPDATED);
+            }
+            newest = append(EmployeeEvents.UPDATED);
+        }
+
+        String events = await(stream, "event:" + EmployeeChangeFeed.RESET);
+
+        assertTrue(events.contains("id:" + newest));
+        assertFalse(events.contains("event:" + EmployeeEvents.UPDATED));
+        assertEquals(subscribers - 1, changeFeed.getSubscriberCount());
+    }
+
+    @Test
+    void testStreamsCarryOnlyTheirTenantsEvents() throws Exception {
+        String permissions = new PermissionHeaderCodec("test-permission-secret").encode("user-1", "EMPLOYEE", "acme",
+                0, PermissionSet.EMPTY, Instant.now().getEpochSecond() + 60);
+        var request = get("/api/employees/changes")
+                .header("X-User-Id", "user-1")
+                .header("X-User-Role", "EMPLOYEE")
+                .header(TenantContext.HEADER, "acme")
+                .header(PermissionHeaderCodec.HEADER, permissions);
+        MvcResult acme = mockMvc.perform(request).andReturn();
+        streams.add(acme);
+
+        String other = append(null, EmployeeEvents.CREATED);
+        String own = append("acme", EmployeeEvents.CREATED);
+
+        String events = await(acme.getResponse(), "id:" + own);
+        assertFalse(events.contains("id:" + other));
+    }
+
+    @Test
+    void testStreamsBeyondTheLimitAreRefused() throws Exception {
+        while (changeFeed.getSubscriberCount() < 8) {
+            open(null);
+        }
+
+        mockMvc.perform(get("/api/employees/changes"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void testStalledSubscriberIsDisconnectedWithoutHoldingUpOthers() throws Exception {
+        CountDownLatch stalledWriteStarted = new CountDownLatch(1);
+        CountDownLatch writeTimeout = new CountDownLatch(1);
+        CountDownLatch stalledClosed = new CountDownLatch(1);
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        // A client that stops reading: like a servlet write, its writes ignore interrupts and only
+        // fail once the container's write timeout expires
+        SseEmitter stalled = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder event) throws IOException {
+                stalledWriteStarted.countDown();
+                while (true) {
+                    try {
+                        writeTimeout.await();
+                        throw new IOException("Write timed out");
+                    } catch (InterruptedException e) {
+                        // Keep waiting, as the container does
+                    }
+                }
+            }
+
+            @Override
+            public void completeWithError(Throwable error) {
+                stalledClosed.countDown();
+            }
+        };
+        SseEmitter reading = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder event) {
+                event.build().forEach(part -> delivered.add(part.getData().toString()));
+            }
+        };
+        Iterator<SseEmitter> emitters = List.of(stalled, reading).iterator();
+        // One dispatch thread, which the stalled client takes first
+        EmployeeChangeFeed feed = new EmployeeChangeFeed(eventBroker, objectMapper, 4, 8, 1, 60000, 3000, 100) {
+            @Override
+            SseEmitter newEmitter(long timeoutMs) {
+                return emitters.next();
+            }
+        };
+        feed.start();
+        try {
+            feed.subscribe(null);
+            assertTrue(stalledWriteStarted.await(5, TimeUnit.SECONDS));
+            feed.subscribe(null);
+            String eventId = UUID.randomUUID().toString();
+            feed.append(envelope(eventId, EmployeeEvents.CREATED));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (delivered.stream().noneMatch(data -> data.contains("id:" + eventId))) {
+                assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the reading client");
+                feed.expireStalledSends();
+                Thread.sleep(20);
+            }
+            assertEquals(1, feed.getSubscriberCount());
+            assertEquals(2, feed.getDispatchThreads());
+
+            // Once the blocked write fails, its thread closes the emitter and the stand-in goes
+            writeTimeout.countDown();
+            assertTrue(stalledClosed.await(5, TimeUnit.SECONDS));
+            assertEquals(1, feed.getDispatchThreads());
+        } finally {
+            feed.stop();
+        }
+    }
+
+    private MockHttpServletResponse open(String lastEventId) throws Exception {
+        var request = get("/api/employees/changes");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        // Usually still open; already complete when the stream was reset before the handler returned
+        MvcResult stream = mockMvc.perform(request).andReturn();
+        streams.add(stream);
+        return stream.getResponse();
+    }
+
+    private String append(String eventType) {
+        return append(null, eventType);
+    }
+
+    private String append(String tenantId, String eventType) {
+        String eventId = UUID.randomUUID().toString();
+        changeFeed.append(envelope(tenantId, eventId, eventType));
+        return eventId;
+    }
+
+    private EventEnvelope envelope(String eventId, String eventType) {
+        return envelope(null, eventId, eventType);
+    }
+
+    private EventEnvelope envelope(String tenantId, String eventId, String eventType) {
+        return new EventEnvelope(1L, eventId, tenantId, EmployeeEvents.AGGREGATE_TYPE, "1", eventType,
+                Map.of("id", 1), LocalDateTime.now());
+    }
+
+    /** The stream's content once it contains {@code expected}, which the dispatcher writes asynchronously. */
+    private String await(MockHttpServletResponse stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = stream.getContentAsString();
+        while (!content.contains(expected)) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for " + expected + " in: " + content);
+            Thread.sleep(10);
+            content = stream.getContentAsString();
+        }
+        return content;
+    }
+
+    private static int occurrences(String content, String text) {
+        return content.split(java.util.regex.Pattern.quote(text), -1).length - 1;
+    }
+}
@@ -0,0 +1,123 @@
+package com.unifiederp.employee.event;
+
+import com.unifiederp.employee.dto.BulkStatusJob;
+import com.unifiederp.employee.dto.EmployeeDTO;
+import com.unifiederp.employee.model.Department;
+import com.unifiederp.employee.model.EmployeeStatus;
+import com.unifiederp.employee.repository.DepartmentRepository;
+import com.unifiederp.employee.repository.EmployeeRepository;
+import com.unifiederp.employee.service.BulkStatusJobRunner;
+import com.unifiederp.employee.service.EmployeeService;
+import com.unifiederp.shared.entity.OutboxEvent;
+import com.unifiederp.shared.events.OutboxRelay;
+import com.unifiederp.shared.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EmployeeEventsTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private BulkStatusJobRunner bulkStatusJobRunner;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        department = departmentRepository.save(new Department("IT", "Information Technology"));
+        outboxRelay.relay();
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void testChangesArePublishedWithTheirTransaction() {
+        EmployeeDTO created = employeeService.createEmployee(newEmployee("EMP001", "john.doe@company.com"));
+        employeeService.updateEmployeeStatus(created.getId(), EmployeeStatus.ON_LEAVE);
+        employeeService.deleteEmployee(created.getId());
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            employeeService.createEmployee(newEmployee("EMP002", "rolled.back@company.com"));
+            throw new IllegalStateException("rollback");
+        }));
+
+        List<OutboxEvent> events = events();
+        assertEquals(List.of(EmployeeEvents.CREATED, EmployeeEvents.STATUS_CHANGED, EmployeeEvents.DELETED),
+                events.stream().map(OutboxEvent::getEventType).toList());
+        assertTrue(events.stream().allMatch(event -> event.getAggregateId().equals(created.getId().toString())));
+        assertEquals("EMP001", events.get(0).getPayload().get("employeeId"));
+        assertEquals("ON_LEAVE", events.get(1).getPayload().get("status"));
+        assertEquals(1, ((Number) events.get(1).getPayload().get("version")).intValue());
+    }
+
+    @Test
+    void testBulkStatusChangePublishesOneEventPerChunk() {
+        List<Long> ids = List.of(
+                employeeService.createEmployee(newEmployee("EMP003", "a@company.com")).getId(),
+                employeeService.createEmployee(newEmployee("EMP004", "b@company.com")).getId(),
+                employeeService.createEmployee(newEmployee("EMP005", "c@company.com")).getId());
+        outboxEventRepository.deleteAll();
+
+        BulkStatusJob job = new BulkStatusJob(EmployeeStatus.TERMINATED, ids.size(), false);
+        bulkStatusJobRunner.run(job, ids, 2);
+
+        List<OutboxEvent> events = events();
+        assertEquals(2, events.size());
+        assertTrue(events.stream().allMatch(event -> EmployeeEvents.BULK_STATUS_CHANGED.equals(event.getEventType())
+                && job.getJobId().equals(event.getAggregateId())
+                && "TERMINATED".equals(event.getPayload().get("status"))));
+        assertEquals(ids, events.stream()
+                .flatMap(event -> ((List<?>) event.getPayload().get("ids")).stream())
+                .map(id -> ((Number) id).longValue())
+                .toList());
+    }
+
+    @Test
+    void testCommittedEventsAreRelayed() {
+        employeeService.createEmployee(newEmployee("EMP006", "relayed@company.com"));
+
+        outboxRelay.relay();
+
+        assertTrue(events().stream().allMatch(event -> event.getPublishedAt() != null));
+    }
+
+    private List<OutboxEvent> events() {
+        return outboxEventRepository.findAll().stream()
+                .sorted(Comparator.comparing(OutboxEvent::getId))
+                .toList();
+    }
+
+    private EmployeeDTO newEmployee(String employeeId, String email) {
+        return new EmployeeDTO(employeeId, "Test", "Employee", email,
+                department.getId(), "Engineer", LocalDate.now());
+    }
+}
@@ -0,0 +1,192 @@
+package com.unifiederp.employee.load;
+
+import com.unifiederp.employee.EmployeeServiceApplication;
+import com.unifiederp.employee.model.Department;
+import com.unifiederp.employee.model.Employee;
+import com.unifiederp.employee.repository.DepartmentRepository;
+import com.unifiederp.employee.repository.EmployeeRepository;
+import com.unifiederp.shared.threads.VirtualThreads;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares throughput and latency of {@code GET /api/employees/{id}} with platform and virtual request
+ * threads, at {@code loadtest.clients} concurrent clients (1000 by default). H2 answers in microseconds,
+ * so every statement and commit is delayed by {@code loadtest.db-latency-ms} to stand in for the network
+ * round trip to Supabase. Needs a Java 21 runtime; run with {@code mvn test -Dtest=ThreadModeLoadTest -Dloadtest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ThreadModeLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadModeLoadTest.class);
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 1000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadtest.requests-per-client", 20);
+    private static final int POOL_SIZE = Integer.getInteger("loadtest.pool-size", 50);
+    private static final long DB_LATENCY_MS = Long.getLong("loadtest.db-latency-ms", 5);
+    private static final int EMPLOYEES = 200;
+
+    @Test
+    void testVirtualThreadsAgainstPlatformThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "virtual threads need a Java 21 runtime");
+
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        logger.info("{} clients x {} requests, {} ms per statement, pool of {}",
+                CLIENTS, REQUESTS_PER_CLIENT, DB_LATENCY_MS, POOL_SIZE);
+        logger.info("platform threads: {}", platform);
+        logger.info("virtual threads:  {}", virtual);
+        assertEquals(0, platform.errors, "platform thread run had failed requests");
+        assertEquals(0, virtual.errors, "virtual thread run had failed requests");
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeServiceApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads
+                                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.datasource.hikari.minimum-idle=" + POOL_SIZE,
+                        "erp.threads.virtual.enabled=" + virtualThreads,
+                        "logging.level.root=WARN")
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new SimulatedLatency()))
+                .run()) {
+            List<Long> ids = seed(context);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            load(baseUrl, ids, 50, 20);
+            return load(baseUrl, ids, CLIENTS, REQUESTS_PER_CLIENT);
+        }
+    }
+
+    private List<Long> seed(ConfigurableApplicationContext context) {
+        Department department = context.getBean(DepartmentRepository.class)
+                .save(new Department("Load Test", "Load test department"));
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee("LOAD" + i, "Load", "Employee" + i, "load" + i + "@company.com",
+                    department, "Engineer", LocalDate.now()));
+        }
+        return context.getBean(EmployeeRepository.class).saveAll(employees).stream().map(Employee::getId).toList();
+    }
+
+    private Result load(String baseUrl, List<Long> ids, int clients, int requestsPerClient) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        AtomicLong errors = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int c = 0; c < clients; c++) {
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[requestsPerClient];
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/employees/" + id)).build();
+                        long sent = System.nanoTime();
+                        try {
+                            if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[r] = System.nanoTime() - sent;
+                    }
+                    return latencies;
+                }));
+            }
+
+            long[] all = new long[clients * requestsPerClient];
+            int offset = 0;
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get();
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                offset += latencies.length;
+            }
+            long elapsed = System.nanoTime() - start;
+            Arrays.sort(all);
+            return new Result(all.length * 1e9 / elapsed, percentileMs(all, 0.50), percentileMs(all, 0.99), errors.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return TimeUnit.NANOSECONDS.toMicros(sorted[Math.max(index, 0)]) / 1000.0;
+    }
+
+    private record Result(double requestsPerSecond, double p50Ms, double p99Ms, long errors) {
+
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p50 %.1f ms, p99 %.1f ms, %d errors",
+                    requestsPerSecond, p50Ms, p99Ms, errors);
+        }
+    }
+
+    /** Delays every statement and commit on connections handed out by the pool. */
+    private static class SimulatedLatency implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return delayed(super.getConnection());
+                }
+            };
+        }
+
+        private static Connection delayed(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("prepare") || name.equals("createStatement") || name.equals("commit")) {
+                            Thread.sleep(DB_LATENCY_MS);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
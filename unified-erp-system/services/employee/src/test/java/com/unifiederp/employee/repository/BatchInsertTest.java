@@ -0,0 +1,90 @@
+package com.unifiederp.employee.repository;
+
+import com.unifiederp.employee.audit.AuditWrites;
+import com.unifiederp.employee.model.Department;
+import com.unifiederp.employee.model.Employee;
+import com.unifiederp.shared.repository.AuditLogRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Inserting departments and employees (and the audit rows they produce) must go out in JDBC
+ * batches. With IDENTITY ids every row would be its own statement.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class BatchInsertTest {
+
+    private static final int DEPARTMENTS = 10;
+    private static final int EMPLOYEES = 100;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        AuditWrites.await(applicationTaskExecutor);
+        auditLogRepository.deleteAll();
+    }
+
+    @Test
+    void testInsertsAreSentInBatches() throws InterruptedException {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Department> departments = new ArrayList<>();
+            for (int i = 0; i < DEPARTMENTS; i++) {
+                departments.add(new Department("Department " + i, "Batch test"));
+            }
+            departmentRepository.saveAll(departments);
+
+            List<Employee> employees = new ArrayList<>();
+            for (int i = 0; i < EMPLOYEES; i++) {
+                employees.add(new Employee("BATCH" + i, "Test", "Employee", "batch" + i + "@company.com",
+                        departments.get(i % DEPARTMENTS), "Engineer", LocalDate.now()));
+            }
+            employeeRepository.saveAll(employees);
+        });
+
+        AuditWrites.await(applicationTaskExecutor);
+        int rows = DEPARTMENTS + EMPLOYEES;
+        assertEquals(2L * rows, statistics.getEntityInsertCount());
+        assertEquals(rows, auditLogRepository.count());
+
+        // Batches of 20 per table plus one sequence call per 50 ids, versus one statement per row
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 25, "expected batched inserts but prepared " + statements + " statements");
+    }
+}
@@ -0,0 +1,127 @@
+package com.unifiederp.employee.repository;
+
+import com.unifiederp.employee.audit.AuditWrites;
+import com.unifiederp.employee.dto.CollectionVersion;
+import com.unifiederp.employee.dto.EmployeeDTO;
+import com.unifiederp.employee.model.Department;
+import com.unifiederp.employee.model.Employee;
+import com.unifiederp.employee.model.EmployeeStatus;
+import com.unifiederp.shared.repository.AuditLogRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The list queries must build DTOs in a single statement, with department and manager names
+ * joined in, without loading any entity, and their versions must follow the listed rows.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class EmployeeProjectionTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    private Department engineering;
+    private Employee manager;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        auditLogRepository.deleteAll();
+
+        engineering = departmentRepository.save(new Department("Engineering", "Builds things"));
+        manager = employeeRepository.save(new Employee("MGR001", "Grace", "Hopper", "grace@company.com",
+                engineering, "Director", LocalDate.of(2020, 1, 1)));
+        for (int i = 0; i < 3; i++) {
+            Employee report = new Employee("ENG00" + i, "Report", "Number" + i, "report" + i + "@company.com",
+                    engineering, "Engineer", LocalDate.of(2023, 1, 1));
+            report.setManagerId(manager.getId());
+            report.setSalary(1000.0 * i);
+            employeeRepository.save(report);
+        }
+        // The seed's audit inserts would otherwise land in the statement counts below
+        AuditWrites.await(applicationTaskExecutor);
+    }
+
+    @Test
+    void testManagerListIsProjectedInOneStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<EmployeeDTO> reports = employeeRepository.findDTOsByManagerId(manager.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(3, reports.size());
+        EmployeeDTO first = reports.stream().min(Comparator.comparing(EmployeeDTO::getEmployeeId)).orElseThrow();
+        assertEquals("ENG000", first.getEmployeeId());
+        assertEquals("report0@company.com", first.getEmail());
+        assertEquals(engineering.getId(), first.getDepartmentId());
+        assertEquals("Engineering", first.getDepartmentName());
+        assertEquals(manager.getId(), first.getManagerId());
+        assertEquals("Grace Hopper", first.getManagerName());
+        assertEquals(EmployeeStatus.ACTIVE, first.getStatus());
+        assertEquals(0.0, first.getSalary());
+        assertNotNull(first.getCreatedAt());
+    }
+
+    @Test
+    void testDepartmentAndStatusListsIncludeEmployeesWithoutManager() {
+        List<EmployeeDTO> byDepartment = employeeRepository.findDTOsByDepartmentId(engineering.getId());
+        List<EmployeeDTO> byStatus = employeeRepository.findDTOsByStatus(EmployeeStatus.ACTIVE);
+
+        assertEquals(4, byDepartment.size());
+        assertEquals(4, byStatus.size());
+        EmployeeDTO director = byDepartment.stream()
+                .filter(dto -> dto.getId().equals(manager.getId()))
+                .findFirst().orElseThrow();
+        assertNull(director.getManagerId());
+        assertNull(director.getManagerName());
+        assertTrue(employeeRepository.findDTOsByStatus(EmployeeStatus.TERMINATED).isEmpty());
+    }
+
+    @Test
+    void testCollectionVersionChangesWithListedRows() {
+        CollectionVersion before = employeeRepository.findCollectionVersionByManagerId(manager.getId());
+        assertEquals(3, before.getEmployees());
+        assertEquals(3, before.getManagers());
+        assertEquals(before.toETag(), employeeRepository.findCollectionVersionByManagerId(manager.getId()).toETag());
+
+        // Renaming the manager changes the manager name shown in the list
+        manager.setLastName("Brewster Hopper");
+        employeeRepository.save(manager);
+        CollectionVersion renamed = employeeRepository.findCollectionVersionByManagerId(manager.getId());
+        assertNotEquals(before.toETag(), renamed.toETag());
+
+        employeeRepository.deleteAll(employeeRepository.findByManagerId(manager.getId()).subList(0, 1));
+        CollectionVersion shrunk = employeeRepository.findCollectionVersionByManagerId(manager.getId());
+        assertEquals(2, shrunk.getEmployees());
+        assertNotEquals(renamed.toETag(), shrunk.toETag());
+    }
+}
@@ -0,0 +1,123 @@
+package com.unifiederp.employee.repository;
+
+import com.unifiederp.employee.audit.AuditWrites;
+import com.unifiederp.employee.model.Department;
+import com.unifiederp.employee.model.Employee;
+import com.unifiederp.employee.model.EmployeeStatus;
+import com.unifiederp.shared.repository.AuditLogRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Status and manager changes are single UPDATE statements that bump the version, so an edit
+ * based on the previous version fails instead of silently overwriting them.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class TargetedUpdateTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    private Department department;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        auditLogRepository.deleteAll();
+
+        department = departmentRepository.save(new Department("Finance", "Counts things"));
+        employee = employeeRepository.save(new Employee("FIN001", "Ada", "Lovelace", "ada@company.com",
+                department, "Analyst", LocalDate.of(2022, 3, 1)));
+        // The seed's audit inserts would otherwise land in the statement counts below
+        AuditWrites.await(applicationTaskExecutor);
+    }
+
+    @Test
+    void testStatusUpdateIsOneStatementAndBumpsVersion() {
+        assertEquals(0L, employee.getVersion());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Integer updated = transactionTemplate.execute(status ->
+                employeeRepository.updateStatus(employee.getId(), 0L, EmployeeStatus.ON_LEAVE, LocalDateTime.now()));
+
+        assertEquals(1, updated);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        Employee reloaded = employeeRepository.findById(employee.getId()).orElseThrow();
+        assertEquals(EmployeeStatus.ON_LEAVE, reloaded.getStatus());
+        assertEquals(1L, reloaded.getVersion());
+    }
+
+    @Test
+    void testWritesBasedOnStaleVersionFail() {
+        transactionTemplate.executeWithoutResult(status ->
+                employeeRepository.updateStatus(employee.getId(), 0L, EmployeeStatus.ON_LEAVE, LocalDateTime.now()));
+
+        Integer staleStatusUpdate = transactionTemplate.execute(status ->
+                employeeRepository.updateStatus(employee.getId(), 0L, EmployeeStatus.TERMINATED, LocalDateTime.now()));
+        assertEquals(0, staleStatusUpdate);
+
+        // Still at version 0, as read before the status change
+        employee.setPosition("Senior Analyst");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> employeeRepository.save(employee));
+        assertEquals("Analyst", employeeRepository.findById(employee.getId()).orElseThrow().getPosition());
+    }
+
+    @Test
+    void testManagerUpdateBumpsDepartmentVersion() {
+        Integer updated = transactionTemplate.execute(status ->
+                departmentRepository.updateManager(department.getId(), 0L, employee.getId(), LocalDateTime.now()));
+
+        assertEquals(1, updated);
+        Department reloaded = departmentRepository.findById(department.getId()).orElseThrow();
+        assertEquals(employee.getId(), reloaded.getManagerId());
+        assertEquals(1L, reloaded.getVersion());
+        Integer stale = transactionTemplate.execute(status ->
+                departmentRepository.updateManager(department.getId(), 0L, null, LocalDateTime.now()));
+        assertEquals(0, stale);
+    }
+
+    @Test
+    void testManagerUpdateRequiresExistingManager() {
+        Integer updated = transactionTemplate.execute(status ->
+                departmentRepository.updateManager(department.getId(), 0L, Long.MAX_VALUE, LocalDateTime.now()));
+
+        assertEquals(0, updated);
+        Department reloaded = departmentRepository.findById(department.getId()).orElseThrow();
+        assertNull(reloaded.getManagerId());
+        assertEquals(0L, reloaded.getVersion());
+    }
+}
@@ -0,0 +1,126 @@
+package com.unifiederp.employee.repository;
+
+import com.unifiederp.employee.dto.BulkStatusRequest;
+import com.unifiederp.employee.dto.EmployeeDTO;
+import com.unifiederp.employee.model.Department;
+import com.unifiederp.employee.model.Employee;
+import com.unifiederp.employee.model.EmployeeStatus;
+import com.unifiederp.employee.service.EmployeeBulkStatusService;
+import com.unifiederp.shared.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two tenants with identically named departments and employees. Every repository query, lookup by
+ * id and bulk update of one tenant must leave the other's rows out.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TenantPartitioningTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeBulkStatusService bulkStatusService;
+
+    private Employee acmeEmployee;
+    private Employee globexEmployee;
+
+    @BeforeEach
+    void setUp() {
+        for (String tenant : List.of("acme", "globex", TenantContext.DEFAULT_TENANT)) {
+            asTenant(tenant, () -> {
+                employeeRepository.deleteAll();
+                departmentRepository.deleteAll();
+                return null;
+            });
+        }
+        acmeEmployee = asTenant("acme", this::seed);
+        globexEmployee = asTenant("globex", this::seed);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void testRowsAreWrittenWithAndReadInTheirTenant() {
+        assertEquals("acme", acmeEmployee.getTenantId());
+        assertEquals("globex", globexEmployee.getTenantId());
+
+        asTenant("acme", () -> {
+            assertEquals(1, employeeRepository.count());
+            assertEquals(List.of(acmeEmployee.getId()),
+                    employeeRepository.findAll(PageRequest.of(0, 10)).map(Employee::getId).getContent());
+            assertEquals(acmeEmployee.getId(), employeeRepository.findByEmployeeId("EMP001").orElseThrow().getId());
+            assertTrue(employeeRepository.existsByEmail("jane.doe@company.com"));
+            Department engineering = departmentRepository.findByName("Engineering").orElseThrow();
+            assertEquals(1L, employeeRepository.countActiveEmployeesByDepartment(engineering.getId()));
+            List<EmployeeDTO> active = employeeRepository.findDTOsByStatus(EmployeeStatus.ACTIVE);
+            assertEquals(List.of(acmeEmployee.getId()), active.stream().map(EmployeeDTO::getId).toList());
+            assertEquals(1, employeeRepository.findCollectionVersion().getEmployees());
+            return null;
+        });
+        asTenant(TenantContext.DEFAULT_TENANT, () -> {
+            assertEquals(0, employeeRepository.count());
+            assertTrue(departmentRepository.findAll().isEmpty());
+            return null;
+        });
+    }
+
+    @Test
+    void testOtherTenantsRowsAreNotFoundById() {
+        asTenant("acme", () -> {
+            assertTrue(employeeRepository.findById(globexEmployee.getId()).isEmpty());
+            assertTrue(employeeRepository.findDTOById(globexEmployee.getId()).isEmpty());
+            assertTrue(departmentRepository.findById(globexEmployee.getDepartment().getId()).isEmpty());
+            return null;
+        });
+    }
+
+    @Test
+    void testBulkUpdatesLeaveOtherTenantsAlone() {
+        BulkStatusRequest request = new BulkStatusRequest();
+        request.setStatus(EmployeeStatus.ON_LEAVE);
+        request.setIds(List.of(acmeEmployee.getId(), globexEmployee.getId()));
+
+        long updated = asTenant("acme", () -> bulkStatusService.submit(request).getUpdated());
+
+        assertEquals(1, updated);
+        assertEquals(EmployeeStatus.ON_LEAVE, asTenant("acme",
+                () -> employeeRepository.findById(acmeEmployee.getId()).orElseThrow().getStatus()));
+        assertEquals(EmployeeStatus.ACTIVE, asTenant("globex",
+                () -> employeeRepository.findById(globexEmployee.getId()).orElseThrow().getStatus()));
+    }
+
+    private Employee seed() {
+        Department engineering = departmentRepository.save(new Department("Engineering", "Builds things"));
+        return employeeRepository.save(new Employee("EMP001", "Jane", "Doe", "jane.doe@company.com",
+                engineering, "Engineer", LocalDate.of(2023, 1, 1)));
+    }
+
+    private static <T> T asTenant(String tenantId, Supplier<T> work) {
+        TenantContext.setTenantId(tenantId);
+        try {
+            return work.get();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.unifiederp.employee.service;
+
+import com.unifiederp.employee.audit.AuditWrites;
+import com.unifiederp.employee.dto.DepartmentMergeResult;
+import com.unifiederp.employee.exception.ResourceNotFoundException;
+import com.unifiederp.employee.model.Department;
+import com.unifiederp.employee.model.Employee;
+import com.unifiederp.employee.repository.DepartmentRepository;
+import com.unifiederp.employee.repository.EmployeeRepository;
+import com.unifiederp.shared.entity.AuditLog;
+import com.unifiederp.shared.repository.AuditLogRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class DepartmentMergeTest {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    private Department legacy;
+    private Department platform;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+
+        legacy = departmentRepository.save(new Department("Legacy", "Being wound down"));
+        platform = departmentRepository.save(new Department("Platform", "Takes over"));
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            employees.add(new Employee("LEG" + i, "Legacy", "Person" + i, "legacy" + i + "@company.com",
+                    legacy, "Engineer", LocalDate.of(2019, 1, 1)));
+        }
+        for (int i = 0; i < 3; i++) {
+            employees.add(new Employee("PLT" + i, "Platform", "Person" + i, "platform" + i + "@company.com",
+                    platform, "Engineer", LocalDate.of(2019, 1, 1)));
+        }
+        employeeRepository.saveAll(employees);
+        AuditWrites.await(applicationTaskExecutor);
+        auditLogRepository.deleteAll();
+    }
+
+    @Test
+    void testMergeMovesEmployeesWithoutLoadingThemAndDeletesSource() throws InterruptedException {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        DepartmentMergeResult result = departmentService.mergeDepartment(legacy.getId(), platform.getId());
+
+        assertEquals(120, result.getEmployeesMoved());
+        assertEquals(123, result.getDepartment().getEmployeeCount());
+        assertEquals(0, statistics.getEntityStatistics(Employee.class.getName()).getLoadCount());
+        assertFalse(departmentRepository.existsById(legacy.getId()));
+        assertEquals(123, employeeRepository.countByDepartmentId(platform.getId()));
+
+        // One audit log for the whole move, one for the deleted department
+        AuditWrites.await(applicationTaskExecutor);
+        List<AuditLog> audits = auditLogRepository.findAll();
+        assertEquals(2, audits.size());
+        AuditLog move = audits.stream().filter(log -> "Employee".equals(log.getResourceType())).findFirst().orElseThrow();
+        assertEquals(120, ((Number) move.getDetails().get("rows")).intValue());
+        assertTrue(audits.stream().anyMatch(log -> "DELETE".equals(log.getAction())
+                && legacy.getId().toString().equals(log.getResourceId())));
+    }
+
+    @Test
+    void testMergeIntoItselfOrMissingDepartmentIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> departmentService.mergeDepartment(legacy.getId(), legacy.getId()));
+        assertThrows(ResourceNotFoundException.class,
+                () -> departmentService.mergeDepartment(legacy.getId(), -1L));
+        assertEquals(120, employeeRepository.countByDepartmentId(legacy.getId()));
+    }
+}
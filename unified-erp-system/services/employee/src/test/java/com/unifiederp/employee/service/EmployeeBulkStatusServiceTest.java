@@ -0,0 +1,145 @@
+package com.unifiederp.employee.service;
+
+import com.unifiederp.employee.audit.AuditWrites;
+import com.unifiederp.employee.dto.BulkStatusJob;
+import com.unifiederp.employee.dto.BulkStatusRequest;
+import com.unifiederp.employee.model.Department;
+import com.unifiederp.employee.model.Employee;
+import com.unifiederp.employee.model.EmployeeStatus;
+import com.unifiederp.employee.repository.DepartmentRepository;
+import com.unifiederp.employee.repository.EmployeeRepository;
+import com.unifiederp.shared.entity.AuditLog;
+import com.unifiederp.shared.repository.AuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "employee.bulk-status.chunk-size=10",
+        "employee.bulk-status.async-threshold=30"
+})
+@ActiveProfiles("test")
+class EmployeeBulkStatusServiceTest {
+
+    @Autowired
+    private EmployeeBulkStatusService bulkStatusService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    private Department sales;
+    private Department support;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+
+        sales = departmentRepository.save(new Department("Sales", "Sells things"));
+        support = departmentRepository.save(new Department("Support", "Helps"));
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            employees.add(new Employee("SAL" + i, "Sales", "Person" + i, "sales" + i + "@company.com",
+                    sales, "Account Executive", LocalDate.of(2021, 1, 1)));
+        }
+        for (int i = 0; i < 40; i++) {
+            employees.add(new Employee("SUP" + i, "Support", "Person" + i, "support" + i + "@company.com",
+                    support, "Agent", LocalDate.of(2021, 1, 1)));
+        }
+        employees.get(0).setStatus(EmployeeStatus.TERMINATED);
+        employeeRepository.saveAll(employees);
+        AuditWrites.await(applicationTaskExecutor);
+        auditLogRepository.deleteAll();
+    }
+
+    @Test
+    void testSmallDepartmentIsChangedInChunksBeforeReturning() throws InterruptedException {
+        BulkStatusRequest request = new BulkStatusRequest();
+        request.setDepartmentId(sales.getId());
+        request.setStatus(EmployeeStatus.TERMINATED);
+
+        BulkStatusJob job = bulkStatusService.submit(request);
+
+        assertFalse(job.isBackground());
+        assertEquals(BulkStatusJob.State.COMPLETED, job.getState());
+        assertEquals(24, job.getMatched());
+        assertEquals(24, job.getUpdated());
+        assertEquals(25, employeeRepository.findDTOsByStatus(EmployeeStatus.TERMINATED).size());
+
+        // One audit log per chunk of 10, listing the ids it covered
+        AuditWrites.await(applicationTaskExecutor);
+        List<AuditLog> audits = auditLogRepository.findAll();
+        assertEquals(3, audits.size());
+        assertEquals(24, audits.stream().mapToInt(log -> ((List<?>) log.getDetails().get("resourceIds")).size()).sum());
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> changes =
+                (Map<String, Map<String, Object>>) audits.get(0).getDetails().get("changes");
+        assertEquals("TERMINATED", changes.get("status").get("new"));
+    }
+
+    @Test
+    void testLargeSetRunsInBackgroundAndCanBePolled() throws InterruptedException {
+        BulkStatusRequest request = new BulkStatusRequest();
+        request.setDepartmentId(support.getId());
+        request.setStatus(EmployeeStatus.ON_LEAVE);
+
+        BulkStatusJob job = bulkStatusService.submit(request);
+        assertTrue(job.isBackground());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (bulkStatusService.getJob(job.getJobId()).getState() == BulkStatusJob.State.RUNNING
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        BulkStatusJob polled = bulkStatusService.getJob(job.getJobId());
+        assertEquals(BulkStatusJob.State.COMPLETED, polled.getState());
+        assertEquals(40, polled.getProcessed());
+        assertEquals(40, polled.getUpdated());
+        assertEquals(40, employeeRepository.findDTOsByStatus(EmployeeStatus.ON_LEAVE).size());
+    }
+
+    @Test
+    void testIdFilterSkipsEmployeesAlreadyInStatus() {
+        List<Long> ids = employeeRepository.findIdsByDepartmentIdAndStatusNot(sales.getId(), EmployeeStatus.ON_LEAVE);
+        BulkStatusRequest request = new BulkStatusRequest();
+        request.setIds(ids.subList(0, 5));
+        request.setStatus(EmployeeStatus.ON_LEAVE);
+        bulkStatusService.submit(request);
+
+        request.setIds(ids.subList(0, 12));
+        BulkStatusJob job = bulkStatusService.submit(request);
+
+        assertEquals(7, job.getMatched());
+        assertEquals(7, job.getUpdated());
+    }
+
+    @Test
+    void testRequiresExactlyOneFilter() {
+        BulkStatusRequest request = new BulkStatusRequest();
+        request.setDepartmentId(sales.getId());
+        request.setManagerId(1L);
+        request.setStatus(EmployeeStatus.INACTIVE);
+
+        assertThrows(IllegalArgumentException.class, () -> bulkStatusService.submit(request));
+    }
+}
@@ -8,12 +8,17 @@ import com.unifiederp.employee.repository.EmployeeRepository;
 import com.unifiederp.employee.repository.DepartmentRepository;
 import com.unifiederp.employee.exception.ResourceNotFoundException;
 import com.unifiederp.employee.exception.DuplicateResourceException;
+import com.unifiederp.employee.exception.StaleVersionException;
+import com.unifiederp.shared.audit.EntityChangeListener;
+import com.unifiederp.shared.events.DomainEventPublisher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -36,6 +41,12 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeMapper employeeMapper;
 
+    @Mock
+    private EntityChangeListener entityChangeListener;
+
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -198,18 +209,82 @@ class EmployeeServiceTest {
     @Test
     void updateEmployeeStatus_WhenEmployeeExists_ShouldUpdateStatus() {
         // Given
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
-        when(employeeRepository.save(testEmployee)).thenReturn(testEmployee);
-        when(employeeMapper.toDTO(testEmployee)).thenReturn(testEmployeeDTO);
+        testEmployeeDTO.setVersion(2L);
+        when(employeeRepository.findDTOById(1L)).thenReturn(Optional.of(testEmployeeDTO));
+        when(employeeRepository.updateStatus(eq(1L), eq(2L), eq(EmployeeStatus.INACTIVE), any())).thenReturn(1);
 
         // When
         EmployeeDTO result = employeeService.updateEmployeeStatus(1L, EmployeeStatus.INACTIVE);
 
         // Then
         assertNotNull(result);
-        assertEquals(EmployeeStatus.INACTIVE, testEmployee.getStatus());
-        verify(employeeRepository).findById(1L);
-        verify(employeeRepository).save(testEmployee);
-        verify(employeeMapper).toDTO(testEmployee);
+        assertEquals(EmployeeStatus.INACTIVE, result.getStatus());
+        assertEquals(3L, result.getVersion());
+        verify(entityChangeListener).collectUpdate(Employee.class, 1L, "status",
+                EmployeeStatus.ACTIVE, EmployeeStatus.INACTIVE);
+        verify(employeeRepository, never()).findById(any());
+        verify(employeeRepository, never()).save(any());
+    }
+
+    @Test
+    void updateEmployeeStatus_WhenChangedConcurrently_ShouldThrowException() {
+        // Given
+        testEmployeeDTO.setVersion(2L);
+        when(employeeRepository.findDTOById(1L)).thenReturn(Optional.of(testEmployeeDTO));
+        when(employeeRepository.updateStatus(eq(1L), eq(2L), eq(EmployeeStatus.INACTIVE), any())).thenReturn(0);
+
+        // When & Then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> {
+            employeeService.updateEmployeeStatus(1L, EmployeeStatus.INACTIVE);
+        });
+        verify(entityChangeListener, never()).collectUpdate(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void updateEmployeeStatus_WhenVersionIsSupplied_ShouldUpdateWithoutReadingFirst() {
+        // Given
+        testEmployeeDTO.setStatus(EmployeeStatus.INACTIVE);
+        testEmployeeDTO.setVersion(5L);
+        when(employeeRepository.updateStatus(eq(1L), eq(4L), eq(EmployeeStatus.INACTIVE), any())).thenReturn(1);
+        when(employeeRepository.findDTOById(1L)).thenReturn(Optional.of(testEmployeeDTO));
+
+        // When
+        EmployeeDTO result = employeeService.updateEmployeeStatus(1L, EmployeeStatus.INACTIVE, 4L);
+
+        // Then
+        assertEquals(EmployeeStatus.INACTIVE, result.getStatus());
+        assertEquals(5L, result.getVersion());
+        InOrder inOrder = inOrder(employeeRepository);
+        inOrder.verify(employeeRepository).updateStatus(eq(1L), eq(4L), eq(EmployeeStatus.INACTIVE), any());
+        inOrder.verify(employeeRepository).findDTOById(1L);
+        verify(entityChangeListener).collectUpdate(Employee.class, 1L, "status", null, EmployeeStatus.INACTIVE);
+    }
+
+    @Test
+    void updateEmployeeStatus_WhenSuppliedVersionIsStale_ShouldThrowException() {
+        // Given
+        when(employeeRepository.updateStatus(eq(1L), eq(4L), eq(EmployeeStatus.INACTIVE), any())).thenReturn(0);
+        when(employeeRepository.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertThrows(StaleVersionException.class, () -> {
+            employeeService.updateEmployeeStatus(1L, EmployeeStatus.INACTIVE, 4L);
+        });
+        verify(employeeRepository, never()).findDTOById(any());
+        verify(entityChangeListener, never()).collectUpdate(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void updateEmployee_WhenVersionIsStale_ShouldThrowException() {
+        // Given
+        testEmployee.setVersion(3L);
+        testEmployeeDTO.setVersion(2L);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+
+        // When & Then
+        assertThrows(StaleVersionException.class, () -> {
+            employeeService.updateEmployee(1L, testEmployeeDTO);
+        });
+        verify(employeeRepository, never()).saveAndFlush(any());
     }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.unifiederp.shared.audit;
+
+import com.unifiederp.shared.util.SecurityUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Immutable snapshot of the request attributes recorded with every audit log.
+ * Captured once per request by {@link com.unifiederp.shared.filter.AuditContextFilter}
+ * so that asynchronous audit writers never touch the servlet request.
+ */
+public final class AuditContext {
+
+    public static final AuditContext SYSTEM = new AuditContext("SYSTEM", null, null, null);
+
+    private final String userId;
+    private final String ipAddress;
+    private final String userAgent;
+    private final String sessionId;
+
+    public AuditContext(String userId, String ipAddress, String userAgent, String sessionId) {
+        this.userId = userId;
+        this.ipAddress = ipAddress;
+        this.userAgent = userAgent;
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * Build a snapshot from the given request. Headers are parsed here exactly once;
+     * an HTTP session is never created as a side effect.
+     */
+    public static AuditContext from(HttpServletRequest request) {
+        String userId = request.getHeader("X-User-Id");
+        if (userId == null || userId.isEmpty()) {
+            userId = SecurityUtils.getCurrentUserIdOrSystem();
+        }
+
+        HttpSession session = request.getSession(false);
+
+        return new AuditContext(
+                userId,
+                SecurityUtils.getClientIpAddress(request),
+                request.getHeader("User-Agent"),
+                session != null ? session.getId() : null);
+    }
+
+    // Getters
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public String getUserAgent() {
+        return userAgent;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    @Override
+    public String toString() {
+        return "AuditContext{userId='" + userId + "', ipAddress='" + ipAddress + "', sessionId='" + sessionId + "'}";
+    }
+}
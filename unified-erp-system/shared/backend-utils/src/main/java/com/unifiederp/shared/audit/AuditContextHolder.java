@@ -0,0 +1,35 @@
+package com.unifiederp.shared.audit;
+
+/**
+ * Holds the {@link AuditContext} of the work currently running on this thread.
+ * Populated by the audit context filter on request threads and by the
+ * async task decorator on executor threads.
+ */
+public final class AuditContextHolder {
+
+    private static final ThreadLocal<AuditContext> CONTEXT = new ThreadLocal<>();
+
+    private AuditContextHolder() {
+        // Utility class
+    }
+
+    /**
+     * Get the current audit context, or {@link AuditContext#SYSTEM} outside of a request
+     */
+    public static AuditContext getContext() {
+        AuditContext context = CONTEXT.get();
+        return context != null ? context : AuditContext.SYSTEM;
+    }
+
+    public static void setContext(AuditContext context) {
+        if (context == null) {
+            CONTEXT.remove();
+        } else {
+            CONTEXT.set(context);
+        }
+    }
+
+    public static void clearContext() {
+        CONTEXT.remove();
+    }
+}
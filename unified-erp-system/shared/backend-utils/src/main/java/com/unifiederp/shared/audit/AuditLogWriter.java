@@ -0,0 +1,132 @@
+package com.unifiederp.shared.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unifiederp.shared.entity.AuditLog;
+import com.unifiederp.shared.repository.AuditLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes audit logs to the database in batches. When the database cannot take a batch,
+ * the records go to the local {@link AuditSpool} and are replayed in order once it recovers.
+ */
+@Component
+public class AuditLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private final AuditLogRepository auditLogRepository;
+    private final AuditSpool auditSpool;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${audit.spool.replay-batch-size:500}")
+    private int replayBatchSize;
+
+    public AuditLogWriter(AuditLogRepository auditLogRepository, AuditSpool auditSpool,
+                          ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.auditLogRepository = auditLogRepository;
+        this.auditSpool = auditSpool;
+        this.objectMapper = objectMapper;
+        // Audit writes must never join (or be rolled back with) the caller's transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * {@link #write} on the async executor, so the insert is not part of the caller's request.
+     */
+    @Async
+    public void writeAsync(List<AuditLog> auditLogs) {
+        write(auditLogs);
+    }
+
+    /**
+     * Write a batch of audit logs in a single transaction, spooling it locally if that fails.
+     */
+    public void write(List<AuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return;
+        }
+
+        // While older records are still spooled, or being replayed, queue behind them to keep audit order
+        if (auditSpool.isEmpty()) {
+            try {
+                flush(auditLogs);
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Failed to flush {} audit logs, spooling locally: {}", auditLogs.size(), e.getMessage());
+            }
+        }
+
+        spool(auditLogs);
+    }
+
+    /**
+     * Drain the spool into the database, oldest records first. Stops at the first failure
+     * and leaves the remaining records for the next run.
+     */
+    @Scheduled(fixedDelayString = "${audit.spool.replay-interval-ms:30000}")
+    public void replaySpool() {
+        if (auditSpool.isEmpty()) {
+            return;
+        }
+
+        long replayed = 0;
+        try {
+            int drained;
+            do {
+                drained = auditSpool.drain(replayBatchSize, records -> flush(deserialize(records)));
+                replayed += drained;
+            } while (drained > 0);
+        } catch (RuntimeException e) {
+            logger.debug("Audit spool replay deferred, database still unavailable: {}", e.getMessage());
+        }
+
+        if (replayed > 0) {
+            logger.info("Replayed {} spooled audit logs", replayed);
+        }
+    }
+
+    private void flush(List<AuditLog> auditLogs) {
+        transactionTemplate.executeWithoutResult(status -> auditLogRepository.saveAll(auditLogs));
+    }
+
+    private void spool(List<AuditLog> auditLogs) {
+        List<byte[]> payloads = new ArrayList<>(auditLogs.size());
+        for (AuditLog auditLog : auditLogs) {
+            try {
+                payloads.add(objectMapper.writeValueAsBytes(auditLog));
+            } catch (JsonProcessingException e) {
+                logger.error("Failed to serialize audit log for spooling, dropping it: ", e);
+            }
+        }
+        auditSpool.append(payloads);
+    }
+
+    private List<AuditLog> deserialize(List<byte[]> records) {
+        List<AuditLog> auditLogs = new ArrayList<>(records.size());
+        for (byte[] record : records) {
+            try {
+                AuditLog auditLog = objectMapper.readValue(record, AuditLog.class);
+                auditLog.setId(null); // ids from the failed attempt were never committed
+                auditLogs.add(auditLog);
+            } catch (IOException e) {
+                logger.error("Failed to read spooled audit log, skipping it: ", e);
+            }
+        }
+        return auditLogs;
+    }
+}
@@ -0,0 +1,270 @@
+package com.unifiederp.shared.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped spool for audit records that could not be written to the database.
+ *
+ * <p>The file has a fixed size, so disk usage is bounded: when it is full, new records are
+ * dropped and counted. Layout is a 32-byte header (magic, version, read position, write
+ * position) followed by records of {@code [int length][int crc32][payload]}. The write
+ * position is only advanced after a record is fully written, and every record is checksummed,
+ * so torn or corrupted records are detected and skipped on replay.</p>
+ *
+ * <p>Access is guarded by a lock that is never held while records are handed to a consumer, so
+ * appends are not held up by a slow database. A drain keeps its records in the spool until the
+ * consumer returns, and only one drain runs at a time; writers that find the spool non-empty
+ * therefore still queue behind records that are being replayed.</p>
+ */
+public class AuditSpool implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditSpool.class);
+
+    private static final int MAGIC = 0x41554453; // "AUDS"
+    private static final int VERSION = 1;
+    private static final int READ_POS_OFFSET = 8;
+    private static final int WRITE_POS_OFFSET = 16;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_HEADER_SIZE = 8;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int readPos;
+    private int writePos;
+    private long droppedRecords;
+    private long corruptRecords;
+    private boolean draining;
+
+    public AuditSpool(Path path, int capacity) throws IOException {
+        if (capacity <= HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Audit spool capacity too small: " + capacity);
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        this.capacity = capacity;
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean existing = channel.size() >= HEADER_SIZE;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+
+        if (existing && buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION) {
+            long storedRead = buffer.getLong(READ_POS_OFFSET);
+            long storedWrite = buffer.getLong(WRITE_POS_OFFSET);
+            if (storedRead >= HEADER_SIZE && storedRead <= storedWrite && storedWrite <= capacity) {
+                readPos = (int) storedRead;
+                writePos = (int) storedWrite;
+                if (!isEmpty()) {
+                    logger.warn("Audit spool {} contains {} bytes of pending audit records", path, pendingBytes());
+                }
+                return;
+            }
+            logger.error("Audit spool {} has an invalid header, discarding its contents", path);
+        }
+
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        readPos = HEADER_SIZE;
+        writePos = HEADER_SIZE;
+        storePositions();
+    }
+
+    /**
+     * Append records in order and force them to disk.
+     *
+     * @return the number of records appended; records that do not fit are dropped
+     */
+    public int append(List<byte[]> payloads) {
+        lock.lock();
+        try {
+            int appended = 0;
+            for (byte[] payload : payloads) {
+                int needed = RECORD_HEADER_SIZE + payload.length;
+                if (writePos + needed > capacity) {
+                    compact();
+                    if (writePos + needed > capacity) {
+                        droppedRecords += payloads.size() - appended;
+                        logger.error("Audit spool is full, dropped {} audit records ({} dropped in total)",
+                                payloads.size() - appended, droppedRecords);
+                        break;
+                    }
+                }
+
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                buffer.putInt(writePos, payload.length);
+                buffer.putInt(writePos + 4, (int) crc.getValue());
+                buffer.put(writePos + RECORD_HEADER_SIZE, payload);
+                writePos += needed;
+                appended++;
+            }
+
+            if (appended > 0) {
+                storePositions();
+                buffer.force();
+            }
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hand up to {@code maxRecords} of the oldest records to the consumer, outside the lock. The
+     * records are only removed from the spool if the consumer returns normally; if it throws, they
+     * stay in place and the exception propagates. Appends may run while the consumer does.
+     *
+     * @return the number of records handed to the consumer, 0 if another drain is in progress
+     */
+    public int drain(int maxRecords, Consumer<List<byte[]>> consumer) {
+        List<byte[]> records = new ArrayList<>();
+        int consumed;
+        lock.lock();
+        try {
+            if (draining) {
+                return 0;
+            }
+            int pos = readPos;
+
+            while (records.size() < maxRecords && pos < writePos) {
+                int length = buffer.getInt(pos);
+                if (length < 0 || pos + RECORD_HEADER_SIZE + length > writePos) {
+                    // Record boundaries are lost, nothing after this point can be trusted
+                    corruptRecords++;
+                    logger.error("Audit spool record at offset {} has an invalid length, discarding the rest of the spool", pos);
+                    pos = writePos;
+                    break;
+                }
+
+                byte[] payload = new byte[length];
+                buffer.get(pos + RECORD_HEADER_SIZE, payload);
+                int expectedCrc = buffer.getInt(pos + 4);
+                pos += RECORD_HEADER_SIZE + length;
+
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != expectedCrc) {
+                    corruptRecords++;
+                    logger.error("Audit spool record failed its checksum, skipping it");
+                    continue;
+                }
+                records.add(payload);
+            }
+            // Relative to readPos, which a compaction during the consumer may move
+            consumed = pos - readPos;
+            draining = true;
+        } finally {
+            lock.unlock();
+        }
+
+        boolean accepted = false;
+        try {
+            if (!records.isEmpty()) {
+                consumer.accept(records);
+            }
+            accepted = true;
+        } finally {
+            lock.lock();
+            try {
+                draining = false;
+                if (accepted) {
+                    readPos += consumed;
+                    if (readPos == writePos) {
+                        // Fully drained, start over at the front of the file
+                        readPos = HEADER_SIZE;
+                        writePos = HEADER_SIZE;
+                    }
+                    storePositions();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return records.size();
+    }
+
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return readPos == writePos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pendingBytes() {
+        lock.lock();
+        try {
+            return writePos - readPos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDroppedRecords() {
+        lock.lock();
+        try {
+            return droppedRecords;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCorruptRecords() {
+        lock.lock();
+        try {
+            return corruptRecords;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Move pending records to the front of the file to reclaim space already replayed.
+    // A crash mid-copy leaves the old positions in the header; checksums catch any overwritten records.
+    private void compact() {
+        if (readPos == HEADER_SIZE) {
+            return;
+        }
+        int pending = writePos - readPos;
+        byte[] data = new byte[pending];
+        buffer.get(readPos, data);
+        buffer.put(HEADER_SIZE, data);
+        readPos = HEADER_SIZE;
+        writePos = HEADER_SIZE + pending;
+        storePositions();
+    }
+
+    private void storePositions() {
+        buffer.putLong(READ_POS_OFFSET, readPos);
+        buffer.putLong(WRITE_POS_OFFSET, writePos);
+    }
+}
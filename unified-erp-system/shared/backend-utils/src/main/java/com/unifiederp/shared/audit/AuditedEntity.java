@@ -0,0 +1,21 @@
+package com.unifiederp.shared.audit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity whose inserts, updates and deletes are captured into the audit log.
+ * Subclasses of {@link com.unifiederp.shared.entity.BaseEntity} are always captured;
+ * the annotation only sets their module.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AuditedEntity {
+
+    /**
+     * Module recorded on the audit log, e.g. {@code HRMS}
+     */
+    String module();
+}
@@ -0,0 +1,76 @@
+package com.unifiederp.shared.audit;
+
+import com.unifiederp.shared.entity.AuditLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects audit logs, from captured entity changes and from {@code AuditLogService}, per
+ * transaction and hands them to the async executor as one batch after commit. Logs from
+ * rolled-back transactions are discarded. Outside a transaction, logs are batched per request
+ * and written when it completes.
+ */
+@Component
+public class EntityChangeCollector {
+
+    private static final String REQUEST_BATCH = EntityChangeCollector.class.getName() + ".BATCH";
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    public void collect(AuditLog auditLog) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            currentBatch().auditLogs.add(auditLog);
+            return;
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            requestBatch(request).auditLogs.add(auditLog);
+            return;
+        }
+        auditLogWriter.writeAsync(List.of(auditLog));
+    }
+
+    // Synchronizations are suspended with their transaction, so REQUIRES_NEW work gets its own batch
+    private ChangeBatch currentBatch() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof ChangeBatch batch) {
+                return batch;
+            }
+        }
+        ChangeBatch batch = new ChangeBatch();
+        TransactionSynchronizationManager.registerSynchronization(batch);
+        return batch;
+    }
+
+    private ChangeBatch requestBatch(RequestAttributes request) {
+        ChangeBatch batch = (ChangeBatch) request.getAttribute(REQUEST_BATCH, RequestAttributes.SCOPE_REQUEST);
+        if (batch == null) {
+            batch = new ChangeBatch();
+            request.setAttribute(REQUEST_BATCH, batch, RequestAttributes.SCOPE_REQUEST);
+            request.registerDestructionCallback(REQUEST_BATCH, batch::write, RequestAttributes.SCOPE_REQUEST);
+        }
+        return batch;
+    }
+
+    private class ChangeBatch implements TransactionSynchronization {
+
+        private final List<AuditLog> auditLogs = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            write();
+        }
+
+        void write() {
+            auditLogWriter.writeAsync(auditLogs);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.unifiederp.shared.audit;
+
+import com.unifiederp.shared.entity.AuditLog;
+import com.unifiederp.shared.entity.BaseEntity;
+import com.unifiederp.shared.service.AuditLogService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Hibernate listener that turns entity inserts, updates and deletes into audit logs with
+ * before/after values of the changed fields. Audit logs are handed to the
+ * {@link EntityChangeCollector}, which writes them once per transaction after commit.
+ */
+@Component
+public class EntityChangeListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    // Bookkeeping columns that change on every write and carry no audit value
+    private static final Set<String> IGNORED_PROPERTIES = Set.of(
+            "version", "createdAt", "createdBy", "updatedAt", "updatedBy");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityChangeCollector entityChangeCollector;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        String module = moduleOf(event.getEntity().getClass());
+        if (module == null) {
+            return;
+        }
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        Object[] state = event.getState();
+        for (int i = 0; i < state.length; i++) {
+            addChange(changes, event.getPersister(), i, null, state[i], event.getSession());
+        }
+        entityChangeCollector.collect(
+                toAuditLog(AuditLogService.Actions.CREATE, module, event.getEntity().getClass(), event.getId(), changes));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        String module = moduleOf(event.getEntity().getClass());
+        if (module == null || event.getDirtyProperties() == null) {
+            return;
+        }
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        Object[] oldState = event.getOldState();
+        Object[] state = event.getState();
+        for (int i : event.getDirtyProperties()) {
+            addChange(changes, event.getPersister(), i, oldState != null ? oldState[i] : null, state[i], event.getSession());
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        entityChangeCollector.collect(
+                toAuditLog(AuditLogService.Actions.UPDATE, module, event.getEntity().getClass(), event.getId(), changes));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        String module = moduleOf(event.getEntity().getClass());
+        if (module == null) {
+            return;
+        }
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        Object[] deletedState = event.getDeletedState();
+        if (deletedState != null) {
+            for (int i = 0; i < deletedState.length; i++) {
+                addChange(changes, event.getPersister(), i, deletedState[i], null, event.getSession());
+            }
+        }
+        entityChangeCollector.collect(
+                toAuditLog(AuditLogService.Actions.DELETE, module, event.getEntity().getClass(), event.getId(), changes));
+    }
+
+    /**
+     * Records a single-property change made by a JPQL {@code UPDATE}, which Hibernate does not
+     * pass through its event listeners.
+     */
+    public void collectUpdate(Class<?> entityType, Object id, String property, Object oldValue, Object newValue) {
+        String module = moduleOf(entityType);
+        if (module == null || IGNORED_PROPERTIES.contains(property) || Objects.equals(oldValue, newValue)) {
+            return;
+        }
+
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("old", describe(oldValue));
+        change.put("new", describe(newValue));
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put(property, change);
+        entityChangeCollector.collect(toAuditLog(AuditLogService.Actions.UPDATE, module, entityType, id, changes));
+    }
+
+    /**
+     * Records one audit log for a JPQL {@code UPDATE} that set {@code property} on many rows.
+     * The ids are listed in the details instead of one log per row.
+     */
+    public void collectBulkUpdate(Class<?> entityType, Collection<?> ids, String property, Object newValue) {
+        String module = moduleOf(entityType);
+        if (module == null || ids.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("old", null);
+        change.put("new", describe(newValue));
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put(property, change);
+
+        AuditLog auditLog = toAuditLog(AuditLogService.Actions.UPDATE, module, entityType, null, changes);
+        auditLog.setDetails(Map.of("changes", changes, "resourceIds", List.copyOf(ids)));
+        entityChangeCollector.collect(auditLog);
+    }
+
+    /**
+     * Records one audit log for a JPQL {@code UPDATE} selected by {@code criteria} rather than by
+     * ids, such as moving every employee of a department.
+     */
+    public void collectBulkUpdate(Class<?> entityType, Map<String, Object> criteria, int rows,
+                                  String property, Object oldValue, Object newValue) {
+        String module = moduleOf(entityType);
+        if (module == null || rows == 0) {
+            return;
+        }
+
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("old", describe(oldValue));
+        change.put("new", describe(newValue));
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put(property, change);
+
+        AuditLog auditLog = toAuditLog(AuditLogService.Actions.UPDATE, module, entityType, null, changes);
+        auditLog.setDetails(Map.of("changes", changes, "criteria", criteria, "rows", rows));
+        entityChangeCollector.collect(auditLog);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private String moduleOf(Class<?> entityType) {
+        AuditedEntity audited = entityType.getAnnotation(AuditedEntity.class);
+        if (audited != null) {
+            return audited.module();
+        }
+        return BaseEntity.class.isAssignableFrom(entityType) ? AuditLogService.Modules.SYSTEM : null;
+    }
+
+    private void addChange(Map<String, Object> changes, EntityPersister persister, int index,
+                           Object oldValue, Object newValue, SharedSessionContractImplementor session) {
+        String property = persister.getPropertyNames()[index];
+        Type type = persister.getPropertyTypes()[index];
+        if (IGNORED_PROPERTIES.contains(property) || type.isCollectionType()) {
+            return;
+        }
+
+        Object before = describe(oldValue, type, session);
+        Object after = describe(newValue, type, session);
+        if (before == null && after == null) {
+            return;
+        }
+
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("old", before);
+        change.put("new", after);
+        changes.put(property, change);
+    }
+
+    // Associations are recorded by id; everything that is not a number or boolean as text
+    private Object describe(Object value, Type type, SharedSessionContractImplementor session) {
+        if (value == null) {
+            return null;
+        }
+        if (type.isEntityType()) {
+            if (value instanceof HibernateProxy proxy) {
+                return proxy.getHibernateLazyInitializer().getIdentifier();
+            }
+            return session.getEntityPersister(null, value).getIdentifier(value, session);
+        }
+        return describe(value);
+    }
+
+    private static Object describe(Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        return value.toString();
+    }
+
+    private AuditLog toAuditLog(String action, String module, Class<?> entityType, Object id,
+                                Map<String, Object> changes) {
+        AuditContext context = AuditContextHolder.getContext();
+
+        AuditLog auditLog = new AuditLog();
+        auditLog.setUserId(context.getUserId());
+        auditLog.setAction(action);
+        auditLog.setModule(module);
+        auditLog.setResourceType(entityType.getSimpleName());
+        auditLog.setResourceId(id != null ? id.toString() : null);
+        auditLog.setDetails(Map.of("changes", changes));
+        auditLog.setTimestamp(LocalDateTime.now());
+        auditLog.setIpAddress(context.getIpAddress());
+        auditLog.setUserAgent(context.getUserAgent());
+        auditLog.setSessionId(context.getSessionId());
+        return auditLog;
+    }
+}
@@ -0,0 +1,15 @@
+package com.unifiederp.shared.cache;
+
+import java.io.Serializable;
+
+/**
+ * A committed change to a second-level cached entity, broadcast so other instances evict it.
+ *
+ * @param origin     id of the instance that made the change, which ignores its own messages
+ * @param entityName Hibernate entity name of the changed entity
+ * @param id         identifier of the changed entity
+ * @param tenantId   tenant of the session that changed it, part of its cache keys; null without multi-tenancy
+ */
+public record CacheInvalidation(String origin, String entityName, Serializable id, String tenantId)
+        implements Serializable {
+}
@@ -0,0 +1,17 @@
+package com.unifiederp.shared.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Publish/subscribe channel that carries {@link CacheInvalidation}s between service instances.
+ * Every subscriber, including the publisher's own, receives every message.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Register a listener; closing the returned handle unregisters it.
+     */
+    AutoCloseable subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,46 @@
+package com.unifiederp.shared.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Stand-in for a network broadcast (e.g. Redis pub/sub): delivers messages synchronously to
+ * every subscriber of the same channel in this JVM, so several application contexts started
+ * in one process behave like separate instances sharing a channel.
+ */
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalCacheInvalidationBus.class);
+
+    private static final Map<String, List<Consumer<CacheInvalidation>>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final List<Consumer<CacheInvalidation>> subscribers;
+
+    public LocalCacheInvalidationBus(String channel) {
+        this.subscribers = CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>());
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        for (Consumer<CacheInvalidation> subscriber : subscribers) {
+            try {
+                subscriber.accept(invalidation);
+            } catch (RuntimeException e) {
+                logger.warn("Cache invalidation subscriber failed for {} {}: {}",
+                        invalidation.entityName(), invalidation.id(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public AutoCloseable subscribe(Consumer<CacheInvalidation> listener) {
+        subscribers.add(listener);
+        return () -> subscribers.remove(listener);
+    }
+}
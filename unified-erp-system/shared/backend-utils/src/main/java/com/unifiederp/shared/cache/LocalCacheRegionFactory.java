@@ -0,0 +1,147 @@
+package com.unifiederp.shared.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate second-level cache provider that keeps every region in a size-bounded, expiring
+ * Caffeine cache local to this instance. Limits come from {@code hibernate.cache.local.max_entries}
+ * and {@code hibernate.cache.local.ttl_seconds}, and can be set per region with
+ * {@code hibernate.cache.local.<region>.max_entries} and {@code .ttl_seconds}.
+ *
+ * <p>The update-timestamps region is neither bounded nor expired: a missing timestamp would make
+ * stale query results look current. Changes made by other instances are evicted through
+ * {@link SecondLevelCacheInvalidator}; the TTL bounds how long anything it misses stays stale.</p>
+ *
+ * <p>Keys come from {@link TenantScopedCacheKeysFactory}, so only tenant-owned data is cached per
+ * tenant. Hibernate 6.2 ignores {@code hibernate.cache.keys_factory} for providers built on
+ * {@link RegionFactoryTemplate}, hence the override here.</p>
+ */
+public class LocalCacheRegionFactory extends RegionFactoryTemplate {
+
+    public static final String SETTINGS_PREFIX = "hibernate.cache.local.";
+    public static final long DEFAULT_MAX_ENTRIES = 10_000;
+    public static final long DEFAULT_TTL_SECONDS = 600;
+
+    private final Map<String, CaffeineStorageAccess> regions = new ConcurrentHashMap<>();
+
+    private Map<String, Object> settings = Map.of();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions options, Map<String, Object> configValues) {
+        this.settings = configValues;
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(CaffeineStorageAccess::release);
+        regions.clear();
+    }
+
+    @Override
+    protected CacheKeysFactory getImplicitCacheKeysFactory() {
+        return TenantScopedCacheKeysFactory.INSTANCE;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return region(regionConfig.getRegionName(), true);
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return region(regionName, true);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return region(regionName, false);
+    }
+
+    /**
+     * Number of entries currently held in a region, or -1 if the region does not exist
+     */
+    public long estimatedSize(String regionName) {
+        CaffeineStorageAccess region = regions.get(regionName);
+        if (region == null) {
+            return -1;
+        }
+        region.cache.cleanUp();
+        return region.cache.estimatedSize();
+    }
+
+    private CaffeineStorageAccess region(String regionName, boolean bounded) {
+        return regions.computeIfAbsent(regionName, name -> {
+            Caffeine<Object, Object> builder = Caffeine.newBuilder();
+            if (bounded) {
+                builder.maximumSize(setting(name, "max_entries", DEFAULT_MAX_ENTRIES))
+                        .expireAfterWrite(Duration.ofSeconds(setting(name, "ttl_seconds", DEFAULT_TTL_SECONDS)));
+            }
+            return new CaffeineStorageAccess(builder.build());
+        });
+    }
+
+    private long setting(String regionName, String key, long defaultValue) {
+        Object value = settings.get(SETTINGS_PREFIX + regionName + "." + key);
+        if (value == null) {
+            value = settings.get(SETTINGS_PREFIX + key);
+        }
+        return value != null ? Long.parseLong(value.toString().trim()) : defaultValue;
+    }
+
+    private static final class CaffeineStorageAccess implements DomainDataStorageAccess {
+
+        private final Cache<Object, Object> cache;
+
+        CaffeineStorageAccess(Cache<Object, Object> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return cache.getIfPresent(key);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            cache.put(key, value);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return cache.asMap().containsKey(key);
+        }
+
+        @Override
+        public void evictData() {
+            cache.invalidateAll();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            cache.invalidate(key);
+        }
+
+        @Override
+        public void release() {
+            cache.invalidateAll();
+            cache.cleanUp();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.unifiederp.shared.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.cache.spi.access.CollectionDataAccess;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.metamodel.mapping.EntityValuedModelPart;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Keeps second-level caches consistent across instances. After a transaction commits, every
+ * insert, update and delete of a cached entity is published on the {@link CacheInvalidationBus};
+ * on receiving another instance's message this instance evicts the entity, its natural-id
+ * entries, the cached collections it owns or appears in, and the query caches.
+ */
+@Component
+public class SecondLevelCacheInvalidator
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheInvalidator.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    private AutoCloseable subscription;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = sessionFactory().getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        subscription = invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    @PreDestroy
+    public void unsubscribe() throws Exception {
+        subscription.close();
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId(), event.getSession().getTenantIdentifier());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId(), event.getSession().getTenantIdentifier());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId(), event.getSession().getTenantIdentifier());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was committed, so nothing to invalidate elsewhere
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed, so nothing to invalidate elsewhere
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed, so nothing to invalidate elsewhere
+    }
+
+    private void publish(EntityPersister persister, Object id, String tenantId) {
+        if (persister.canWriteToCache()) {
+            invalidationBus.publish(new CacheInvalidation(instanceId, persister.getEntityName(), (Serializable) id,
+                    tenantId));
+        }
+    }
+
+    void onInvalidation(CacheInvalidation invalidation) {
+        if (instanceId.equals(invalidation.origin())) {
+            return;
+        }
+        SessionFactoryImplementor sessionFactory = sessionFactory();
+        EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(invalidation.entityName());
+        if (persister == null) {
+            return;
+        }
+        logger.debug("Evicting {} {} changed by another instance", invalidation.entityName(), invalidation.id());
+
+        // Tenant-owned keys include the tenant; Cache.evictEntityData(name, id) would build them without one
+        EntityDataAccess entityAccess = persister.getCacheAccessStrategy();
+        entityAccess.evict(entityAccess.generateCacheKey(invalidation.id(), persister, sessionFactory,
+                invalidation.tenantId()));
+        Cache cache = sessionFactory.getCache();
+        if (persister.hasNaturalIdCache()) {
+            cache.evictNaturalIdData(invalidation.entityName());
+        }
+        sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(collection -> {
+            if (!collection.hasCache()) {
+                return;
+            }
+            if (collection.getOwnerEntityPersister() == persister) {
+                CollectionDataAccess collectionAccess = collection.getCacheAccessStrategy();
+                collectionAccess.evict(collectionAccess.generateCacheKey(invalidation.id(), collection,
+                        sessionFactory, invalidation.tenantId()));
+            } else if (collection.getAttributeMapping().getElementDescriptor() instanceof EntityValuedModelPart element
+                    && element.getEntityMappingType().getEntityName().equals(invalidation.entityName())) {
+                cache.evictCollectionData(collection.getRole());
+            }
+        });
+        // Inserts and renames can change any cached query result, including empty ones
+        cache.evictQueryRegions();
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+}
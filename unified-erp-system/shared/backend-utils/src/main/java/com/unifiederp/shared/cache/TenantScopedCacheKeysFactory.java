@@ -0,0 +1,66 @@
+package com.unifiederp.shared.cache;
+
+import com.unifiederp.shared.tenant.TenantOwned;
+import org.hibernate.cache.internal.DefaultCacheKeysFactory;
+import org.hibernate.cache.internal.NaturalIdCacheKey;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Cache keys that carry the tenant only for {@link TenantOwned} entities and the collections they
+ * own. Hibernate adds the session's tenant to every key, which would give each tenant its own copy
+ * of global reference data such as roles and permissions, and leave the other copies stale when
+ * one tenant's session changes it.
+ */
+public class TenantScopedCacheKeysFactory implements CacheKeysFactory {
+
+    public static final TenantScopedCacheKeysFactory INSTANCE = new TenantScopedCacheKeysFactory();
+
+    @Override
+    public Object createCollectionKey(Object id, CollectionPersister persister, SessionFactoryImplementor factory,
+                                      String tenantIdentifier) {
+        return DefaultCacheKeysFactory.staticCreateCollectionKey(id, persister, factory,
+                isTenantOwned(persister.getOwnerEntityPersister()) ? tenantIdentifier : null);
+    }
+
+    @Override
+    public Object createEntityKey(Object id, EntityPersister persister, SessionFactoryImplementor factory,
+                                  String tenantIdentifier) {
+        return DefaultCacheKeysFactory.staticCreateEntityKey(id, persister, factory,
+                isTenantOwned(persister) ? tenantIdentifier : null);
+    }
+
+    @Override
+    public Object createNaturalIdKey(Object naturalIdValues, EntityPersister persister,
+                                     SharedSessionContractImplementor session) {
+        NaturalIdCacheKey key = (NaturalIdCacheKey) DefaultCacheKeysFactory.staticCreateNaturalIdKey(
+                naturalIdValues, persister, session);
+        if (isTenantOwned(persister) || key.getTenantId() == null) {
+            return key;
+        }
+        // The builder always takes the session's tenant; the hash is over the values alone
+        return new NaturalIdCacheKey(key.getNaturalIdValues(), key.getEntityName(), null, key.hashCode());
+    }
+
+    @Override
+    public Object getEntityId(Object cacheKey) {
+        return DefaultCacheKeysFactory.staticGetEntityId(cacheKey);
+    }
+
+    @Override
+    public Object getCollectionId(Object cacheKey) {
+        return DefaultCacheKeysFactory.staticGetCollectionId(cacheKey);
+    }
+
+    @Override
+    public Object getNaturalIdValues(Object cacheKey) {
+        return DefaultCacheKeysFactory.staticGetNaturalIdValues(cacheKey);
+    }
+
+    private static boolean isTenantOwned(EntityPersister persister) {
+        return TenantOwned.class.isAssignableFrom(persister.getMappedClass());
+    }
+}
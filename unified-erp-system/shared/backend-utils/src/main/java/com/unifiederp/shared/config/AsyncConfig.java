@@ -0,0 +1,15 @@
+package com.unifiederp.shared.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Runs {@code @Async} methods, audit writes among them, on the application task executor.
+ * Context propagation to that executor lives in {@link TaskContextConfig}.
+ */
+@Configuration
+@EnableAsync
+@ConditionalOnProperty(name = "audit.async", havingValue = "true", matchIfMissing = true)
+public class AsyncConfig {
+}
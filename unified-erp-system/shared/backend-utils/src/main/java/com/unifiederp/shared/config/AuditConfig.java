@@ -0,0 +1,26 @@
+package com.unifiederp.shared.config;
+
+import com.unifiederp.shared.audit.AuditSpool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Configuration
+@EnableScheduling
+public class AuditConfig {
+
+    @Value("${audit.spool.path:${java.io.tmpdir}/${spring.application.name:erp}-audit.spool}")
+    private String spoolPath;
+
+    @Value("${audit.spool.max-size-bytes:67108864}")
+    private int spoolMaxSizeBytes;
+
+    @Bean(destroyMethod = "close")
+    public AuditSpool auditSpool() throws IOException {
+        return new AuditSpool(Paths.get(spoolPath), spoolMaxSizeBytes);
+    }
+}
@@ -0,0 +1,31 @@
+package com.unifiederp.shared.config;
+
+import com.unifiederp.shared.events.DomainEventPublisher;
+import com.unifiederp.shared.events.EventBroker;
+import com.unifiederp.shared.events.EventConsumers;
+import com.unifiederp.shared.events.InMemoryEventBroker;
+import com.unifiederp.shared.events.OutboxRelay;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Cross-module domain events through a transactional outbox ({@code outbox_events}), relayed
+ * under {@code integration.events}. Events are delivered to the {@code DomainEventHandler}s of this
+ * application only, unless an {@link EventBroker} bean for a networked broker replaces the default.
+ * The default backs off when such a bean is registered first; one registered later must be
+ * {@code @Primary}.
+ */
+@Configuration
+@EnableScheduling
+@Import({DomainEventPublisher.class, OutboxRelay.class, EventConsumers.class})
+public class EventBusConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(EventBroker.class)
+    public EventBroker eventBroker() {
+        return new InMemoryEventBroker();
+    }
+}
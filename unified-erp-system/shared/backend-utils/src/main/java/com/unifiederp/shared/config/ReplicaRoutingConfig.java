@@ -0,0 +1,97 @@
+package com.unifiederp.shared.config;
+
+import com.unifiederp.shared.datasource.ReplicaLagMonitor;
+import com.unifiederp.shared.datasource.ReplicaRoutingDataSource;
+import com.unifiederp.shared.filter.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces the single {@code spring.datasource} pool with a primary and a read-replica pool when
+ * {@code supabase.db.replica.url} is set. {@code @Transactional(readOnly = true)} work goes to the
+ * replica, everything else to the primary. Without a replica URL nothing here is registered and
+ * Spring Boot creates the usual single pool.
+ */
+@Configuration
+@ConditionalOnExpression("!'${supabase.db.replica.url:}'.isEmpty()")
+@Import(ReadYourWritesFilter.class)
+public class ReplicaRoutingConfig {
+
+    @Value("${spring.application.name:erp}")
+    private String applicationName;
+
+    @Value("${supabase.db.replica.url}")
+    private String replicaUrl;
+
+    @Value("${supabase.db.replica.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${supabase.db.replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${supabase.db.replica.lag-query:" + ReplicaLagMonitor.POSTGRES_LAG_QUERY + "}")
+    private String lagQuery;
+
+    @Value("${supabase.db.replica.max-lag-ms:1000}")
+    private long maxLagMs;
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(applicationName + "-primary");
+        return dataSource;
+    }
+
+    /**
+     * Replica pool, with the primary's {@code spring.datasource.hikari.*} settings unless
+     * overridden under {@code supabase.db.replica.hikari.*}.
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "supabase.db.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .driverClassName(properties.determineDriverClassName())
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(applicationName + "-replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        return new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLagMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        replicaLagMonitor.checkLag();
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor));
+    }
+}
@@ -0,0 +1,29 @@
+package com.unifiederp.shared.config;
+
+import com.unifiederp.shared.cache.CacheInvalidationBus;
+import com.unifiederp.shared.cache.LocalCacheInvalidationBus;
+import com.unifiederp.shared.cache.SecondLevelCacheInvalidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Cross-instance invalidation for the second-level cache configured under
+ * {@code spring.jpa.properties.hibernate.cache}. Until a networked {@link CacheInvalidationBus}
+ * is provided, invalidations are broadcast in-process on {@code erp.cache.invalidation.channel}.
+ */
+@Configuration
+@Import(SecondLevelCacheInvalidator.class)
+public class SecondLevelCacheConfig {
+
+    @Value("${erp.cache.invalidation.channel:erp-cache-invalidation}")
+    private String channel;
+
+    @Bean
+    @ConditionalOnMissingBean(CacheInvalidationBus.class)
+    public CacheInvalidationBus cacheInvalidationBus() {
+        return new LocalCacheInvalidationBus(channel);
+    }
+}
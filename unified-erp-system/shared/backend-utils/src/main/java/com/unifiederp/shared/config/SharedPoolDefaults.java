@@ -0,0 +1,49 @@
+package com.unifiederp.shared.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Adds the {@code spring.datasource.hikari.*} settings of {@code application-shared.yml} to every
+ * service as its lowest-precedence properties, so a service sets only the pool settings that
+ * differ from the shared ones.
+ */
+public class SharedPoolDefaults implements EnvironmentPostProcessor {
+
+    static final String PREFIX = "spring.datasource.hikari.";
+
+    private static final String SOURCE_NAME = "sharedPoolDefaults";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        Resource resource = new ClassPathResource("application-shared.yml");
+        if (!resource.exists()) {
+            return;
+        }
+        Map<String, Object> defaults = new LinkedHashMap<>();
+        try {
+            for (PropertySource<?> source : new YamlPropertySourceLoader().load(SOURCE_NAME, resource)) {
+                for (String name : ((EnumerablePropertySource<?>) source).getPropertyNames()) {
+                    if (name.startsWith(PREFIX)) {
+                        defaults.putIfAbsent(name, source.getProperty(name));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the shared pool settings", e);
+        }
+        environment.getPropertySources().addLast(new MapPropertySource(SOURCE_NAME, defaults));
+    }
+}
@@ -0,0 +1,53 @@
+package com.unifiederp.shared.config;
+
+import com.unifiederp.shared.datasource.SqlStatisticsPostProcessor;
+import com.unifiederp.shared.datasource.SqlStatisticsRecorder;
+import com.unifiederp.shared.filter.SqlStatisticsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+/**
+ * Per-request and per-repository-method SQL statistics: statement, row and time totals as metrics,
+ * slow statements logged by fingerprint, and the request totals as response headers outside
+ * production. Disabled with {@code erp.sql.statistics.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "erp.sql.statistics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatisticsConfig {
+
+    @Value("${erp.sql.statistics.slow-query-threshold-ms:200}")
+    private long slowQueryThresholdMs;
+
+    // Static so it is registered before the data source and repositories it wraps are created
+    @Bean
+    public static SqlStatisticsPostProcessor sqlStatisticsPostProcessor(ObjectProvider<SqlStatisticsRecorder> recorder) {
+        return new SqlStatisticsPostProcessor(recorder);
+    }
+
+    @Bean
+    public SqlStatisticsRecorder sqlStatisticsRecorder(ObjectProvider<MeterRegistry> registry) {
+        return new SqlStatisticsRecorder(registry.getIfAvailable(), slowQueryThresholdMs);
+    }
+
+    /**
+     * First in the chain, so statements issued by other filters count towards the request.
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilter(SqlStatisticsRecorder recorder,
+                                                                           Environment environment) {
+        boolean responseHeaders = environment.getProperty("erp.sql.statistics.response-headers", Boolean.class,
+                !environment.acceptsProfiles(Profiles.of("production")));
+        FilterRegistrationBean<SqlStatisticsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatisticsFilter(recorder, responseHeaders));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -1,14 +1,14 @@
 package com.unifiederp.shared.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
-import javax.sql.DataSource;
-
 @Configuration
 @ConditionalOnProperty(name = "supabase.enabled", havingValue = "true", matchIfMissing = true)
 public class SupabaseConfig {
@@ -22,14 +22,28 @@ public class SupabaseConfig {
     @Value("${supabase.db.password}")
     private String supabaseDbPassword;
 
+    @Value("${spring.application.name:erp}")
+    private String applicationName;
+
+    /**
+     * Primary connection pool. Pool settings are bound from {@code spring.datasource.hikari.*}
+     * after construction, so the shared defaults apply and a service overrides them in its own
+     * configuration. Pool metrics are registered by the actuator ({@code hikaricp.connections.*}).
+     */
     @Bean
     @Primary
-    public DataSource supabaseDataSource() {
-        return DataSourceBuilder.create()
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource supabaseDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
                 .url(supabaseDbUrl)
                 .username(supabaseDbUsername)
                 .password(supabaseDbPassword)
                 .driverClassName("org.postgresql.Driver")
                 .build();
+        dataSource.setPoolName(applicationName + "-primary");
+        // Lets the Postgres driver send each JDBC batch as one multi-row INSERT
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        return dataSource;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.unifiederp.shared.config;
+
+import com.unifiederp.shared.audit.AuditContext;
+import com.unifiederp.shared.audit.AuditContextHolder;
+import com.unifiederp.shared.datasource.ReplicaRoutingContext;
+import com.unifiederp.shared.tenant.TenantContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the submitting thread's context onto executor threads. Independent of {@link AsyncConfig},
+ * since the tenant must follow background work whether or not audit writes are asynchronous.
+ */
+@Configuration
+public class TaskContextConfig {
+
+    /**
+     * Picked up by Spring Boot's application task executor, which also backs {@code @Async}.
+     * Boot only applies a unique decorator, so everything that must follow a task goes through this one.
+     */
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    /**
+     * Hands the submitting thread's tenant to the executor thread, so background work reads and
+     * writes the same tenant's rows, and its audit context, so audit writers see the original
+     * request's details without touching the request itself. Each task is its own read-your-writes
+     * unit, so a write pins only the rest of that task.
+     */
+    public static class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+        @Override
+        public Runnable decorate(Runnable runnable) {
+            AuditContext context = AuditContextHolder.getContext();
+            String tenantId = TenantContext.getTenantId();
+            return () -> {
+                AuditContextHolder.setContext(context);
+                TenantContext.setTenantId(tenantId);
+                ReplicaRoutingContext.open();
+                try {
+                    runnable.run();
+                } finally {
+                    AuditContextHolder.clearContext();
+                    TenantContext.clear();
+                    ReplicaRoutingContext.clear();
+                }
+            };
+        }
+    }
+}
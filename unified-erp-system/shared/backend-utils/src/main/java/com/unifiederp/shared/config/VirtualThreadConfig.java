@@ -0,0 +1,90 @@
+package com.unifiederp.shared.config;
+
+import com.unifiederp.shared.threads.VirtualThreadPinningMonitor;
+import com.unifiederp.shared.threads.VirtualThreads;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Opt-in virtual thread mode, enabled with {@code erp.threads.virtual.enabled=true}. Tomcat runs each
+ * request on its own virtual thread, and {@code @Async} work (including audit writes) runs on virtual
+ * threads decorated like the platform executor. Blocking JDBC calls then park the virtual thread instead
+ * of holding one of Tomcat's 200 platform threads, so concurrency is bounded by the connection pool.
+ *
+ * <p>Needs a Java 21 runtime; on older runtimes the property is ignored with a warning.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "erp.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Configuration
+    @ConditionalOnJava(JavaVersion.TWENTY_ONE)
+    static class VirtualThreadExecutors {
+
+        @Value("${erp.threads.virtual.pinning-threshold-ms:20}")
+        private long pinningThresholdMs;
+
+        @Bean
+        public ExecutorService virtualThreadRequestExecutor() {
+            logger.info("Handling requests and @Async tasks on virtual threads");
+            return VirtualThreads.newThreadPerTaskExecutor("http-vt-");
+        }
+
+        @Bean
+        public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(
+                @Qualifier("virtualThreadRequestExecutor") ExecutorService virtualThreadRequestExecutor) {
+            return protocolHandler -> protocolHandler.setExecutor(virtualThreadRequestExecutor);
+        }
+
+        @Bean
+        public ExecutorService virtualThreadTaskExecutor() {
+            return VirtualThreads.newThreadPerTaskExecutor("task-vt-");
+        }
+
+        /**
+         * Replaces Spring Boot's pooled application task executor; the bean names are the ones
+         * {@code @Async} and Spring MVC look up.
+         */
+        @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+        public TaskExecutorAdapter applicationTaskExecutor(
+                @Qualifier("virtualThreadTaskExecutor") ExecutorService virtualThreadTaskExecutor,
+                ObjectProvider<TaskDecorator> taskDecorator) {
+            TaskExecutorAdapter executor = new TaskExecutorAdapter(virtualThreadTaskExecutor);
+            taskDecorator.ifUnique(executor::setTaskDecorator);
+            return executor;
+        }
+
+        @Bean
+        @ConditionalOnProperty(name = "erp.threads.virtual.pinning-diagnostics", havingValue = "true", matchIfMissing = true)
+        public VirtualThreadPinningMonitor virtualThreadPinningMonitor() {
+            return new VirtualThreadPinningMonitor(Duration.ofMillis(pinningThresholdMs));
+        }
+    }
+
+    @Configuration
+    @ConditionalOnJava(value = JavaVersion.TWENTY_ONE, range = ConditionalOnJava.Range.OLDER_THAN)
+    static class PlatformThreadFallback {
+
+        PlatformThreadFallback() {
+            logger.warn("erp.threads.virtual.enabled is set but Java {} has no virtual threads, "
+                    + "keeping platform thread pools", Runtime.version().feature());
+        }
+    }
+}
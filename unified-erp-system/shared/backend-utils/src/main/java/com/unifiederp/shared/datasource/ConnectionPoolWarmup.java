@@ -0,0 +1,109 @@
+package com.unifiederp.shared.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills every Hikari pool up to {@code minimum-idle} before the application reports itself
+ * started, so the first requests do not pay the connect cost, and logs pool sizing diagnostics.
+ */
+@Component
+public class ConnectionPoolWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolWarmup.class);
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Value("${supabase.db.warmup.enabled:true}")
+    private boolean warmupEnabled;
+
+    @Value("${supabase.db.warmup.timeout-ms:20000}")
+    private long warmupTimeoutMs;
+
+    public ConnectionPoolWarmup(List<DataSource> dataSources) {
+        for (DataSource dataSource : dataSources) {
+            HikariDataSource pool = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+            if (pool != null && !pools.contains(pool)) {
+                pools.add(pool);
+            }
+        }
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUp() {
+        if (!warmupEnabled) {
+            return;
+        }
+        for (HikariDataSource pool : pools) {
+            warmUp(pool);
+        }
+    }
+
+    /**
+     * Open the pool if nothing has yet and wait for Hikari's housekeeper to reach
+     * {@code minimum-idle} connections, up to the warm-up timeout.
+     */
+    public void warmUp(HikariDataSource pool) {
+        long start = System.nanoTime();
+        try (Connection ignored = pool.getConnection()) {
+            // Borrowing one connection starts a lazily created pool
+        } catch (SQLException e) {
+            logger.warn("Could not warm up connection pool {}: {}", pool.getPoolName(), e.getMessage());
+            return;
+        }
+
+        HikariPoolMXBean metrics = pool.getHikariPoolMXBean();
+        int target = Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize());
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(warmupTimeoutMs);
+        try {
+            while (metrics.getTotalConnections() < target && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (metrics.getTotalConnections() < target) {
+            logger.warn("Connection pool {} reached only {} of {} minimum-idle connections within {} ms",
+                    pool.getPoolName(), metrics.getTotalConnections(), target, elapsedMs);
+        } else {
+            logger.info("Connection pool {} warmed up with {} connections in {} ms "
+                            + "(maximum-pool-size={}, connection-timeout={} ms, leak-detection-threshold={} ms)",
+                    pool.getPoolName(), metrics.getTotalConnections(), elapsedMs, pool.getMaximumPoolSize(),
+                    pool.getConnectionTimeout(), pool.getLeakDetectionThreshold());
+        }
+    }
+
+    /**
+     * Warn when requests queue for connections, which means the pool is undersized for the load
+     * or connections are held too long. Acquire times are in the {@code hikaricp.connections.acquire} metric.
+     */
+    @Scheduled(fixedDelayString = "${supabase.db.pool-diagnostics-interval-ms:60000}")
+    public void logSaturation() {
+        for (HikariDataSource pool : pools) {
+            HikariPoolMXBean metrics = pool.getHikariPoolMXBean();
+            if (metrics != null && metrics.getThreadsAwaitingConnection() > 0) {
+                logger.warn("Connection pool {} saturated: {} threads waiting, {} active of maximum-pool-size {}",
+                        pool.getPoolName(), metrics.getThreadsAwaitingConnection(),
+                        metrics.getActiveConnections(), pool.getMaximumPoolSize());
+            }
+        }
+    }
+}
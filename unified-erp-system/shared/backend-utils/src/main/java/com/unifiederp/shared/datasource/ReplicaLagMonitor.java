@@ -0,0 +1,78 @@
+package com.unifiederp.shared.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Polls the replica for its replication lag. Reads are only routed to the replica while the last
+ * check succeeded and reported a lag within {@code max-lag-ms}; until the first check it is unused.
+ * The lag is exported as the {@code erp.datasource.replica.lag} gauge, in seconds.
+ */
+public class ReplicaLagMonitor implements MeterBinder {
+
+    /** Seconds since the last replayed transaction on a Postgres standby, 0 on a primary. */
+    public static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN pg_is_in_recovery() "
+            + "THEN COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) ELSE 0 END";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagMs;
+
+    private volatile boolean replicaUsable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagMs) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${supabase.db.replica.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        boolean wasUsable = replicaUsable;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.NaN;
+            replicaUsable = lagSeconds * 1000 <= maxLagMs;
+        } catch (SQLException e) {
+            lagSeconds = Double.NaN;
+            replicaUsable = false;
+            logger.warn("Replica lag check failed, routing reads to the primary: {}", e.getMessage());
+            return;
+        }
+        if (wasUsable && !replicaUsable) {
+            logger.warn("Replica is {} s behind (max {} ms), routing reads to the primary", lagSeconds, maxLagMs);
+        } else if (!wasUsable && replicaUsable) {
+            logger.info("Replica is {} s behind, routing read-only transactions to it", lagSeconds);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("erp.datasource.replica.lag", this, ReplicaLagMonitor::getLagSeconds)
+                .description("Replication lag of the read replica")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+}
@@ -0,0 +1,36 @@
+package com.unifiederp.shared.datasource;
+
+/**
+ * Read-your-writes state of one unit of work: a request, or an async task. Once it has opened a
+ * read-write transaction, its later read-only transactions stay on the primary so they see what it
+ * just wrote. Threads outside such a unit, like schedulers and relay threads, are never pinned, so
+ * a pooled thread does not stay on the primary for good after its first write.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    /**
+     * Start a unit of work on this thread, unpinned; end it with {@link #clear()}
+     */
+    public static void open() {
+        PINNED_TO_PRIMARY.set(Boolean.FALSE);
+    }
+
+    public static void markPrimaryWrite() {
+        if (PINNED_TO_PRIMARY.get() != null) {
+            PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        }
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    public static void clear() {
+        PINNED_TO_PRIMARY.remove();
+    }
+}
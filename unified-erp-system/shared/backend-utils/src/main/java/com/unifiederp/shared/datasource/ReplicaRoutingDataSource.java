@@ -0,0 +1,45 @@
+package com.unifiederp.shared.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and everything else to the
+ * primary. Falls back to the primary while the replica lags behind, and for the rest of a request
+ * or async task after it has written (see {@link ReplicaRoutingContext}).
+ *
+ * <p>The lookup happens when a connection is fetched, and the transaction managers fetch it before
+ * the read-only flag is bound to the thread, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.</p>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReplicaRoutingContext.markPrimaryWrite();
+            return Route.PRIMARY;
+        }
+        if (ReplicaRoutingContext.isPinnedToPrimary() || !lagMonitor.isReplicaUsable()) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+}
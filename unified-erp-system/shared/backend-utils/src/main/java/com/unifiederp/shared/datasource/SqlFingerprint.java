@@ -0,0 +1,101 @@
+package com.unifiederp.shared.datasource;
+
+/**
+ * Normalizes a SQL statement for logging and grouping: comments are dropped, whitespace collapsed,
+ * and string and number literals replaced with {@code ?}, as are runs of placeholders such as
+ * {@code IN (?, ?, ?)}. Bind values never reach the fingerprint, so it is safe to log.
+ */
+public final class SqlFingerprint {
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                space(out);
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i + 2);
+                i = end < 0 ? length : end + 1;
+                space(out);
+            } else if (c == '\'') {
+                // Quotes inside a literal are doubled, so '' just continues the literal
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        i++;
+                        break;
+                    }
+                    i++;
+                }
+                placeholder(out);
+            } else if (Character.isDigit(c) && !partOfIdentifier(out)) {
+                while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                placeholder(out);
+            } else if (Character.isWhitespace(c)) {
+                space(out);
+                i++;
+            } else if (c == '?') {
+                placeholder(out);
+                i++;
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        int end = out.length();
+        while (end > 0 && out.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return out.substring(0, end);
+    }
+
+    private static void space(StringBuilder out) {
+        if (out.length() > 0 && out.charAt(out.length() - 1) != ' ') {
+            out.append(' ');
+        }
+    }
+
+    // A placeholder right after "?, " or "?," joins it: IN (?, ?, ?) becomes IN (?)
+    private static void placeholder(StringBuilder out) {
+        int end = out.length();
+        int j = end;
+        while (j > 0 && out.charAt(j - 1) == ' ') {
+            j--;
+        }
+        if (j > 0 && out.charAt(j - 1) == ',') {
+            int k = j - 1;
+            while (k > 0 && out.charAt(k - 1) == ' ') {
+                k--;
+            }
+            if (k > 0 && out.charAt(k - 1) == '?') {
+                out.setLength(k);
+                return;
+            }
+        }
+        out.append('?');
+    }
+
+    private static boolean partOfIdentifier(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char previous = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '"' || previous == '.';
+    }
+}
@@ -0,0 +1,155 @@
+package com.unifiederp.shared.datasource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL totals of one unit of work on the current thread: an HTTP request, a repository method call or
+ * a {@link #capture} block. Scopes nest; a statement counts towards every scope open on its thread,
+ * so a request's totals include those of the repository calls it made. Work handed to other threads,
+ * such as {@code @Async} audit writes, is not counted.
+ */
+public final class SqlStatistics implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final String label;
+    private final SqlStatistics parent;
+    private final List<String> fingerprints;
+
+    private long statements;
+    private long rows;
+    private long timeNanos;
+    private boolean closed;
+
+    private SqlStatistics(String label, SqlStatistics parent, boolean keepFingerprints) {
+        this.label = label;
+        this.parent = parent;
+        this.fingerprints = keepFingerprints ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Start a scope on this thread; close it, in a finally block or try-with-resources, on the same thread
+     */
+    public static SqlStatistics open(String label) {
+        SqlStatistics scope = new SqlStatistics(label, CURRENT.get(), false);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * The innermost open scope, or {@code null} when nothing on this thread is being counted
+     */
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run {@code work} and return the SQL it issued on this thread, with the fingerprint of each
+     * statement. Meant for tests, e.g. around a MockMvc call: {@code capture(() -> mockMvc.perform(...))}.
+     */
+    public static SqlStatistics capture(Work work) throws Exception {
+        SqlStatistics scope = new SqlStatistics("capture", CURRENT.get(), true);
+        CURRENT.set(scope);
+        try {
+            work.run();
+        } finally {
+            scope.close();
+        }
+        return scope;
+    }
+
+    /**
+     * Run {@code work} and fail with the list of statements if it issued more than {@code maxStatements},
+     * e.g. {@code assertAtMost(3, () -> mockMvc.perform(get("/api/employees/1")))}.
+     */
+    public static SqlStatistics assertAtMost(int maxStatements, Work work) throws Exception {
+        SqlStatistics statistics = capture(work);
+        if (statistics.statements > maxStatements) {
+            throw new AssertionError("Expected at most " + maxStatements + " SQL statements but "
+                    + statistics.statements + " were issued:\n  " + String.join("\n  ", statistics.fingerprints));
+        }
+        return statistics;
+    }
+
+    static void recordStatement(String fingerprint, long elapsedNanos, long affectedRows) {
+        for (SqlStatistics scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+            scope.rows += affectedRows;
+            scope.timeNanos += elapsedNanos;
+            if (scope.fingerprints != null) {
+                scope.fingerprints.add(fingerprint);
+            }
+        }
+    }
+
+    static void recordRow() {
+        for (SqlStatistics scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.rows++;
+        }
+    }
+
+    static boolean isCapturing() {
+        for (SqlStatistics scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            if (scope.fingerprints != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    /** Rows read from result sets plus rows reported changed by updates */
+    public long getRows() {
+        return rows;
+    }
+
+    /** Time spent executing statements, not counting reading their result sets */
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    public long getTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(timeNanos);
+    }
+
+    /** Fingerprints of the statements in issue order; only kept by {@link #capture} */
+    public List<String> getFingerprints() {
+        return fingerprints != null ? Collections.unmodifiableList(fingerprints) : List.of();
+    }
+
+    /**
+     * Ends this scope. Scopes opened inside it and left open are ended with it.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (parent != null) {
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return label + ": " + statements + " statements, " + rows + " rows, " + getTimeMillis() + " ms";
+    }
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+}
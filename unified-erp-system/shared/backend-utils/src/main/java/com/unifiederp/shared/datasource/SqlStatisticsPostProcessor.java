@@ -0,0 +1,57 @@
+package com.unifiederp.shared.datasource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@code dataSource} in a {@link QueryCountingDataSource} and adds an
+ * interceptor to every Spring Data repository that opens a {@link SqlStatistics} scope per method call.
+ * Only the bean named {@code dataSource} is wrapped, so with a read replica the routing data source is
+ * counted once rather than once per pool.
+ */
+public class SqlStatisticsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlStatisticsRecorder> recorder;
+
+    public SqlStatisticsPostProcessor(ObjectProvider<SqlStatisticsRecorder> recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(
+                            repositoryInterceptor(information.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && beanName.equals("dataSource")
+                && !(bean instanceof QueryCountingDataSource)) {
+            return new QueryCountingDataSource(dataSource, recorder.getObject());
+        }
+        return bean;
+    }
+
+    private MethodInterceptor repositoryInterceptor(String repository) {
+        return invocation -> {
+            String method = invocation.getMethod().getName();
+            SqlStatistics statistics = SqlStatistics.open(repository + "." + method);
+            try {
+                return invocation.proceed();
+            } finally {
+                statistics.close();
+                if (statistics.getStatements() > 0) {
+                    recorder.getObject().repositoryMethodCompleted(repository, method, statistics);
+                }
+            }
+        };
+    }
+}
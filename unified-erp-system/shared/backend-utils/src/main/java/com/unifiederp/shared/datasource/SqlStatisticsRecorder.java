@@ -0,0 +1,75 @@
+package com.unifiederp.shared.datasource;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns finished {@link SqlStatistics} scopes into metrics and logs slow statements by fingerprint.
+ *
+ * <ul>
+ *   <li>{@code erp.sql.request.statements}, {@code erp.sql.request.rows}, {@code erp.sql.request.time}
+ *       per HTTP method and URI pattern</li>
+ *   <li>{@code erp.sql.repository.statements}, {@code erp.sql.repository.time} per repository method</li>
+ *   <li>{@code erp.sql.slow} for statements over {@code erp.sql.statistics.slow-query-threshold-ms}</li>
+ * </ul>
+ */
+public class SqlStatisticsRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatisticsRecorder.class);
+
+    private final MeterRegistry registry;
+    private final long slowQueryThresholdNanos;
+
+    public SqlStatisticsRecorder(MeterRegistry registry, long slowQueryThresholdMs) {
+        this.registry = registry != null ? registry : Metrics.globalRegistry;
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMs);
+    }
+
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= slowQueryThresholdNanos;
+    }
+
+    public void slowStatement(String sql, long elapsedNanos) {
+        SqlStatistics scope = SqlStatistics.current();
+        registry.counter("erp.sql.slow").increment();
+        logger.warn("Slow SQL ({} ms) in {}: {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                scope != null ? scope.getLabel() : "(no request)", SqlFingerprint.of(sql));
+    }
+
+    public void requestCompleted(String method, String uri, SqlStatistics statistics) {
+        DistributionSummary.builder("erp.sql.request.statements")
+                .description("SQL statements issued per HTTP request")
+                .tags("method", method, "uri", uri)
+                .register(registry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder("erp.sql.request.rows")
+                .description("Rows read or changed per HTTP request")
+                .tags("method", method, "uri", uri)
+                .register(registry)
+                .record(statistics.getRows());
+        Timer.builder("erp.sql.request.time")
+                .description("Time spent executing SQL per HTTP request")
+                .tags("method", method, "uri", uri)
+                .register(registry)
+                .record(statistics.getTimeNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public void repositoryMethodCompleted(String repository, String method, SqlStatistics statistics) {
+        DistributionSummary.builder("erp.sql.repository.statements")
+                .description("SQL statements issued per repository method call")
+                .tags("repository", repository, "method", method)
+                .register(registry)
+                .record(statistics.getStatements());
+        Timer.builder("erp.sql.repository.time")
+                .description("Time spent executing SQL per repository method call")
+                .tags("repository", repository, "method", method)
+                .register(registry)
+                .record(statistics.getTimeNanos(), TimeUnit.NANOSECONDS);
+    }
+}
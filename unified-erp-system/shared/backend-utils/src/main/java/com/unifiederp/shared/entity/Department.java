@@ -1,19 +1,39 @@
 package com.unifiederp.shared.entity;
 
+import com.unifiederp.shared.audit.AuditedEntity;
+import com.unifiederp.shared.service.AuditLogService;
+import com.unifiederp.shared.tenant.TenantOwned;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.TenantId;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "departments")
-public class Department extends BaseEntity {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "erp.department")
+@AuditedEntity(module = AuditLogService.Modules.HRMS)
+@Table(name = "departments", uniqueConstraints =
+        @UniqueConstraint(name = "uk_departments_tenant_name", columnNames = {"tenant_id", "name"}))
+@NamedEntityGraph(name = Department.Graphs.WITH_EMPLOYEES,
+        attributeNodes = @NamedAttributeNode(value = "employees", subgraph = "employees"),
+        subgraphs = @NamedSubgraph(name = "employees", attributeNodes = @NamedAttributeNode("role")))
+public class Department extends BaseEntity implements TenantOwned {
+
+    // Set from the session's tenant on insert; every query is restricted to it
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId;
 
     @NotBlank(message = "Department name is required")
     @Size(max = 100, message = "Department name must not exceed 100 characters")
-    @Column(name = "name", nullable = false, unique = true, length = 100)
+    @Column(name = "name", nullable = false, length = 100)
     private String name;
 
     @Size(max = 500, message = "Description must not exceed 500 characters")
@@ -24,7 +44,9 @@ public class Department extends BaseEntity {
     @JoinColumn(name = "manager_id")
     private Employee manager;
 
-    @OneToMany(mappedBy = "department", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    // Employees outlive their department and are never cascaded to; see Graphs for loading them
+    @OneToMany(mappedBy = "department", fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private Set<Employee> employees = new HashSet<>();
 
     @Column(name = "budget")
@@ -46,6 +68,10 @@ public class Department extends BaseEntity {
     }
 
     // Getters and Setters
+    public String getTenantId() {
+        return tenantId;
+    }
+
     public String getName() {
         return name;
     }
@@ -95,8 +121,9 @@ public class Department extends BaseEntity {
     }
 
     // Utility methods
+    // Counts with a query when the employees are not loaded
     public int getEmployeeCount() {
-        return employees.size();
+        return Hibernate.size(employees);
     }
 
     public void addEmployee(Employee employee) {
@@ -108,4 +135,13 @@ public class Department extends BaseEntity {
         employees.remove(employee);
         employee.setDepartment(null);
     }
+
+    /**
+     * Named entity graphs for the common access patterns, for {@code @EntityGraph} or the
+     * {@code jakarta.persistence.fetchgraph} hint.
+     */
+    public static class Graphs {
+        // A department with its employees and their roles (department roster)
+        public static final String WITH_EMPLOYEES = "Department.withEmployees";
+    }
 }
\ No newline at end of file
@@ -1,17 +1,36 @@
 package com.unifiederp.shared.entity;
 
+import com.unifiederp.shared.audit.AuditedEntity;
+import com.unifiederp.shared.service.AuditLogService;
+import com.unifiederp.shared.tenant.TenantOwned;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.TenantId;
 
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "employees")
-public class Employee extends BaseEntity {
+@AuditedEntity(module = AuditLogService.Modules.HRMS)
+@Table(name = "employees", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_employees_tenant_employee_id", columnNames = {"tenant_id", "employee_id"}),
+        @UniqueConstraint(name = "uk_employees_tenant_email", columnNames = {"tenant_id", "email"})
+})
+@NamedEntityGraph(name = Employee.Graphs.WITH_DIRECT_REPORTS,
+        attributeNodes = @NamedAttributeNode("directReports"))
+@NamedEntityGraph(name = Employee.Graphs.WITH_ORGANIZATION,
+        attributeNodes = {@NamedAttributeNode("department"), @NamedAttributeNode("role"), @NamedAttributeNode("manager")})
+public class Employee extends BaseEntity implements TenantOwned {
+
+    // Set from the session's tenant on insert; every query is restricted to it
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId;
 
     @NotBlank(message = "First name is required")
     @Size(max = 50, message = "First name must not exceed 50 characters")
@@ -25,14 +44,14 @@ public class Employee extends BaseEntity {
 
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
-    @Column(name = "email", nullable = false, unique = true)
+    @Column(name = "email", nullable = false)
     private String email;
 
     @Size(max = 20, message = "Phone number must not exceed 20 characters")
     @Column(name = "phone", length = 20)
     private String phone;
 
-    @Column(name = "employee_id", unique = true, length = 20)
+    @Column(name = "employee_id", length = 20)
     private String employeeId;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -57,7 +76,10 @@ public class Employee extends BaseEntity {
     @Column(name = "supabase_user_id", unique = true)
     private String supabaseUserId;
 
-    @OneToMany(mappedBy = "manager", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    // Reports are employees in their own right: nothing cascades to them, so merging or removing a
+    // manager never walks the reporting tree. Lazy loads outside a fetch plan are batched.
+    @OneToMany(mappedBy = "manager", fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private Set<Employee> directReports = new HashSet<>();
 
     // Constructors
@@ -70,6 +92,10 @@ public class Employee extends BaseEntity {
     }
 
     // Getters and Setters
+    public String getTenantId() {
+        return tenantId;
+    }
+
     public String getFirstName() {
         return firstName;
     }
@@ -171,8 +197,20 @@ public class Employee extends BaseEntity {
         return firstName + " " + lastName;
     }
 
+    // Counts with a query when the reports are not loaded
     public boolean isManager() {
-        return !directReports.isEmpty();
+        return Hibernate.size(directReports) > 0;
+    }
+
+    /**
+     * Named entity graphs for the common access patterns, for {@code @EntityGraph} or the
+     * {@code jakarta.persistence.fetchgraph} hint.
+     */
+    public static class Graphs {
+        // An employee with the people reporting to them (org chart)
+        public static final String WITH_DIRECT_REPORTS = "Employee.withDirectReports";
+        // An employee with department, role and manager (profile and list views)
+        public static final String WITH_ORGANIZATION = "Employee.withOrganization";
     }
 
     public enum EmployeeStatus {
@@ -1,16 +1,29 @@
 package com.unifiederp.shared.entity;
 
+import com.unifiederp.shared.audit.AuditedEntity;
+import com.unifiederp.shared.security.RbacChangeListener;
+import com.unifiederp.shared.service.AuditLogService;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "erp.permission")
+@NaturalIdCache(region = "erp.permission.name")
+@AuditedEntity(module = AuditLogService.Modules.AUTH)
+@EntityListeners(RbacChangeListener.class)
 @Table(name = "permissions")
 public class Permission extends BaseEntity {
 
+    @NaturalId(mutable = true)
     @NotBlank(message = "Permission name is required")
     @Size(max = 100, message = "Permission name must not exceed 100 characters")
     @Column(name = "name", nullable = false, unique = true, length = 100)
@@ -30,6 +43,7 @@ public class Permission extends BaseEntity {
     @Column(name = "action", nullable = false, length = 50)
     private String action;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "erp.permission.roles")
     @ManyToMany(mappedBy = "permissions", fetch = FetchType.LAZY)
     private Set<Role> roles = new HashSet<>();
 
@@ -0,0 +1,84 @@
+package com.unifiederp.shared.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Records that a consumer has handled an event, in the consumer's own transaction, so a
+ * redelivered event is recognised and skipped.
+ */
+@Entity
+@Table(name = "processed_events")
+public class ProcessedEvent {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+    // Constructors
+    public ProcessedEvent() {}
+
+    public ProcessedEvent(String consumer, String eventId) {
+        this.key = new Key(consumer, eventId);
+        this.processedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Key getKey() {
+        return key;
+    }
+
+    public void setKey(Key key) {
+        this.key = key;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "consumer", nullable = false, length = 100)
+        private String consumer;
+
+        @Column(name = "event_id", nullable = false, length = 36)
+        private String eventId;
+
+        public Key() {}
+
+        public Key(String consumer, String eventId) {
+            this.consumer = consumer;
+            this.eventId = eventId;
+        }
+
+        public String getConsumer() {
+            return consumer;
+        }
+
+        public String getEventId() {
+            return eventId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(consumer, other.consumer) && Objects.equals(eventId, other.eventId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(consumer, eventId);
+        }
+    }
+}
@@ -1,16 +1,29 @@
 package com.unifiederp.shared.entity;
 
+import com.unifiederp.shared.audit.AuditedEntity;
+import com.unifiederp.shared.security.RbacChangeListener;
+import com.unifiederp.shared.service.AuditLogService;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "erp.role")
+@NaturalIdCache(region = "erp.role.name")
+@AuditedEntity(module = AuditLogService.Modules.AUTH)
+@EntityListeners(RbacChangeListener.class)
 @Table(name = "roles")
 public class Role extends BaseEntity {
 
+    @NaturalId(mutable = true)
     @NotBlank(message = "Role name is required")
     @Size(max = 50, message = "Role name must not exceed 50 characters")
     @Column(name = "name", nullable = false, unique = true, length = 50)
@@ -23,6 +36,7 @@ public class Role extends BaseEntity {
     @OneToMany(mappedBy = "role", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Employee> employees = new HashSet<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "erp.role.permissions")
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "role_permissions",
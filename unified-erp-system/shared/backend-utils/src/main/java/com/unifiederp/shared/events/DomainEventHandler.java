@@ -0,0 +1,18 @@
+package com.unifiederp.shared.events;
+
+/**
+ * A bean that reacts to domain events from other modules. Each event is handled in its own
+ * transaction together with a {@code processed_events} row for {@link #consumerName()}, so an
+ * event delivered twice is handled once. Throwing rolls the handling back and has the event redelivered.
+ */
+public interface DomainEventHandler {
+
+    /**
+     * Stable name the handler's processed events are recorded under; renaming it replays retained events.
+     */
+    String consumerName();
+
+    boolean handles(EventEnvelope event);
+
+    void handle(EventEnvelope event);
+}
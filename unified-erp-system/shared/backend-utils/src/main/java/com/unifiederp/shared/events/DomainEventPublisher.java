@@ -0,0 +1,84 @@
+package com.unifiederp.shared.events;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unifiederp.shared.entity.OutboxEvent;
+import com.unifiederp.shared.repository.OutboxEventRepository;
+import com.unifiederp.shared.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records domain events in the outbox as part of the caller's transaction: they are written
+ * together, in JDBC batches, just before it commits, and are discarded if it rolls back.
+ * After commit the {@link OutboxRelay} is woken to deliver them.
+ */
+@Component
+public class DomainEventPublisher {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${integration.events.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * @param payload any Jackson-serializable value; it is stored as a JSON object
+     * @throws IllegalStateException outside a transaction, where the event could not commit with the change
+     */
+    public void publish(String aggregateType, Object aggregateId, String eventType, Object payload) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Domain event " + eventType + " must be published inside a transaction");
+        }
+        OutboxEvent event = new OutboxEvent(aggregateType, String.valueOf(aggregateId), eventType,
+                objectMapper.convertValue(payload, PAYLOAD_TYPE));
+        event.setTenantId(TenantContext.getTenantId());
+        currentBatch().events.add(event);
+    }
+
+    // Synchronizations are suspended with their transaction, so REQUIRES_NEW work gets its own batch
+    private OutboxBatch currentBatch() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof OutboxBatch batch) {
+                return batch;
+            }
+        }
+        OutboxBatch batch = new OutboxBatch();
+        TransactionSynchronizationManager.registerSynchronization(batch);
+        return batch;
+    }
+
+    private class OutboxBatch implements TransactionSynchronization {
+
+        private final List<OutboxEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Flushed by the commit itself
+            outboxEventRepository.saveAll(events);
+        }
+
+        @Override
+        public void afterCommit() {
+            outboxRelay.wake();
+        }
+    }
+}
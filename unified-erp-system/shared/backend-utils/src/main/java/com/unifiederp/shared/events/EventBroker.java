@@ -0,0 +1,19 @@
+package com.unifiederp.shared.events;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries relayed domain events to subscribers, in process or through a message broker. A batch
+ * that {@link #publish} returns from normally counts as delivered; an exception makes the relay
+ * retry it, so subscribers must tolerate redelivery (see {@link DomainEventHandler}).
+ */
+public interface EventBroker {
+
+    void publish(List<EventEnvelope> batch);
+
+    /**
+     * Register a subscriber; closing the returned handle unregisters it.
+     */
+    AutoCloseable subscribe(Consumer<EventEnvelope> subscriber);
+}
@@ -0,0 +1,92 @@
+package com.unifiederp.shared.events;
+
+import com.unifiederp.shared.entity.ProcessedEvent;
+import com.unifiederp.shared.repository.ProcessedEventRepository;
+import com.unifiederp.shared.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Subscribes every {@link DomainEventHandler} bean to the {@link EventBroker} and makes it
+ * idempotent: an event is handled in a new transaction that also records it as processed for
+ * the handler, and skipped when that record already exists.
+ */
+@Component
+public class EventConsumers {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventConsumers.class);
+
+    private final EventBroker eventBroker;
+    private final ObjectProvider<DomainEventHandler> handlers;
+    private final ProcessedEventRepository processedEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final List<AutoCloseable> subscriptions = new ArrayList<>();
+
+    public EventConsumers(EventBroker eventBroker, ObjectProvider<DomainEventHandler> handlers,
+                          ProcessedEventRepository processedEventRepository,
+                          PlatformTransactionManager transactionManager) {
+        this.eventBroker = eventBroker;
+        this.handlers = handlers;
+        this.processedEventRepository = processedEventRepository;
+        // Never part of the relay's transaction, which holds the outbox rows being delivered
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        handlers.orderedStream().forEach(handler -> subscriptions.add(eventBroker.subscribe(event -> {
+            if (handler.handles(event)) {
+                consume(handler, event);
+            }
+        })));
+    }
+
+    @PreDestroy
+    public void unsubscribe() throws Exception {
+        for (AutoCloseable subscription : subscriptions) {
+            subscription.close();
+        }
+        subscriptions.clear();
+    }
+
+    /**
+     * Handle the event once for this handler, however often it is delivered.
+     *
+     * @return whether the handler ran
+     */
+    public boolean consume(DomainEventHandler handler, EventEnvelope event) {
+        ProcessedEvent.Key key = new ProcessedEvent.Key(handler.consumerName(), event.eventId());
+        // Handled in the tenant that made the change, whichever thread delivers it
+        String deliveringTenant = TenantContext.getTenantId();
+        TenantContext.setTenantId(event.tenantId());
+        try {
+            Boolean handled = transactionTemplate.execute(status -> {
+                if (processedEventRepository.existsById(key)) {
+                    return false;
+                }
+                handler.handle(event);
+                processedEventRepository.save(new ProcessedEvent(key.getConsumer(), key.getEventId()));
+                return true;
+            });
+            return Boolean.TRUE.equals(handled);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance handled the same delivery concurrently and committed first
+            logger.debug("Event {} already processed by {}", event.eventId(), handler.consumerName());
+            return false;
+        } finally {
+            TenantContext.setTenantId(deliveringTenant);
+        }
+    }
+}
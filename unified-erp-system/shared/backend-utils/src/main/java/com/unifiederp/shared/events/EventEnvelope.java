@@ -0,0 +1,21 @@
+package com.unifiederp.shared.events;
+
+import com.unifiederp.shared.entity.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A relayed domain event as subscribers see it. {@code sequence} is the outbox row id, increasing
+ * in commit order per publishing instance; {@code eventId} identifies the event across redeliveries.
+ * {@code tenantId} is the tenant the change was made in.
+ */
+public record EventEnvelope(long sequence, String eventId, String tenantId, String aggregateType,
+                            String aggregateId, String eventType, Map<String, Object> payload,
+                            LocalDateTime occurredAt) {
+
+    public static EventEnvelope of(OutboxEvent event) {
+        return new EventEnvelope(event.getId(), event.getEventId(), event.getTenantId(), event.getAggregateType(),
+                event.getAggregateId(), event.getEventType(), event.getPayload(), event.getOccurredAt());
+    }
+}
@@ -0,0 +1,30 @@
+package com.unifiederp.shared.events;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers each batch synchronously, in order, to the subscribers in this application. Stands in
+ * for a networked broker in a single instance and in tests; a subscriber failure fails the
+ * publish, so the relay redelivers from that event on.
+ */
+public class InMemoryEventBroker implements EventBroker {
+
+    private final List<Consumer<EventEnvelope>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<EventEnvelope> batch) {
+        for (EventEnvelope event : batch) {
+            for (Consumer<EventEnvelope> subscriber : subscribers) {
+                subscriber.accept(event);
+            }
+        }
+    }
+
+    @Override
+    public AutoCloseable subscribe(Consumer<EventEnvelope> subscriber) {
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+}
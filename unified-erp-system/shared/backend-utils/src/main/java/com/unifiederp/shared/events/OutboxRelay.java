@@ -0,0 +1,192 @@
+package com.unifiederp.shared.events;
+
+import com.unifiederp.shared.entity.OutboxEvent;
+import com.unifiederp.shared.repository.OutboxEventRepository;
+import com.unifiederp.shared.repository.ProcessedEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves committed outbox events to the {@link EventBroker} in batches of {@code batch-size}.
+ * It runs right after a transaction that published events commits (wake-ups arriving while a run is
+ * pending are coalesced into it) and every {@code interval-ms} to pick up anything missed. Batches
+ * are locked with SKIP LOCKED, so several instances relay side by side without duplicates.
+ *
+ * <p>Delivery is at least once: an event is marked published in the transaction that delivered it,
+ * so a crash in between redelivers it. A batch that fails is retried event by event, in order,
+ * up to the failing event; after {@code max-attempts} failures an event is left in the outbox
+ * and no longer relayed. Those events are counted by the {@code erp.outbox.undeliverable} gauge.
+ */
+@Component
+public class OutboxRelay implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ProcessedEventRepository processedEventRepository;
+    private final EventBroker eventBroker;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${integration.events.enabled:true}")
+    private boolean enabled;
+
+    @Value("${integration.events.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${integration.events.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${integration.events.retention-hours:168}")
+    private long retentionHours;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, ProcessedEventRepository processedEventRepository,
+                       EventBroker eventBroker, PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.processedEventRepository = processedEventRepository;
+        this.eventBroker = eventBroker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Schedule a relay run on the relay thread unless one is already pending.
+     */
+    public void wake() {
+        if (enabled && wakeRequested.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeRequested.set(false);
+                relaySafely();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${integration.events.relay.interval-ms:1000}")
+    public void poll() {
+        if (enabled) {
+            relaySafely();
+        }
+    }
+
+    /**
+     * Relay batches until the outbox has no deliverable events left.
+     *
+     * @return the number of events delivered
+     */
+    public synchronized int relay() {
+        int relayed = 0;
+        while (true) {
+            Batch batch = transactionTemplate.execute(status -> relayBatch());
+            relayed += batch.delivered();
+            if (batch.delivered() < batch.size() || batch.size() < batchSize) {
+                return relayed;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${integration.events.cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        transactionTemplate.executeWithoutResult(status -> {
+            int events = outboxEventRepository.deletePublishedBefore(before);
+            int processed = processedEventRepository.deleteProcessedBefore(before);
+            if (events + processed > 0) {
+                logger.info("Deleted {} published outbox events and {} processed event records older than {} hours",
+                        events, processed, retentionHours);
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("erp.outbox.undeliverable", this, OutboxRelay::countUndeliverable)
+                .description("Outbox events given up on after max-attempts failed deliveries")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private double countUndeliverable() {
+        try {
+            return outboxEventRepository.countUndeliverable(maxAttempts);
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+
+    private void relaySafely() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            logger.warn("Outbox relay run failed, retrying on the next one: {}", e.getMessage());
+        }
+    }
+
+    private Batch relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findUnpublished(maxAttempts, PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return new Batch(0, 0);
+        }
+
+        int delivered = deliver(events);
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : events.subList(0, delivered)) {
+            event.setPublishedAt(now);
+        }
+        if (delivered < events.size()) {
+            OutboxEvent failed = events.get(delivered);
+            failed.setAttempts(failed.getAttempts() + 1);
+            if (failed.getAttempts() >= maxAttempts) {
+                logger.error("Giving up on outbox event {} ({} {} {}) after {} attempts; it stays in the outbox unpublished",
+                        failed.getEventId(), failed.getEventType(), failed.getAggregateType(), failed.getAggregateId(),
+                        failed.getAttempts());
+            }
+        }
+        return new Batch(events.size(), delivered);
+    }
+
+    // The whole batch at once, or event by event up to the first failure
+    private int deliver(List<OutboxEvent> events) {
+        try {
+            eventBroker.publish(events.stream().map(EventEnvelope::of).toList());
+            return events.size();
+        } catch (RuntimeException batchFailure) {
+            for (int i = 0; i < events.size(); i++) {
+                try {
+                    eventBroker.publish(List.of(EventEnvelope.of(events.get(i))));
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to deliver outbox event {} ({}): {}",
+                            events.get(i).getEventId(), events.get(i).getEventType(), e.getMessage());
+                    return i;
+                }
+            }
+            return events.size();
+        }
+    }
+
+    private record Batch(int size, int delivered) {
+    }
+}
@@ -2,31 +2,32 @@ package com.unifiederp.shared.exception;
 
 import org.springframework.http.HttpStatus;
 
+/**
+ * A request the business rules reject. These are expected outcomes answered with a 4xx, so
+ * no stack trace is captured; a wrapped cause keeps its own.
+ */
 public class BusinessException extends RuntimeException {
     
     private final HttpStatus status;
     
     public BusinessException(String message) {
-        super(message);
-        this.status = HttpStatus.BAD_REQUEST;
+        this(message, null, HttpStatus.BAD_REQUEST);
     }
     
     public BusinessException(String message, HttpStatus status) {
-        super(message);
-        this.status = status;
+        this(message, null, status);
     }
     
     public BusinessException(String message, Throwable cause) {
-        super(message, cause);
-        this.status = HttpStatus.BAD_REQUEST;
+        this(message, cause, HttpStatus.BAD_REQUEST);
     }
     
     public BusinessException(String message, Throwable cause, HttpStatus status) {
-        super(message, cause);
+        super(message, cause, false, false);
         this.status = status;
     }
     
     public HttpStatus getStatus() {
         return status;
     }
-}
\ No newline at end of file
+}
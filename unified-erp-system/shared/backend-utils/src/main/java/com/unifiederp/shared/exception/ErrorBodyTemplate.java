@@ -0,0 +1,148 @@
+package com.unifiederp.shared.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A JSON error body whose constant members (error code, status, reason) are serialized once,
+ * when the template is built. Rendering only escapes and appends the variable members, in the
+ * same order and format Jackson would write the equivalent DTO.
+ */
+public final class ErrorBodyTemplate {
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[][] names;
+    private final byte[][] constants;
+    private final boolean omitNulls;
+    private final int slots;
+    private final int constantLength;
+
+    private ErrorBodyTemplate(Builder builder) {
+        this.names = builder.names.toArray(new byte[0][]);
+        this.constants = builder.constants.toArray(new byte[0][]);
+        this.omitNulls = builder.omitNulls;
+        int slots = 0;
+        int length = 2;
+        for (int i = 0; i < names.length; i++) {
+            length += names[i].length + 1;
+            if (constants[i] == null) {
+                slots++;
+            } else {
+                length += constants[i].length;
+            }
+        }
+        this.slots = slots;
+        this.constantLength = length;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The current time as Jackson writes a {@link LocalDateTime} with
+     * {@code write-dates-as-timestamps} off.
+     */
+    public static String timestamp() {
+        return LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    /**
+     * Render the body with the given values for the variable members, in declaration order.
+     */
+    public byte[] render(String... values) {
+        if (values.length != slots) {
+            throw new IllegalArgumentException("Expected " + slots + " values but got " + values.length);
+        }
+        int estimate = constantLength;
+        for (String value : values) {
+            estimate += value == null ? NULL.length : value.length() + 8;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(estimate);
+        out.write('{');
+        boolean first = true;
+        int slot = 0;
+        for (int i = 0; i < names.length; i++) {
+            byte[] value = constants[i];
+            boolean quoted = false;
+            if (value == null) {
+                String slotValue = values[slot++];
+                if (slotValue == null && omitNulls) {
+                    continue;
+                }
+                value = slotValue == null ? NULL : JsonStringEncoder.getInstance().quoteAsUTF8(slotValue);
+                quoted = slotValue != null;
+            }
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            out.writeBytes(names[i]);
+            if (quoted) {
+                out.write('"');
+                out.writeBytes(value);
+                out.write('"');
+            } else {
+                out.writeBytes(value);
+            }
+        }
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    public static class Builder {
+        private final List<byte[]> names = new ArrayList<>();
+        private final List<byte[]> constants = new ArrayList<>();
+        private boolean omitNulls;
+
+        public Builder constant(String name, String value) {
+            return member(name, value == null ? NULL : quote(value));
+        }
+
+        public Builder constant(String name, int value) {
+            return member(name, Integer.toString(value).getBytes(StandardCharsets.US_ASCII));
+        }
+
+        /** A string member whose value is passed to {@link #render} */
+        public Builder slot(String name) {
+            return member(name, null);
+        }
+
+        /** Leave out variable members rendered with a null value, like {@code @JsonInclude(NON_NULL)} */
+        public Builder omitNulls() {
+            this.omitNulls = true;
+            return this;
+        }
+
+        public ErrorBodyTemplate build() {
+            return new ErrorBodyTemplate(this);
+        }
+
+        private Builder member(String name, byte[] value) {
+            byte[] quotedName = quote(name);
+            byte[] prefix = new byte[quotedName.length + 1];
+            System.arraycopy(quotedName, 0, prefix, 0, quotedName.length);
+            prefix[quotedName.length] = ':';
+            names.add(prefix);
+            constants.add(value);
+            return this;
+        }
+
+        private static byte[] quote(String value) {
+            byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(value);
+            byte[] quoted = new byte[escaped.length + 2];
+            quoted[0] = '"';
+            System.arraycopy(escaped, 0, quoted, 1, escaped.length);
+            quoted[quoted.length - 1] = '"';
+            return quoted;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.unifiederp.shared.exception;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Counts error responses in {@code erp.errors}, tagged with the error code and HTTP status,
+ * so 404 or validation storms show up on dashboards without reading logs.
+ */
+@Component
+public class ErrorCounters {
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<Key, Counter> counters = new ConcurrentHashMap<>();
+
+    public ErrorCounters(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void increment(String code, int status) {
+        counters.computeIfAbsent(new Key(code, status), key -> Counter.builder("erp.errors")
+                        .description("Error responses by error code")
+                        .tag("code", key.code())
+                        .tag("status", Integer.toString(key.status()))
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    public double count(String code, int status) {
+        Counter counter = counters.get(new Key(code, status));
+        return counter == null ? 0 : counter.count();
+    }
+
+    private record Key(String code, int status) {
+    }
+}
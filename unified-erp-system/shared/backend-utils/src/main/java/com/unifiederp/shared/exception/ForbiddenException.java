@@ -1,12 +1,15 @@
 package com.unifiederp.shared.exception;
 
+/**
+ * The caller lacks the permission for the request. Created without a stack trace.
+ */
 public class ForbiddenException extends RuntimeException {
     
     public ForbiddenException(String message) {
-        super(message);
+        this(message, null);
     }
     
     public ForbiddenException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
-}
\ No newline at end of file
+}
@@ -5,57 +5,75 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
+/**
+ * Renders errors as {@link ErrorResponse} JSON. Bodies without validation errors are written
+ * from {@link ErrorBodyTemplate}s prepared per status and reason, and every error is counted
+ * in {@code erp.errors}. Services that use it import {@link ErrorCounters} as well.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private static final ErrorBodyTemplate NOT_FOUND = template(HttpStatus.NOT_FOUND, "Not Found");
+    private static final ErrorBodyTemplate DATA_INTEGRITY_VIOLATION =
+            template(HttpStatus.CONFLICT, "Data Integrity Violation");
+    private static final ErrorBodyTemplate UNAUTHORIZED = template(HttpStatus.UNAUTHORIZED, "Unauthorized");
+    private static final ErrorBodyTemplate FORBIDDEN = template(HttpStatus.FORBIDDEN, "Forbidden");
+    private static final ErrorBodyTemplate INTERNAL_SERVER_ERROR = ErrorBodyTemplate.builder()
+            .slot("timestamp")
+            .constant("status", HttpStatus.INTERNAL_SERVER_ERROR.value())
+            .constant("error", "Internal Server Error")
+            .constant("message", "An unexpected error occurred")
+            .slot("path")
+            .omitNulls()
+            .build();
+
+    /** Business exceptions carry their own status */
+    private static final ConcurrentMap<HttpStatus, ErrorBodyTemplate> BUSINESS = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ErrorCounters errorCounters;
+
     @ExceptionHandler(BusinessException.class)
-    public ResponseEntity<ErrorResponse> handleBusinessException(
+    public ResponseEntity<byte[]> handleBusinessException(
             BusinessException ex, WebRequest request) {
         
         logger.warn("Business exception: {}", ex.getMessage());
-        
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(ex.getStatus().value())
-                .error(ex.getStatus().getReasonPhrase())
-                .message(ex.getMessage())
-                .path(request.getDescription(false).replace("uri=", ""))
-                .build();
 
-        return new ResponseEntity<>(errorResponse, ex.getStatus());
+        ErrorBodyTemplate template = BUSINESS.computeIfAbsent(ex.getStatus(),
+                status -> template(status, status.getReasonPhrase()));
+        return respond("BUSINESS_RULE", ex.getStatus(), template.render(
+                ErrorBodyTemplate.timestamp(), ex.getMessage(), path(request)));
     }
 
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
+    public ResponseEntity<byte[]> handleResourceNotFoundException(
             ResourceNotFoundException ex, WebRequest request) {
         
         logger.warn("Resource not found: {}", ex.getMessage());
-        
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.NOT_FOUND.value())
-                .error("Not Found")
-                .message(ex.getMessage())
-                .path(request.getDescription(false).replace("uri=", ""))
-                .build();
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        return respond("RESOURCE_NOT_FOUND", HttpStatus.NOT_FOUND, NOT_FOUND.render(
+                ErrorBodyTemplate.timestamp(), ex.getMessage(), path(request)));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -76,10 +94,11 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.BAD_REQUEST.value())
                 .error("Validation Failed")
                 .message("Input validation failed")
-                .path(request.getDescription(false).replace("uri=", ""))
+                .path(path(request))
                 .validationErrors(validationErrors)
                 .build();
 
+        errorCounters.increment("VALIDATION_FAILED", HttpStatus.BAD_REQUEST.value());
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
@@ -101,15 +120,16 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.BAD_REQUEST.value())
                 .error("Constraint Violation")
                 .message("Data constraint violation")
-                .path(request.getDescription(false).replace("uri=", ""))
+                .path(path(request))
                 .validationErrors(validationErrors)
                 .build();
 
+        errorCounters.increment("CONSTRAINT_VIOLATION", HttpStatus.BAD_REQUEST.value());
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
-    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+    public ResponseEntity<byte[]> handleDataIntegrityViolationException(
             DataIntegrityViolationException ex, WebRequest request) {
         
         logger.error("Data integrity violation: {}", ex.getMessage());
@@ -121,65 +141,60 @@ public class GlobalExceptionHandler {
             message = "Cannot perform this operation due to related data";
         }
 
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.CONFLICT.value())
-                .error("Data Integrity Violation")
-                .message(message)
-                .path(request.getDescription(false).replace("uri=", ""))
-                .build();
-
-        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        return respond("DATA_INTEGRITY_VIOLATION", HttpStatus.CONFLICT, DATA_INTEGRITY_VIOLATION.render(
+                ErrorBodyTemplate.timestamp(), message, path(request)));
     }
 
     @ExceptionHandler(UnauthorizedException.class)
-    public ResponseEntity<ErrorResponse> handleUnauthorizedException(
+    public ResponseEntity<byte[]> handleUnauthorizedException(
             UnauthorizedException ex, WebRequest request) {
         
         logger.warn("Unauthorized access: {}", ex.getMessage());
-        
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.UNAUTHORIZED.value())
-                .error("Unauthorized")
-                .message(ex.getMessage())
-                .path(request.getDescription(false).replace("uri=", ""))
-                .build();
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
+        return respond("UNAUTHORIZED", HttpStatus.UNAUTHORIZED, UNAUTHORIZED.render(
+                ErrorBodyTemplate.timestamp(), ex.getMessage(), path(request)));
     }
 
     @ExceptionHandler(ForbiddenException.class)
-    public ResponseEntity<ErrorResponse> handleForbiddenException(
+    public ResponseEntity<byte[]> handleForbiddenException(
             ForbiddenException ex, WebRequest request) {
         
         logger.warn("Forbidden access: {}", ex.getMessage());
-        
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.FORBIDDEN.value())
-                .error("Forbidden")
-                .message(ex.getMessage())
-                .path(request.getDescription(false).replace("uri=", ""))
-                .build();
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
+        return respond("FORBIDDEN", HttpStatus.FORBIDDEN, FORBIDDEN.render(
+                ErrorBodyTemplate.timestamp(), ex.getMessage(), path(request)));
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> handleGenericException(
+    public ResponseEntity<byte[]> handleGenericException(
             Exception ex, WebRequest request) {
         
         logger.error("Unexpected error: ", ex);
-        
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
-                .error("Internal Server Error")
-                .message("An unexpected error occurred")
-                .path(request.getDescription(false).replace("uri=", ""))
+
+        return respond("INTERNAL_SERVER_ERROR", HttpStatus.INTERNAL_SERVER_ERROR, INTERNAL_SERVER_ERROR.render(
+                ErrorBodyTemplate.timestamp(), path(request)));
+    }
+
+    private ResponseEntity<byte[]> respond(String code, HttpStatus status, byte[] body) {
+        errorCounters.increment(code, status.value());
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static ErrorBodyTemplate template(HttpStatus status, String error) {
+        return ErrorBodyTemplate.builder()
+                .slot("timestamp")
+                .constant("status", status.value())
+                .constant("error", error)
+                .slot("message")
+                .slot("path")
+                .omitNulls()
                 .build();
+    }
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    private static String path(WebRequest request) {
+        if (request instanceof ServletWebRequest servletRequest) {
+            return servletRequest.getRequest().getRequestURI();
+        }
+        return request.getDescription(false).replace("uri=", "");
     }
 }
\ No newline at end of file
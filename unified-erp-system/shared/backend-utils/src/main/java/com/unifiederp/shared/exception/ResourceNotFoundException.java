@@ -1,16 +1,20 @@
 package com.unifiederp.shared.exception;
 
+/**
+ * The requested resource does not exist. Thrown on every 404, including scraping and stale
+ * links, so it is created without a stack trace.
+ */
 public class ResourceNotFoundException extends RuntimeException {
     
     public ResourceNotFoundException(String message) {
-        super(message);
+        this(message, null);
     }
     
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s not found with %s: '%s'", resourceName, fieldName, fieldValue));
+        this(String.format("%s not found with %s: '%s'", resourceName, fieldName, fieldValue));
     }
     
     public ResourceNotFoundException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
-}
\ No newline at end of file
+}
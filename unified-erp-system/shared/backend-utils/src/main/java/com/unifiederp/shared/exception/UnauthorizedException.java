@@ -1,12 +1,16 @@
 package com.unifiederp.shared.exception;
 
+/**
+ * Missing or invalid credentials. Created without a stack trace, as bad clients can trigger
+ * it at request rate.
+ */
 public class UnauthorizedException extends RuntimeException {
     
     public UnauthorizedException(String message) {
-        super(message);
+        this(message, null);
     }
     
     public UnauthorizedException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package com.unifiederp.shared.fetch;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Declares, for the current thread, which lazy collections code is about to traverse on purpose.
+ * Collections loaded through an entity graph or fetch join need no declaration; any other lazy
+ * load is reported by {@link FetchPlanGuard}. Scopes nest and must be closed:
+ *
+ * <pre>
+ * try (FetchPlan.Scope ignored = FetchPlan.allow(Employee.class, "directReports")) {
+ *     managers.forEach(manager -&gt; manager.getDirectReports().size());
+ * }
+ * </pre>
+ */
+public final class FetchPlan {
+
+    private static final ThreadLocal<Deque<Set<String>>> DECLARED = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private FetchPlan() {}
+
+    /**
+     * Allow lazy loading of the given collection attributes of {@code owner} until the scope is closed.
+     */
+    public static Scope allow(Class<?> owner, String... attributes) {
+        Set<String> roles = new HashSet<>();
+        for (String attribute : attributes) {
+            roles.add(role(owner, attribute));
+        }
+        Deque<Set<String>> declared = DECLARED.get();
+        declared.push(roles);
+        return () -> {
+            declared.remove(roles);
+            if (declared.isEmpty()) {
+                DECLARED.remove();
+            }
+        };
+    }
+
+    /**
+     * Whether the collection role ({@code <entity class>.<attribute>}) is declared on this thread.
+     */
+    public static boolean allows(String role) {
+        for (Set<String> roles : DECLARED.get()) {
+            if (roles.contains(role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The Hibernate collection role of an attribute declared on {@code owner}.
+     */
+    public static String role(Class<?> owner, String attribute) {
+        return owner.getName() + "." + attribute;
+    }
+
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,77 @@
+package com.unifiederp.shared.fetch;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate listener that reports every lazy collection load not covered by a {@link FetchPlan}.
+ * Each such load is one extra query per owner, so a traversal over a list of owners is an N+1.
+ * {@code erp.jpa.fetch-plan-guard} selects {@code fail} (throw, for tests), {@code log} (warn once
+ * per collection with the call site) or {@code off}.
+ */
+@Component
+public class FetchPlanGuard implements InitializeCollectionEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(FetchPlanGuard.class);
+
+    public enum Mode { OFF, LOG, FAIL }
+
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${erp.jpa.fetch-plan-guard:log}")
+    private String modeName;
+
+    private Mode mode;
+
+    @PostConstruct
+    public void register() {
+        mode = Mode.valueOf(modeName.trim().toUpperCase(Locale.ROOT));
+        if (mode == Mode.OFF) {
+            return;
+        }
+        // Ahead of Hibernate's own listener, which performs the load
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .prependListeners(EventType.INIT_COLLECTION, this);
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        PersistentCollection<?> collection = event.getCollection();
+        if (collection.wasInitialized() || FetchPlan.allows(collection.getRole())) {
+            return;
+        }
+
+        FetchPlanViolationException violation =
+                new FetchPlanViolationException(collection.getRole(), event.getAffectedOwnerIdOrNull());
+        if (mode == Mode.FAIL) {
+            throw violation;
+        }
+        if (reported.add(collection.getRole())) {
+            logger.warn(violation.getMessage(), violation);
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+}
@@ -0,0 +1,20 @@
+package com.unifiederp.shared.fetch;
+
+/**
+ * A lazy collection was loaded outside a declared fetch plan. Raised by {@link FetchPlanGuard}
+ * in {@code fail} mode; the stack trace points at the traversal.
+ */
+public class FetchPlanViolationException extends RuntimeException {
+
+    private final String role;
+
+    public FetchPlanViolationException(String role, Object ownerId) {
+        super("Lazy load of " + role + " (owner id " + ownerId + ") outside a declared fetch plan; "
+                + "load it with an entity graph or declare it with FetchPlan.allow");
+        this.role = role;
+    }
+
+    public String getRole() {
+        return role;
+    }
+}
@@ -0,0 +1,31 @@
+package com.unifiederp.shared.filter;
+
+import com.unifiederp.shared.audit.AuditContext;
+import com.unifiederp.shared.audit.AuditContextHolder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Captures the audit context (user, IP, user agent, session) once per request.
+ * Runs after the security filter chain so the authenticated principal is available.
+ */
+@Component
+public class AuditContextFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        AuditContextHolder.setContext(AuditContext.from(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            AuditContextHolder.clearContext();
+        }
+    }
+}
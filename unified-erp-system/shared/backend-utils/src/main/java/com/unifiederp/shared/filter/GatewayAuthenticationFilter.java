@@ -0,0 +1,58 @@
+package com.unifiederp.shared.filter;
+
+import com.unifiederp.shared.security.PermissionAuthentication;
+import com.unifiederp.shared.security.PermissionCatalog;
+import com.unifiederp.shared.security.PermissionHeaderCodec;
+import com.unifiederp.shared.util.SecurityUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests from the identity and signed permission headers set by the API Gateway.
+ * Runs ahead of {@link AuditContextFilter} so audit records see the gateway-issued principal.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class GatewayAuthenticationFilter extends OncePerRequestFilter {
+
+    private final PermissionHeaderCodec codec;
+
+    @Autowired
+    private PermissionCatalog permissionCatalog;
+
+    public GatewayAuthenticationFilter(@Value("${security.permissions.header-secret}") String headerSecret) {
+        this.codec = new PermissionHeaderCodec(headerSecret);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        PermissionAuthentication authentication =
+                SecurityUtils.authenticateFromHeaders(request, codec, permissionCatalog);
+        if (authentication == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
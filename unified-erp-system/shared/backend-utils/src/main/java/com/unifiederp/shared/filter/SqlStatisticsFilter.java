@@ -0,0 +1,114 @@
+package com.unifiederp.shared.filter;
+
+import com.unifiederp.shared.datasource.SqlStatistics;
+import com.unifiederp.shared.datasource.SqlStatisticsRecorder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the SQL issued by each request and records it per URI pattern. When response headers are
+ * enabled (by default outside the {@code production} profile) the totals are also sent back as
+ * {@value #STATEMENTS_HEADER}, {@value #ROWS_HEADER} and {@value #TIME_HEADER}. Headers are set when
+ * the body starts, so statements issued while serializing it are only in the metrics.
+ */
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private final SqlStatisticsRecorder recorder;
+    private final boolean responseHeaders;
+
+    public SqlStatisticsFilter(SqlStatisticsRecorder recorder, boolean responseHeaders) {
+        this.recorder = recorder;
+        this.responseHeaders = responseHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.open(request.getMethod() + " " + request.getRequestURI());
+        HeaderWritingResponse wrapped = responseHeaders ? new HeaderWritingResponse(response, statistics) : null;
+        try {
+            filterChain.doFilter(request, wrapped != null ? wrapped : response);
+        } finally {
+            statistics.close();
+            if (wrapped != null) {
+                wrapped.writeHeaders();
+            }
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            recorder.requestCompleted(request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN",
+                    statistics);
+        }
+    }
+
+    /**
+     * Sets the headers just before anything can commit the response; at the end of the chain if nothing did.
+     */
+    private static class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatistics statistics;
+        private boolean written;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, Long.toString(statistics.getStatements()));
+            setHeader(ROWS_HEADER, Long.toString(statistics.getRows()));
+            setHeader(TIME_HEADER, Long.toString(statistics.getTimeMillis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
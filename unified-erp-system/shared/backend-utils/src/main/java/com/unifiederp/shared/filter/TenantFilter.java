@@ -0,0 +1,61 @@
+package com.unifiederp.shared.filter;
+
+import com.unifiederp.shared.security.PermissionHeaderCodec;
+import com.unifiederp.shared.tenant.TenantContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Sets the request's tenant from the {@value TenantContext#HEADER} header set by the API Gateway,
+ * before anything opens a persistence context. The header itself is unsigned, so it is only taken
+ * when the gateway's signed {@value PermissionHeaderCodec#HEADER} header verifies for that tenant;
+ * otherwise the request is rejected. Requests without it, e.g. health checks, run as
+ * {@link TenantContext#DEFAULT_TENANT}; a malformed value is rejected.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 50)
+public class TenantFilter extends OncePerRequestFilter {
+
+    private final PermissionHeaderCodec codec;
+
+    public TenantFilter(@Value("${security.permissions.header-secret}") String headerSecret) {
+        this.codec = new PermissionHeaderCodec(headerSecret);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String tenantId = request.getHeader(TenantContext.HEADER);
+        if (tenantId != null && !TenantContext.isValid(tenantId)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid " + TenantContext.HEADER);
+            return;
+        }
+        if (tenantId != null && !isSignedFor(request, tenantId)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN,
+                    TenantContext.HEADER + " does not match the signed " + PermissionHeaderCodec.HEADER);
+            return;
+        }
+        TenantContext.setTenantId(tenantId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    // The gateway signs the tenant into the permission header, so it only verifies for the tenant it was issued to
+    private boolean isSignedFor(HttpServletRequest request, String tenantId) {
+        return codec.decode(request.getHeader(PermissionHeaderCodec.HEADER), request.getHeader("X-User-Id"),
+                request.getHeader("X-User-Role"), tenantId, Instant.now().getEpochSecond()) != null;
+    }
+}
@@ -0,0 +1,89 @@
+package com.unifiederp.shared.security;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Authentication built from the identity headers forwarded by the gateway. Permissions stay a
+ * bitset; {@link #hasPermission} is a bit test and authority objects are only created if asked for.
+ */
+public class PermissionAuthentication extends AbstractAuthenticationToken {
+
+    private final String userId;
+    private final String email;
+    private final String role;
+    private final PermissionSet permissions;
+    private final PermissionCatalog catalog;
+
+    private volatile List<GrantedAuthority> authorities;
+
+    public PermissionAuthentication(String userId, String email, String role,
+                                    PermissionSet permissions, PermissionCatalog catalog) {
+        super(null);
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+        this.permissions = permissions;
+        this.catalog = catalog;
+        setAuthenticated(true);
+    }
+
+    public boolean hasPermission(String module, String action) {
+        return permissions.contains(catalog.permissionId(module, action));
+    }
+
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+        List<GrantedAuthority> result = authorities;
+        if (result == null) {
+            result = new ArrayList<>(permissions.size() + 1);
+            if (role != null) {
+                result.add(new SimpleGrantedAuthority("ROLE_" + role));
+            }
+            BitSet ids = permissions.toBitSet();
+            for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                String name = catalog.getPermissionName(id);
+                if (name != null) {
+                    result.add(new SimpleGrantedAuthority(name));
+                }
+            }
+            result = Collections.unmodifiableList(result);
+            authorities = result;
+        }
+        return result;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return userId;
+    }
+
+    @Override
+    public String getName() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public PermissionSet getPermissions() {
+        return permissions;
+    }
+}
@@ -0,0 +1,20 @@
+package com.unifiederp.shared.security;
+
+/**
+ * Maps dense permission ids to {@code MODULE:ACTION} names. Ids are only meaningful
+ * together with the fingerprint of the catalog that assigned them.
+ */
+public interface PermissionCatalog {
+
+    int getFingerprint();
+
+    /**
+     * Dense id of a permission, or -1 if unknown
+     */
+    int permissionId(String module, String action);
+
+    /**
+     * Permission name for a dense id, or null if unknown
+     */
+    String getPermissionName(int permissionId);
+}
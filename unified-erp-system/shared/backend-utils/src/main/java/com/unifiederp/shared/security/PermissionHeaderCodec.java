@@ -0,0 +1,120 @@
+package com.unifiederp.shared.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.BitSet;
+
+/**
+ * Reads and writes the {@value #HEADER} header the gateway attaches to authenticated requests.
+ *
+ * <p>Format: {@code v3.<fingerprint hex>.<expires epoch seconds>.<bitset>.<mac>}, where the bitset
+ * is the little-endian {@link BitSet#toByteArray()} form of the role's effective permissions and the
+ * mac is an HMAC-SHA256 over the version, user id, role, tenant, fingerprint, expiry and bitset, both
+ * base64url without padding. Each signed field is preceded by its UTF-8 length as a big-endian int
+ * (-1 for a missing one), so no choice of user id, role or tenant can shift bytes into a neighbouring
+ * field. The gateway signs with this class too, so both sides always agree on the format.</p>
+ */
+public class PermissionHeaderCodec {
+
+    public static final String HEADER = "X-User-Permissions";
+
+    private static final String VERSION = "v3";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ThreadLocal<Mac> mac;
+
+    public PermissionHeaderCodec(String secret) {
+        if (secret == null || secret.isBlank()) {
+            // Anyone who knows the secret can forge permissions, so there is no default to fall back to
+            throw new IllegalStateException("security.permissions.header-secret must be set");
+        }
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+    }
+
+    public String encode(String userId, String role, String tenantId, int fingerprint, PermissionSet permissions,
+                         long expiresAt) {
+        String bits = ENCODER.encodeToString(permissions.toBitSet().toByteArray());
+        String fingerprintHex = Integer.toHexString(fingerprint);
+        String signature = ENCODER.encodeToString(sign(userId, role, tenantId, fingerprintHex, expiresAt, bits));
+        return VERSION + "." + fingerprintHex + "." + expiresAt + "." + bits + "." + signature;
+    }
+
+    /**
+     * Verify a header value for the given user, role and tenant.
+     *
+     * @return the decoded permissions, or null if the value is malformed, forged or expired
+     */
+    public Decoded decode(String value, String userId, String role, String tenantId, long now) {
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.split("\\.", -1);
+        if (parts.length != 5 || !VERSION.equals(parts[0])) {
+            return null;
+        }
+
+        try {
+            long expiresAt = Long.parseLong(parts[2]);
+            byte[] expected = sign(userId, role, tenantId, parts[1], expiresAt, parts[3]);
+            if (!MessageDigest.isEqual(expected, DECODER.decode(parts[4])) || expiresAt < now) {
+                return null;
+            }
+            int fingerprint = Integer.parseUnsignedInt(parts[1], 16);
+            return new Decoded(fingerprint, PermissionSet.of(BitSet.valueOf(DECODER.decode(parts[3]))));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String userId, String role, String tenantId, String fingerprintHex, long expiresAt,
+                        String bits) {
+        Mac instance = mac.get();
+        for (String field : new String[] {VERSION, userId, role, tenantId, fingerprintHex, Long.toString(expiresAt), bits}) {
+            byte[] bytes = field != null ? field.getBytes(StandardCharsets.UTF_8) : null;
+            instance.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes != null ? bytes.length : -1).array());
+            if (bytes != null) {
+                instance.update(bytes);
+            }
+        }
+        return instance.doFinal();
+    }
+
+    /**
+     * Verified header contents
+     */
+    public static final class Decoded {
+
+        private final int fingerprint;
+        private final PermissionSet permissions;
+
+        Decoded(int fingerprint, PermissionSet permissions) {
+            this.fingerprint = fingerprint;
+            this.permissions = permissions;
+        }
+
+        public int getFingerprint() {
+            return fingerprint;
+        }
+
+        public PermissionSet getPermissions() {
+            return permissions;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.unifiederp.shared.security;
+
+import com.unifiederp.shared.entity.Permission;
+import com.unifiederp.shared.entity.Role;
+import com.unifiederp.shared.repository.PermissionRepository;
+import com.unifiederp.shared.repository.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * In-memory authorization table. All active roles and permissions are loaded once into a
+ * {@link PermissionTable}: every {@code (module, action)} permission gets a dense integer id and
+ * every role a precomputed {@link PermissionSet} of its effective permissions, so a check is a map
+ * lookup and a bit test.
+ *
+ * <p>A role inherits the permissions of every active role with a lower {@code hierarchyLevel}.
+ * The table is rebuilt after role or permission changes commit, and periodically to pick up
+ * changes made by other instances.</p>
+ */
+@Component
+public class PermissionResolver implements PermissionCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionResolver.class);
+
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile PermissionTable table = PermissionTable.EMPTY;
+
+    public PermissionResolver(RoleRepository roleRepository, PermissionRepository permissionRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.roleRepository = roleRepository;
+        this.permissionRepository = permissionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRbacChanged(RbacChangedEvent event) {
+        logger.debug("{} {} changed, rebuilding permission table",
+                event.getEntityType().getSimpleName(), event.getEntityId());
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${security.rbac.refresh-interval-ms:300000}",
+               initialDelayString = "${security.rbac.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Reload roles and permissions and atomically swap in the new table.
+     */
+    public void refresh() {
+        try {
+            PermissionTable loaded = transactionTemplate.execute(status -> PermissionTable.build(
+                    permissionRepository.findByIsActiveTrue().stream().map(Permission::getFullPermissionName).toList(),
+                    roleRepository.findAllActiveWithPermissions().stream().map(PermissionResolver::grants).toList()));
+            table = loaded;
+            logger.info("Loaded permission table: {} permissions, {} roles",
+                    loaded.permissionCount(), loaded.roleCount());
+        } catch (RuntimeException e) {
+            logger.error("Failed to load permission table, keeping the previous one: ", e);
+        }
+    }
+
+    /**
+     * Dense id of a permission, or -1 if no active permission matches. Callers on hot paths
+     * should resolve ids once and keep them.
+     */
+    @Override
+    public int permissionId(String module, String action) {
+        return table.permissionId(key(module, action));
+    }
+
+    public boolean hasPermission(String role, int permissionId) {
+        return getEffectivePermissions(role).contains(permissionId);
+    }
+
+    public boolean hasPermission(String role, String module, String action) {
+        PermissionTable current = table;
+        return current.permissionsOf(role).contains(current.permissionId(key(module, action)));
+    }
+
+    public PermissionSet getEffectivePermissions(String role) {
+        return table.permissionsOf(role);
+    }
+
+    /**
+     * Permission name ({@code MODULE:ACTION}) for a dense id, or null if unknown
+     */
+    @Override
+    public String getPermissionName(int permissionId) {
+        return table.permissionName(permissionId);
+    }
+
+    /**
+     * Identifies the id assignment and role mapping, so permission sets built by another instance,
+     * or signed by the gateway, can be checked for compatibility before use.
+     */
+    @Override
+    public int getFingerprint() {
+        return table.getFingerprint();
+    }
+
+    private static String key(String module, String action) {
+        return module + ":" + action;
+    }
+
+    private static PermissionTable.RoleGrants grants(Role role) {
+        List<String> permissions = role.getPermissions().stream()
+                .filter(permission -> Boolean.TRUE.equals(permission.getIsActive()))
+                .map(Permission::getFullPermissionName)
+                .toList();
+        return new PermissionTable.RoleGrants(role.getName(),
+                role.getHierarchyLevel() != null ? role.getHierarchyLevel() : 0, permissions);
+    }
+}
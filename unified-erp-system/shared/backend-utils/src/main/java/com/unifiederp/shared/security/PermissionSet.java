@@ -0,0 +1,69 @@
+package com.unifiederp.shared.security;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Immutable set of dense permission ids backed by a {@code long[]}, so a membership
+ * check is a single bit test. Ids are assigned by {@link PermissionResolver}.
+ */
+public final class PermissionSet {
+
+    public static final PermissionSet EMPTY = new PermissionSet(new long[0]);
+
+    private final long[] words;
+
+    private PermissionSet(long[] words) {
+        this.words = words;
+    }
+
+    public static PermissionSet of(BitSet bits) {
+        return bits.isEmpty() ? EMPTY : new PermissionSet(bits.toLongArray());
+    }
+
+    public static PermissionSet fromLongArray(long[] words) {
+        return of(BitSet.valueOf(words));
+    }
+
+    public boolean contains(int permissionId) {
+        int word = permissionId >>> 6;
+        return permissionId >= 0 && word < words.length && (words[word] & (1L << permissionId)) != 0;
+    }
+
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    public int size() {
+        int size = 0;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    public BitSet toBitSet() {
+        return BitSet.valueOf(words);
+    }
+
+    public long[] toLongArray() {
+        return words.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PermissionSet)) return false;
+        return Arrays.equals(words, ((PermissionSet) o).words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return toBitSet().toString();
+    }
+}
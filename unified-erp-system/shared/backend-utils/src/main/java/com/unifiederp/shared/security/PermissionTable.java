@@ -0,0 +1,134 @@
+package com.unifiederp.shared.security;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable role → effective permission table, built the same way by {@link PermissionResolver}
+ * and by the gateway, which signs the result into the permission header. Free of Spring and JPA
+ * so the gateway can use it without the rest of this module.
+ *
+ * <p>Permission ids follow the sorted {@code MODULE:ACTION} names, so every instance loading the
+ * same data agrees, and a role inherits every role with a lower hierarchy level. The fingerprint
+ * covers both the id assignment and every role's effective permissions: a header signed from a
+ * stale role mapping is as incompatible as one signed from a stale id assignment.</p>
+ */
+public final class PermissionTable {
+
+    public static final PermissionTable EMPTY = build(List.of(), List.of());
+
+    private final Map<String, Integer> permissionIds;
+    private final String[] permissionNames;
+    private final Map<String, PermissionSet> rolePermissions;
+    private final int fingerprint;
+
+    private PermissionTable(Map<String, Integer> permissionIds, String[] permissionNames,
+                            Map<String, PermissionSet> rolePermissions) {
+        this.permissionIds = permissionIds;
+        this.permissionNames = permissionNames;
+        this.rolePermissions = rolePermissions;
+        this.fingerprint = fingerprint(permissionNames, rolePermissions);
+    }
+
+    /**
+     * @param permissionNames {@code MODULE:ACTION} names of the active permissions
+     * @param roles           the active roles, each with the names of its active permissions
+     */
+    public static PermissionTable build(Collection<String> permissionNames, Collection<RoleGrants> roles) {
+        List<String> names = new ArrayList<>(new TreeSet<>(permissionNames));
+        Map<String, Integer> ids = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            ids.put(names.get(i), i);
+        }
+
+        TreeMap<Integer, List<RoleGrants>> rolesByLevel = new TreeMap<>();
+        for (RoleGrants role : roles) {
+            rolesByLevel.computeIfAbsent(role.hierarchyLevel(), l -> new ArrayList<>()).add(role);
+        }
+
+        Map<String, PermissionSet> rolePermissions = new HashMap<>();
+        BitSet inherited = new BitSet(names.size());
+        for (List<RoleGrants> level : rolesByLevel.values()) {
+            BitSet grantedAtLevel = new BitSet(names.size());
+            for (RoleGrants role : level) {
+                BitSet own = new BitSet(names.size());
+                for (String permission : role.permissionNames()) {
+                    Integer id = ids.get(permission);
+                    if (id != null) {
+                        own.set(id);
+                    }
+                }
+                grantedAtLevel.or(own);
+                own.or(inherited);
+                rolePermissions.put(roleKey(role.name()), PermissionSet.of(own));
+            }
+            inherited.or(grantedAtLevel);
+        }
+
+        return new PermissionTable(Map.copyOf(ids), names.toArray(new String[0]), Map.copyOf(rolePermissions));
+    }
+
+    /**
+     * Dense id of a {@code MODULE:ACTION} permission, or -1 if no active permission matches
+     */
+    public int permissionId(String permissionName) {
+        Integer id = permissionIds.get(permissionName);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Permission name for a dense id, or null if unknown
+     */
+    public String permissionName(int permissionId) {
+        return permissionId >= 0 && permissionId < permissionNames.length ? permissionNames[permissionId] : null;
+    }
+
+    /**
+     * Effective permissions of a role, case-insensitively; empty for unknown roles
+     */
+    public PermissionSet permissionsOf(String role) {
+        PermissionSet permissions = role != null ? rolePermissions.get(roleKey(role)) : null;
+        return permissions != null ? permissions : PermissionSet.EMPTY;
+    }
+
+    public int permissionCount() {
+        return permissionNames.length;
+    }
+
+    public int roleCount() {
+        return rolePermissions.size();
+    }
+
+    public int getFingerprint() {
+        return fingerprint;
+    }
+
+    private static String roleKey(String role) {
+        return role.toUpperCase(Locale.ROOT);
+    }
+
+    // Only String and PermissionSet hashes, walked in role name order, so it is the same on every JVM
+    private static int fingerprint(String[] permissionNames, Map<String, PermissionSet> rolePermissions) {
+        int fingerprint = Arrays.hashCode(permissionNames);
+        for (Map.Entry<String, PermissionSet> role : new TreeMap<>(rolePermissions).entrySet()) {
+            fingerprint = 31 * fingerprint + role.getKey().hashCode();
+            fingerprint = 31 * fingerprint + role.getValue().hashCode();
+        }
+        return fingerprint;
+    }
+
+    /**
+     * A role as loaded: its name, hierarchy level and the {@code MODULE:ACTION} names of its own
+     * active permissions.
+     */
+    public record RoleGrants(String name, int hierarchyLevel, Collection<String> permissionNames) {
+    }
+}
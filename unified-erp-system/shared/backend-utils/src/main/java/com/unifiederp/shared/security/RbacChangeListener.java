@@ -0,0 +1,25 @@
+package com.unifiederp.shared.security;
+
+import com.unifiederp.shared.entity.BaseEntity;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener on {@code Role} and {@code Permission}. Instantiated through
+ * Spring's bean container, so the event publisher is injected.
+ */
+public class RbacChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(BaseEntity entity) {
+        eventPublisher.publishEvent(new RbacChangedEvent(entity.getClass(), entity.getId()));
+    }
+}
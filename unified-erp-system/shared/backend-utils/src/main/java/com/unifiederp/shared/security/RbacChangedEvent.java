@@ -0,0 +1,24 @@
+package com.unifiederp.shared.security;
+
+/**
+ * Published when a role or permission is created, changed or removed, so cached
+ * permission tables can be rebuilt once the change commits.
+ */
+public class RbacChangedEvent {
+
+    private final Class<?> entityType;
+    private final Long entityId;
+
+    public RbacChangedEvent(Class<?> entityType, Long entityId) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+}
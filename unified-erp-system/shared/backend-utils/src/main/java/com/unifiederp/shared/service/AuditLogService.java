@@ -1,11 +1,13 @@
 package com.unifiederp.shared.service;
 
+import com.unifiederp.shared.audit.AuditContext;
+import com.unifiederp.shared.audit.AuditContextHolder;
+import com.unifiederp.shared.audit.EntityChangeCollector;
 import com.unifiederp.shared.entity.AuditLog;
 import com.unifiederp.shared.repository.AuditLogRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -20,33 +22,51 @@ public class AuditLogService {
     @Autowired
     private AuditLogRepository auditLogRepository;
 
-    @Async
+    @Autowired
+    private EntityChangeCollector entityChangeCollector;
+
+    /**
+     * Log a user action. The log is written with the other audit logs of the current transaction,
+     * or request, on the async executor once it commits.
+     */
     public void logUserAction(String userId, String action, String module, 
                              String resourceType, String resourceId, 
                              Map<String, Object> details) {
+        logUserAction(userId, action, module, resourceType, resourceId, details,
+                AuditContextHolder.getContext());
+    }
+
+    /**
+     * Log a user action with an explicitly captured request context, for callers
+     * that hand audit work to their own threads. Without a {@code userId} the action
+     * is recorded for the context's user.
+     */
+    public void logUserAction(String userId, String action, String module,
+                             String resourceType, String resourceId,
+                             Map<String, Object> details, AuditContext context) {
         try {
             AuditLog auditLog = new AuditLog();
-            auditLog.setUserId(userId);
+            auditLog.setUserId(userId != null ? userId : context.getUserId());
             auditLog.setAction(action);
             auditLog.setModule(module);
             auditLog.setResourceType(resourceType);
             auditLog.setResourceId(resourceId);
             auditLog.setDetails(details);
             auditLog.setTimestamp(LocalDateTime.now());
-            auditLog.setIpAddress(getCurrentUserIpAddress());
-            auditLog.setUserAgent(getCurrentUserAgent());
+            auditLog.setIpAddress(context.getIpAddress());
+            auditLog.setUserAgent(context.getUserAgent());
+            auditLog.setSessionId(context.getSessionId());
 
-            auditLogRepository.save(auditLog);
+            entityChangeCollector.collect(auditLog);
             
             logger.info("Audit log created: User {} performed {} on {} {} in module {}", 
-                       userId, action, resourceType, resourceId, module);
+                       auditLog.getUserId(), action, resourceType, resourceId, module);
                        
         } catch (Exception e) {
             logger.error("Failed to create audit log: ", e);
         }
     }
 
-    @Async
     public void logSystemEvent(String event, String module, String description, 
                               Map<String, Object> details) {
         try {
@@ -60,7 +80,7 @@ public class AuditLogService {
             auditLog.setTimestamp(LocalDateTime.now());
             auditLog.setDescription(description);
 
-            auditLogRepository.save(auditLog);
+            entityChangeCollector.collect(auditLog);
             
             logger.info("System event logged: {} in module {} - {}", event, module, description);
             
@@ -91,19 +111,6 @@ public class AuditLogService {
                 org.springframework.data.domain.PageRequest.of(0, limit));
     }
 
-    // Helper methods to get current request context
-    private String getCurrentUserIpAddress() {
-        // This would typically get the IP from the current HTTP request
-        // For now, return a placeholder
-        return "127.0.0.1";
-    }
-
-    private String getCurrentUserAgent() {
-        // This would typically get the User-Agent from the current HTTP request
-        // For now, return a placeholder
-        return "ERP-System";
-    }
-
     // Audit action constants
     public static class Actions {
         public static final String CREATE = "CREATE";
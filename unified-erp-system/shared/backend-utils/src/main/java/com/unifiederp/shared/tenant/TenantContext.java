@@ -0,0 +1,60 @@
+package com.unifiederp.shared.tenant;
+
+/**
+ * Holds the tenant whose data the work running on this thread may see. Populated by the
+ * {@link com.unifiederp.shared.filter.TenantFilter} from the gateway's {@value #HEADER} header,
+ * by the async task decorator on executor threads and by event consumers per event.
+ */
+public final class TenantContext {
+
+    /** Set by the gateway from the caller's token; anything a client sends is dropped there. */
+    public static final String HEADER = "X-Tenant-Id";
+
+    /** Tenant of tokens without a tenant claim, of rows written before partitioning, and of background work. */
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final int MAX_LENGTH = 64;
+
+    private static final ThreadLocal<String> TENANT = new ThreadLocal<>();
+
+    private TenantContext() {
+        // Utility class
+    }
+
+    /**
+     * Get the current tenant, or {@link #DEFAULT_TENANT} outside of a request
+     */
+    public static String getTenantId() {
+        String tenantId = TENANT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static void setTenantId(String tenantId) {
+        if (tenantId == null) {
+            TENANT.remove();
+        } else {
+            TENANT.set(tenantId);
+        }
+    }
+
+    public static void clear() {
+        TENANT.remove();
+    }
+
+    /**
+     * Whether {@code tenantId} can be used as a tenant: 1 to 64 letters, digits, '-' or '_', so it is
+     * safe in cache keys, rate limit keys and logs.
+     */
+    public static boolean isValid(String tenantId) {
+        if (tenantId == null || tenantId.isEmpty() || tenantId.length() > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < tenantId.length(); i++) {
+            char c = tenantId.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+package com.unifiederp.shared.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Gives each Hibernate session the {@link TenantContext} tenant of the thread opening it, which
+ * {@code @TenantId} entities are then written with and filtered by. Configured by class name under
+ * {@code hibernate.tenant_identifier_resolver}. The tenant also keys the session's second-level cache entries.
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.getTenantId();
+    }
+
+    /**
+     * A session joined later, e.g. by a repository inside a transaction, must belong to the same tenant.
+     */
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return true;
+    }
+}
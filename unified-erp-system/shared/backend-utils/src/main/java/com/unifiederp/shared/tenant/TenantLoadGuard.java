@@ -0,0 +1,43 @@
+package com.unifiederp.shared.tenant;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate listener that hides another tenant's {@link TenantOwned} row loaded by id. Queries are
+ * restricted to the session's tenant by {@code @TenantId}, but {@code find} and {@code getReference}
+ * go by primary key alone, so without this guard a guessed id would read across tenants.
+ */
+@Component
+public class TenantLoadGuard implements LoadEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void register() {
+        // After Hibernate's own listener, which performs the load
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.LOAD, this);
+    }
+
+    @Override
+    public void onLoad(LoadEvent event, LoadType loadType) {
+        Object result = event.getResult();
+        // An uninitialized proxy is checked when it is initialized, which is itself a load
+        if (result instanceof TenantOwned owned && Hibernate.isInitialized(result)
+                && !owned.getTenantId().equals(event.getSession().getTenantIdentifier())) {
+            event.setResult(null);
+        }
+    }
+}
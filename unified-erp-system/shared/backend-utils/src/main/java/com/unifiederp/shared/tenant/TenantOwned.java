@@ -0,0 +1,10 @@
+package com.unifiederp.shared.tenant;
+
+/**
+ * An entity partitioned by tenant through a {@code @TenantId} attribute, exposed so that
+ * {@link TenantLoadGuard} can check loads by id, which Hibernate does not restrict to the tenant.
+ */
+public interface TenantOwned {
+
+    String getTenantId();
+}
@@ -0,0 +1,84 @@
+package com.unifiederp.shared.threads;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams the JFR {@value #PINNED_EVENT} event, raised when a virtual thread blocks while it cannot
+ * unmount from its carrier, typically I/O inside a {@code synchronized} block or method. Each distinct
+ * call site is logged once with its stack; every occurrence is counted in {@code erp.threads.virtual.pinned}.
+ */
+public class VirtualThreadPinningMonitor implements MeterBinder, DisposableBean {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final int LOGGED_FRAMES = 12;
+
+    private final RecordingStream stream;
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Reporting virtual threads pinned for longer than {} ms", threshold.toMillis());
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        String stack = format(event.getStackTrace());
+        if (reportedSites.add(stack)) {
+            logger.warn("Virtual thread pinned its carrier for {} ms at:{}", event.getDuration().toMillis(), stack);
+        } else {
+            logger.debug("Virtual thread pinned its carrier for {} ms", event.getDuration().toMillis());
+        }
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " <no stack trace>";
+        }
+        StringBuilder sb = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < frames.size() && i < LOGGED_FRAMES; i++) {
+            RecordedFrame frame = frames.get(i);
+            sb.append("\n\tat ").append(frame.getMethod().getType().getName())
+                    .append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("erp.threads.virtual.pinned", this, VirtualThreadPinningMonitor::getPinnedCount)
+                .description("Times a virtual thread blocked while pinned to its carrier thread")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        stream.close();
+    }
+}
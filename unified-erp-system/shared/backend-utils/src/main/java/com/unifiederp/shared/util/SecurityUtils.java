@@ -1,11 +1,17 @@
 package com.unifiederp.shared.util;
 
+import com.unifiederp.shared.security.PermissionAuthentication;
+import com.unifiederp.shared.security.PermissionCatalog;
+import com.unifiederp.shared.security.PermissionHeaderCodec;
+import com.unifiederp.shared.security.PermissionSet;
+import com.unifiederp.shared.tenant.TenantContext;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.Instant;
 import java.util.Optional;
 
 public class SecurityUtils {
@@ -63,6 +69,46 @@ public class SecurityUtils {
                 .anyMatch(auth -> auth.getAuthority().equals(authority));
     }
 
+    /**
+     * Check if the current user has a permission. Gateway-issued authentications answer with a
+     * bit test; others fall back to a {@code MODULE:ACTION} authority.
+     */
+    public static boolean hasPermission(String module, String action) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication instanceof PermissionAuthentication permissionAuthentication) {
+            return permissionAuthentication.hasPermission(module, action);
+        }
+        return hasAuthority(module + ":" + action);
+    }
+
+    /**
+     * Build an authentication from the identity and signed permission headers set by the API Gateway,
+     * without touching the database. Returns null if the headers are missing, forged or expired.
+     * Permissions issued against a different permission catalog are dropped rather than misread.
+     */
+    public static PermissionAuthentication authenticateFromHeaders(HttpServletRequest request,
+                                                                   PermissionHeaderCodec codec,
+                                                                   PermissionCatalog catalog) {
+        String userId = request.getHeader("X-User-Id");
+        if (userId == null || userId.isEmpty()) {
+            return null;
+        }
+
+        String role = request.getHeader("X-User-Role");
+        // The tenant is signed too, so a header issued for one tenant is useless in another
+        PermissionHeaderCodec.Decoded decoded = codec.decode(request.getHeader(PermissionHeaderCodec.HEADER),
+                userId, role, request.getHeader(TenantContext.HEADER), Instant.now().getEpochSecond());
+        if (decoded == null) {
+            return null;
+        }
+
+        PermissionSet permissions = decoded.getFingerprint() == catalog.getFingerprint()
+                ? decoded.getPermissions()
+                : PermissionSet.EMPTY;
+        return new PermissionAuthentication(userId, request.getHeader("X-User-Email"), role, permissions, catalog);
+    }
+
     /**
      * Get the client IP address from the current request
      */
@@ -73,8 +119,13 @@ public class SecurityUtils {
             return "unknown";
         }
         
-        HttpServletRequest request = attributes.getRequest();
-        
+        return getClientIpAddress(attributes.getRequest());
+    }
+
+    /**
+     * Get the client IP address from the given request
+     */
+    public static String getClientIpAddress(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
             return xForwardedFor.split(",")[0].trim();
@@ -1,61 +1,148 @@
 package com.unifiederp.shared.util;
 
-import java.util.regex.Pattern;
+import java.util.Arrays;
+import java.util.function.Predicate;
 
+/**
+ * Validators and sanitizer for request and import input. They are hand-written single-pass
+ * scans rather than regular expressions, and allocate nothing for valid input; the accepted
+ * languages are those of the patterns quoted on each method.
+ */
 public class ValidationUtils {
 
     private ValidationUtils() {
         // Utility class
     }
 
-    // Email validation pattern
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-            "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$"
-    );
+    private static final int[] NO_INDICES = new int[0];
 
-    // Phone number validation pattern (supports various formats)
-    private static final Pattern PHONE_PATTERN = Pattern.compile(
-            "^[+]?[1-9]?[0-9]{7,15}$"
-    );
-
-    // Employee ID pattern (alphanumeric, 3-20 characters)
-    private static final Pattern EMPLOYEE_ID_PATTERN = Pattern.compile(
-            "^[A-Za-z0-9]{3,20}$"
-    );
+    private static final String PASSWORD_SPECIAL_CHARACTERS = "!@#$%^&*()_+-=[]{}|;:,.<>?";
 
     /**
-     * Validate email address
+     * Validate email address, as
+     * {@code ^[a-zA-Z0-9_+&*-]+(?:\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\.)+[a-zA-Z]{2,7}$}
      */
     public static boolean isValidEmail(String email) {
-        return email != null && EMAIL_PATTERN.matcher(email).matches();
+        if (email == null) {
+            return false;
+        }
+        int length = email.length();
+        int at = email.indexOf('@');
+        if (at <= 0) {
+            return false;
+        }
+
+        // Local part: non-empty atoms separated by single dots
+        boolean atomStart = true;
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (atomStart) {
+                    return false;
+                }
+                atomStart = true;
+            } else if (isEmailLocalChar(c)) {
+                atomStart = false;
+            } else {
+                return false;
+            }
+        }
+        if (atomStart) {
+            return false;
+        }
+
+        // Domain: at least one non-empty label, a dot, then a 2-7 letter top-level domain
+        int lastDot = email.lastIndexOf('.');
+        if (lastDot <= at + 1) {
+            return false;
+        }
+        int labelStart = at + 1;
+        for (int i = at + 1; i < lastDot; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (i == labelStart) {
+                    return false;
+                }
+                labelStart = i + 1;
+            } else if (!isAsciiLetterOrDigit(c) && c != '-') {
+                return false;
+            }
+        }
+        if (labelStart == lastDot) {
+            return false;
+        }
+        int tldLength = length - lastDot - 1;
+        if (tldLength < 2 || tldLength > 7) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < length; i++) {
+            if (!isAsciiLetter(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Validate phone number
+     * Validate phone number: {@code ^[+]?[1-9]?[0-9]{7,15}$} once whitespace, parentheses and
+     * hyphens are ignored
      */
     public static boolean isValidPhoneNumber(String phone) {
-        return phone != null && PHONE_PATTERN.matcher(phone.replaceAll("[\\s()-]", "")).matches();
+        if (phone == null) {
+            return false;
+        }
+        boolean significant = false;
+        int digits = 0;
+        char firstDigit = 0;
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (isPhoneSeparator(c)) {
+                continue;
+            }
+            if (c == '+' && !significant) {
+                significant = true;
+            } else if (c >= '0' && c <= '9') {
+                if (digits == 0) {
+                    firstDigit = c;
+                }
+                significant = true;
+                digits++;
+            } else {
+                return false;
+            }
+        }
+        // Sixteen digits only when the optional [1-9] prefix takes the first one
+        return (digits >= 7 && digits <= 15) || (digits == 16 && firstDigit != '0');
     }
 
     /**
-     * Validate employee ID
+     * Validate employee ID (alphanumeric, 3-20 characters)
      */
     public static boolean isValidEmployeeId(String employeeId) {
-        return employeeId != null && EMPLOYEE_ID_PATTERN.matcher(employeeId).matches();
+        return employeeId != null && employeeId.length() >= 3 && employeeId.length() <= 20
+                && isAlphanumeric(employeeId);
     }
 
     /**
      * Check if string is not null and not empty
      */
     public static boolean isNotEmpty(String str) {
-        return str != null && !str.trim().isEmpty();
+        return !isEmpty(str);
     }
 
     /**
-     * Check if string is null or empty
+     * Check if string is null or empty, ignoring the characters {@link String#trim()} would remove
      */
     public static boolean isEmpty(String str) {
-        return str == null || str.trim().isEmpty();
+        if (str == null) {
+            return true;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -70,17 +157,35 @@ public class ValidationUtils {
     }
 
     /**
-     * Sanitize string input (remove potentially harmful characters)
+     * Sanitize string input (remove potentially harmful characters): script elements whose
+     * content is on one line, then any remaining HTML tags. Input without {@code <} is returned as is.
      */
     public static String sanitizeInput(String input) {
         if (input == null) {
             return null;
         }
-        
-        // Remove HTML tags and script content
-        return input.replaceAll("<[^>]*>", "")
-                   .replaceAll("(?i)<script[^>]*>.*?</script>", "")
-                   .trim();
+        if (input.indexOf('<') < 0) {
+            return input;
+        }
+        return removeTags(removeScripts(input));
+    }
+
+    /**
+     * Indices of the values the validator rejects, in ascending order, for validating an import
+     * column at a time. Returns a shared empty array when every value passes.
+     */
+    public static int[] invalidIndices(String[] values, Predicate<String> validator) {
+        int[] invalid = NO_INDICES;
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (!validator.test(values[i])) {
+                if (count == invalid.length) {
+                    invalid = Arrays.copyOf(invalid, Math.max(8, count * 2));
+                }
+                invalid[count++] = i;
+            }
+        }
+        return count == invalid.length ? invalid : Arrays.copyOf(invalid, count);
     }
 
     /**
@@ -116,21 +221,46 @@ public class ValidationUtils {
      * Check if a string contains only alphanumeric characters
      */
     public static boolean isAlphanumeric(String str) {
-        return str != null && str.matches("^[a-zA-Z0-9]+$");
+        if (str == null || str.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (!isAsciiLetterOrDigit(str.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
      * Check if a string contains only alphabetic characters
      */
     public static boolean isAlphabetic(String str) {
-        return str != null && str.matches("^[a-zA-Z]+$");
+        if (str == null || str.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (!isAsciiLetter(str.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
      * Check if a string contains only numeric characters
      */
     public static boolean isNumeric(String str) {
-        return str != null && str.matches("^[0-9]+$");
+        if (str == null || str.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -141,12 +271,125 @@ public class ValidationUtils {
         if (password == null || password.length() < 8) {
             return false;
         }
-        
-        boolean hasUpper = password.chars().anyMatch(Character::isUpperCase);
-        boolean hasLower = password.chars().anyMatch(Character::isLowerCase);
-        boolean hasDigit = password.chars().anyMatch(Character::isDigit);
-        boolean hasSpecial = password.chars().anyMatch(ch -> "!@#$%^&*()_+-=[]{}|;:,.<>?".indexOf(ch) >= 0);
-        
+
+        boolean hasUpper = false;
+        boolean hasLower = false;
+        boolean hasDigit = false;
+        boolean hasSpecial = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            hasUpper |= Character.isUpperCase(c);
+            hasLower |= Character.isLowerCase(c);
+            hasDigit |= Character.isDigit(c);
+            hasSpecial |= PASSWORD_SPECIAL_CHARACTERS.indexOf(c) >= 0;
+        }
         return hasUpper && hasLower && hasDigit && hasSpecial;
     }
-}
\ No newline at end of file
+
+    /**
+     * Remove {@code (?i)<script[^>]*>.*?</script>} matches, where {@code .} stops at line terminators
+     */
+    private static String removeScripts(String input) {
+        StringBuilder out = null;
+        int copied = 0;
+        int from = 0;
+        int start;
+        while ((start = input.indexOf('<', from)) >= 0) {
+            int end = startsWithIgnoreAsciiCase(input, start, "<script") ? scriptEnd(input, start) : -1;
+            if (end < 0) {
+                from = start + 1;
+                continue;
+            }
+            if (out == null) {
+                out = new StringBuilder(input.length());
+            }
+            out.append(input, copied, start);
+            copied = end;
+            from = end;
+        }
+        if (out == null) {
+            return input;
+        }
+        return out.append(input, copied, input.length()).toString();
+    }
+
+    /** Index just past the {@code </script>} closing the element opened at start, or -1 */
+    private static int scriptEnd(String input, int start) {
+        int openEnd = input.indexOf('>', start + "<script".length());
+        if (openEnd < 0) {
+            return -1;
+        }
+        for (int i = openEnd + 1; i < input.length(); i++) {
+            if (startsWithIgnoreAsciiCase(input, i, "</script>")) {
+                return i + "</script>".length();
+            }
+            if (isLineTerminator(input.charAt(i))) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /** Remove {@code <[^>]*>} matches */
+    private static String removeTags(String input) {
+        int start = input.indexOf('<');
+        if (start < 0) {
+            return input;
+        }
+        StringBuilder out = null;
+        int copied = 0;
+        while (start >= 0) {
+            int end = input.indexOf('>', start + 1);
+            if (end < 0) {
+                break;
+            }
+            if (out == null) {
+                out = new StringBuilder(input.length());
+            }
+            out.append(input, copied, start);
+            copied = end + 1;
+            start = input.indexOf('<', copied);
+        }
+        if (out == null) {
+            return input;
+        }
+        return out.append(input, copied, input.length()).toString();
+    }
+
+    /** Case-insensitive for ASCII letters only, like a pattern without UNICODE_CASE; prefix is lower case */
+    private static boolean startsWithIgnoreAsciiCase(String input, int offset, String prefix) {
+        if (input.length() - offset < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = input.charAt(offset + i);
+            char expected = prefix.charAt(i);
+            if (c != expected && !(expected >= 'a' && expected <= 'z' && c == expected - ('a' - 'A'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /** Whitespace as in {@code \s}, parentheses and hyphens */
+    private static boolean isPhoneSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r'
+                || c == '(' || c == ')' || c == '-';
+    }
+
+    private static boolean isEmailLocalChar(char c) {
+        return isAsciiLetterOrDigit(c) || c == '_' || c == '+' || c == '&' || c == '*' || c == '-';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+}
@@ -0,0 +1,124 @@
+package com.unifiederp.shared.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditSpoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRecordsDrainInOrderAndSurviveReopen() throws Exception {
+        Path file = tempDir.resolve("audit.spool");
+
+        try (AuditSpool spool = new AuditSpool(file, 4096)) {
+            assertEquals(3, spool.append(List.of(bytes("one"), bytes("two"), bytes("three"))));
+        }
+
+        try (AuditSpool spool = new AuditSpool(file, 4096)) {
+            List<String> drained = new ArrayList<>();
+            assertEquals(2, spool.drain(2, records -> records.forEach(r -> drained.add(text(r)))));
+            assertEquals(1, spool.drain(10, records -> records.forEach(r -> drained.add(text(r)))));
+
+            assertEquals(List.of("one", "two", "three"), drained);
+            assertTrue(spool.isEmpty());
+        }
+    }
+
+    @Test
+    void testFailedConsumerLeavesRecordsInSpool() throws Exception {
+        try (AuditSpool spool = new AuditSpool(tempDir.resolve("audit.spool"), 4096)) {
+            spool.append(List.of(bytes("pending")));
+
+            assertThrows(IllegalStateException.class, () -> spool.drain(10, records -> {
+                throw new IllegalStateException("database down");
+            }));
+
+            List<String> drained = new ArrayList<>();
+            spool.drain(10, records -> records.forEach(r -> drained.add(text(r))));
+            assertEquals(List.of("pending"), drained);
+        }
+    }
+
+    @Test
+    void testAppendsDuringDrainQueueBehindIt() throws Exception {
+        int capacity = AuditSpool.HEADER_SIZE + 3 * (AuditSpool.RECORD_HEADER_SIZE + 5);
+
+        try (AuditSpool spool = new AuditSpool(tempDir.resolve("audit.spool"), capacity)) {
+            spool.append(List.of(bytes("first"), bytes("secnd"), bytes("third")));
+            spool.drain(1, records -> { });
+
+            List<String> drained = new ArrayList<>();
+            spool.drain(10, records -> {
+                records.forEach(r -> drained.add(text(r)));
+                // The lock is free while the records are out; this append compacts the file to fit
+                int appended = assertDoesNotThrow(() -> CompletableFuture
+                        .supplyAsync(() -> spool.append(List.of(bytes("fresh"))))
+                        .get(5, TimeUnit.SECONDS));
+                assertEquals(1, appended);
+                assertFalse(spool.isEmpty());
+                assertEquals(0, spool.drain(10, nested -> fail("a second drain ran concurrently")));
+            });
+            spool.drain(10, records -> records.forEach(r -> drained.add(text(r))));
+
+            assertEquals(List.of("secnd", "third", "fresh"), drained);
+            assertTrue(spool.isEmpty());
+        }
+    }
+
+    @Test
+    void testCapacityIsBoundedAndReclaimedAfterDrain() throws Exception {
+        int capacity = AuditSpool.HEADER_SIZE + 2 * (AuditSpool.RECORD_HEADER_SIZE + 10);
+
+        try (AuditSpool spool = new AuditSpool(tempDir.resolve("audit.spool"), capacity)) {
+            assertEquals(2, spool.append(List.of(new byte[10], new byte[10], new byte[10])));
+            assertEquals(1, spool.getDroppedRecords());
+
+            spool.drain(1, records -> { });
+            assertEquals(1, spool.append(List.of(new byte[10])));
+            assertEquals(1, spool.getDroppedRecords());
+        }
+    }
+
+    @Test
+    void testCorruptedRecordIsSkipped() throws Exception {
+        Path file = tempDir.resolve("audit.spool");
+
+        try (AuditSpool spool = new AuditSpool(file, 4096)) {
+            spool.append(List.of(bytes("first"), bytes("second")));
+        }
+
+        // Flip a byte in the payload of the first record
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(AuditSpool.HEADER_SIZE + AuditSpool.RECORD_HEADER_SIZE);
+            raf.write('F');
+        }
+
+        try (AuditSpool spool = new AuditSpool(file, 4096)) {
+            List<String> drained = new ArrayList<>();
+            spool.drain(10, records -> records.forEach(r -> drained.add(text(r))));
+
+            assertEquals(List.of("second"), drained);
+            assertEquals(1, spool.getCorruptRecords());
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,56 @@
+package com.unifiederp.shared.audit;
+
+import com.unifiederp.shared.entity.AuditLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EntityChangeCollectorTest {
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @InjectMocks
+    private EntityChangeCollector collector;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testLogsOutsideATransactionAreWrittenOncePerRequest() {
+        ServletRequestAttributes request = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(request);
+        AuditLog first = new AuditLog();
+        AuditLog second = new AuditLog();
+
+        collector.collect(first);
+        collector.collect(second);
+        verify(auditLogWriter, never()).writeAsync(any());
+
+        request.requestCompleted();
+        verify(auditLogWriter).writeAsync(List.of(first, second));
+    }
+
+    @Test
+    void testLogsOutsideATransactionAndRequestAreWrittenImmediately() {
+        AuditLog auditLog = new AuditLog();
+
+        collector.collect(auditLog);
+
+        verify(auditLogWriter).writeAsync(List.of(auditLog));
+    }
+}
@@ -0,0 +1,257 @@
+package com.unifiederp.shared.cache;
+
+import com.unifiederp.shared.config.JpaConfig;
+import com.unifiederp.shared.config.SecondLevelCacheConfig;
+import com.unifiederp.shared.entity.Permission;
+import com.unifiederp.shared.entity.Role;
+import com.unifiederp.shared.repository.PermissionRepository;
+import com.unifiederp.shared.repository.RoleRepository;
+import com.unifiederp.shared.tenant.TenantContext;
+import com.unifiederp.shared.tenant.TenantIdentifierResolver;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts three instances of a minimal application on one H2 database. Instances A and B share
+ * an invalidation channel, C listens on another one and so only sees changes once its cache
+ * expires, which shows the cache really serves reads and the broadcast is what keeps A and B correct.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SecondLevelCacheTest {
+
+    private Instance a;
+    private Instance b;
+    private Instance c;
+
+    @BeforeAll
+    void start() {
+        a = new Instance("create", "erp-cache-test");
+        b = new Instance("none", "erp-cache-test");
+        c = new Instance("none", "erp-cache-test-isolated");
+
+        a.inTransaction(entityManager -> {
+            Permission read = new Permission("hrms.read", Permission.Modules.HRMS, Permission.Actions.READ);
+            Permission update = new Permission("hrms.update", Permission.Modules.HRMS, Permission.Actions.UPDATE);
+            entityManager.persist(read);
+            entityManager.persist(update);
+            Role manager = new Role("MANAGER", "Line managers");
+            manager.addPermission(read);
+            manager.addPermission(update);
+            entityManager.persist(manager);
+            for (int i = 0; i < 20; i++) {
+                entityManager.persist(new Permission("report." + i, Permission.Modules.HRMS, Permission.Actions.REPORT));
+            }
+            return null;
+        });
+    }
+
+    @AfterAll
+    void stop() {
+        c.context.close();
+        b.context.close();
+        a.context.close();
+    }
+
+    @Test
+    void testNameLookupsAndCollectionsAreServedFromCache() {
+        Long id = b.roles().findByName("MANAGER").orElseThrow().getId();
+        b.permissionCount(id);
+
+        Statistics statistics = b.statistics();
+        statistics.clear();
+        Role byQuery = b.roles().findByName("MANAGER").orElseThrow();
+        Role byNaturalId = b.inTransaction(entityManager ->
+                entityManager.unwrap(Session.class).bySimpleNaturalId(Role.class).load("MANAGER"));
+        int permissions = b.permissionCount(id);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(id, byQuery.getId());
+        assertEquals(id, byNaturalId.getId());
+        assertEquals(2, permissions);
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+    }
+
+    @Test
+    void testChangesAreEvictedOnOtherInstances() {
+        Long id = a.inTransaction(entityManager -> {
+            Session session = entityManager.unwrap(Session.class);
+            Role supervisor = new Role("SUPERVISOR", "Line managers");
+            supervisor.addPermission(session.bySimpleNaturalId(Permission.class).load("hrms.read"));
+            supervisor.addPermission(session.bySimpleNaturalId(Permission.class).load("hrms.update"));
+            entityManager.persist(supervisor);
+            return supervisor.getId();
+        });
+        for (Instance instance : new Instance[]{a, b, c}) {
+            assertEquals(2, instance.permissionCount(id));
+        }
+
+        a.inTransaction(entityManager -> {
+            Role supervisor = entityManager.find(Role.class, id);
+            supervisor.setDescription("People managers");
+            supervisor.removePermission(entityManager.unwrap(Session.class)
+                    .bySimpleNaturalId(Permission.class).load("hrms.update"));
+            return null;
+        });
+
+        b.statistics().clear();
+        assertEquals("People managers", b.inTransaction(entityManager -> entityManager.find(Role.class, id).getDescription()));
+        assertEquals(1, b.permissionCount(id));
+        assertTrue(b.statistics().getPrepareStatementCount() > 0, "B should have reloaded the evicted role");
+
+        // C is on another channel and keeps serving its cached copy until it expires
+        assertEquals("Line managers", c.inTransaction(entityManager -> entityManager.find(Role.class, id).getDescription()));
+        assertEquals(2, c.permissionCount(id));
+    }
+
+    @Test
+    void testElementChangeEvictsCollectionsHoldingIt() {
+        Long roleId = b.roles().findByName("MANAGER").orElseThrow().getId();
+        Long permissionId = b.permissions().findByName("hrms.read").orElseThrow().getId();
+        b.permissionCount(roleId);
+
+        b.context.getBean(SecondLevelCacheInvalidator.class).onInvalidation(
+                new CacheInvalidation("another-instance", Permission.class.getName(), permissionId, null));
+
+        b.statistics().clear();
+        assertEquals(2, b.permissionCount(roleId));
+        assertEquals(1, b.statistics().getCollectionStatistics(Role.class.getName() + ".permissions").getCacheMissCount());
+    }
+
+    @Test
+    void testGlobalReferenceDataIsCachedOnceForAllTenants() {
+        Long id = a.roles().save(new Role("ONBOARDING", "New starters")).getId();
+        for (Instance instance : new Instance[]{a, b}) {
+            asTenant("acme", () -> instance.inTransaction(entityManager -> entityManager.find(Role.class, id)));
+        }
+
+        b.statistics().clear();
+        asTenant("globex", () -> b.inTransaction(entityManager -> entityManager.find(Role.class, id)));
+        assertEquals(0, b.statistics().getPrepareStatementCount(), "globex should hit the copy acme cached");
+
+        asTenant("globex", () -> a.inTransaction(entityManager -> {
+            entityManager.find(Role.class, id).setDescription("First week");
+            return null;
+        }));
+
+        for (Instance instance : new Instance[]{a, b}) {
+            assertEquals("First week", asTenant("acme", () ->
+                    instance.inTransaction(entityManager -> entityManager.find(Role.class, id).getDescription())));
+        }
+    }
+
+    @Test
+    void testInsertEvictsCachedEmptyLookupOnOtherInstances() {
+        assertTrue(b.roles().findByName("AUDITOR").isEmpty());
+
+        a.roles().save(new Role("AUDITOR", "Read-only access for audits"));
+
+        assertTrue(b.roles().findByName("AUDITOR").isPresent());
+        assertTrue(c.roles().findByName("AUDITOR").isPresent(), "C never cached the empty result");
+    }
+
+    @Test
+    void testRegionsAreBoundedBySettings() {
+        a.inTransaction(entityManager -> {
+            for (int i = 0; i < 20; i++) {
+                a.permissions().findByName("report." + i).orElseThrow();
+            }
+            return null;
+        });
+
+        LocalCacheRegionFactory regionFactory = (LocalCacheRegionFactory) a.sessionFactory()
+                .unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+        assertTrue(regionFactory.estimatedSize("erp.permission") <= 5);
+        assertEquals(-1, regionFactory.estimatedSize("no.such.region"));
+    }
+
+    private static <T> T asTenant(String tenantId, Supplier<T> work) {
+        TenantContext.setTenantId(tenantId);
+        try {
+            return work.get();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Role.class)
+    @EnableJpaRepositories(basePackageClasses = RoleRepository.class)
+    @Import({JpaConfig.class, SecondLevelCacheConfig.class})
+    static class CacheTestApplication {
+    }
+
+    private static final class Instance {
+
+        private final ConfigurableApplicationContext context;
+
+        Instance(String ddlAuto, String channel) {
+            context = new SpringApplicationBuilder(CacheTestApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties(
+                            "spring.datasource.url=jdbc:h2:mem:l2cache;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                            "spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                            "spring.jpa.open-in-view=false",
+                            "spring.jpa.properties.hibernate.generate_statistics=true",
+                            "spring.jpa.properties.hibernate.tenant_identifier_resolver="
+                                    + TenantIdentifierResolver.class.getName(),
+                            "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+                            "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+                            "spring.jpa.properties.hibernate.cache.auto_evict_collection_cache=true",
+                            "spring.jpa.properties.hibernate.cache.region.factory_class=" + LocalCacheRegionFactory.class.getName(),
+                            "spring.jpa.properties.hibernate.cache.local.erp.permission.max_entries=5",
+                            "erp.cache.invalidation.channel=" + channel,
+                            "logging.level.root=WARN")
+                    .run();
+        }
+
+        RoleRepository roles() {
+            return context.getBean(RoleRepository.class);
+        }
+
+        PermissionRepository permissions() {
+            return context.getBean(PermissionRepository.class);
+        }
+
+        SessionFactory sessionFactory() {
+            return context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+        }
+
+        int permissionCount(Long roleId) {
+            Integer count = inTransaction(entityManager -> entityManager.find(Role.class, roleId).getPermissions().size());
+            return count;
+        }
+
+        Statistics statistics() {
+            return sessionFactory().getStatistics();
+        }
+
+        <T> T inTransaction(Function<EntityManager, T> work) {
+            EntityManager entityManager = context.getBean(EntityManager.class);
+            return context.getBean(TransactionTemplate.class).execute(status -> work.apply(entityManager));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.unifiederp.shared.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedPoolDefaultsTest {
+
+    @Test
+    void testSharedSettingsApplyUnlessTheServiceSetsThem() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("service",
+                Map.of("spring.datasource.hikari.maximum-pool-size", "8")));
+
+        new SharedPoolDefaults().postProcessEnvironment(environment, new SpringApplication());
+
+        assertEquals("8", environment.getProperty("spring.datasource.hikari.maximum-pool-size"));
+        assertEquals("60000", environment.getProperty("spring.datasource.hikari.leak-detection-threshold"));
+        // Only the pool settings are shared this way
+        assertNull(environment.getProperty("spring.jpa.hibernate.ddl-auto"));
+    }
+}
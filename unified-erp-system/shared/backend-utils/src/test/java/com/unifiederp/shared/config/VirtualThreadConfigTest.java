@@ -0,0 +1,46 @@
+package com.unifiederp.shared.config;
+
+import com.unifiederp.shared.threads.VirtualThreads;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadConfig.class);
+
+    @Test
+    void testDisabledByDefault() {
+        contextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean("virtualThreadRequestExecutor");
+            assertThat(context).doesNotHaveBean("applicationTaskExecutor");
+        });
+    }
+
+    @Test
+    void testEnabledUsesVirtualThreadsWhereTheRuntimeHasThem() {
+        contextRunner.withPropertyValues("erp.threads.virtual.enabled=true",
+                        "erp.threads.virtual.pinning-diagnostics=false")
+                .withBean(TaskContextConfig.ContextPropagatingTaskDecorator.class)
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    if (!VirtualThreads.isSupported()) {
+                        assertThat(context).doesNotHaveBean(ExecutorService.class);
+                        assertThat(context).doesNotHaveBean("applicationTaskExecutor");
+                        return;
+                    }
+                    assertThat(context).hasBean("virtualThreadRequestExecutor");
+                    TaskExecutorAdapter executor = context.getBean("applicationTaskExecutor", TaskExecutorAdapter.class);
+                    CompletableFuture<String> threadName = new CompletableFuture<>();
+                    executor.execute(() -> threadName.complete(Thread.currentThread().getName()));
+                    assertTrue(threadName.get().startsWith("task-vt-"));
+                });
+    }
+}
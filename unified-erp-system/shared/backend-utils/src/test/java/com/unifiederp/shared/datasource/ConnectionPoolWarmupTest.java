@@ -0,0 +1,55 @@
+package com.unifiederp.shared.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolWarmupTest {
+
+    private HikariDataSource pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:warmup;DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setPoolName("warmup-test");
+        pool.setMinimumIdle(4);
+        pool.setMaximumPoolSize(6);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testWarmUpFillsMinimumIdle() {
+        ConnectionPoolWarmup warmup = new ConnectionPoolWarmup(
+                List.of(pool, new DriverManagerDataSource("jdbc:h2:mem:other")));
+        ReflectionTestUtils.setField(warmup, "warmupEnabled", true);
+        ReflectionTestUtils.setField(warmup, "warmupTimeoutMs", 5000L);
+
+        warmup.warmUp();
+
+        assertTrue(pool.getHikariPoolMXBean().getTotalConnections() >= 4);
+        assertEquals(0, pool.getHikariPoolMXBean().getActiveConnections());
+    }
+
+    @Test
+    void testDisabledWarmUpLeavesPoolUnstarted() {
+        ConnectionPoolWarmup warmup = new ConnectionPoolWarmup(List.of(pool));
+        ReflectionTestUtils.setField(warmup, "warmupEnabled", false);
+
+        warmup.warmUp();
+
+        assertNull(pool.getHikariPoolMXBean());
+    }
+}
@@ -0,0 +1,101 @@
+package com.unifiederp.shared.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCountingDataSourceTest {
+
+    private SimpleMeterRegistry registry;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        DriverManagerDataSource h2 = new DriverManagerDataSource(
+                "jdbc:h2:mem:query-counting;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(new QueryCountingDataSource(h2, new SqlStatisticsRecorder(registry, 60_000)));
+        jdbc.execute("CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(50))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void testCountsStatementsRowsAndTimeInScope() {
+        try (SqlStatistics statistics = SqlStatistics.open("request")) {
+            jdbc.batchUpdate("INSERT INTO items VALUES (?, ?)",
+                    List.of(new Object[]{1, "a"}, new Object[]{2, "b"}, new Object[]{3, "c"}));
+            jdbc.update("UPDATE items SET name = ? WHERE id > ?", "z", 1);
+            List<String> names = jdbc.queryForList("SELECT name FROM items ORDER BY id", String.class);
+
+            assertEquals(3, names.size());
+            assertEquals(3, statistics.getStatements());
+            // 3 inserted + 2 updated + 3 read
+            assertEquals(8, statistics.getRows());
+            assertTrue(statistics.getTimeNanos() > 0);
+        }
+        assertNull(SqlStatistics.current());
+    }
+
+    @Test
+    void testNestedScopesCountTowardsTheirParents() {
+        try (SqlStatistics request = SqlStatistics.open("request")) {
+            jdbc.update("INSERT INTO items VALUES (1, 'a')");
+            try (SqlStatistics repositoryCall = SqlStatistics.open("ItemRepository.findAll")) {
+                jdbc.queryForList("SELECT * FROM items");
+                jdbc.queryForList("SELECT * FROM items");
+                assertEquals(2, repositoryCall.getStatements());
+            }
+            assertSame(request, SqlStatistics.current());
+            assertEquals(3, request.getStatements());
+        }
+    }
+
+    @Test
+    void testStatementsOutsideAnyScopeAreNotCounted() {
+        jdbc.update("INSERT INTO items VALUES (1, 'a')");
+
+        assertNull(SqlStatistics.current());
+    }
+
+    @Test
+    void testAssertAtMostListsFingerprintsWithoutBindValues() throws Exception {
+        SqlStatistics statistics = SqlStatistics.assertAtMost(2, () -> {
+            jdbc.update("INSERT INTO items VALUES (?, ?)", 7, "secret");
+            jdbc.queryForList("SELECT * FROM items WHERE name = 'secret' AND id IN (1, 2, 3)");
+        });
+        assertEquals(List.of("INSERT INTO items VALUES (?)", "SELECT * FROM items WHERE name = ? AND id IN (?)"),
+                statistics.getFingerprints());
+
+        AssertionError error = assertThrows(AssertionError.class, () -> SqlStatistics.assertAtMost(1, () -> {
+            jdbc.queryForList("SELECT * FROM items WHERE id = 7");
+            jdbc.queryForList("SELECT name FROM items");
+        }));
+        assertTrue(error.getMessage().contains("at most 1 SQL statements but 2"));
+        assertTrue(error.getMessage().contains("SELECT * FROM items WHERE id = ?"));
+        assertFalse(error.getMessage().contains("secret"));
+    }
+
+    @Test
+    void testSlowStatementsAreCounted() {
+        DriverManagerDataSource h2 = new DriverManagerDataSource(
+                "jdbc:h2:mem:query-counting;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate everythingSlow = new JdbcTemplate(
+                new QueryCountingDataSource(h2, new SqlStatisticsRecorder(registry, 0)));
+
+        everythingSlow.queryForList("SELECT * FROM items");
+        everythingSlow.queryForList("SELECT * FROM items");
+
+        assertEquals(2, registry.counter("erp.sql.slow").count());
+    }
+}
@@ -0,0 +1,142 @@
+package com.unifiederp.shared.datasource;
+
+import com.unifiederp.shared.config.TaskContextConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica; each knows its own name,
+ * so every query shows where it was routed.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String WHERE_AM_I = "SELECT name FROM db_name";
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("CREATE TABLE replica_status (lag_seconds DOUBLE)");
+        replicaJdbc.update("INSERT INTO replica_status VALUES (0.2)");
+
+        lagMonitor = new ReplicaLagMonitor(replica, "SELECT lag_seconds FROM replica_status", 1000);
+        lagMonitor.checkLag();
+
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, lagMonitor));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbc = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        ReplicaRoutingContext.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+        primaryJdbc.execute("SHUTDOWN");
+        replicaJdbc.execute("SHUTDOWN");
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToReplicaAndWritesToPrimary() {
+        assertEquals("replica", readOnly.execute(status -> jdbc.queryForObject(WHERE_AM_I, String.class)));
+        assertEquals("primary", readWrite.execute(status -> jdbc.queryForObject(WHERE_AM_I, String.class)));
+        assertEquals("primary", jdbc.queryForObject(WHERE_AM_I, String.class));
+    }
+
+    @Test
+    void testLaggingOrUnreachableReplicaFallsBackToPrimary() {
+        replicaJdbc.update("UPDATE replica_status SET lag_seconds = 5");
+        lagMonitor.checkLag();
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", readOnly.execute(status -> jdbc.queryForObject(WHERE_AM_I, String.class)));
+
+        replicaJdbc.update("UPDATE replica_status SET lag_seconds = 0");
+        lagMonitor.checkLag();
+        assertEquals("replica", readOnly.execute(status -> jdbc.queryForObject(WHERE_AM_I, String.class)));
+
+        replicaJdbc.execute("DROP TABLE replica_status");
+        lagMonitor.checkLag();
+        assertTrue(Double.isNaN(lagMonitor.getLagSeconds()));
+        assertEquals("primary", readOnly.execute(status -> jdbc.queryForObject(WHERE_AM_I, String.class)));
+    }
+
+    @Test
+    void testReadsAfterWriteInSameRequestStayOnPrimary() {
+        ReplicaRoutingContext.open();
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE db_name SET name = name"));
+
+        assertTrue(ReplicaRoutingContext.isPinnedToPrimary());
+        assertEquals("primary", readOnly.execute(status -> jdbc.queryForObject(WHERE_AM_I, String.class)));
+
+        ReplicaRoutingContext.clear();
+        assertEquals("replica", readOnly.execute(status -> jdbc.queryForObject(WHERE_AM_I, String.class)));
+    }
+
+    @Test
+    void testPooledThreadsAreNotPinnedAcrossTasks() throws Exception {
+        TaskDecorator decorator = new TaskContextConfig.ContextPropagatingTaskDecorator();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // An @Async task: pinned for the rest of the task that wrote, not for the next one
+            String sameTask = executor.submit(() -> {
+                String[] route = new String[1];
+                decorator.decorate(() -> {
+                    readWrite.executeWithoutResult(status -> jdbc.update("UPDATE db_name SET name = name"));
+                    route[0] = readOnly.execute(status -> jdbc.queryForObject(WHERE_AM_I, String.class));
+                }).run();
+                return route[0];
+            }).get();
+            assertEquals("primary", sameTask);
+            String nextTask = executor.submit(() -> {
+                String[] route = new String[1];
+                decorator.decorate(() ->
+                        route[0] = readOnly.execute(status -> jdbc.queryForObject(WHERE_AM_I, String.class))).run();
+                return route[0];
+            }).get();
+            assertEquals("replica", nextTask);
+
+            // A scheduler or relay thread, outside any request or task, is never pinned
+            String undecorated = executor.submit(() -> {
+                readWrite.executeWithoutResult(status -> jdbc.update("UPDATE db_name SET name = name"));
+                return readOnly.execute(status -> jdbc.queryForObject(WHERE_AM_I, String.class));
+            }).get();
+            assertEquals("replica", undecorated);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE db_name (name VARCHAR(20))");
+        jdbc.update("INSERT INTO db_name VALUES (?)", name);
+        return dataSource;
+    }
+}
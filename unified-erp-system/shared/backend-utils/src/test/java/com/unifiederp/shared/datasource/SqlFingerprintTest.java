@@ -0,0 +1,34 @@
+package com.unifiederp.shared.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlFingerprintTest {
+
+    @Test
+    void testLiteralsAndPlaceholderListsCollapse() {
+        assertEquals("select e1_0.id from employees e1_0 where e1_0.status = ? and e1_0.id in (?) limit ?",
+                SqlFingerprint.of("select e1_0.id from employees e1_0 where e1_0.status = 'ACTIVE' "
+                        + "and e1_0.id in (?, ?,?, 4) limit 20"));
+    }
+
+    @Test
+    void testCommentsAndWhitespaceAreDropped() {
+        assertEquals("select * from audit_logs where user_id = ?",
+                SqlFingerprint.of("/* AuditLogRepository.findByUserId */ select *\n\tfrom audit_logs -- all\n"
+                        + "where user_id = ?  "));
+    }
+
+    @Test
+    void testEscapedQuotesStayInsideTheLiteral() {
+        assertEquals("insert into departments (name) values (?)",
+                SqlFingerprint.of("insert into departments (name) values ('O''Brien''s team')"));
+    }
+
+    @Test
+    void testDigitsInIdentifiersAreKept() {
+        assertEquals("select d1_0.name from departments d1_0 where d1_0.budget > ?",
+                SqlFingerprint.of("select d1_0.name from departments d1_0 where d1_0.budget > 1000.50"));
+    }
+}
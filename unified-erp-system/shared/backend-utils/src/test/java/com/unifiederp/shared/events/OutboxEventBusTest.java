@@ -0,0 +1,230 @@
+package com.unifiederp.shared.events;
+
+import com.unifiederp.shared.config.EventBusConfig;
+import com.unifiederp.shared.entity.OutboxEvent;
+import com.unifiederp.shared.entity.ProcessedEvent;
+import com.unifiederp.shared.repository.OutboxEventRepository;
+import com.unifiederp.shared.repository.ProcessedEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Publishes events through the outbox of a minimal application on H2 and relays them to a
+ * recording in-memory broker with one idempotent handler subscribed.
+ */
+@SpringBootTest(classes = OutboxEventBusTest.EventBusTestApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.tenant_identifier_resolver=com.unifiederp.shared.tenant.TenantIdentifierResolver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.open-in-view=false",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=20",
+        "integration.events.relay.interval-ms=3600000",
+        "integration.events.relay.max-attempts=3"
+})
+class OutboxEventBusTest {
+
+    @Autowired
+    private DomainEventPublisher publisher;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private RecordingEventBroker broker;
+
+    @Autowired
+    private CountingHandler handler;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ProcessedEventRepository processedEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        relay.relay();
+        outboxEventRepository.deleteAll();
+        processedEventRepository.deleteAll();
+        broker.batchSizes.clear();
+        handler.attempts.clear();
+        handler.handled.set(0);
+        handler.handledAggregates.clear();
+    }
+
+    @Test
+    void testEventsAreRelayedAfterCommitOnly() throws InterruptedException {
+        transactionTemplate.executeWithoutResult(status -> {
+            publish("1", "employee.updated", 0);
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> publish("2", "employee.created", 0));
+
+        // The commit wakes the relay; the polling interval is an hour
+        long deadline = System.currentTimeMillis() + 5000;
+        while (handler.handled.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, handler.handled.get());
+        // Waits for the woken run to commit
+        assertEquals(0, relay.relay());
+
+        assertEquals(1, outboxEventRepository.count());
+        OutboxEvent event = outboxEventRepository.findAll().get(0);
+        assertEquals("employee.created", event.getEventType());
+        assertEquals("2", event.getAggregateId());
+        assertNotNull(event.getPublishedAt());
+    }
+
+    @Test
+    void testRelayDeliversInBatches() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 250; i++) {
+                publish(String.valueOf(i), "employee.updated", 0);
+            }
+        });
+
+        relay.relay();
+
+        assertEquals(List.of(100, 100, 50), broker.batchSizes);
+        assertEquals(250, handler.handled.get());
+        assertTrue(outboxEventRepository.findAll().stream().allMatch(event -> event.getPublishedAt() != null));
+    }
+
+    @Test
+    void testRedeliveredEventIsHandledOnce() {
+        transactionTemplate.executeWithoutResult(status -> publish("7", "employee.updated", 0));
+        relay.relay();
+        EventEnvelope delivered = EventEnvelope.of(outboxEventRepository.findAll().get(0));
+
+        broker.publish(List.of(delivered));
+
+        // The duplicate is recognised before the handler runs
+        assertEquals(1, handler.handled.get());
+        assertEquals(1, handler.attempts.get(delivered.eventId()).get());
+        assertTrue(processedEventRepository.existsById(
+                new ProcessedEvent.Key(CountingHandler.NAME, delivered.eventId())));
+    }
+
+    @Test
+    void testFailedEventIsRetriedInOrderThenSetAside() {
+        // Written straight to the outbox, so no commit wakes the relay in between the runs below
+        outboxEventRepository.saveAll(List.of(
+                new OutboxEvent("Employee", "1", "employee.updated", Map.of("failures", 0)),
+                new OutboxEvent("Employee", "2", "employee.updated", Map.of("failures", 1)),
+                new OutboxEvent("Employee", "3", "employee.updated", Map.of("failures", Integer.MAX_VALUE)),
+                new OutboxEvent("Employee", "4", "employee.updated", Map.of("failures", 0))));
+
+        // The failed batch is retried event by event: 2 succeeds on its retry, 3 fails and 4 must wait
+        relay.relay();
+        assertEquals(List.of("1", "2"), handler.handledAggregates);
+
+        relay.relay();
+        relay.relay();
+        assertEquals(List.of("1", "2"), handler.handledAggregates);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        relay.bindTo(registry);
+        assertEquals(1, registry.get("erp.outbox.undeliverable").gauge().value());
+
+        // 3 has failed max-attempts times and is set aside, so 4 goes through
+        relay.relay();
+        assertEquals(List.of("1", "2", "4"), handler.handledAggregates);
+        OutboxEvent poison = outboxEventRepository.findAll().stream()
+                .filter(event -> event.getAggregateId().equals("3")).findFirst().orElseThrow();
+        assertNull(poison.getPublishedAt());
+        assertEquals(3, poison.getAttempts());
+    }
+
+    @Test
+    void testPublishingOutsideTransactionFails() {
+        assertThrows(IllegalStateException.class, () -> publish("1", "employee.updated", 0));
+    }
+
+    private void publish(String employeeId, String eventType, int failures) {
+        publisher.publish("Employee", employeeId, eventType, Map.of("failures", failures));
+    }
+
+    /**
+     * Handles employee events, failing each event the number of times its payload asks for.
+     */
+    static class CountingHandler implements DomainEventHandler {
+
+        static final String NAME = "counting-handler";
+
+        final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        final AtomicInteger handled = new AtomicInteger();
+        final List<String> handledAggregates = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String consumerName() {
+            return NAME;
+        }
+
+        @Override
+        public boolean handles(EventEnvelope event) {
+            return event.eventType().startsWith("employee.");
+        }
+
+        @Override
+        public void handle(EventEnvelope event) {
+            int attempt = attempts.computeIfAbsent(event.eventId(), id -> new AtomicInteger()).incrementAndGet();
+            if (attempt <= ((Number) event.payload().get("failures")).intValue()) {
+                throw new IllegalStateException("Failing attempt " + attempt + " of event " + event.eventId());
+            }
+            handled.incrementAndGet();
+            handledAggregates.add(event.aggregateId());
+        }
+    }
+
+    static class RecordingEventBroker extends InMemoryEventBroker {
+
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(List<EventEnvelope> batch) {
+            batchSizes.add(batch.size());
+            super.publish(batch);
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = OutboxEvent.class)
+    @EnableJpaRepositories(basePackageClasses = OutboxEventRepository.class)
+    @Import(EventBusConfig.class)
+    static class EventBusTestApplication {
+
+        @Bean
+        @Primary
+        RecordingEventBroker recordingEventBroker() {
+            return new RecordingEventBroker();
+        }
+
+        @Bean
+        CountingHandler countingHandler() {
+            return new CountingHandler();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.unifiederp.shared.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.unifiederp.shared.dto.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorBodyTemplateTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final ErrorBodyTemplate template = ErrorBodyTemplate.builder()
+            .slot("timestamp")
+            .constant("status", 404)
+            .constant("error", "Not Found")
+            .slot("message")
+            .slot("path")
+            .omitNulls()
+            .build();
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"", "Employee not found with id: 42", "quote \" backslash \\ slash /",
+            "tab\tnewline\ncontrol\u0001", "caf\u00E9 \u2028 \uD83D\uDE00"})
+    void testRendersWhatJacksonWrites(String message) throws Exception {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0, 0, 120_000_000);
+        ErrorResponse response = ErrorResponse.builder()
+                .timestamp(now)
+                .status(404)
+                .error("Not Found")
+                .message(message)
+                .path("/api/employees/42")
+                .build();
+
+        byte[] rendered = template.render(now.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                message, "/api/employees/42");
+
+        assertEquals(objectMapper.writeValueAsString(response), new String(rendered, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testTimestampIsParsedBack() throws Exception {
+        String body = new String(template.render(ErrorBodyTemplate.timestamp(), "m", "/p"), StandardCharsets.UTF_8);
+
+        assertNotNull(objectMapper.readValue(body, ErrorResponse.class).getTimestamp());
+    }
+
+    @Test
+    void testRejectsWrongNumberOfValues() {
+        assertThrows(IllegalArgumentException.class, () -> template.render("only one"));
+    }
+
+    @Test
+    void testBusinessExceptionsHaveNoStackTrace() {
+        assertEquals(0, new ResourceNotFoundException("Employee", "id", 42).getStackTrace().length);
+        assertEquals(0, new BusinessException("Rejected").getStackTrace().length);
+        BusinessException wrapped = new BusinessException("Rejected", new IllegalStateException("cause"));
+        assertEquals(0, wrapped.getStackTrace().length);
+        assertTrue(wrapped.getCause().getStackTrace().length > 0);
+    }
+}
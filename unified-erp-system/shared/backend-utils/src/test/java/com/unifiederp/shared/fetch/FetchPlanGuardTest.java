@@ -0,0 +1,180 @@
+package com.unifiederp.shared.fetch;
+
+import com.unifiederp.shared.config.JpaConfig;
+import com.unifiederp.shared.entity.Department;
+import com.unifiederp.shared.entity.Employee;
+import com.unifiederp.shared.entity.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.SpecHints;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Five managers with three reports each in one department. Traversing the collections must go
+ * through an entity graph or a declared, batched fetch plan; anything else fails.
+ */
+@SpringBootTest(classes = FetchPlanGuardTest.FetchPlanTestApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:fetchplan;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.tenant_identifier_resolver=com.unifiederp.shared.tenant.TenantIdentifierResolver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.open-in-view=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "erp.jpa.fetch-plan-guard=fail"
+})
+class FetchPlanGuardTest {
+
+    private static final String FETCH_GRAPH = SpecHints.HINT_SPEC_FETCH_GRAPH;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        inTransaction(entityManager -> {
+            entityManager.createQuery("update Employee e set e.manager = null").executeUpdate();
+            entityManager.createQuery("delete from Employee").executeUpdate();
+            entityManager.createQuery("delete from Department").executeUpdate();
+            entityManager.createQuery("delete from Role").executeUpdate();
+
+            Role engineer = new Role("ENGINEER", "Builds things");
+            entityManager.persist(engineer);
+            Department engineering = new Department("Engineering");
+            entityManager.persist(engineering);
+            for (int m = 0; m < 5; m++) {
+                Employee manager = employee("manager" + m, engineering, engineer, null);
+                entityManager.persist(manager);
+                for (int r = 0; r < 3; r++) {
+                    entityManager.persist(employee("report" + m + "." + r, engineering, engineer, manager));
+                }
+            }
+            return null;
+        });
+    }
+
+    @Test
+    void testLazyTraversalOutsideFetchPlanFails() {
+        FetchPlanViolationException violation = assertThrows(FetchPlanViolationException.class, () ->
+                inTransaction(entityManager -> managers(entityManager).get(0).getDirectReports().size()));
+        assertEquals(FetchPlan.role(Employee.class, "directReports"), violation.getRole());
+
+        // Counting queries the size without loading the collection
+        inTransaction(entityManager -> {
+            Employee manager = managers(entityManager).get(0);
+            assertTrue(manager.isManager());
+            assertFalse(Hibernate.isInitialized(manager.getDirectReports()));
+            return null;
+        });
+    }
+
+    @Test
+    void testEntityGraphsLoadCollectionsInTheQuery() {
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        inTransaction(entityManager -> {
+            List<Employee> managers = entityManager.createQuery(
+                            "select e from Employee e where e.manager is null", Employee.class)
+                    .setHint(FETCH_GRAPH, entityManager.getEntityGraph(Employee.Graphs.WITH_DIRECT_REPORTS))
+                    .getResultList();
+            assertEquals(5, managers.size());
+            managers.forEach(manager -> assertEquals(3, manager.getDirectReports().size()));
+            return null;
+        });
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        inTransaction(entityManager -> {
+            Department department = entityManager.createQuery("select d from Department d", Department.class)
+                    .setHint(FETCH_GRAPH, entityManager.getEntityGraph(Department.Graphs.WITH_EMPLOYEES))
+                    .getSingleResult();
+            assertEquals(20, department.getEmployees().size());
+            department.getEmployees().forEach(employee -> assertEquals("ENGINEER", employee.getRole().getName()));
+            return null;
+        });
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testDeclaredFetchPlanLoadsCollectionsInBatches() {
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        int reports = inTransaction(entityManager -> {
+            try (FetchPlan.Scope ignored = FetchPlan.allow(Employee.class, "directReports")) {
+                return managers(entityManager).stream().mapToInt(manager -> manager.getDirectReports().size()).sum();
+            }
+        });
+
+        assertEquals(15, reports);
+        // The managers, then every manager's reports in one batch
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertFalse(FetchPlan.allows(FetchPlan.role(Employee.class, "directReports")));
+    }
+
+    @Test
+    void testRemovingManagerDoesNotCascadeToReports() {
+        inTransaction(entityManager -> {
+            Employee manager = managers(entityManager).get(0);
+            entityManager.createQuery("update Employee e set e.manager = null where e.manager = :manager")
+                    .setParameter("manager", manager)
+                    .executeUpdate();
+            entityManager.remove(entityManager.merge(manager));
+            return null;
+        });
+
+        Long remaining = inTransaction(entityManager ->
+                entityManager.createQuery("select count(e) from Employee e", Long.class).getSingleResult());
+        assertEquals(19, remaining);
+    }
+
+    private static Employee employee(String name, Department department, Role role, Employee manager) {
+        Employee employee = new Employee(name, "Employee", name + "@company.com");
+        employee.setDepartment(department);
+        employee.setRole(role);
+        employee.setManager(manager);
+        return employee;
+    }
+
+    private static List<Employee> managers(EntityManager entityManager) {
+        return entityManager.createQuery("select e from Employee e where e.manager is null order by e.firstName", Employee.class)
+                .getResultList();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private <T> T inTransaction(Function<EntityManager, T> work) {
+        return transactionTemplate.execute(status -> work.apply(entityManager));
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Employee.class)
+    @Import({JpaConfig.class, FetchPlanGuard.class})
+    static class FetchPlanTestApplication {
+    }
+}
@@ -0,0 +1,67 @@
+package com.unifiederp.shared.filter;
+
+import com.unifiederp.shared.audit.AuditContext;
+import com.unifiederp.shared.audit.AuditContextHolder;
+import com.unifiederp.shared.config.TaskContextConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditContextFilterTest {
+
+    private final AuditContextFilter filter = new AuditContextFilter();
+
+    @Test
+    void testContextCapturedForRequestAndClearedAfterwards() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.addHeader("X-User-Id", "user-42");
+        request.addHeader("X-Forwarded-For", "10.0.0.7, 172.16.0.1");
+        request.addHeader("User-Agent", "JUnit");
+        AtomicReference<AuditContext> seen = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                new MockFilterChain(new jakarta.servlet.http.HttpServlet() {}) {
+                    @Override
+                    public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                        seen.set(AuditContextHolder.getContext());
+                    }
+                });
+
+        assertEquals("user-42", seen.get().getUserId());
+        assertEquals("10.0.0.7", seen.get().getIpAddress());
+        assertEquals("JUnit", seen.get().getUserAgent());
+        assertNull(seen.get().getSessionId());
+        assertNull(request.getSession(false)); // no session created as a side effect
+        assertSame(AuditContext.SYSTEM, AuditContextHolder.getContext());
+    }
+
+    @Test
+    void testTaskDecoratorPropagatesContextToExecutorThread() throws Exception {
+        AuditContext context = new AuditContext("user-7", "192.168.1.1", "JUnit", "session-1");
+        TaskContextConfig.ContextPropagatingTaskDecorator decorator = new TaskContextConfig.ContextPropagatingTaskDecorator();
+        AtomicReference<AuditContext> seen = new AtomicReference<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            AuditContextHolder.setContext(context);
+            Runnable task = decorator.decorate(() -> seen.set(AuditContextHolder.getContext()));
+            AuditContextHolder.clearContext();
+
+            CompletableFuture.runAsync(task, executor).get();
+            assertSame(context, seen.get());
+
+            CompletableFuture.runAsync(() -> seen.set(AuditContextHolder.getContext()), executor).get();
+            assertSame(AuditContext.SYSTEM, seen.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.unifiederp.shared.filter;
+
+import com.unifiederp.shared.security.PermissionHeaderCodec;
+import com.unifiederp.shared.security.PermissionSet;
+import com.unifiederp.shared.tenant.TenantContext;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantFilterTest {
+
+    private static final String SECRET = "test-permission-secret";
+
+    private final TenantFilter filter = new TenantFilter(SECRET);
+
+    @Test
+    void testSignedTenantIsSetForTheRequestAndClearedAfterwards() throws Exception {
+        MockHttpServletRequest request = request("acme", signedFor("acme"));
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        MockHttpServletResponse response = filter(request, seen);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("acme", seen.get());
+        assertEquals(TenantContext.DEFAULT_TENANT, TenantContext.getTenantId());
+    }
+
+    @Test
+    void testTenantNotCoveredBySignedHeaderIsRejected() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        // Swapped tenant on a genuine header, and a tenant header with no permission header at all
+        assertEquals(403, filter(request("globex", signedFor("acme")), seen).getStatus());
+        assertEquals(403, filter(request("globex", null), seen).getStatus());
+        assertNull(seen.get());
+    }
+
+    @Test
+    void testRequestsWithoutTenantRunAsDefaultAndMalformedOnesAreRejected() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        assertEquals(200, filter(new MockHttpServletRequest("GET", "/actuator/health"), seen).getStatus());
+        assertEquals(TenantContext.DEFAULT_TENANT, seen.get());
+        assertEquals(400, filter(request("acme corp", signedFor("acme corp")), new AtomicReference<>()).getStatus());
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, AtomicReference<String> seen)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new jakarta.servlet.http.HttpServlet() {}) {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                seen.set(TenantContext.getTenantId());
+            }
+        });
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String tenantId, String permissions) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.addHeader("X-User-Id", "user-42");
+        request.addHeader("X-User-Role", "EMPLOYEE");
+        request.addHeader(TenantContext.HEADER, tenantId);
+        if (permissions != null) {
+            request.addHeader(PermissionHeaderCodec.HEADER, permissions);
+        }
+        return request;
+    }
+
+    private static String signedFor(String tenantId) {
+        return new PermissionHeaderCodec(SECRET).encode("user-42", "EMPLOYEE", tenantId, 0, PermissionSet.EMPTY,
+                Instant.now().getEpochSecond() + 60);
+    }
+}
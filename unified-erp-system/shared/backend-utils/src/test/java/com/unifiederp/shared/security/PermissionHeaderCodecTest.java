@@ -0,0 +1,89 @@
+package com.unifiederp.shared.security;
+
+import com.unifiederp.shared.util.SecurityUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Instant;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PermissionHeaderCodecTest {
+
+    private static final long NOW = 1_700_000_000L;
+
+    private final PermissionHeaderCodec codec = new PermissionHeaderCodec("test-secret");
+    private final PermissionSet permissions = permissions(0, 3, 70);
+
+    @Test
+    void testRoundTrip() {
+        String header = codec.encode("user-1", "MANAGER", "acme", 0xCAFE, permissions, NOW + 60);
+
+        PermissionHeaderCodec.Decoded decoded = codec.decode(header, "user-1", "MANAGER", "acme", NOW);
+
+        assertNotNull(decoded);
+        assertEquals(0xCAFE, decoded.getFingerprint());
+        assertEquals(permissions, decoded.getPermissions());
+    }
+
+    @Test
+    void testRejectsTamperedExpiredOrReboundHeaders() {
+        String header = codec.encode("user-1", "EMPLOYEE", "acme", -5, permissions, NOW + 60);
+        String[] parts = header.split("\\.");
+
+        String widened = String.join(".", parts[0], parts[1], parts[2], "_w", parts[4]);
+        assertNull(codec.decode(widened, "user-1", "EMPLOYEE", "acme", NOW));
+        assertNull(codec.decode(header, "user-2", "EMPLOYEE", "acme", NOW));
+        assertNull(codec.decode(header, "user-1", "ADMIN", "acme", NOW));
+        assertNull(codec.decode(header, "user-1", "EMPLOYEE", "globex", NOW));
+        assertNull(codec.decode(header, "user-1", "EMPLOYEE", "acme", NOW + 61));
+        assertNull(new PermissionHeaderCodec("other-secret").decode(header, "user-1", "EMPLOYEE", "acme", NOW));
+        assertNull(codec.decode("garbage", "user-1", "EMPLOYEE", "acme", NOW));
+    }
+
+    @Test
+    void testFieldBoundariesAreSigned() {
+        String header = codec.encode("a|b", "c", "acme", 0, permissions, NOW + 60);
+
+        assertNotNull(codec.decode(header, "a|b", "c", "acme", NOW));
+        assertNull(codec.decode(header, "a", "b|c", "acme", NOW));
+        assertNull(codec.decode(codec.encode("user-1", "EMPLOYEE", null, 0, permissions, NOW + 60),
+                "user-1", "EMPLOYEE", "null", NOW));
+    }
+
+    @Test
+    void testAuthenticateFromHeaders() {
+        PermissionCatalog catalog = mock(PermissionCatalog.class);
+        when(catalog.getFingerprint()).thenReturn(42);
+        when(catalog.permissionId("HRMS", "READ")).thenReturn(3);
+        when(catalog.permissionId("HRMS", "DELETE")).thenReturn(4);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-User-Id", "user-1");
+        request.addHeader("X-User-Role", "MANAGER");
+        request.addHeader("X-Tenant-Id", "acme");
+        request.addHeader(PermissionHeaderCodec.HEADER,
+                codec.encode("user-1", "MANAGER", "acme", 42, permissions, Instant.now().getEpochSecond() + 60));
+
+        PermissionAuthentication authentication = SecurityUtils.authenticateFromHeaders(request, codec, catalog);
+
+        assertNotNull(authentication);
+        assertEquals("user-1", authentication.getName());
+        assertTrue(authentication.hasPermission("HRMS", "READ"));
+        assertFalse(authentication.hasPermission("HRMS", "DELETE"));
+
+        // A catalog with different ids must not interpret the bits
+        when(catalog.getFingerprint()).thenReturn(43);
+        assertTrue(SecurityUtils.authenticateFromHeaders(request, codec, catalog).getPermissions().isEmpty());
+    }
+
+    private static PermissionSet permissions(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return PermissionSet.of(bits);
+    }
+}
@@ -0,0 +1,108 @@
+package com.unifiederp.shared.security;
+
+import com.unifiederp.shared.entity.Permission;
+import com.unifiederp.shared.entity.Role;
+import com.unifiederp.shared.repository.PermissionRepository;
+import com.unifiederp.shared.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PermissionResolverTest {
+
+    private RoleRepository roleRepository;
+    private PermissionRepository permissionRepository;
+    private PermissionResolver resolver;
+
+    private final Permission hrmsRead = new Permission("hrms.read", Permission.Modules.HRMS, Permission.Actions.READ);
+    private final Permission hrmsUpdate = new Permission("hrms.update", Permission.Modules.HRMS, Permission.Actions.UPDATE);
+    private final Permission invoiceRead = new Permission("invoice.read", Permission.Modules.INVOICE, Permission.Actions.READ);
+
+    @BeforeEach
+    void setUp() {
+        roleRepository = mock(RoleRepository.class);
+        permissionRepository = mock(PermissionRepository.class);
+        resolver = new PermissionResolver(roleRepository, permissionRepository, mock(PlatformTransactionManager.class));
+
+        Role employee = role("EMPLOYEE", 1, hrmsRead);
+        Role manager = role("MANAGER", 2, hrmsUpdate);
+        Role accountant = role("ACCOUNTANT", 2, invoiceRead);
+
+        when(permissionRepository.findByIsActiveTrue()).thenReturn(List.of(hrmsRead, hrmsUpdate, invoiceRead));
+        when(roleRepository.findAllActiveWithPermissions()).thenReturn(List.of(manager, employee, accountant));
+        resolver.refresh();
+    }
+
+    @Test
+    void testRoleInheritsPermissionsOfLowerLevels() {
+        assertTrue(resolver.hasPermission("MANAGER", Permission.Modules.HRMS, Permission.Actions.READ));
+        assertTrue(resolver.hasPermission("MANAGER", Permission.Modules.HRMS, Permission.Actions.UPDATE));
+        assertFalse(resolver.hasPermission("EMPLOYEE", Permission.Modules.HRMS, Permission.Actions.UPDATE));
+
+        // Roles on the same level do not inherit from each other
+        assertFalse(resolver.hasPermission("MANAGER", Permission.Modules.INVOICE, Permission.Actions.READ));
+        assertEquals(2, resolver.getEffectivePermissions("ACCOUNTANT").size());
+    }
+
+    @Test
+    void testLookupByIdAndUnknownValues() {
+        int id = resolver.permissionId(Permission.Modules.HRMS, Permission.Actions.UPDATE);
+
+        assertTrue(id >= 0);
+        assertEquals("HRMS:UPDATE", resolver.getPermissionName(id));
+        assertTrue(resolver.hasPermission("manager", id));
+        assertEquals(-1, resolver.permissionId(Permission.Modules.QUIZ, Permission.Actions.DELETE));
+        assertFalse(resolver.hasPermission("UNKNOWN", id));
+        assertFalse(resolver.hasPermission(null, id));
+    }
+
+    @Test
+    void testFailedRefreshKeepsPreviousTable() {
+        int fingerprint = resolver.getFingerprint();
+        when(roleRepository.findAllActiveWithPermissions()).thenThrow(new IllegalStateException("database down"));
+
+        resolver.refresh();
+
+        assertEquals(fingerprint, resolver.getFingerprint());
+        assertTrue(resolver.hasPermission("EMPLOYEE", Permission.Modules.HRMS, Permission.Actions.READ));
+    }
+
+    @Test
+    void testFingerprintCoversRoleGrants() {
+        int fingerprint = resolver.getFingerprint();
+        // Same permissions, but the accountant now also gets HRMS:UPDATE
+        when(roleRepository.findAllActiveWithPermissions()).thenReturn(List.of(
+                role("MANAGER", 2, hrmsUpdate), role("EMPLOYEE", 1, hrmsRead),
+                role("ACCOUNTANT", 2, invoiceRead, hrmsUpdate)));
+
+        resolver.refresh();
+
+        assertNotEquals(fingerprint, resolver.getFingerprint());
+        assertTrue(resolver.hasPermission("ACCOUNTANT", Permission.Modules.HRMS, Permission.Actions.UPDATE));
+    }
+
+    @Test
+    void testPermissionSetRoundTripsThroughLongArray() {
+        PermissionSet permissions = resolver.getEffectivePermissions("MANAGER");
+
+        assertEquals(permissions, PermissionSet.fromLongArray(permissions.toLongArray()));
+        assertFalse(permissions.contains(-1));
+        assertFalse(permissions.contains(1000));
+        verify(roleRepository, never()).findByName(any());
+    }
+
+    private static Role role(String name, int level, Permission... permissions) {
+        Role role = new Role(name);
+        role.setHierarchyLevel(level);
+        for (Permission permission : permissions) {
+            role.getPermissions().add(permission);
+        }
+        return role;
+    }
+}
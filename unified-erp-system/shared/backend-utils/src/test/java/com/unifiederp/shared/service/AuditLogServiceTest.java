@@ -0,0 +1,52 @@
+package com.unifiederp.shared.service;
+
+import com.unifiederp.shared.audit.AuditContext;
+import com.unifiederp.shared.audit.EntityChangeCollector;
+import com.unifiederp.shared.entity.AuditLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogServiceTest {
+
+    @Mock
+    private EntityChangeCollector entityChangeCollector;
+
+    @InjectMocks
+    private AuditLogService auditLogService;
+
+    private final AuditContext context = new AuditContext("user-7", "192.168.1.1", "JUnit", "session-1");
+
+    @Test
+    void testActionIsRecordedForTheGivenUser() {
+        auditLogService.logUserAction("user-42", AuditLogService.Actions.EXPORT, AuditLogService.Modules.HRMS,
+                "Employee", "1", Map.of(), context);
+
+        AuditLog auditLog = collected();
+        assertEquals("user-42", auditLog.getUserId());
+        assertEquals("192.168.1.1", auditLog.getIpAddress());
+    }
+
+    @Test
+    void testActionWithoutUserIsRecordedForTheContextUser() {
+        auditLogService.logUserAction(null, AuditLogService.Actions.EXPORT, AuditLogService.Modules.HRMS,
+                "Employee", "1", Map.of(), context);
+
+        assertEquals("user-7", collected().getUserId());
+    }
+
+    private AuditLog collected() {
+        ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
+        verify(entityChangeCollector).collect(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,194 @@
+package com.unifiederp.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Property checks that the hand-written validators and sanitizer give the same result as the
+ * regular expressions they replaced, on generated inputs biased towards the characters each
+ * pattern cares about. The seed can be changed with {@code -Dvalidation.seed=<n>}.
+ */
+class ValidationUtilsEquivalenceTest {
+
+    private static final int SAMPLES = 20_000;
+
+    private final Random random = new Random(Long.getLong("validation.seed", 20240601L));
+
+    @Test
+    void testEmailMatchesPattern() {
+        String[] tokens = {"a", "Z", "0", "9", "_", "+", "&", "*", "-", ".", "..", "@", "com", "co", "uk",
+                "abcdefgh", "x1", "!", " ", "\n", "\u00E9"};
+        assertEquivalent(() -> random.nextBoolean() ? join(tokens, 8) : structuredEmail(),
+                RegexValidation::isValidEmail, ValidationUtils::isValidEmail);
+    }
+
+    @Test
+    void testPhoneNumberMatchesPattern() {
+        assertEquivalent(() -> generate("0123456789+()- \t\n\u000Bx.", 24),
+                RegexValidation::isValidPhoneNumber, ValidationUtils::isValidPhoneNumber);
+        assertEquivalent(() -> generate("0123456789", 18),
+                RegexValidation::isValidPhoneNumber, ValidationUtils::isValidPhoneNumber);
+    }
+
+    @Test
+    void testCharacterClassesMatchPatterns() {
+        String alphabet = "aZ09Az-_ \u00E9\u0661";
+        assertEquivalent(() -> generate(alphabet, 24),
+                RegexValidation::isValidEmployeeId, ValidationUtils::isValidEmployeeId);
+        assertEquivalent(() -> generate(alphabet, 6),
+                RegexValidation::isAlphanumeric, ValidationUtils::isAlphanumeric);
+        assertEquivalent(() -> generate(alphabet, 6),
+                RegexValidation::isAlphabetic, ValidationUtils::isAlphabetic);
+        assertEquivalent(() -> generate(alphabet, 6),
+                RegexValidation::isNumeric, ValidationUtils::isNumeric);
+    }
+
+    @Test
+    void testEmptinessMatchesTrim() {
+        assertEquivalent(() -> generate(" \t\n\u0000\u001F\u00A0\u2003a", 5),
+                RegexValidation::isEmpty, ValidationUtils::isEmpty);
+    }
+
+    @Test
+    void testPasswordStrengthMatchesStreams() {
+        assertEquivalent(() -> generate("aZ9!?~ \u00C9\u00DF\u0663\u01C5", 14),
+                RegexValidation::isStrongPassword, ValidationUtils::isStrongPassword);
+    }
+
+    @Test
+    void testSanitizeInputMatchesPatterns() {
+        String[] tokens = {"<script>", "<SCRIPT type=\"x\">", "<scriptx", "</script>", "</ScRiPt>", "</script",
+                "<", ">", "<b>", "</b>", "a", " ", "\n", "\r", "\u2028", "\u0085", "<\u017Fcript>", "<scr\u0130pt>"};
+        for (int i = 0; i < SAMPLES; i++) {
+            String input = join(tokens, 12);
+            assertEquals(RegexValidation.sanitizeInput(input), ValidationUtils.sanitizeInput(input),
+                    () -> "sanitizeInput(" + escape(input) + ")");
+        }
+    }
+
+    @Test
+    void testSanitizeInputReturnsCleanInputItself() {
+        String clean = "Quarterly review notes, no follow-up needed.";
+        assertSame(clean, ValidationUtils.sanitizeInput(clean));
+        String unclosed = "a < b";
+        assertSame(unclosed, ValidationUtils.sanitizeInput(unclosed));
+    }
+
+    @Test
+    void testInvalidIndices() {
+        String[] emails = {"a@b.io", "broken", "c@d.org", null, "e@f..com", "g@h.net"};
+
+        assertArrayEquals(new int[]{1, 3, 4}, ValidationUtils.invalidIndices(emails, ValidationUtils::isValidEmail));
+        assertEquals(0, ValidationUtils.invalidIndices(new String[]{"a@b.io", "c@d.org"},
+                ValidationUtils::isValidEmail).length);
+        assertSame(ValidationUtils.invalidIndices(new String[0], ValidationUtils::isValidEmail),
+                ValidationUtils.invalidIndices(new String[]{"EMP001"}, ValidationUtils::isValidEmployeeId));
+
+        String[] invalid = new String[100];
+        int[] indices = ValidationUtils.invalidIndices(invalid, ValidationUtils::isValidPhoneNumber);
+        assertEquals(100, indices.length);
+        assertEquals(99, indices[99]);
+    }
+
+    private void assertEquivalent(Supplier<String> inputs, Predicate<String> expected, Predicate<String> actual) {
+        assertEquals(expected.test(null), actual.test(null), "null input");
+        for (int i = 0; i < SAMPLES; i++) {
+            String input = inputs.get();
+            assertEquals(expected.test(input), actual.test(input), () -> escape(input));
+        }
+    }
+
+    private String structuredEmail() {
+        String local = generate("aZ0_+&*-..", 6);
+        StringBuilder domain = new StringBuilder();
+        int labels = random.nextInt(4);
+        for (int i = 0; i < labels; i++) {
+            domain.append(generate("aZ0-", 4)).append(random.nextInt(8) == 0 ? ".." : ".");
+        }
+        return local + "@" + domain + generate("abcXYZ1", 9);
+    }
+
+    private String generate(String alphabet, int maxLength) {
+        return build(random.nextInt(maxLength + 1), i -> String.valueOf(alphabet.charAt(random.nextInt(alphabet.length()))));
+    }
+
+    private String join(String[] tokens, int maxTokens) {
+        return build(random.nextInt(maxTokens + 1), i -> tokens[random.nextInt(tokens.length)]);
+    }
+
+    private static String build(int parts, Function<Integer, String> part) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < parts; i++) {
+            builder.append(part.apply(i));
+        }
+        return builder.toString();
+    }
+
+    private static String escape(String input) {
+        StringBuilder escaped = new StringBuilder("\"");
+        input.chars().forEach(c -> escaped.append(c < 0x20 || c > 0x7e ? String.format("\\u%04x", c) : String.valueOf((char) c)));
+        return escaped.append('"').toString();
+    }
+
+    /** The regular-expression implementations the validators replaced, as the reference. */
+    private static final class RegexValidation {
+
+        private static final Pattern EMAIL_PATTERN = Pattern.compile(
+                "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+        private static final Pattern PHONE_PATTERN = Pattern.compile("^[+]?[1-9]?[0-9]{7,15}$");
+        private static final Pattern EMPLOYEE_ID_PATTERN = Pattern.compile("^[A-Za-z0-9]{3,20}$");
+
+        static boolean isValidEmail(String email) {
+            return email != null && EMAIL_PATTERN.matcher(email).matches();
+        }
+
+        static boolean isValidPhoneNumber(String phone) {
+            return phone != null && PHONE_PATTERN.matcher(phone.replaceAll("[\\s()-]", "")).matches();
+        }
+
+        static boolean isValidEmployeeId(String employeeId) {
+            return employeeId != null && EMPLOYEE_ID_PATTERN.matcher(employeeId).matches();
+        }
+
+        static boolean isEmpty(String str) {
+            return str == null || str.trim().isEmpty();
+        }
+
+        static boolean isAlphanumeric(String str) {
+            return str != null && str.matches("^[a-zA-Z0-9]+$");
+        }
+
+        static boolean isAlphabetic(String str) {
+            return str != null && str.matches("^[a-zA-Z]+$");
+        }
+
+        static boolean isNumeric(String str) {
+            return str != null && str.matches("^[0-9]+$");
+        }
+
+        static boolean isStrongPassword(String password) {
+            if (password == null || password.length() < 8) {
+                return false;
+            }
+            boolean hasUpper = password.chars().anyMatch(Character::isUpperCase);
+            boolean hasLower = password.chars().anyMatch(Character::isLowerCase);
+            boolean hasDigit = password.chars().anyMatch(Character::isDigit);
+            boolean hasSpecial = password.chars().anyMatch(ch -> "!@#$%^&*()_+-=[]{}|;:,.<>?".indexOf(ch) >= 0);
+            return hasUpper && hasLower && hasDigit && hasSpecial;
+        }
+
+        static String sanitizeInput(String input) {
+            if (input == null) {
+                return null;
+            }
+            return input.replaceAll("(?i)<script[^>]*>.*?</script>", "").replaceAll("<[^>]*>", "");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+-- Baseline ERP schema.
+--
+-- Databases created before migrations existed already hold these tables and are baselined
+-- at version 1 (spring.flyway.baseline-on-migrate), so this script only runs on empty ones.
+-- Keep it portable between Postgres and H2; vendor-specific steps live in db/migration/{vendor}.
+
+CREATE SEQUENCE department_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE employee_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE role_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE permission_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE audit_log_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE departments (
+    id              BIGINT           NOT NULL,
+    name            VARCHAR(255)     NOT NULL,
+    description     VARCHAR(500),
+    manager_id      BIGINT,
+    budget          DOUBLE PRECISION,
+    is_active       BOOLEAN          DEFAULT TRUE,
+    created_at      TIMESTAMP(6)     NOT NULL,
+    updated_at      TIMESTAMP(6),
+    created_by      VARCHAR(255),
+    updated_by      VARCHAR(255),
+    version         BIGINT,
+    CONSTRAINT pk_departments PRIMARY KEY (id),
+    CONSTRAINT uk_departments_name UNIQUE (name)
+);
+
+CREATE TABLE roles (
+    id              BIGINT           NOT NULL,
+    name            VARCHAR(50)      NOT NULL,
+    description     VARCHAR(500),
+    is_active       BOOLEAN          DEFAULT TRUE,
+    hierarchy_level INTEGER          DEFAULT 0,
+    created_at      TIMESTAMP(6)     NOT NULL,
+    updated_at      TIMESTAMP(6),
+    created_by      VARCHAR(255),
+    updated_by      VARCHAR(255),
+    version         BIGINT,
+    CONSTRAINT pk_roles PRIMARY KEY (id),
+    CONSTRAINT uk_roles_name UNIQUE (name)
+);
+
+CREATE TABLE permissions (
+    id              BIGINT           NOT NULL,
+    name            VARCHAR(100)     NOT NULL,
+    description     VARCHAR(500),
+    module          VARCHAR(50)      NOT NULL,
+    action          VARCHAR(50)      NOT NULL,
+    is_active       BOOLEAN          DEFAULT TRUE,
+    created_at      TIMESTAMP(6)     NOT NULL,
+    updated_at      TIMESTAMP(6),
+    created_by      VARCHAR(255),
+    updated_by      VARCHAR(255),
+    version         BIGINT,
+    CONSTRAINT pk_permissions PRIMARY KEY (id),
+    CONSTRAINT uk_permissions_name UNIQUE (name)
+);
+
+CREATE TABLE role_permissions (
+    role_id         BIGINT           NOT NULL,
+    permission_id   BIGINT           NOT NULL,
+    CONSTRAINT pk_role_permissions PRIMARY KEY (role_id, permission_id),
+    CONSTRAINT fk_role_permissions_role FOREIGN KEY (role_id) REFERENCES roles (id),
+    CONSTRAINT fk_role_permissions_permission FOREIGN KEY (permission_id) REFERENCES permissions (id)
+);
+
+CREATE TABLE employees (
+    id               BIGINT           NOT NULL,
+    employee_id      VARCHAR(255)     NOT NULL,
+    first_name       VARCHAR(255)     NOT NULL,
+    last_name        VARCHAR(255)     NOT NULL,
+    email            VARCHAR(255)     NOT NULL,
+    phone            VARCHAR(255),
+    address          VARCHAR(255),
+    department_id    BIGINT           NOT NULL,
+    role_id          BIGINT,
+    manager_id       BIGINT,
+    position         VARCHAR(255)     NOT NULL,
+    start_date       DATE             NOT NULL,
+    end_date         DATE,
+    status           VARCHAR(20)      NOT NULL,
+    salary           DOUBLE PRECISION,
+    supabase_user_id VARCHAR(255),
+    created_at       TIMESTAMP(6)     NOT NULL,
+    updated_at       TIMESTAMP(6),
+    created_by       VARCHAR(255),
+    updated_by       VARCHAR(255),
+    version          BIGINT,
+    CONSTRAINT pk_employees PRIMARY KEY (id),
+    CONSTRAINT uk_employees_employee_id UNIQUE (employee_id),
+    CONSTRAINT uk_employees_email UNIQUE (email),
+    CONSTRAINT uk_employees_supabase_user_id UNIQUE (supabase_user_id),
+    CONSTRAINT fk_employees_department FOREIGN KEY (department_id) REFERENCES departments (id),
+    CONSTRAINT fk_employees_role FOREIGN KEY (role_id) REFERENCES roles (id)
+);
+
+CREATE TABLE audit_logs (
+    id              BIGINT           NOT NULL,
+    user_id         VARCHAR(255)     NOT NULL,
+    action          VARCHAR(50)      NOT NULL,
+    module          VARCHAR(50)      NOT NULL,
+    resource_type   VARCHAR(100),
+    resource_id     VARCHAR(100),
+    description     VARCHAR(500),
+    details         JSONB,
+    timestamp       TIMESTAMP(6)     NOT NULL,
+    ip_address      VARCHAR(45),
+    user_agent      VARCHAR(500),
+    session_id      VARCHAR(100),
+    CONSTRAINT pk_audit_logs PRIMARY KEY (id)
+);
@@ -0,0 +1,35 @@
+-- Indexes for every non-unique repository lookup. Unique lookups (employee_id, email,
+-- department/role/permission name) are served by their unique constraints.
+-- Substring searches (LIKE '%term%') cannot use B-tree indexes and are not covered here.
+
+-- EmployeeRepository: findByDepartmentId, findByDepartmentIdAndStatus,
+-- countActiveEmployeesByDepartment
+CREATE INDEX IF NOT EXISTS idx_employees_department_status ON employees (department_id, status);
+
+-- EmployeeRepository: findByStatus
+CREATE INDEX IF NOT EXISTS idx_employees_status ON employees (status);
+
+-- EmployeeRepository: findByManagerId
+CREATE INDEX IF NOT EXISTS idx_employees_manager ON employees (manager_id);
+
+-- DepartmentRepository: findByManagerId
+CREATE INDEX IF NOT EXISTS idx_departments_manager ON departments (manager_id);
+
+-- Reverse lookup of the roles holding a permission
+CREATE INDEX IF NOT EXISTS idx_role_permissions_permission ON role_permissions (permission_id);
+
+-- AuditLogRepository: findByUserIdOrderByTimestampDesc, findByUserIdAndModuleOrderByTimestampDesc,
+-- countUserActionsSince
+CREATE INDEX IF NOT EXISTS idx_audit_logs_user_timestamp ON audit_logs (user_id, timestamp);
+
+-- AuditLogRepository: findByModuleOrderByTimestampDesc, countModuleActionsSince
+CREATE INDEX IF NOT EXISTS idx_audit_logs_module_timestamp ON audit_logs (module, timestamp);
+
+-- AuditLogRepository: findByResourceTypeAndResourceIdOrderByTimestampDesc
+CREATE INDEX IF NOT EXISTS idx_audit_logs_resource_timestamp ON audit_logs (resource_type, resource_id, timestamp);
+
+-- AuditLogRepository: findByActionSince
+CREATE INDEX IF NOT EXISTS idx_audit_logs_action_timestamp ON audit_logs (action, timestamp);
+
+-- AuditLogRepository: findByTimestampBetweenOrderByTimestampDesc, get*StatisticsSince
+CREATE INDEX IF NOT EXISTS idx_audit_logs_timestamp ON audit_logs (timestamp);
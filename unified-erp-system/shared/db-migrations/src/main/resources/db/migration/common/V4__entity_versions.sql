@@ -0,0 +1,13 @@
+-- Employees and departments are now versioned (@Version) for optimistic locking.
+-- Rows written before that have no version; start them at 0 and make the column mandatory.
+-- Databases baselined from the Hibernate-generated schema never had the column at all.
+
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE employees SET version = 0 WHERE version IS NULL;
+ALTER TABLE employees ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE employees ALTER COLUMN version SET NOT NULL;
+
+ALTER TABLE departments ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE departments SET version = 0 WHERE version IS NULL;
+ALTER TABLE departments ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE departments ALTER COLUMN version SET NOT NULL;
@@ -0,0 +1,32 @@
+-- Transactional outbox for cross-module domain events, and the per-consumer record of handled
+-- events that makes redelivery harmless.
+
+CREATE SEQUENCE outbox_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_events (
+    id              BIGINT           NOT NULL,
+    event_id        VARCHAR(36)      NOT NULL,
+    aggregate_type  VARCHAR(100)     NOT NULL,
+    aggregate_id    VARCHAR(100)     NOT NULL,
+    event_type      VARCHAR(100)     NOT NULL,
+    payload         JSONB,
+    occurred_at     TIMESTAMP(6)     NOT NULL,
+    published_at    TIMESTAMP(6),
+    attempts        INTEGER          DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_outbox_events PRIMARY KEY (id),
+    CONSTRAINT uk_outbox_events_event_id UNIQUE (event_id)
+);
+
+-- OutboxRelay: unpublished events in id order (published_at IS NULL sorts together);
+-- OutboxRelay.deleteExpired: published before the retention cutoff
+CREATE INDEX IF NOT EXISTS idx_outbox_events_published ON outbox_events (published_at, id);
+
+CREATE TABLE processed_events (
+    consumer        VARCHAR(100)     NOT NULL,
+    event_id        VARCHAR(36)      NOT NULL,
+    processed_at    TIMESTAMP(6)     NOT NULL,
+    CONSTRAINT pk_processed_events PRIMARY KEY (consumer, event_id)
+);
+
+-- OutboxRelay.deleteExpired
+CREATE INDEX IF NOT EXISTS idx_processed_events_processed_at ON processed_events (processed_at);
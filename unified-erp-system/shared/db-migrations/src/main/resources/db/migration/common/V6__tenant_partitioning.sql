@@ -0,0 +1,40 @@
+-- Employees and departments belong to a tenant (subsidiary), the X-Tenant-Id the gateway takes from
+-- the caller's token. Hibernate adds tenant_id = ? to every query on them, so each index they are
+-- looked up by leads with tenant_id and one tenant's lookups never range over another's rows.
+-- Existing rows, and tokens without a tenant claim, belong to the 'default' tenant.
+
+ALTER TABLE departments ADD COLUMN tenant_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+ALTER TABLE employees ADD COLUMN tenant_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+
+-- Relayed across tenants, so only recorded for subscribers, not indexed
+ALTER TABLE outbox_events ADD COLUMN tenant_id VARCHAR(64);
+
+-- Employee ids, emails and department names are unique within a tenant. Databases baselined from
+-- the Hibernate-generated schema hold the old constraints under generated names; the vendor
+-- migration after this one looks those up by column.
+ALTER TABLE departments DROP CONSTRAINT IF EXISTS uk_departments_name;
+ALTER TABLE departments ADD CONSTRAINT uk_departments_tenant_name UNIQUE (tenant_id, name);
+ALTER TABLE employees DROP CONSTRAINT IF EXISTS uk_employees_employee_id;
+ALTER TABLE employees ADD CONSTRAINT uk_employees_tenant_employee_id UNIQUE (tenant_id, employee_id);
+ALTER TABLE employees DROP CONSTRAINT IF EXISTS uk_employees_email;
+ALTER TABLE employees ADD CONSTRAINT uk_employees_tenant_email UNIQUE (tenant_id, email);
+
+-- EmployeeRepository: findByDepartmentId, findByDepartmentIdAndStatus,
+-- countActiveEmployeesByDepartment, findIdsByDepartmentIdAndStatusNot
+DROP INDEX IF EXISTS idx_employees_department_status;
+CREATE INDEX IF NOT EXISTS idx_employees_tenant_department_status ON employees (tenant_id, department_id, status);
+
+-- EmployeeRepository: findByStatus, findDTOsByStatus
+DROP INDEX IF EXISTS idx_employees_status;
+CREATE INDEX IF NOT EXISTS idx_employees_tenant_status ON employees (tenant_id, status);
+
+-- EmployeeRepository: findByManagerId, findDTOsByManagerId
+DROP INDEX IF EXISTS idx_employees_manager;
+CREATE INDEX IF NOT EXISTS idx_employees_tenant_manager ON employees (tenant_id, manager_id);
+
+-- EmployeeController: paginated list, sorted by last name by default
+CREATE INDEX IF NOT EXISTS idx_employees_tenant_last_name ON employees (tenant_id, last_name);
+
+-- DepartmentRepository: findByManagerId
+DROP INDEX IF EXISTS idx_departments_manager;
+CREATE INDEX IF NOT EXISTS idx_departments_tenant_manager ON departments (tenant_id, manager_id);
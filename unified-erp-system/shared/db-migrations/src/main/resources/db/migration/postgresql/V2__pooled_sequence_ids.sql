@@ -0,0 +1,33 @@
+-- Move entity ids from IDENTITY columns to pooled sequences.
+--
+-- Hibernate reserves ids in blocks of 50: each nextval() is the top of a block and the
+-- application hands out that value and the 49 below it. Every sequence is therefore positioned so the
+-- first block starts right after the current maximum id of its table.
+--
+-- Ids are assigned by the application from now on. The column identity/defaults are
+-- dropped so a stray INSERT without an id fails instead of colliding with a reserved block.
+
+CREATE SEQUENCE IF NOT EXISTS employee_seq INCREMENT BY 50;
+SELECT setval('employee_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM employees), false);
+ALTER TABLE employees ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE employees ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS department_seq INCREMENT BY 50;
+SELECT setval('department_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM departments), false);
+ALTER TABLE departments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE departments ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS role_seq INCREMENT BY 50;
+SELECT setval('role_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM roles), false);
+ALTER TABLE roles ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE roles ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS permission_seq INCREMENT BY 50;
+SELECT setval('permission_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM permissions), false);
+ALTER TABLE permissions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE permissions ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS audit_log_seq INCREMENT BY 50;
+SELECT setval('audit_log_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM audit_logs), false);
+ALTER TABLE audit_logs ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE audit_logs ALTER COLUMN id DROP DEFAULT;
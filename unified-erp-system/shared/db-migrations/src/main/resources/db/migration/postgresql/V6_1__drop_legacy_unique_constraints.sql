@@ -0,0 +1,21 @@
+-- Drop the single-column unique constraints V6 replaced with per-tenant ones, whatever they are named.
+--
+-- Databases created by ddl-auto=update hold them under Hibernate's generated names
+-- (UK_<hash>) rather than V1's, so they are found by the column they cover.
+
+DO $$
+DECLARE
+    legacy RECORD;
+BEGIN
+    FOR legacy IN
+        SELECT c.conrelid::regclass AS table_name, c.conname AS constraint_name
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+        WHERE c.contype = 'u'
+          AND cardinality(c.conkey) = 1
+          AND ((c.conrelid = 'departments'::regclass AND a.attname = 'name')
+            OR (c.conrelid = 'employees'::regclass AND a.attname IN ('employee_id', 'email')))
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', legacy.table_name, legacy.constraint_name);
+    END LOOP;
+END $$;
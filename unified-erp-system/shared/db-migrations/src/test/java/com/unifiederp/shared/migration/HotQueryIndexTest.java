@@ -0,0 +1,180 @@
+package com.unifiederp.shared.migration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies the migrations to an embedded PostgreSQL, V2 included, and checks with {@code EXPLAIN}
+ * that the planner answers every hot repository query from the expected index rather than a
+ * sequential scan. The statements mirror what Hibernate generates for the repository methods.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HotQueryIndexTest {
+
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+
+    @BeforeAll
+    void migrate() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+
+        connection = postgres.getPostgresDatabase().getConnection();
+        try (Statement statement = connection.createStatement()) {
+            seed(statement);
+            statement.execute("VACUUM ANALYZE");
+        }
+    }
+
+    @AfterAll
+    void close() throws SQLException, IOException {
+        connection.close();
+        postgres.close();
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                // EmployeeRepository; Hibernate adds the session's tenant to every employee and department query
+                // The composite's (tenant_id, department_id) prefix serves the lookup without the status
+                Arguments.of("findByDepartmentId",
+                        "SELECT * FROM employees e WHERE e.tenant_id = 'acme' AND e.department_id = 3",
+                        "idx_employees_tenant_department_status"),
+                Arguments.of("findByDepartmentIdAndStatus",
+                        "SELECT * FROM employees e WHERE e.tenant_id = 'acme' AND e.department_id = 3 "
+                                + "AND e.status = 'ACTIVE'",
+                        "idx_employees_tenant_department_status"),
+                Arguments.of("countActiveEmployeesByDepartment",
+                        "SELECT COUNT(e.id) FROM employees e WHERE e.tenant_id = 'acme' AND e.department_id = 3 "
+                                + "AND e.status = 'ACTIVE'",
+                        "idx_employees_tenant_department_status"),
+                Arguments.of("findByStatus",
+                        "SELECT * FROM employees e WHERE e.tenant_id = 'acme' AND e.status = 'TERMINATED'",
+                        "idx_employees_tenant_status"),
+                Arguments.of("findByManagerId",
+                        "SELECT * FROM employees e WHERE e.tenant_id = 'acme' AND e.manager_id = 7",
+                        "idx_employees_tenant_manager"),
+                // Read in order and stopped after the page, without sorting the tenant
+                Arguments.of("findAll(Pageable) by last name",
+                        "SELECT * FROM employees e WHERE e.tenant_id = 'acme' ORDER BY e.last_name LIMIT 20",
+                        "idx_employees_tenant_last_name"),
+                Arguments.of("findByEmployeeId",
+                        "SELECT * FROM employees e WHERE e.tenant_id = 'acme' AND e.employee_id = 'EMP00042'",
+                        "uk_employees_tenant_employee_id"),
+                Arguments.of("findByEmail",
+                        "SELECT * FROM employees e WHERE e.tenant_id = 'acme' AND e.email = 'employee42@company.com'",
+                        "uk_employees_tenant_email"),
+                // DepartmentRepository
+                Arguments.of("departments.findByManagerId",
+                        "SELECT * FROM departments d WHERE d.tenant_id = 'acme' AND d.manager_id = 7",
+                        "idx_departments_tenant_manager"),
+                Arguments.of("departments.findByName",
+                        "SELECT * FROM departments d WHERE d.tenant_id = 'acme' AND d.name = 'Department 3'",
+                        "uk_departments_tenant_name"),
+                // AuditLogRepository
+                Arguments.of("findByUserIdOrderByTimestampDesc",
+                        "SELECT * FROM audit_logs a WHERE a.user_id = 'user-7' ORDER BY a.timestamp DESC LIMIT 20",
+                        "idx_audit_logs_user_timestamp"),
+                Arguments.of("findByUserIdAndModuleOrderByTimestampDesc",
+                        "SELECT * FROM audit_logs a WHERE a.user_id = 'user-7' AND a.module = 'HRMS' "
+                                + "ORDER BY a.timestamp DESC LIMIT 20",
+                        "idx_audit_logs_user_timestamp"),
+                Arguments.of("countUserActionsSince",
+                        "SELECT COUNT(a.id) FROM audit_logs a WHERE a.user_id = 'user-7' "
+                                + "AND a.timestamp >= TIMESTAMP '2024-06-01 00:00:00'",
+                        "idx_audit_logs_user_timestamp"),
+                Arguments.of("findByModuleOrderByTimestampDesc",
+                        "SELECT * FROM audit_logs a WHERE a.module = 'HRMS' ORDER BY a.timestamp DESC LIMIT 20",
+                        "idx_audit_logs_module_timestamp"),
+                Arguments.of("countModuleActionsSince",
+                        "SELECT COUNT(a.id) FROM audit_logs a WHERE a.module = 'HRMS' "
+                                + "AND a.timestamp >= TIMESTAMP '2024-06-01 00:00:00'",
+                        "idx_audit_logs_module_timestamp"),
+                Arguments.of("findByResourceTypeAndResourceIdOrderByTimestampDesc",
+                        "SELECT * FROM audit_logs a WHERE a.resource_type = 'Employee' AND a.resource_id = '42' "
+                                + "ORDER BY a.timestamp DESC LIMIT 20",
+                        "idx_audit_logs_resource_timestamp"),
+                Arguments.of("findByActionSince",
+                        "SELECT * FROM audit_logs a WHERE a.action = 'DELETE' "
+                                + "AND a.timestamp >= TIMESTAMP '2024-06-01 00:00:00' ORDER BY a.timestamp DESC LIMIT 20",
+                        "idx_audit_logs_action_timestamp"),
+                Arguments.of("findByTimestampBetweenOrderByTimestampDesc",
+                        "SELECT * FROM audit_logs a WHERE a.timestamp BETWEEN TIMESTAMP '2024-06-01 00:00:00' "
+                                + "AND TIMESTAMP '2024-06-02 00:00:00' ORDER BY a.timestamp DESC LIMIT 20",
+                        "idx_audit_logs_timestamp"),
+                // OutboxEventRepository
+                Arguments.of("findUnpublished",
+                        "SELECT * FROM outbox_events o WHERE o.published_at IS NULL AND o.attempts < 10 "
+                                + "ORDER BY o.id LIMIT 100",
+                        "idx_outbox_events_published"),
+                Arguments.of("deletePublishedBefore",
+                        "SELECT o.id FROM outbox_events o WHERE o.published_at < TIMESTAMP '2024-01-02 00:00:00'",
+                        "idx_outbox_events_published")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void testHotQueryUsesIndex(String method, String sql, String expectedIndex) throws SQLException {
+        String plan = explain(sql);
+
+        assertFalse(plan.contains("Seq Scan"), method + " scans the table:\n" + plan);
+        assertTrue(plan.matches("(?s).*(Index Scan( Backward)? using|Index Only Scan( Backward)? using|Bitmap Index Scan on) "
+                + expectedIndex + " .*"), method + " does not use " + expectedIndex + ":\n" + plan);
+    }
+
+    private String explain(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static void seed(Statement statement) throws SQLException {
+        // One large tenant and four small ones, each with its own departments
+        String tenants = "(ARRAY['globex', 'globex', 'globex', 'globex', 'globex', 'acme', 'initech', 'umbrella', 'hooli'])";
+        statement.addBatch("INSERT INTO departments (id, tenant_id, name, manager_id, created_at) "
+                + "SELECT i, " + tenants + "[i % 9 + 1], 'Department ' || i, i, now() FROM generate_series(1, 5000) i");
+        statement.addBatch("INSERT INTO employees (id, tenant_id, employee_id, first_name, last_name, email, "
+                + "department_id, manager_id, position, start_date, status, created_at) "
+                + "SELECT i, " + tenants + "[(i % 200 + 1) % 9 + 1], 'EMP' || lpad(i::text, 5, '0'), 'First', "
+                + "'Last ' || i, 'employee' || i || '@company.com', i % 200 + 1, i % 100 + 1, 'Engineer', "
+                + "DATE '2024-01-01', (ARRAY['ACTIVE', 'ACTIVE', 'ACTIVE', 'ON_LEAVE', 'TERMINATED'])[i % 5 + 1], now() "
+                + "FROM generate_series(1, 20000) i");
+        // A year of entries from 500 users. The filtered-on HRMS entries and deletes are as rare as one
+        // user's; at a few percent, walking idx_audit_logs_timestamp backwards finds a page sooner
+        statement.addBatch("INSERT INTO audit_logs (id, user_id, action, module, resource_type, resource_id, timestamp) "
+                + "SELECT i, 'user-' || i % 500, "
+                + "CASE WHEN i % 500 = 1 THEN 'DELETE' ELSE (ARRAY['CREATE', 'READ', 'READ', 'UPDATE'])[i % 4 + 1] END, "
+                + "CASE WHEN i % 500 = 0 THEN 'HRMS' ELSE (ARRAY['INVOICE', 'QUIZ', 'JOBS', 'CRUD'])[i % 4 + 1] END, "
+                + "'Employee', (i % 2000)::text, "
+                + "TIMESTAMP '2024-01-01 00:00:00' + i * INTERVAL '10 minutes' FROM generate_series(1, 50000) i");
+        statement.addBatch("INSERT INTO outbox_events (id, event_id, aggregate_type, aggregate_id, event_type, "
+                + "occurred_at, published_at) SELECT i, 'event-' || i, 'Employee', i::text, 'employee.updated', now(), "
+                + "CASE WHEN i > 19990 THEN NULL ELSE TIMESTAMP '2024-01-01 00:00:00' + i * INTERVAL '1 minute' END "
+                + "FROM generate_series(1, 20000) i");
+        statement.executeBatch();
+    }
+}
@@ -0,0 +1,100 @@
+package com.unifiederp.shared.migration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upgrades a database created before migrations existed, with the schema Hibernate's
+ * {@code ddl-auto=update} generated from the pre-migration entities, the way a service
+ * finds it on first start: baselined at version 1 so V1 is skipped.
+ */
+class LegacySchemaUpgradeTest {
+
+    private EmbeddedPostgres postgres;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void createLegacySchema() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        try (InputStream script = getClass().getResourceAsStream("/legacy/hibernate_schema.sql");
+             Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(new String(script.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void testVersionColumnsAreAddedAndStartAtZero() throws SQLException {
+        migrate("4");
+
+        for (String table : new String[] {"employees", "departments"}) {
+            assertEquals("NO", query("SELECT is_nullable FROM information_schema.columns "
+                    + "WHERE table_name = '" + table + "' AND column_name = 'version'"), table);
+            assertEquals("0", query("SELECT string_agg(DISTINCT version::text, ',') FROM " + table), table);
+        }
+    }
+
+    @Test
+    void testTenantPartitioningReplacesHibernateNamedUniqueConstraints() throws SQLException {
+        migrate("latest");
+
+        assertEquals("0", query("SELECT count(*) FROM pg_constraint WHERE contype = 'u' AND cardinality(conkey) = 1 "
+                + "AND conrelid IN ('departments'::regclass, 'employees'::regclass)"));
+        assertEquals("default", query("SELECT string_agg(DISTINCT tenant_id, ',') FROM employees"));
+
+        // The same department name, employee id and email may now recur in another tenant, but not in one
+        execute("INSERT INTO departments (id, tenant_id, name, created_at) VALUES (100, 'acme', 'Engineering', now())");
+        execute("INSERT INTO employees (id, tenant_id, employee_id, first_name, last_name, email, department_id, "
+                + "position, start_date, status, created_at) VALUES (100, 'acme', 'EMP001', 'Ada', 'King', "
+                + "'ada@company.com', 100, 'Engineer', DATE '2024-01-01', 'ACTIVE', now())");
+        assertThrows(SQLException.class, () -> execute("INSERT INTO departments (id, tenant_id, name, created_at) "
+                + "VALUES (101, 'default', 'Engineering', now())"));
+    }
+
+    private void migrate(String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private String query(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            assertTrue(resultSet.next(), sql);
+            return resultSet.getString(1);
+        }
+    }
+}
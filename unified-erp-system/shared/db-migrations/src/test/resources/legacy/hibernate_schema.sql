@@ -0,0 +1,26 @@
+-- Schema of a database created before migrations existed, as spring.jpa.hibernate.ddl-auto=update
+-- generated it on Postgres from the employee service's Employee/Department and the shared
+-- Role/Permission/AuditLog entities: identity ids, no versions on employees and departments, and
+-- unique constraints under Hibernate's generated names.
+
+create table audit_logs (id bigserial not null, action varchar(50) not null, description varchar(500), details jsonb, ip_address varchar(45), module varchar(50) not null, resource_id varchar(100), resource_type varchar(100), session_id varchar(100), timestamp timestamp(6) not null, user_agent varchar(500), user_id varchar(255) not null, primary key (id));
+create table departments (id bigserial not null, budget float(53), created_at timestamp(6) not null, description varchar(255), manager_id bigint, name varchar(255) not null, updated_at timestamp(6), primary key (id));
+create table employees (id bigserial not null, address varchar(255), created_at timestamp(6) not null, email varchar(255) not null, employee_id varchar(255) not null, end_date date, first_name varchar(255) not null, last_name varchar(255) not null, manager_id bigint, phone varchar(255), position varchar(255) not null, salary float(53), start_date date not null, status varchar(255) not null check (status in ('ACTIVE','INACTIVE','TERMINATED','ON_LEAVE')), updated_at timestamp(6), department_id bigint not null, primary key (id));
+create table permissions (id bigserial not null, created_at timestamp(6) not null, created_by varchar(255), updated_at timestamp(6), updated_by varchar(255), version bigint, action varchar(50) not null, description varchar(500), is_active boolean, module varchar(50) not null, name varchar(100) not null, primary key (id));
+create table role_permissions (role_id bigint not null, permission_id bigint not null, primary key (role_id, permission_id));
+create table roles (id bigserial not null, created_at timestamp(6) not null, created_by varchar(255), updated_at timestamp(6), updated_by varchar(255), version bigint, description varchar(500), hierarchy_level integer, is_active boolean, name varchar(50) not null, primary key (id));
+alter table if exists departments add constraint UK_j6cwks7xecs5jov19ro8ge3qk unique (name);
+alter table if exists employees add constraint UK_j9xgmd0ya5jmus09o0b8pqrpb unique (email);
+alter table if exists employees add constraint UK_ovvvp79dq21byf7svnuekb6iw unique (employee_id);
+alter table if exists permissions add constraint UK_pnvtwliis6p05pn6i3ndjrqt2 unique (name);
+alter table if exists roles add constraint UK_ofx66keruapi6vyqpv6f2or37 unique (name);
+alter table if exists employees add constraint FKgy4qe3dnqrm3ktd76sxp7n4c2 foreign key (department_id) references departments;
+alter table if exists role_permissions add constraint FKegdk29eiy7mdtefy5c7eirr6e foreign key (permission_id) references permissions;
+alter table if exists role_permissions add constraint FKn5fotdgk8d1xvo8nav9uv3muc foreign key (role_id) references roles;
+
+insert into departments (name, description, created_at) values ('Engineering', 'Builds things', current_timestamp);
+insert into departments (name, description, created_at) values ('Finance', 'Counts things', current_timestamp);
+insert into employees (employee_id, first_name, last_name, email, department_id, position, start_date, status, created_at)
+    values ('EMP001', 'Ada', 'Lovelace', 'ada@company.com', 1, 'Engineer', date '2020-01-01', 'ACTIVE', current_timestamp);
+insert into employees (employee_id, first_name, last_name, email, department_id, position, start_date, status, created_at)
+    values ('EMP002', 'Grace', 'Hopper', 'grace@company.com', 2, 'Analyst', date '2021-06-01', 'ON_LEAVE', current_timestamp);